@@ -101,6 +101,15 @@ public List<FixtureResult> getResults() {
         return Collections.unmodifiableList(list);
     }
 
+    /**
+     * Adds a result obtained by executing a fixture script within some other {@link FixtureScript.ExecutionContext}
+     * (see {@link FixtureScript.ExecutionContext#executeChildrenInParallel(FixtureScript, FixtureScript...)}).
+     */
+    void addMerged(final FixtureResult fixtureResult) {
+        list.add(fixtureResult);
+        fixtureResultByKey.put(fixtureResult.getKey(), fixtureResult);
+    }
+
     //endregion
 
     //region > nextItemFor
@@ -26,6 +26,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -43,10 +44,13 @@
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.applib.fixtures.FixtureType;
 import org.apache.isis.applib.fixtures.InstallableFixture;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
 import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.registry.ServiceRegistry2;
 import org.apache.isis.applib.services.repository.RepositoryService;
 import org.apache.isis.applib.services.sessmgmt.SessionManagementService;
+import org.apache.isis.applib.services.sessmgmt.SessionManagementService2;
 import org.apache.isis.applib.services.user.UserService;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.applib.services.xactn.TransactionService;
@@ -583,6 +587,116 @@ public void executeChildren(
             }
         }
 
+        /**
+         * Executes the child {@link FixtureScript fixture script}s concurrently, each in its own session and
+         * transaction (using {@link SessionManagementService2#callInParallelSessions(List)}), then merges their
+         * results into this context: in the order of the child scripts, and for each child script in the order that
+         * its results were added.
+         *
+         * <p>
+         *     The child scripts must be independent of each other: none may rely on objects created by another, and
+         *     none should set any parameters.  Any prerequisites that they share should be executed by the calling
+         *     fixture script beforehand; (subject to the {@link FixtureScripts#getMultipleExecutionStrategy()
+         *     execution strategy}) these are then not executed again by the child scripts.
+         * </p>
+         *
+         * <p>
+         *     If {@link SessionManagementService2} is not available, or if there is only one child script, then the
+         *     child scripts are simply executed in turn, as per {@link #executeChildren(FixtureScript, FixtureScript...)}.
+         * </p>
+         */
+        @Programmatic
+        public void executeChildrenInParallel(
+                final FixtureScript callingFixtureScript,
+                final FixtureScript... childFixtureScripts) {
+
+            final SessionManagementService sessionManagementService = callingFixtureScript.sessionManagementService;
+            if(!(sessionManagementService instanceof SessionManagementService2) || childFixtureScripts.length < 2) {
+                executeChildren(callingFixtureScript, childFixtureScripts);
+                return;
+            }
+
+            final TransactionService transactionService = callingFixtureScript.transactionService;
+            final BookmarkService bookmarkService =
+                    callingFixtureScript.serviceRegistry.lookupService(BookmarkService.class);
+
+            final List<Callable<Branch>> callables = Lists.newArrayList();
+            for (final FixtureScript childFixtureScript : childFixtureScripts) {
+                if(childFixtureScript == null) {
+                    continue;
+                }
+                final Branch branch = new Branch(this);
+                callables.add(new Callable<Branch>() {
+                    @Override
+                    public Branch call() {
+                        branch.executionContext.executeChildT(callingFixtureScript, childFixtureScript);
+                        transactionService.flushTransaction();
+                        branch.bookmarkResults(bookmarkService);
+                        return branch;
+                    }
+                });
+            }
+
+            final List<Branch> branches =
+                    ((SessionManagementService2) sessionManagementService).callInParallelSessions(callables);
+            for (final Branch branch : branches) {
+                merge(branch, bookmarkService);
+            }
+        }
+
+        private void merge(final Branch branch, final BookmarkService bookmarkService) {
+            final ExecutionContext branchContext = branch.executionContext;
+
+            final List<FixtureResult> results = branchContext.getResults();
+            for (int i = 0; i < results.size(); i++) {
+                final FixtureResult fixtureResult = results.get(i);
+                // the objects were created in another session, so are looked up again in this one
+                fixtureResult.setObject(bookmarkService.lookup(branch.bookmarks.get(i)));
+                fixtureResultList.addMerged(fixtureResult);
+            }
+
+            previouslyExecuted.addAll(branchContext.previouslyExecuted.subList(
+                    branch.numberPreviouslyExecuted, branchContext.previouslyExecuted.size()));
+            for (final Map.Entry<Class<? extends FixtureScript>, FixtureScript> entry :
+                    branchContext.fixtureScriptByClass.entrySet()) {
+                if(!fixtureScriptByClass.containsKey(entry.getKey())) {
+                    fixtureScriptByClass.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (final FixtureScript fixtureScript : branchContext.fixtureScriptByValue.keySet()) {
+                if(!fixtureScriptByValue.containsKey(fixtureScript)) {
+                    fixtureScriptByValue.put(fixtureScript, fixtureScript);
+                }
+            }
+        }
+
+        /**
+         * A child fixture script executed by {@link #executeChildrenInParallel(FixtureScript, FixtureScript...)},
+         * with its own {@link ExecutionContext} (initially knowing of the scripts already executed by the parent).
+         */
+        private static class Branch {
+
+            private final ExecutionContext executionContext;
+            private final int numberPreviouslyExecuted;
+            private final List<Bookmark> bookmarks = Lists.newArrayList();
+
+            private Branch(final ExecutionContext parent) {
+                executionContext = new ExecutionContext(parent.executionParameters, parent.fixtureScripts)
+                                        .withTracing(parent.tracePrintStream);
+                executionContext.previouslyExecuted.addAll(parent.previouslyExecuted);
+                executionContext.fixtureScriptByClass.putAll(parent.fixtureScriptByClass);
+                executionContext.fixtureScriptByValue.putAll(parent.fixtureScriptByValue);
+                executionContext.userData.putAll(parent.userData);
+                numberPreviouslyExecuted = parent.previouslyExecuted.size();
+            }
+
+            private void bookmarkResults(final BookmarkService bookmarkService) {
+                for (final FixtureResult fixtureResult : executionContext.getResults()) {
+                    bookmarks.add(bookmarkService.bookmarkFor(fixtureResult.getObject()));
+                }
+            }
+        }
+
         /**
          * Executes a child {@link FixtureScript fixture script}, injecting services into it first, and (for any results
          * that are {@link org.apache.isis.applib.fixturescripts.FixtureScript.ExecutionContext#addResult(FixtureScript, Object)} added),
@@ -0,0 +1,304 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.classdiscovery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the classes that would otherwise be discovered at bootstrap by scanning the classpath, read from the
+ * {@value #RESOURCE_NAME} files generated at build time (by the <tt>index</tt> goal of the <tt>isis-maven-plugin</tt>).
+ *
+ * <p>
+ *     Each entry associates a <i>key</i> - the fully qualified name of either an annotation or a supertype - with the
+ *     name of a class annotated with that annotation (either directly or by one of its supertypes) or that is a
+ *     subtype of that supertype.  The index also records which keys were indexed, and the packages of all the
+ *     classes that were examined.
+ * </p>
+ *
+ * <p>
+ *     Each index file describes only the classpath root (directory or jar) that it was loaded from.  A package is
+ *     therefore only {@link #covers(String) covered} if every classpath root contributing classes to that package
+ *     has an index; otherwise the package must still be scanned for (and the results merged with those of the
+ *     index).
+ * </p>
+ *
+ * <p>
+ *     The index is ignored if the {@value #IGNORE_KEY} system property is set, for example if running from an IDE
+ *     that compiles classes without regenerating the index.
+ * </p>
+ */
+public class ClassDiscoveryIndex {
+
+    private final static Logger LOG = LoggerFactory.getLogger(ClassDiscoveryIndex.class);
+
+    public static final String RESOURCE_NAME = "META-INF/isis/index";
+    public static final String IGNORE_KEY = "isis.classDiscovery.index.ignore";
+
+    private static final String PACKAGE_PREFIX = "@package ";
+    private static final String KEY_PREFIX = "@key ";
+
+    //region > load
+
+    /**
+     * Reads and merges all of the {@value #RESOURCE_NAME} resources available from the class loader, returning
+     * <tt>null</tt> if there are none (or if {@link #IGNORE_KEY ignored}).
+     */
+    public static ClassDiscoveryIndex load(final ClassLoader classLoader) {
+        if(System.getProperty(IGNORE_KEY) != null) {
+            return null;
+        }
+        final ClassDiscoveryIndex index = new ClassDiscoveryIndex(classLoader);
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+            if(!resources.hasMoreElements()) {
+                return null;
+            }
+            while (resources.hasMoreElements()) {
+                final URL resource = resources.nextElement();
+                try (final InputStream is = resource.openStream()) {
+                    index.read(new InputStreamReader(is, Charsets.UTF_8));
+                }
+                final String root = rootOf(resource, RESOURCE_NAME);
+                if(root != null) {
+                    index.addRoot(root);
+                }
+            }
+        } catch (final IOException ex) {
+            LOG.warn("Unable to read class discovery index; will scan the classpath instead", ex);
+            return null;
+        }
+        return index;
+    }
+
+    //endregion
+
+    //region > constructor, fields
+
+    private final ClassLoader classLoader;
+
+    private final Set<String> roots = Sets.newHashSet();
+    private final SortedSet<String> packageNames = Sets.newTreeSet();
+    private final SortedSet<String> keys = Sets.newTreeSet();
+    private final SortedSetMultimap<String, String> classNamesByKey = TreeMultimap.create();
+
+    public ClassDiscoveryIndex(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    //endregion
+
+    //region > build
+
+    /**
+     * Records that the classpath root (the external form of its URL) has been indexed.
+     */
+    public void addRoot(final String root) {
+        roots.add(root);
+    }
+
+    /**
+     * Records that the classes in the specified package have been examined.
+     */
+    public void addPackage(final String packageName) {
+        packageNames.add(packageName);
+    }
+
+    /**
+     * Records that the index holds all of the classes for this key (within the {@link #addPackage(String) packages}
+     * examined), even if there are none.
+     */
+    public void addKey(final String key) {
+        keys.add(key);
+    }
+
+    public void add(final String key, final String className) {
+        addKey(key);
+        classNamesByKey.put(key, className);
+    }
+
+    //endregion
+
+    //region > query
+
+    /**
+     * Whether all of the classes in the specified package (and its subpackages) have been indexed, that is, whether
+     * every classpath root contributing to that package has an index.
+     *
+     * <p>
+     *     If no classpath root can be found for the package (for example, a jar without directory entries) then it
+     *     is not covered.
+     * </p>
+     */
+    public boolean covers(final String packagePrefix) {
+        final String path = packagePrefix.replace('.', '/');
+        final Enumeration<URL> packageUrls;
+        try {
+            packageUrls = classLoader.getResources(path);
+        } catch (final IOException ex) {
+            return false;
+        }
+        if(!packageUrls.hasMoreElements()) {
+            return false;
+        }
+        while (packageUrls.hasMoreElements()) {
+            final String root = rootOf(packageUrls.nextElement(), path);
+            if(root == null || !roots.contains(root)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Those of the package prefixes that are not {@link #covers(String) covered} by the index, and so must still be
+     * scanned for.
+     */
+    public List<String> notCovered(final Collection<String> packagePrefixes) {
+        final List<String> notCovered = Lists.newArrayList();
+        for (final String packagePrefix : packagePrefixes) {
+            if(!covers(packagePrefix)) {
+                notCovered.add(packagePrefix);
+            }
+        }
+        return notCovered;
+    }
+
+    public boolean indexes(final String key) {
+        return keys.contains(key);
+    }
+
+    public Set<String> getClassNames(final String key) {
+        return Collections.unmodifiableSet(classNamesByKey.get(key));
+    }
+
+    /**
+     * The types annotated with the annotation, either directly or by one of their supertypes (the same semantics as
+     * <tt>org.reflections.Reflections#getTypesAnnotatedWith(Class)</tt>).
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotationType) {
+        return classesFor(annotationType.getName());
+    }
+
+    public <T> Set<Class<? extends T>> getSubTypesOf(final Class<T> type) {
+        final Set<Class<? extends T>> subTypes = Sets.newLinkedHashSet();
+        for (final Class<?> cls : classesFor(type.getName())) {
+            if(type.isAssignableFrom(cls)) {
+                subTypes.add(cls.asSubclass(type));
+            }
+        }
+        return subTypes;
+    }
+
+    private Set<Class<?>> classesFor(final String key) {
+        final Set<Class<?>> classes = Sets.newLinkedHashSet();
+        for (final String className : classNamesByKey.get(key)) {
+            try {
+                classes.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError ex) {
+                LOG.warn("Class '{}' in class discovery index could not be loaded; is the index stale?", className);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * The external form of the classpath root from which the resource at the specified path was loaded, or
+     * <tt>null</tt> if it cannot be determined.
+     */
+    static String rootOf(final URL url, final String path) {
+        String externalForm = url.toExternalForm();
+        if(externalForm.endsWith("/")) {
+            externalForm = externalForm.substring(0, externalForm.length() - 1);
+        }
+        return externalForm.endsWith(path)
+                ? externalForm.substring(0, externalForm.length() - path.length())
+                : null;
+    }
+
+    //endregion
+
+    //region > read, write
+
+    public void read(final Reader reader) throws IOException {
+        final BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while((line = bufferedReader.readLine()) != null) {
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if(line.startsWith(PACKAGE_PREFIX)) {
+                addPackage(line.substring(PACKAGE_PREFIX.length()).trim());
+                continue;
+            }
+            if(line.startsWith(KEY_PREFIX)) {
+                addKey(line.substring(KEY_PREFIX.length()).trim());
+                continue;
+            }
+            final int space = line.indexOf(' ');
+            if(space == -1) {
+                throw new IOException("Invalid class discovery index entry: '" + line + "'");
+            }
+            add(line.substring(0, space), line.substring(space + 1).trim());
+        }
+    }
+
+    public void write(final Writer writer) {
+        final PrintWriter printWriter = new PrintWriter(writer);
+        printWriter.println("# Apache Isis class discovery index; do not edit");
+        for (final String packageName : packageNames) {
+            printWriter.println(PACKAGE_PREFIX + packageName);
+        }
+        for (final String key : keys) {
+            printWriter.println(KEY_PREFIX + key);
+        }
+        for (final String key : classNamesByKey.keySet()) {
+            for (final String className : classNamesByKey.get(key)) {
+                printWriter.println(key + " " + className);
+            }
+        }
+        printWriter.flush();
+    }
+
+    //endregion
+
+}
@@ -76,6 +76,11 @@ public <T> Set<Class<? extends T>> findSubTypesOfClasses(Class<T> type, String p
         }
 
         // no appManifest or not asking for FixtureScripts
+        final ClassDiscoveryIndex index = getIndex();
+        if(index != null && index.indexes(type.getName()) && index.covers(packagePrefix)) {
+            return index.getSubTypesOf(type);
+        }
+
         Vfs.setDefaultURLTypes(getUrlTypes());
 
         final Reflections reflections = new Reflections(
@@ -89,6 +94,22 @@ public <T> Set<Class<? extends T>> findSubTypesOfClasses(Class<T> type, String p
 
     // //////////////////////////////////////
 
+    private boolean indexLoaded;
+    private ClassDiscoveryIndex index;
+
+    /**
+     * The {@link ClassDiscoveryIndex} generated at build time, if any.
+     */
+    private synchronized ClassDiscoveryIndex getIndex() {
+        if(!indexLoaded) {
+            index = ClassDiscoveryIndex.load(Thread.currentThread().getContextClassLoader());
+            indexLoaded = true;
+        }
+        return index;
+    }
+
+    // //////////////////////////////////////
+
     /**
      * Has <tt>public</tt> visibility only so can be reused by other services (including Isis runtime itself).
      */
@@ -0,0 +1,53 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.eventbus;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that a subscriber method (annotated with Guava's <tt>@Subscribe</tt>) should be called asynchronously,
+ * on a background thread, once the transaction within which the event was posted has committed.
+ *
+ * <p>
+ *     The subscriber is called in its own session (running as the user that posted the event) and transaction.  It
+ *     therefore cannot veto or otherwise influence the interaction that posted the event, and any exception it
+ *     throws is logged and then ignored.  If the posting transaction is aborted then the event is not delivered.
+ * </p>
+ *
+ * <p>
+ *     For {@link AbstractDomainEvent domain event}s, only the {@link AbstractDomainEvent.Phase#EXECUTED executed}
+ *     phase is delivered; the other phases are checks made on behalf of the posting interaction.
+ * </p>
+ *
+ * <p>
+ *     Only honoured by the <tt>native</tt> implementation of the {@link EventBusService} (ie if
+ *     <tt>isis.services.eventbus.implementation=native</tt>); otherwise the subscriber is called synchronously, as
+ *     usual.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AfterCommit {
+
+}
@@ -37,6 +37,7 @@
 import org.apache.isis.applib.NonRecoverableException;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.dto.Dto_downloadXsd;
+import org.apache.isis.applib.util.JaxbMarshallerPool;
 import org.apache.isis.applib.util.JaxbUtil;
 
 public interface JaxbService {
@@ -101,6 +102,23 @@ public boolean shouldIgnore(final String namespaceUri) {
 
     public static class Simple implements JaxbService {
 
+        /**
+         * Marshallers and unmarshallers are pooled per thread, with the {@link #configure(Marshaller)} and
+         * {@link #configure(Unmarshaller)} hooks applied once on creation.  Any call specifying properties (other
+         * than just {@link Marshaller#JAXB_FORMATTED_OUTPUT}) instead uses a new instance.
+         */
+        private final JaxbMarshallerPool pool = new JaxbMarshallerPool() {
+            @Override
+            protected void configure(final Marshaller marshaller) {
+                Simple.this.configure(marshaller);
+            }
+
+            @Override
+            protected void configure(final Unmarshaller unmarshaller) {
+                Simple.this.configure(unmarshaller);
+            }
+        };
+
         @Override
         public Object fromXml(final JAXBContext jaxbContext, final String xml) {
             return fromXml(jaxbContext, xml, Maps.<String,Object>newHashMap());
@@ -121,6 +139,14 @@ protected Object internalFromXml(
                 final JAXBContext jaxbContext,
                 final String xml,
                 final Map<String, Object> unmarshallerProperties) throws JAXBException {
+
+            if(unmarshallerProperties.isEmpty()) {
+                final Unmarshaller unmarshaller = pool.borrowUnmarshaller(jaxbContext);
+                final Object unmarshalled = unmarshaller.unmarshal(new StringReader(xml));
+                pool.release(jaxbContext, unmarshaller);
+                return unmarshalled;
+            }
+
             final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
 
             for (Map.Entry<String, Object> entry : unmarshallerProperties.entrySet()) {
@@ -163,6 +189,16 @@ public String toXml(final Object domainObject, final Map<String, Object> marshal
             final JAXBContext context = jaxbContextFor(domainObject);
 
             try {
+                final StringWriter sw = new StringWriter();
+
+                if(isPoolable(marshallerProperties)) {
+                    final boolean formatted = !Boolean.FALSE.equals(marshallerProperties.get(Marshaller.JAXB_FORMATTED_OUTPUT));
+                    final Marshaller marshaller = pool.borrowMarshaller(context, formatted);
+                    marshaller.marshal(domainObject, sw);
+                    pool.release(context, formatted, marshaller);
+                    return sw.toString();
+                }
+
                 final Marshaller marshaller = context.createMarshaller();
 
                 marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
@@ -172,7 +208,6 @@ public String toXml(final Object domainObject, final Map<String, Object> marshal
 
                 configure(marshaller);
 
-                final StringWriter sw = new StringWriter();
                 marshaller.marshal(domainObject, sw);
                 final String xml = sw.toString();
 
@@ -213,6 +248,12 @@ public String toXml(final Object domainObject, final Map<String, Object> marshal
             }
         }
 
+        private static boolean isPoolable(final Map<String, Object> marshallerProperties) {
+            return marshallerProperties.isEmpty() ||
+                    marshallerProperties.size() == 1 &&
+                            marshallerProperties.get(Marshaller.JAXB_FORMATTED_OUTPUT) instanceof Boolean;
+        }
+
         /**
          * Optional hook
          */
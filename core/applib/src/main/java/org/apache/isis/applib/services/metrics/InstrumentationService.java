@@ -0,0 +1,94 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.metrics;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * SPI called by the framework with the time taken by each of the (potentially expensive) phases of handling a
+ * request: invoking actions and editing properties, posting domain events, querying, flushing and committing,
+ * auditing and publishing, and rendering.
+ *
+ * <p>
+ *     There can be multiple implementations; all that are {@link #isEnabled() enabled} are called.  Calls are made
+ *     synchronously on the request thread, so implementations should be quick and thread-safe.
+ * </p>
+ *
+ * <p>
+ *     The framework provides a default implementation (<tt>InstrumentationServiceDefault</tt>), disabled unless
+ *     configured, that records latency histograms per phase and per member.
+ * </p>
+ */
+public interface InstrumentationService {
+
+    enum Phase {
+        /**
+         * Invoking an action (in the foreground), including posting of its domain events; the identifier is that of
+         * the action.
+         */
+        ACTION_INVOCATION,
+        /**
+         * Modifying or clearing a property, including posting of its domain events; the identifier is that of the
+         * property.
+         */
+        PROPERTY_EDIT,
+        /**
+         * Posting a domain event to the event bus; the identifier is the class name of the event.
+         */
+        DOMAIN_EVENT,
+        /**
+         * Executing a query against the object store; the identifier is the type and name of the query (but not its
+         * arguments).
+         */
+        QUERY,
+        /**
+         * Flushing pending changes to the object store.
+         */
+        FLUSH,
+        /**
+         * Committing the transaction.
+         */
+        COMMIT,
+        /**
+         * Auditing the changed properties of the transaction.
+         */
+        AUDITING,
+        /**
+         * Publishing an action invocation, property edit or changed objects; the identifier is that of the member
+         * (if any).
+         */
+        PUBLISHING,
+        /**
+         * Rendering a representation for a viewer; the identifier is the type of representation.
+         */
+        RENDERING
+    }
+
+    @Programmatic
+    boolean isEnabled();
+
+    /**
+     * @param phase - the phase of the request that was timed
+     * @param identifier - identifies what was timed (eg the member or query); never <tt>null</tt>
+     * @param durationNanos - the elapsed time, in nanoseconds
+     */
+    @Programmatic
+    void recorded(final Phase phase, final String identifier, final long durationNanos);
+
+}
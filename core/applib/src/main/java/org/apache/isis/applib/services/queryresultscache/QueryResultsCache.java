@@ -42,6 +42,9 @@
  * be performance tuned.  The benefit is that the algorithm of the business logic can remain easy to understand.
  *
  * <p>
+ * Results of reference data queries can also be cached across interactions, see {@link QueryResultsCacheApplicationScoped}.
+ *
+ * <p>
  * This implementation has no UI and there is only one implementation (this class) in applib, it is annotated with
  * {@link org.apache.isis.applib.annotation.DomainService}.  This means that it is automatically registered and
  * available for use; no further configuration is required.
@@ -174,9 +177,27 @@ protected <T> T executeWithCaching(final Callable<T> callable, final Key cacheKe
                 return (T) cacheValue.getResult();
             }
 
-            // cache miss, so get the result...
+            // cache miss, so try the application-scoped tier (if enabled for this key) ...
+            final boolean applicationScoped =
+                    applicationScopedCache != null && applicationScopedCache.isCacheable(cacheKey);
+            long generation = 0L;
+            if(applicationScoped) {
+                final Value<T> sharedValue = applicationScopedCache.get(cacheKey);
+                logHitOrMiss(cacheKey, sharedValue);
+                if(sharedValue != null) {
+                    put(cacheKey, sharedValue.getResult());
+                    return sharedValue.getResult();
+                }
+                generation = applicationScopedCache.generation();
+            }
+
+            // ... otherwise get the result...
             T result = callable.call();
 
+            if(applicationScoped) {
+                applicationScopedCache.put(cacheKey, result, generation);
+            }
+
             // ... and cache
             //
             // (it is possible that the callable just invoked might also have updated the cache, eg if there was
@@ -265,5 +286,11 @@ public boolean isFixturesInstalling() {
     @Inject
     protected Control control;
 
+    /**
+     * Optional (only used for those keys configured with a time-to-live).
+     */
+    @Inject
+    protected QueryResultsCacheApplicationScoped applicationScopedCache;
+
 
 }
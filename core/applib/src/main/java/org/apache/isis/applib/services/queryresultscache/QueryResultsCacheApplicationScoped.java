@@ -0,0 +1,412 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * An optional, application-scoped tier behind the (request-scoped) {@link QueryResultsCache}, allowing the results of
+ * queries for reference data (countries, currencies, tax codes and the like) to be reused across requests.
+ *
+ * <p>
+ *     Only those keys for which a time-to-live has been {@link #setTimeToLive(Class, String, long, Class[]) registered}
+ *     (or configured, see {@link #KEY_TTL_SECONDS_PREFIX}) are cached; the TTL can be specified per calling class or
+ *     per calling class and method.  Moreover only value-type results - strings, numbers, dates, enums and
+ *     {@link Bookmark}s, or lists, sets or maps of these - are cached, never entities; callers that need entities
+ *     should cache their bookmarks and look these up.
+ * </p>
+ *
+ * <p>
+ *     An entry is invalidated when a transaction commits that changed (created, updated or deleted) any object whose
+ *     type is one of those the entry is invalidated by (see {@link #KEY_INVALIDATED_BY_PREFIX}); if none were
+ *     specified then it is invalidated by any change whatsoever.  The cache is bounded by {@link #KEY_MAX_WEIGHT},
+ *     where the weight of a collection is its size (and of any other value is 1), least recently used entries
+ *     being evicted first.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class QueryResultsCacheApplicationScoped {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryResultsCacheApplicationScoped.class);
+
+    static final String KEY_PREFIX = "isis.services.QueryResultsCacheApplicationScoped.";
+
+    public static final String KEY_MAX_WEIGHT = KEY_PREFIX + "maxWeight";
+    public static final long MAX_WEIGHT_DEFAULT = 10000L;
+
+    /**
+     * Suffixed by the calling class name, optionally followed by <tt>#</tt> and the method name.
+     */
+    public static final String KEY_TTL_SECONDS_PREFIX = KEY_PREFIX + "ttlSeconds.";
+
+    /**
+     * Suffixed as for {@link #KEY_TTL_SECONDS_PREFIX}; the value is a comma-separated list of class names.
+     */
+    public static final String KEY_INVALIDATED_BY_PREFIX = KEY_PREFIX + "invalidatedBy.";
+
+    private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = ImmutableSet.<Class<?>>of(
+            String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigDecimal.class, BigInteger.class,
+            org.joda.time.LocalDate.class, org.joda.time.LocalDateTime.class, org.joda.time.LocalTime.class,
+            org.joda.time.DateTime.class,
+            Bookmark.class);
+
+    private final ConcurrentMap<String, Policy> policyByCallingMember = Maps.newConcurrentMap();
+
+    /**
+     * Incremented on every invalidation, so that a result computed before a commit (but cached after its
+     * invalidation) is not retained.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private Cache<QueryResultsCache.Key, Entry> entryByKey;
+
+    //region > init
+
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final long maxWeight = parseLong(properties.get(KEY_MAX_WEIGHT), MAX_WEIGHT_DEFAULT);
+        entryByKey = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(new Weigher<QueryResultsCache.Key, Entry>() {
+                    @Override
+                    public int weigh(final QueryResultsCache.Key key, final Entry entry) {
+                        return entry.weight;
+                    }
+                })
+                .removalListener(new RemovalListener<QueryResultsCache.Key, Entry>() {
+                    @Override
+                    public void onRemoval(final RemovalNotification<QueryResultsCache.Key, Entry> notification) {
+                        LOG.debug("REMOVED ({}): {}", notification.getCause(), notification.getKey());
+                    }
+                })
+                .recordStats()
+                .build();
+
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+            if(!key.startsWith(KEY_TTL_SECONDS_PREFIX)) {
+                continue;
+            }
+            final String callingMember = key.substring(KEY_TTL_SECONDS_PREFIX.length());
+            final long ttlSeconds = parseLong(entry.getValue(), 0L);
+            final String invalidatedByStr = properties.get(KEY_INVALIDATED_BY_PREFIX + callingMember);
+            policyByCallingMember.put(callingMember, new Policy(ttlSeconds, classesFor(invalidatedByStr)));
+        }
+    }
+
+    private static long parseLong(final String value, final long defaultValue) {
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    private static Set<Class<?>> classesFor(final String classNames) {
+        if(classNames == null) {
+            return null;
+        }
+        final Set<Class<?>> classes = Sets.newLinkedHashSet();
+        for (final String className : Splitter.on(',').trimResults().omitEmptyStrings().split(classNames)) {
+            try {
+                classes.add(Thread.currentThread().getContextClassLoader().loadClass(className));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unable to load class '" + className + "'", e);
+            }
+        }
+        return classes;
+    }
+
+    //endregion
+
+    //region > setTimeToLive
+
+    /**
+     * Programmatic alternative to configuring a time-to-live.
+     *
+     * @param methodName - if <tt>null</tt>, then applies to all methods of the calling class (that aren't otherwise configured).
+     * @param invalidatedBy - the (entity) types whose modification invalidate entries; if none then any modification invalidates.
+     */
+    @Programmatic
+    public void setTimeToLive(
+            final Class<?> callingClass,
+            final String methodName,
+            final long ttlSeconds,
+            final Class<?>... invalidatedBy) {
+        policyByCallingMember.put(
+                callingMemberFor(callingClass, methodName),
+                new Policy(ttlSeconds,
+                        invalidatedBy.length > 0 ? ImmutableSet.copyOf(invalidatedBy) : null));
+    }
+
+    private static String callingMemberFor(final Class<?> callingClass, final String methodName) {
+        return methodName != null ? callingClass.getName() + "#" + methodName : callingClass.getName();
+    }
+
+    private Policy policyFor(final QueryResultsCache.Key key) {
+        if(key.getCallingClass() == null || policyByCallingMember.isEmpty()) {
+            return null;
+        }
+        final Policy policy = policyByCallingMember.get(callingMemberFor(key.getCallingClass(), key.getMethodName()));
+        return policy != null ? policy : policyByCallingMember.get(key.getCallingClass().getName());
+    }
+
+    //endregion
+
+    //region > isCacheable, generation, get, put
+
+    @Programmatic
+    public boolean isCacheable(final QueryResultsCache.Key key) {
+        final Policy policy = policyFor(key);
+        return policy != null && policy.ttlMillis > 0;
+    }
+
+    /**
+     * To be obtained before computing a result, and then passed into {@link #put(QueryResultsCache.Key, Object, long)}.
+     */
+    @Programmatic
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Returns a copy of the cached result, or <tt>null</tt> if there is none (or it has expired).
+     */
+    @Programmatic
+    public <T> QueryResultsCache.Value<T> get(final QueryResultsCache.Key key) {
+        final Entry entry = entryByKey.getIfPresent(key);
+        if(entry == null) {
+            return null;
+        }
+        if(entry.expiresAt < System.currentTimeMillis()) {
+            entryByKey.asMap().remove(key, entry);
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final T copy = (T) copyOf(entry.result);
+        return new QueryResultsCache.Value<T>(copy);
+    }
+
+    /**
+     * Caches the result, provided that the key {@link #isCacheable(QueryResultsCache.Key) is cacheable}, the result
+     * is a value (rather than an entity), and there have been no invalidations since the result was computed.
+     */
+    @Programmatic
+    public void put(final QueryResultsCache.Key key, final Object result, final long generationWhenComputed) {
+        final Policy policy = policyFor(key);
+        if(policy == null || policy.ttlMillis <= 0) {
+            return;
+        }
+        if(!isValue(result) || key.getKeys() != null && !isValue(Arrays.asList(key.getKeys()))) {
+            LOG.debug("NOT CACHEABLE (not a value): {}", key);
+            return;
+        }
+        final Entry entry = new Entry(
+                copyOf(result), System.currentTimeMillis() + policy.ttlMillis, policy.invalidatedBy);
+        if(generation.get() != generationWhenComputed) {
+            return;
+        }
+        entryByKey.put(key, entry);
+        if(generation.get() != generationWhenComputed) {
+            // raced with an invalidation
+            entryByKey.asMap().remove(key, entry);
+        }
+    }
+
+    //endregion
+
+    //region > invalidate
+
+    /**
+     * Called by the framework once a transaction has committed, with the types of the objects that it changed.
+     */
+    @Programmatic
+    public void invalidate(final Collection<Class<?>> changedTypes) {
+        if(changedTypes.isEmpty()) {
+            return;
+        }
+        generation.incrementAndGet();
+        for (final Map.Entry<QueryResultsCache.Key, Entry> mapEntry : entryByKey.asMap().entrySet()) {
+            if(mapEntry.getValue().isInvalidatedBy(changedTypes)) {
+                entryByKey.asMap().remove(mapEntry.getKey(), mapEntry.getValue());
+            }
+        }
+    }
+
+    @Programmatic
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entryByKey.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counts.
+     */
+    @Programmatic
+    public CacheStats getStats() {
+        return entryByKey.stats();
+    }
+
+    //endregion
+
+    //region > helpers (value types)
+
+    static boolean isValue(final Object result) {
+        if(result == null || IMMUTABLE_VALUE_TYPES.contains(result.getClass())
+                || result instanceof Enum || result instanceof Date) {
+            return true;
+        }
+        if(result instanceof Collection) {
+            for (final Object element : (Collection<?>) result) {
+                if(!isValue(element)) {
+                    return false;
+                }
+            }
+            return result instanceof List || result instanceof Set;
+        }
+        if(result instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                if(!isValue(entry.getKey()) || !isValue(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Values are copied both when cached and when returned, so that neither the original caller nor any subsequent
+     * caller can modify the cached state.
+     */
+    static Object copyOf(final Object value) {
+        if(value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if(value instanceof List) {
+            final List<Object> copy = Lists.newArrayListWithCapacity(((List<?>) value).size());
+            for (final Object element : (List<?>) value) {
+                copy.add(copyOf(element));
+            }
+            return copy;
+        }
+        if(value instanceof Set) {
+            final Set<Object> copy = Sets.newLinkedHashSet();
+            for (final Object element : (Set<?>) value) {
+                copy.add(copyOf(element));
+            }
+            return copy;
+        }
+        if(value instanceof Map) {
+            final Map<Object, Object> copy = Maps.newLinkedHashMap();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(copyOf(entry.getKey()), copyOf(entry.getValue()));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static int weightOf(final Object value) {
+        if(value instanceof Collection) {
+            return Math.max(1, ((Collection<?>) value).size());
+        }
+        if(value instanceof Map) {
+            return Math.max(1, ((Map<?, ?>) value).size());
+        }
+        return 1;
+    }
+
+    //endregion
+
+    static class Policy {
+        private final long ttlMillis;
+        /**
+         * If <tt>null</tt>, then invalidated by any change.
+         */
+        private final Set<Class<?>> invalidatedBy;
+
+        Policy(final long ttlSeconds, final Set<Class<?>> invalidatedBy) {
+            this.ttlMillis = ttlSeconds * 1000L;
+            this.invalidatedBy = invalidatedBy != null
+                    ? Collections.unmodifiableSet(invalidatedBy)
+                    : null;
+        }
+    }
+
+    static class Entry {
+        private final Object result;
+        private final long expiresAt;
+        private final Set<Class<?>> invalidatedBy;
+        private final int weight;
+
+        Entry(final Object result, final long expiresAt, final Set<Class<?>> invalidatedBy) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+            this.invalidatedBy = invalidatedBy;
+            this.weight = weightOf(result);
+        }
+
+        boolean isInvalidatedBy(final Collection<Class<?>> changedTypes) {
+            if(invalidatedBy == null) {
+                return true;
+            }
+            for (final Class<?> changedType : changedTypes) {
+                for (final Class<?> type : invalidatedBy) {
+                    if(type.isAssignableFrom(changedType)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+}
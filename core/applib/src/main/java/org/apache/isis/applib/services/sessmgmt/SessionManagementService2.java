@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.sessmgmt;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+public interface SessionManagementService2 extends SessionManagementService {
+
+    /**
+     * Calls each of the callables concurrently, each in its own session (running as the current user) and its own
+     * transaction, returning their results in the same order as the callables.
+     *
+     * <p>
+     *     The current transaction is committed first (so that the callables can see any objects it has created) and
+     *     a new one started once all have completed.  If any callable fails then (once all have completed) the first
+     *     such failure is rethrown; the transactions of those callables that succeeded are <i>not</i> rolled back.
+     * </p>
+     *
+     * <p>
+     *     As for {@link #nextSession()}, objects must not be passed from one session to another; in particular the
+     *     callables should return (for example) {@link org.apache.isis.applib.services.bookmark.Bookmark}s rather
+     *     than domain objects.
+     * </p>
+     */
+    @Programmatic
+    <T> List<T> callInParallelSessions(List<? extends Callable<T>> callables);
+
+}
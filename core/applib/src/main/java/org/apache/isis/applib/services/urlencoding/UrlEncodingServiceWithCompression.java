@@ -0,0 +1,111 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.urlencoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Deflates the string before base64url-encoding it, which considerably reduces the length of (for example) the
+ * mementos of JAXB view models.
+ *
+ * <p>
+ * The encoded bytes are prefixed with a version byte.  Strings encoded by {@link UrlEncodingServiceUsingBaseEncoding}
+ * (which do not have this prefix) can still be decoded.
+ * </p>
+ *
+ * <p>
+ * This implementation is <i>not</i> registered by default; to use, register it explicitly (eg using the
+ * <tt>isis.services</tt> configuration property) in place of {@link UrlEncodingServiceUsingBaseEncoding}.
+ * </p>
+ */
+public class UrlEncodingServiceWithCompression extends UrlEncodingServiceUsingBaseEncoding {
+
+    static final byte VERSION_DEFLATED = 0x02;
+
+    /**
+     * The encoded strings are supplied by the client (eg in a URL), so the inflated size is bounded to guard against
+     * a crafted string exhausting the heap.
+     */
+    static final int MAX_INFLATED_SIZE = 4 * 1024 * 1024;
+
+    private final BaseEncoding baseEncoding;
+    private final Charset charset;
+
+    public UrlEncodingServiceWithCompression(final BaseEncoding baseEncoding, final Charset charset) {
+        super(baseEncoding, charset);
+        this.baseEncoding = baseEncoding;
+        this.charset = charset;
+    }
+
+    public UrlEncodingServiceWithCompression() {
+        this(BaseEncoding.base64Url(), Charset.forName("UTF-8"));
+    }
+
+    @Programmatic
+    @Override
+    public String encode(final String str) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(VERSION_DEFLATED);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(str.getBytes(charset));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deflater.end();
+        }
+        return baseEncoding.encode(out.toByteArray());
+    }
+
+    @Programmatic
+    @Override
+    public String decode(final String str) {
+        final byte[] bytes = baseEncoding.decode(str);
+        if(bytes.length == 0 || bytes[0] != VERSION_DEFLATED) {
+            // not compressed, eg encoded previously by UrlEncodingServiceUsingBaseEncoding
+            return new String(bytes, charset);
+        }
+        final Inflater inflater = new Inflater();
+        try (final InflaterInputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(bytes, 1, bytes.length - 1), inflater)) {
+            final byte[] inflated = ByteStreams.toByteArray(ByteStreams.limit(in, MAX_INFLATED_SIZE + 1L));
+            if(inflated.length > MAX_INFLATED_SIZE) {
+                throw new IllegalArgumentException("Encoded string exceeds " + MAX_INFLATED_SIZE + " bytes when inflated");
+            }
+            return new String(inflated, charset);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
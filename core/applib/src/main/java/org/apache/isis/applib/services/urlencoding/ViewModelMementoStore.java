@@ -0,0 +1,52 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.urlencoding;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * SPI to hold view model mementos on the server, so that the identifier of a view model (as used in its URL) is a
+ * short, fixed-length handle rather than the (possibly very long) memento itself.
+ *
+ * <p>
+ * If an implementation of this service is registered then the framework will store each view model's memento
+ * under a handle derived from a hash of its content, and use that handle as the view model's identifier.  If no
+ * implementation is registered (the default), then the memento itself is used as the identifier.
+ * </p>
+ *
+ * <p>
+ * The framework provides an in-memory implementation, <tt>ViewModelMementoStoreInMemory</tt>, which must be registered
+ * explicitly.  For clustered deployments, provide an implementation backed by a shared store.
+ * </p>
+ */
+public interface ViewModelMementoStore {
+
+    /**
+     * Store the memento under the specified handle; the same handle will always be used for the same memento.
+     */
+    @Programmatic
+    void put(String handle, String memento);
+
+    /**
+     * The memento previously {@link #put(String, String) stored}, or <tt>null</tt> if it has expired or been evicted.
+     */
+    @Programmatic
+    String get(String handle);
+
+}
@@ -0,0 +1,50 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.xactn;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.command.Command;
+
+public interface TransactionService4 extends TransactionService3 {
+
+    /**
+     * As per {@link #nextTransaction(Policy, Command)}, but with the new transaction started in the specified
+     * {@link Mode mode}.
+     *
+     * <p>
+     *     A {@link Mode#READ_ONLY read-only} transaction is never committed: any objects persisted, deleted or
+     *     modified within it cause an exception to be thrown, and no auditing or publishing of changed objects is
+     *     performed.
+     * </p>
+     */
+    @Programmatic
+    void nextTransaction(Policy policy, Command command, Mode mode);
+
+    /**
+     * The {@link Mode mode} of the current transaction, or <tt>null</tt> if there is none.
+     */
+    @Programmatic
+    Mode getTransactionMode();
+
+    public enum Mode {
+        READ_WRITE,
+        READ_ONLY
+    }
+
+}
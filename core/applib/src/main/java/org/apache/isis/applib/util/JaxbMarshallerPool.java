@@ -0,0 +1,144 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Thread-confined pool of {@link Marshaller}s and {@link Unmarshaller}s, keyed by {@link JAXBContext}.
+ *
+ * <p>
+ *     A {@link JAXBContext} is thread-safe and so can be shared (see {@link JaxbUtil#jaxbContextFor(Class)}), but
+ *     marshallers and unmarshallers are not.  Creating them is nevertheless relatively expensive, so this pool holds
+ *     on to them for reuse by the same thread.  Instances must be {@link #release(JAXBContext, boolean, Marshaller) released}
+ *     after use (in a <tt>finally</tt> block); reentrant use (eg from within an <tt>XmlAdapter</tt>) is supported
+ *     because each borrow is given an instance not currently in use.
+ * </p>
+ *
+ * <p>
+ *     Subclasses can override the {@link #configure(Marshaller)} and {@link #configure(Unmarshaller)} hooks; these
+ *     are called only once, when the instance is first created.
+ * </p>
+ */
+public class JaxbMarshallerPool {
+
+    /**
+     * The maximum number of idle instances held per thread and per {@link JAXBContext}.
+     */
+    private static final int MAX_IDLE = 4;
+
+    /**
+     * The maximum number of {@link JAXBContext}s for which instances are held per thread.
+     */
+    private static final int MAX_CONTEXTS = 64;
+
+    private final ThreadLocal<Map<JAXBContext, Deque<Marshaller>>> formattedMarshallers = newPool();
+    private final ThreadLocal<Map<JAXBContext, Deque<Marshaller>>> compactMarshallers = newPool();
+    private final ThreadLocal<Map<JAXBContext, Deque<Unmarshaller>>> unmarshallers = newPool();
+
+    public Marshaller borrowMarshaller(final JAXBContext jaxbContext, final boolean formatted) throws JAXBException {
+        final Marshaller pooled = idleFor(marshallersFor(formatted), jaxbContext).pollFirst();
+        if(pooled != null) {
+            return pooled;
+        }
+        final Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+        configure(marshaller);
+        return marshaller;
+    }
+
+    public void release(final JAXBContext jaxbContext, final boolean formatted, final Marshaller marshaller) {
+        offer(idleFor(marshallersFor(formatted), jaxbContext), marshaller);
+    }
+
+    public Unmarshaller borrowUnmarshaller(final JAXBContext jaxbContext) throws JAXBException {
+        final Unmarshaller pooled = idleFor(unmarshallers, jaxbContext).pollFirst();
+        if(pooled != null) {
+            return pooled;
+        }
+        final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        configure(unmarshaller);
+        return unmarshaller;
+    }
+
+    public void release(final JAXBContext jaxbContext, final Unmarshaller unmarshaller) {
+        offer(idleFor(unmarshallers, jaxbContext), unmarshaller);
+    }
+
+    /**
+     * Optional hook, called once for each newly created {@link Marshaller}.
+     */
+    protected void configure(final Marshaller marshaller) {
+    }
+
+    /**
+     * Optional hook, called once for each newly created {@link Unmarshaller}.
+     */
+    protected void configure(final Unmarshaller unmarshaller) {
+    }
+
+    private ThreadLocal<Map<JAXBContext, Deque<Marshaller>>> marshallersFor(final boolean formatted) {
+        return formatted ? formattedMarshallers : compactMarshallers;
+    }
+
+    private static <T> Deque<T> idleFor(
+            final ThreadLocal<Map<JAXBContext, Deque<T>>> pool,
+            final JAXBContext jaxbContext) {
+        final Map<JAXBContext, Deque<T>> idleByContext = pool.get();
+        Deque<T> idle = idleByContext.get(jaxbContext);
+        if(idle == null) {
+            idle = new ArrayDeque<T>(MAX_IDLE);
+            idleByContext.put(jaxbContext, idle);
+        }
+        return idle;
+    }
+
+    private static <T> void offer(final Deque<T> idle, final T instance) {
+        if(instance != null && idle.size() < MAX_IDLE) {
+            idle.offerFirst(instance);
+        }
+    }
+
+    /**
+     * Bounded (least recently used evicted), in case a caller creates a new {@link JAXBContext} for each request
+     * rather than reusing a cached one.
+     */
+    private static <T> ThreadLocal<Map<JAXBContext, Deque<T>>> newPool() {
+        return new ThreadLocal<Map<JAXBContext, Deque<T>>>() {
+            @Override
+            protected Map<JAXBContext, Deque<T>> initialValue() {
+                return new LinkedHashMap<JAXBContext, Deque<T>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<JAXBContext, Deque<T>> eldest) {
+                        return size() > MAX_CONTEXTS;
+                    }
+                };
+            }
+        };
+    }
+
+}
@@ -23,6 +23,8 @@
 import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
@@ -35,8 +37,8 @@
 
 
 /**
- * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.  Intended primarily for
- * test use only (the {@link JAXBContext} is not cached).
+ * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.  The {@link JAXBContext}s
+ * are cached, and the {@link Marshaller}s and {@link Unmarshaller}s are pooled per thread (see {@link JaxbMarshallerPool}).
  *
  * <p>
  * For example usage, see <a href="https://github.com/isisaddons/isis-module-publishmq">Isis addons' publishmq module</a> (non-ASF)
@@ -46,13 +48,25 @@ public class JaxbUtil {
 
     private JaxbUtil(){}
 
+    private static final JaxbMarshallerPool pool = new JaxbMarshallerPool();
+
     public static <T> T fromXml(
             final Reader reader,
             final Class<T> dtoClass) {
-        Unmarshaller un = null;
+        return (T) fromXml(jaxbContextFor(dtoClass), reader);
+    }
+
+    /**
+     * Unmarshals using a pooled {@link Unmarshaller} for the (cached) {@link JAXBContext}.
+     */
+    public static Object fromXml(
+            final JAXBContext jaxbContext,
+            final Reader reader) {
         try {
-            un = jaxbContextFor(dtoClass).createUnmarshaller();
-            return (T) un.unmarshal(reader);
+            final Unmarshaller un = pool.borrowUnmarshaller(jaxbContext);
+            final Object dto = un.unmarshal(reader);
+            pool.release(jaxbContext, un);
+            return dto;
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -75,18 +89,33 @@ public static <T> String toXml(final T dto) {
     }
 
     public static <T> void toXml(final T dto, final Writer writer) {
-        Marshaller m = null;
+        toXml(jaxbContextFor(dto.getClass()), dto, writer, true);
+    }
+
+    /**
+     * Marshals using a pooled {@link Marshaller} for the (cached) {@link JAXBContext}.
+     *
+     * <p>
+     *     Unformatted (<tt>formatted</tt> = <tt>false</tt>) output is smaller and quicker to produce, so is
+     *     appropriate where the XML is only ever consumed by a machine (eg stored mementos).
+     * </p>
+     */
+    public static void toXml(
+            final JAXBContext jaxbContext,
+            final Object dto,
+            final Writer writer,
+            final boolean formatted) {
         try {
-            final Class<?> aClass = dto.getClass();
-            m = jaxbContextFor(aClass).createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            final Marshaller m = pool.borrowMarshaller(jaxbContext, formatted);
             m.marshal(dto, writer);
+            pool.release(jaxbContext, formatted, m);
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
 
     private static Map<Class<?>, JAXBContext> jaxbContextByClass = new MapMaker().concurrencyLevel(10).makeMap();
+    private static Map<List<Class<?>>, JAXBContext> jaxbContextByClasses = new MapMaker().concurrencyLevel(10).makeMap();
 
     public static <T> JAXBContext jaxbContextFor(final Class<T> dtoClass)  {
         JAXBContext jaxbContext = jaxbContextByClass.get(dtoClass);
@@ -100,4 +129,22 @@ public static <T> JAXBContext jaxbContextFor(final Class<T> dtoClass)  {
         }
         return jaxbContext;
     }
+
+    /**
+     * As {@link #jaxbContextFor(Class)}, but for a context that is aware of several classes (eg a generic wrapper and
+     * the type of its elements).
+     */
+    public static JAXBContext jaxbContextFor(final Class<?>... classes)  {
+        final List<Class<?>> key = Arrays.asList(classes);
+        JAXBContext jaxbContext = jaxbContextByClasses.get(key);
+        if(jaxbContext == null) {
+            try {
+                jaxbContext = JAXBContext.newInstance(classes);
+            } catch (JAXBException e) {
+                throw new RuntimeException(e);
+            }
+            jaxbContextByClasses.put(key, jaxbContext);
+        }
+        return jaxbContext;
+    }
 }
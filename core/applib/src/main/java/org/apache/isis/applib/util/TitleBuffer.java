@@ -35,6 +35,21 @@ public class TitleBuffer {
     public static final Class[] NO_PARAMETER_TYPES = new Class[0];
     public static final Object[] NO_ARGUMENTS = new Object[0];
 
+    /**
+     * The <tt>String title()</tt> method of each class (or <tt>null</tt> if it has none), so that it is looked up
+     * only once per class, rather than (for most classes) failing with a {@link NoSuchMethodException} every time.
+     */
+    private static final ClassValue<Method> TITLE_METHOD = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("title", NO_PARAMETER_TYPES);
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
     /**
      * Determines if the specified object's title is empty (or null).
      *
@@ -60,16 +75,17 @@ private static String titleFor(final Object object) {
             return null;
         }
         if(object instanceof String) {
-            return object.toString();
+            return (String) object;
         }
 
         try {
-            Method method = object.getClass().getMethod("title", NO_PARAMETER_TYPES);
+            final Method method = TITLE_METHOD.get(object.getClass());
+            if (method == null) {
+                return object.toString();
+            }
             return (String) method.invoke(object, NO_ARGUMENTS);
         } catch (final SecurityException | IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
             throw new TitleBufferException(e);
-        } catch (final NoSuchMethodException e) {
-            return object.toString();
         }
     }
 
@@ -78,7 +94,7 @@ private static String titleFor(final Object object) {
      * the specified reference is null; or if the reference is an empty string.
      */
     public static boolean isEmpty(final String text) {
-        return text == null || text.equals("");
+        return text == null || text.isEmpty();
     }
 
     private final StringBuilder title;
@@ -298,9 +314,9 @@ public TitleBuffer appendSpace() {
         return this;
     }
 
-    private void appendWithSpace(final Object object) {
+    private void appendWithSpace(final String text) {
         appendSpace();
-        title.append(titleFor(object));
+        title.append(text);
     }
 
     /**
@@ -29,8 +29,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import com.google.common.io.Resources;
 
@@ -53,12 +51,7 @@ static JAXBContext getJaxbContext() {
     }
 
     public static ChangesDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (ChangesDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return (ChangesDto) JaxbUtil.fromXml(getJaxbContext(), reader);
     }
 
     public static ChangesDto fromXml(final String xml) {
@@ -80,14 +73,22 @@ public static String toXml(final ChangesDto changesDto) {
         return caw.toString();
     }
 
+    /**
+     * As {@link #toXml(ChangesDto)}, but optionally without formatting (smaller and quicker to produce), for XML that
+     * is only ever read by a machine.
+     */
+    public static String toXml(final ChangesDto changesDto, final boolean formatted) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(changesDto, caw, formatted);
+        return caw.toString();
+    }
+
     public static void toXml(final ChangesDto changesDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(changesDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        toXml(changesDto, writer, true);
+    }
+
+    public static void toXml(final ChangesDto changesDto, final Writer writer, final boolean formatted) {
+        JaxbUtil.toXml(getJaxbContext(), changesDto, writer, formatted);
     }
     //endregion
 
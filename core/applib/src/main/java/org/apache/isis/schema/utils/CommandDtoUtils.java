@@ -27,9 +27,6 @@
 import java.nio.charset.Charset;
 
 import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import com.google.common.io.Resources;
 
@@ -57,12 +54,7 @@ static JAXBContext getJaxbContext() {
     }
 
     public static CommandDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (CommandDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return (CommandDto) JaxbUtil.fromXml(getJaxbContext(), reader);
     }
 
     public static CommandDto fromXml(final String xml) {
@@ -84,14 +76,22 @@ public static String toXml(final CommandDto commandDto) {
         return caw.toString();
     }
 
+    /**
+     * As {@link #toXml(CommandDto)}, but optionally without formatting (smaller and quicker to produce), for XML that
+     * is only ever read by a machine.
+     */
+    public static String toXml(final CommandDto commandDto, final boolean formatted) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(commandDto, caw, formatted);
+        return caw.toString();
+    }
+
     public static void toXml(final CommandDto commandDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(commandDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        toXml(commandDto, writer, true);
+    }
+
+    public static void toXml(final CommandDto commandDto, final Writer writer, final boolean formatted) {
+        JaxbUtil.toXml(getJaxbContext(), commandDto, writer, formatted);
     }
 
     //endregion
@@ -31,8 +31,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -72,12 +70,7 @@ static JAXBContext getJaxbContext() {
     }
 
     public static InteractionDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (InteractionDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return (InteractionDto) JaxbUtil.fromXml(getJaxbContext(), reader);
     }
 
     public static InteractionDto fromXml(final String xml) {
@@ -99,14 +92,22 @@ public static String toXml(final InteractionDto interactionDto) {
         return caw.toString();
     }
 
+    /**
+     * As {@link #toXml(InteractionDto)}, but optionally without formatting (smaller and quicker to produce), for XML that
+     * is only ever read by a machine.
+     */
+    public static String toXml(final InteractionDto interactionDto, final boolean formatted) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(interactionDto, caw, formatted);
+        return caw.toString();
+    }
+
     public static void toXml(final InteractionDto interactionDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(interactionDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        toXml(interactionDto, writer, true);
+    }
+
+    public static void toXml(final InteractionDto interactionDto, final Writer writer, final boolean formatted) {
+        JaxbUtil.toXml(getJaxbContext(), interactionDto, writer, formatted);
     }
     //endregion
 
@@ -18,14 +18,38 @@
  */
 package org.apache.isis.applib.fixturescripts;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
 import org.hamcrest.Matchers;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
 import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.fixturespec.FixtureScriptsSpecification;
+import org.apache.isis.applib.services.registry.ServiceRegistry2;
+import org.apache.isis.applib.services.sessmgmt.SessionManagementService2;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class ExecutionContextTest {
 
@@ -189,4 +213,197 @@ public void happyCase() throws Exception {
 
     }
 
-}
\ No newline at end of file
+    public static class ExecuteChildrenInParallel extends ExecutionContextTest {
+
+        @Rule
+        public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+        @Mock
+        private DomainObjectContainer mockContainer;
+        @Mock
+        private ServiceRegistry2 mockServiceRegistry;
+        @Mock
+        private TransactionService mockTransactionService;
+        @Mock
+        private BookmarkService mockBookmarkService;
+
+        static class Customer {
+            final String name;
+            Customer(final String name) {
+                this.name = name;
+            }
+        }
+
+        /**
+         * Adds each of its customers as a result.
+         */
+        static class CustomersAbstract extends FixtureScript {
+            private final Customer[] customers;
+            CustomersAbstract(final Customer... customers) {
+                this.customers = customers;
+            }
+            @Override
+            protected void execute(final ExecutionContext executionContext) {
+                for (final Customer customer : customers) {
+                    executionContext.addResult(this, customer);
+                }
+            }
+        }
+        static class CustomersAB extends CustomersAbstract {
+            CustomersAB(final Customer... customers) {
+                super(customers);
+            }
+        }
+        static class CustomersX extends CustomersAbstract {
+            CustomersX(final Customer... customers) {
+                super(customers);
+            }
+        }
+        static class Failing extends FixtureScript {
+            @Override
+            protected void execute(final ExecutionContext executionContext) {
+                throw new IllegalStateException("failed");
+            }
+        }
+
+        /**
+         * Calls the callables in reverse order, so that the last child completes first.
+         */
+        static class ReverseOrderSessionManagementService implements SessionManagementService2 {
+            @Override
+            public void nextSession() {
+            }
+
+            @Override
+            public <T> List<T> callInParallelSessions(final List<? extends Callable<T>> callables) {
+                final List<T> results = Lists.newArrayList(Collections.<T>nCopies(callables.size(), null));
+                RuntimeException failure = null;
+                for (int i = callables.size() - 1; i >= 0; i--) {
+                    try {
+                        results.set(i, callables.get(i).call());
+                    } catch (final RuntimeException ex) {
+                        failure = ex;
+                    } catch (final Exception ex) {
+                        failure = new RuntimeException(ex);
+                    }
+                }
+                if(failure != null) {
+                    throw failure;
+                }
+                return results;
+            }
+        }
+
+        private final Customer a = new Customer("a");
+        private final Customer b = new Customer("b");
+        private final Customer x = new Customer("x");
+
+        private final Map<String, Customer> customersInParentSession = Maps.newHashMap();
+
+        private FixtureScript parent;
+        private FixtureScript.ExecutionContext executionContext;
+
+        @Before
+        public void setUp() throws Exception {
+            final FixtureScripts fixtureScripts = new FixtureScripts(
+                    FixtureScriptsSpecification.builder(ExecutionContextTest.class)
+                            .with(FixtureScripts.MultipleExecutionStrategy.EXECUTE_ONCE_BY_CLASS)
+                            .build()) {
+                @Override
+                FixtureResult newFixtureResult(
+                        final FixtureScript script, final String subkey, final Object object, final boolean firstTime) {
+                    final FixtureResult fixtureResult = new FixtureResult();
+                    fixtureResult.setKey(script.pathWith(subkey));
+                    fixtureResult.setObject(object);
+                    return fixtureResult;
+                }
+            };
+
+            parent = new FixtureScript() {
+                @Override
+                protected void execute(final ExecutionContext executionContext) {
+                }
+            };
+            parent.setContainer(mockContainer);
+            parent.serviceRegistry = mockServiceRegistry;
+            parent.transactionService = mockTransactionService;
+            parent.sessionManagementService = new ReverseOrderSessionManagementService();
+
+            executionContext = new FixtureScript.ExecutionContext((String) null, fixtureScripts);
+
+            for (final Customer customer : new Customer[] { a, b, x }) {
+                customersInParentSession.put(customer.name, new Customer(customer.name));
+            }
+
+            context.checking(new Expectations() {{
+                allowing(mockContainer).injectServicesInto(with(any(FixtureScript.class)));
+                allowing(mockServiceRegistry).lookupService(BookmarkService.class);
+                will(returnValue(mockBookmarkService));
+                allowing(mockTransactionService).flushTransaction();
+
+                for (final Customer customer : new Customer[] { a, b, x }) {
+                    final Bookmark bookmark = new Bookmark("CUS", customer.name);
+                    allowing(mockBookmarkService).bookmarkFor(customer);
+                    will(returnValue(bookmark));
+                    allowing(mockBookmarkService).lookup(bookmark);
+                    will(returnValue(customersInParentSession.get(customer.name)));
+                }
+            }});
+        }
+
+        @Test
+        public void results_merged_in_order_of_children_and_looked_up_again() throws Exception {
+            executionContext.executeChildrenInParallel(parent, new CustomersAB(a, b), new CustomersX(x));
+
+            final List<FixtureResult> results = executionContext.getResults();
+            assertThat(results.size(), is(3));
+            assertThat(results.get(0).getObject(), is(sameInstance((Object) customersInParentSession.get("a"))));
+            assertThat(results.get(1).getObject(), is(sameInstance((Object) customersInParentSession.get("b"))));
+            assertThat(results.get(2).getObject(), is(sameInstance((Object) customersInParentSession.get("x"))));
+
+            assertThat(executionContext.lookup(results.get(2).getKey(), Customer.class),
+                    is(sameInstance(customersInParentSession.get("x"))));
+        }
+
+        @Test
+        public void children_executed_in_parallel_are_not_executed_again() throws Exception {
+            executionContext.executeChildrenInParallel(parent, new CustomersAB(a, b), new CustomersX(x));
+
+            final List<FixtureScript> previouslyExecuted = executionContext.getPreviouslyExecuted();
+            assertThat(previouslyExecuted.size(), is(2));
+            assertThat(previouslyExecuted.get(0), is(instanceOf(CustomersAB.class)));
+            assertThat(previouslyExecuted.get(1), is(instanceOf(CustomersX.class)));
+
+            executionContext.executeChild(parent, new CustomersX(x));
+
+            assertThat(executionContext.getResults().size(), is(3));
+        }
+
+        @Test
+        public void failure_of_any_child_propagated_and_nothing_merged() throws Exception {
+            try {
+                executionContext.executeChildrenInParallel(parent, new CustomersAB(a, b), new Failing());
+                fail();
+            } catch (final IllegalStateException ex) {
+                assertThat(ex.getMessage(), is("failed"));
+            }
+
+            assertThat(executionContext.getResults(), is(empty()));
+            assertThat(executionContext.getPreviouslyExecuted(), is(empty()));
+        }
+
+        @Test
+        public void executed_sequentially_in_same_session_if_no_SessionManagementService2() throws Exception {
+            parent.sessionManagementService = null;
+
+            executionContext.executeChildrenInParallel(parent, new CustomersAB(a, b), new CustomersX(x));
+
+            final List<FixtureResult> results = executionContext.getResults();
+            assertThat(results.size(), is(3));
+            assertThat(results.get(0).getObject(), is(sameInstance((Object) a)));
+            assertThat(results.get(1).getObject(), is(sameInstance((Object) b)));
+            assertThat(results.get(2).getObject(), is(sameInstance((Object) x)));
+        }
+    }
+
+}
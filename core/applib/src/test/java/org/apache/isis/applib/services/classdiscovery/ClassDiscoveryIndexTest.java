@@ -0,0 +1,179 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.classdiscovery;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ClassDiscoveryIndexTest {
+
+    public static class SomeFixtureScript extends FixtureScript {
+        @Override
+        protected void execute(final ExecutionContext executionContext) {
+        }
+    }
+
+    private ClassDiscoveryIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new ClassDiscoveryIndex(getClass().getClassLoader());
+        index.addPackage("org.apache.isis.applib.services.classdiscovery");
+        index.addPackage("org.apache.isis.applib.services.classdiscovery.sub");
+        index.addKey(DomainService.class.getName());
+        index.add(FixtureScript.class.getName(), SomeFixtureScript.class.getName());
+    }
+
+    /**
+     * Classpath roots:
+     * <ul>
+     *     <li><tt>indexed</tt> directory, with <tt>com/mycompany/a</tt> and <tt>com/mycompany/shared</tt></li>
+     *     <li><tt>indexed.jar</tt>, with <tt>com/mycompany/c</tt></li>
+     *     <li><tt>unindexed</tt> directory, with <tt>com/mycompany/b</tt> and <tt>com/mycompany/shared</tt></li>
+     * </ul>
+     */
+    public static class Covers {
+
+        @Rule
+        public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+        private URLClassLoader classLoader;
+        private ClassDiscoveryIndex index;
+
+        @Before
+        public void setUp() throws Exception {
+            final File indexed = temporaryFolder.newFolder("indexed");
+            mkdirs(indexed, "com/mycompany/a", "com/mycompany/shared", "META-INF/isis");
+            Files.write("@package com.mycompany.a\n", new File(indexed, ClassDiscoveryIndex.RESOURCE_NAME), Charsets.UTF_8);
+
+            final File indexedJar = temporaryFolder.newFile("indexed.jar");
+            try (final JarOutputStream jos = new JarOutputStream(new FileOutputStream(indexedJar))) {
+                for (final String dir : new String[] { "com/", "com/mycompany/", "com/mycompany/c/", "META-INF/", "META-INF/isis/" }) {
+                    jos.putNextEntry(new JarEntry(dir));
+                    jos.closeEntry();
+                }
+                jos.putNextEntry(new JarEntry(ClassDiscoveryIndex.RESOURCE_NAME));
+                jos.write("@package com.mycompany.c\n".getBytes(Charsets.UTF_8));
+                jos.closeEntry();
+            }
+
+            final File unindexed = temporaryFolder.newFolder("unindexed");
+            mkdirs(unindexed, "com/mycompany/b", "com/mycompany/shared");
+
+            classLoader = new URLClassLoader(new URL[] {
+                    indexed.toURI().toURL(), indexedJar.toURI().toURL(), unindexed.toURI().toURL() }, null);
+            index = ClassDiscoveryIndex.load(classLoader);
+        }
+
+        @After
+        public void tearDown() throws Exception {
+            classLoader.close();
+        }
+
+        @Test
+        public void when_every_contributing_root_is_indexed() throws Exception {
+            assertThat(index.covers("com.mycompany.a"), is(true));
+            assertThat(index.covers("com.mycompany.c"), is(true));
+        }
+
+        @Test
+        public void when_only_some_contributing_roots_are_indexed() throws Exception {
+            assertThat(index.covers("com.mycompany.shared"), is(false));
+            assertThat(index.covers("com.mycompany"), is(false));
+            assertThat(index.covers("com"), is(false));
+        }
+
+        @Test
+        public void when_no_contributing_root_is_indexed() throws Exception {
+            assertThat(index.covers("com.mycompany.b"), is(false));
+        }
+
+        @Test
+        public void when_no_root_contributes() throws Exception {
+            assertThat(index.covers("com.mycompany.other"), is(false));
+            assertThat(index.covers("org.mycompany"), is(false));
+        }
+
+        @Test
+        public void notCovered() throws Exception {
+            assertThat(index.notCovered(Arrays.asList("com.mycompany.a", "com.mycompany.shared", "com.mycompany.c")),
+                    is(Collections.singletonList("com.mycompany.shared")));
+        }
+
+        private static void mkdirs(final File root, final String... paths) {
+            for (final String path : paths) {
+                assertThat(new File(root, path).mkdirs(), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void indexes() throws Exception {
+        assertThat(index.indexes(DomainService.class.getName()), is(true));
+        assertThat(index.indexes(FixtureScript.class.getName()), is(true));
+        assertThat(index.indexes(Object.class.getName()), is(false));
+    }
+
+    @Test
+    public void getSubTypesOf() throws Exception {
+        assertThat(index.getSubTypesOf(FixtureScript.class),
+                is(Collections.<Class<? extends FixtureScript>>singleton(SomeFixtureScript.class)));
+        assertThat(index.getTypesAnnotatedWith(DomainService.class).isEmpty(), is(true));
+    }
+
+    @Test
+    public void write_and_read() throws Exception {
+        final StringWriter writer = new StringWriter();
+        index.write(writer);
+
+        final ClassDiscoveryIndex read = new ClassDiscoveryIndex(getClass().getClassLoader());
+        read.read(new StringReader(writer.toString()));
+
+        final StringWriter rewritten = new StringWriter();
+        read.write(rewritten);
+        assertThat(rewritten.toString(), is(writer.toString()));
+        assertThat(read.indexes(DomainService.class.getName()), is(true));
+        assertThat(read.getClassNames(FixtureScript.class.getName()),
+                is(Collections.singleton(SomeFixtureScript.class.getName())));
+    }
+
+}
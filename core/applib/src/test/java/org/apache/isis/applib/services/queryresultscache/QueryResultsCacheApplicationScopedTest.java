@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class QueryResultsCacheApplicationScopedTest {
+
+    static class Country {}
+    static class Currency {}
+
+    private QueryResultsCacheApplicationScoped cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new QueryResultsCacheApplicationScoped();
+        cache.init(Collections.<String, String>emptyMap());
+    }
+
+    @Test
+    public void not_cacheable_unless_ttl_registered() {
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Country.class, "listAll");
+        assertThat(cache.isCacheable(key), is(false));
+
+        cache.put(key, "foo", cache.generation());
+        assertThat(cache.get(key), is(nullValue()));
+    }
+
+    @Test
+    public void caches_values_and_returns_copies() {
+        cache.setTimeToLive(Country.class, null, 60);
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Country.class, "listAll", "a", 1);
+        assertThat(cache.isCacheable(key), is(true));
+
+        final List<String> result = Lists.newArrayList("uk", "fr");
+        cache.put(key, result, cache.generation());
+        result.add("de");
+
+        final QueryResultsCache.Value<List<String>> value = cache.get(key);
+        assertThat(value, is(notNullValue()));
+        assertThat(value.getResult().size(), is(2));
+
+        value.getResult().clear();
+        assertThat(cache.<List<String>>get(key).getResult().size(), is(2));
+    }
+
+    @Test
+    public void does_not_cache_non_values() {
+        cache.setTimeToLive(Country.class, "listAll", 60);
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Country.class, "listAll");
+
+        cache.put(key, Lists.newArrayList(new Country()), cache.generation());
+        assertThat(cache.get(key), is(nullValue()));
+    }
+
+    @Test
+    public void invalidated_only_by_specified_types() {
+        cache.setTimeToLive(Country.class, "listAll", 60, Country.class);
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Country.class, "listAll");
+        cache.put(key, "foo", cache.generation());
+
+        cache.invalidate(Collections.<Class<?>>singleton(Currency.class));
+        assertThat(cache.get(key), is(notNullValue()));
+
+        cache.invalidate(Collections.<Class<?>>singleton(Country.class));
+        assertThat(cache.get(key), is(nullValue()));
+    }
+
+    @Test
+    public void not_cached_if_invalidated_while_being_computed() {
+        cache.setTimeToLive(Country.class, "listAll", 60);
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Country.class, "listAll");
+
+        final long generation = cache.generation();
+        cache.invalidate(Collections.<Class<?>>singleton(Currency.class));
+        cache.put(key, "foo", generation);
+
+        assertThat(cache.get(key), is(nullValue()));
+    }
+
+    @Test
+    public void isValue() {
+        assertThat(QueryResultsCacheApplicationScoped.isValue("foo"), is(true));
+        assertThat(QueryResultsCacheApplicationScoped.isValue(Lists.newArrayList(1, 2)), is(true));
+        assertThat(QueryResultsCacheApplicationScoped.isValue(new Country()), is(false));
+        assertThat(QueryResultsCacheApplicationScoped.isValue(Lists.newArrayList("a", new Country())), is(false));
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.urlencoding;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.base.Strings;
+
+import org.junit.Test;
+
+public class UrlEncodingServiceWithCompressionTest {
+
+    private final UrlEncodingServiceWithCompression compressing = new UrlEncodingServiceWithCompression();
+    private final UrlEncodingServiceUsingBaseEncoding uncompressed = new UrlEncodingServiceUsingBaseEncoding();
+
+    @Test
+    public void roundtrip() throws Exception {
+        final String xml = "<customer><name>" + Strings.repeat("Fred Smith ", 50) + "</name></customer>";
+
+        final String encoded = compressing.encode(xml);
+
+        assertThat(compressing.decode(encoded), is(xml));
+        assertThat(encoded.length() < uncompressed.encode(xml).length(), is(true));
+    }
+
+    @Test
+    public void can_decode_uncompressed() throws Exception {
+        final String xml = "<customer><name>Fred</name></customer>";
+
+        assertThat(compressing.decode(uncompressed.encode(xml)), is(xml));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_strings_exceeding_max_inflated_size() throws Exception {
+        final String encoded = compressing.encode(Strings.repeat(" ", UrlEncodingServiceWithCompression.MAX_INFLATED_SIZE + 1));
+
+        compressing.decode(encoded);
+    }
+
+}
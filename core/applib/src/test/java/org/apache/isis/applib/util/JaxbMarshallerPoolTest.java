@@ -0,0 +1,82 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.util;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.schema.cmd.v1.CommandDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class JaxbMarshallerPoolTest {
+
+    JAXBContext jaxbContext;
+    JaxbMarshallerPool pool;
+    int configured;
+
+    @Before
+    public void setUp() throws Exception {
+        jaxbContext = JaxbUtil.jaxbContextFor(CommandDto.class);
+        pool = new JaxbMarshallerPool() {
+            @Override
+            protected void configure(final Marshaller marshaller) {
+                configured++;
+            }
+        };
+    }
+
+    @Test
+    public void reused_once_released() throws Exception {
+        final Marshaller first = pool.borrowMarshaller(jaxbContext, true);
+        pool.release(jaxbContext, true, first);
+
+        final Marshaller second = pool.borrowMarshaller(jaxbContext, true);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(configured, is(1));
+    }
+
+    @Test
+    public void not_shared_while_borrowed() throws Exception {
+        final Marshaller first = pool.borrowMarshaller(jaxbContext, true);
+        final Marshaller second = pool.borrowMarshaller(jaxbContext, true);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(configured, is(2));
+    }
+
+    @Test
+    public void formatted_and_compact_are_pooled_separately() throws Exception {
+        final Marshaller formatted = pool.borrowMarshaller(jaxbContext, true);
+        pool.release(jaxbContext, true, formatted);
+
+        final Marshaller compact = pool.borrowMarshaller(jaxbContext, false);
+
+        assertThat(compact, is(not(sameInstance(formatted))));
+        assertThat(compact.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT), is((Object) Boolean.FALSE));
+    }
+
+}
@@ -65,4 +65,20 @@ public void setUserData() {
         CommandDtoUtils.setUserData(dto, "someKey", null);
         assertThat(CommandDtoUtils.getUserData(dto, "someKey"), is(nullValue()));
     }
+
+    @Test
+    public void toXml_unformatted_roundtrips() {
+
+        dto.setTransactionId("someTransactionId");
+        CommandDtoUtils.setUserData(dto, "someKey", "someValue");
+
+        final String formatted = CommandDtoUtils.toXml(dto);
+        final String unformatted = CommandDtoUtils.toXml(dto, false);
+
+        assertThat(unformatted.length() < formatted.length(), is(true));
+
+        final CommandDto roundtripped = CommandDtoUtils.fromXml(unformatted);
+        assertThat(roundtripped.getTransactionId(), is("someTransactionId"));
+        assertThat(CommandDtoUtils.getUserData(roundtripped, "someKey"), is("someValue"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.apache.log4j.Level;
+
+import org.apache.isis.core.benchmarks.dom.BenchmarkEntity;
+import org.apache.isis.core.benchmarks.dom.BenchmarkEntityRepository;
+import org.apache.isis.core.benchmarks.dom.BenchmarkModule;
+import org.apache.isis.core.benchmarks.generated.GeneratedDomain;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.runtime.headless.IsisSystem;
+import org.apache.isis.core.runtime.headless.IsisSystemBootstrapper;
+import org.apache.isis.core.runtime.headless.logging.LogConfig;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+
+/**
+ * Bootstraps (once per JVM) an {@link IsisSystem} for the {@link BenchmarkModule}, backed by an in-memory HSQLDB
+ * database seeded with {@link #NUMBER_OF_ENTITIES} entities, and with the metamodel for a
+ * {@link GeneratedDomain} of {@link #NUMBER_OF_GENERATED_TYPES} types loaded.
+ */
+public final class BenchmarkSystem {
+
+    public static final int NUMBER_OF_ENTITIES = 100;
+    public static final int NUMBER_OF_GENERATED_TYPES = 300;
+
+    private static BenchmarkSystem instance;
+
+    public static synchronized BenchmarkSystem get() {
+        if(instance == null) {
+            instance = new BenchmarkSystem();
+        }
+        return instance;
+    }
+
+    private final IsisSystem isisSystem;
+    private final List<RootOid> entityOids;
+    private final GeneratedDomain generatedDomain;
+
+    private BenchmarkSystem() {
+        isisSystem = new IsisSystemBootstrapper(new LogConfig(Level.WARN), new BenchmarkModule()).bootstrapIfRequired();
+
+        // the bootstrapper leaves a session open on this thread
+        final PersistenceSession persistenceSession =
+                isisSystem.getIsisSessionFactory().getCurrentSession().getPersistenceSession();
+        entityOids = persistenceSession.getTransactionManager().executeWithinTransaction(
+                new TransactionalClosureWithReturn<List<RootOid>>() {
+                    @Override
+                    public List<RootOid> execute() {
+                        final List<BenchmarkEntity> entities =
+                                isisSystem.getService(BenchmarkEntityRepository.class).seed(NUMBER_OF_ENTITIES);
+                        final List<RootOid> oids = Lists.newArrayList();
+                        for (final BenchmarkEntity entity : entities) {
+                            oids.add((RootOid) persistenceSession.adapterFor(entity).getOid());
+                        }
+                        return oids;
+                    }
+                });
+
+        generatedDomain = GeneratedDomain.generate(NUMBER_OF_GENERATED_TYPES);
+        isisSystem.getIsisSessionFactory().getSpecificationLoader().loadSpecifications(generatedDomain.getTypes());
+
+        try {
+            isisSystem.closeSession();
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public IsisSystem getIsisSystem() {
+        return isisSystem;
+    }
+
+    public List<RootOid> getEntityOids() {
+        return Collections.unmodifiableList(entityOids);
+    }
+
+    public GeneratedDomain getGeneratedDomain() {
+        return generatedDomain;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
+import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.DomainObjectReprRenderer;
+
+/**
+ * Rendering of an entity (with value and reference properties, and actions) by the Restful Objects viewer, both to
+ * the {@link JsonRepresentation} tree and then through to the JSON string sent over the wire.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DomainObjectReprRendererBenchmark {
+
+    private BenchmarkRendererContext rendererContext;
+    private ObjectAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void setUp(final IsisSessionState sessionState) {
+        rendererContext = new BenchmarkRendererContext(sessionState);
+        // (unlike the first) the last entity seeded has a related entity, which is also rendered (as a link)
+        final int numberOfEntities = sessionState.getBenchmarkSystem().getEntityOids().size();
+        adapter = sessionState.getPersistenceSession().adapterFor(
+                sessionState.getBenchmarkSystem().getEntityOids().get(numberOfEntities - 1));
+    }
+
+    @Benchmark
+    public JsonRepresentation render() {
+        final DomainObjectReprRenderer renderer =
+                new DomainObjectReprRenderer(rendererContext, null, JsonRepresentation.newMap());
+        return renderer.with(adapter).render();
+    }
+
+    @Benchmark
+    public String renderAndWrite() throws IOException {
+        return JsonMapper.instance(JsonMapper.PrettyPrinting.DISABLE).write(render());
+    }
+
+}
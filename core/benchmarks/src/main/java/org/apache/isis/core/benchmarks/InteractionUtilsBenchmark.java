@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Consent;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+
+/**
+ * Visibility and usability checks, which are delegated to {@link InteractionUtils}, as performed for every member of
+ * every object rendered by the viewers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InteractionUtilsBenchmark {
+
+    private ObjectAdapter adapter;
+    private ObjectAssociation imperativelyHidden;
+    private ObjectAssociation imperativelyDisabled;
+    private List<ObjectAssociation> associations;
+    private List<ObjectAction> actions;
+
+    @Setup(Level.Trial)
+    public void setUp(final IsisSessionState sessionState) {
+        adapter = sessionState.getPersistenceSession().adapterFor(
+                sessionState.getBenchmarkSystem().getEntityOids().get(0));
+        imperativelyHidden = adapter.getSpecification().getAssociation("description");
+        imperativelyDisabled = adapter.getSpecification().getAssociation("quantity");
+        associations = adapter.getSpecification().getAssociations(Contributed.INCLUDED);
+        actions = adapter.getSpecification().getObjectActions(Contributed.INCLUDED);
+    }
+
+    @Benchmark
+    public Consent isVisible() {
+        return imperativelyHidden.isVisible(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS);
+    }
+
+    @Benchmark
+    public Consent isUsable() {
+        return imperativelyDisabled.isUsable(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS);
+    }
+
+    /**
+     * As when rendering an object: each member is checked for visibility, and then each visible member for
+     * usability.
+     */
+    @Benchmark
+    public int allMembers() {
+        int allowed = 0;
+        for (final ObjectAssociation association : associations) {
+            if(association.isVisible(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS).isAllowed()
+               && association.isUsable(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS).isAllowed()) {
+                allowed++;
+            }
+        }
+        for (final ObjectAction action : actions) {
+            if(action.isVisible(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS).isAllowed()
+               && action.isUsable(adapter, InteractionInitiatedBy.USER, Where.OBJECT_FORMS).isAllowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+}
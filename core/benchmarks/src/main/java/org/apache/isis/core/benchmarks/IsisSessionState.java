@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.headless.IsisSystem;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+
+/**
+ * An Isis session, with a transaction in progress, for the thread running the benchmark (sessions being
+ * thread-local).
+ */
+@State(Scope.Thread)
+public class IsisSessionState {
+
+    private BenchmarkSystem benchmarkSystem;
+    private IsisSessionFactory isisSessionFactory;
+    private PersistenceSession persistenceSession;
+
+    @Setup(Level.Trial)
+    public void openSession() throws Exception {
+        benchmarkSystem = BenchmarkSystem.get();
+        final IsisSystem isisSystem = benchmarkSystem.getIsisSystem();
+        isisSessionFactory = isisSystem.getIsisSessionFactory();
+        if(!isisSessionFactory.inSession()) {
+            isisSystem.openSession();
+        }
+        persistenceSession = isisSessionFactory.getCurrentSession().getPersistenceSession();
+        transactionManager().startTransaction();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSession() throws Exception {
+        transactionManager().abortTransaction();
+        benchmarkSystem.getIsisSystem().closeSession();
+    }
+
+    /**
+     * For benchmarks that need a new session, with nothing yet loaded; any reference to the previous
+     * {@link #getPersistenceSession() persistence session} should be discarded.
+     */
+    public void reopenSession() throws Exception {
+        closeSession();
+        openSession();
+    }
+
+    private IsisTransactionManager transactionManager() {
+        return persistenceSession.getTransactionManager();
+    }
+
+    public BenchmarkSystem getBenchmarkSystem() {
+        return benchmarkSystem;
+    }
+
+    public IsisSessionFactory getIsisSessionFactory() {
+        return isisSessionFactory;
+    }
+
+    public SpecificationLoader getSpecificationLoader() {
+        return isisSessionFactory.getSpecificationLoader();
+    }
+
+    public PersistenceSession getPersistenceSession() {
+        return persistenceSession;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.schema.cmd.v1.ActionDto;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.common.v1.OidDto;
+import org.apache.isis.schema.utils.CommandDtoUtils;
+import org.apache.isis.schema.utils.CommonDtoUtils;
+
+/**
+ * Marshalling of the DTOs that are created for every command (and, similarly, interaction and changes) that is
+ * persisted or published, both through the DTO utilities and the generic {@link JaxbService}; this needs no running
+ * system.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JaxbDtoBenchmark {
+
+    private static final int NUMBER_OF_TARGETS = 10;
+    private static final int NUMBER_OF_PARAMETERS = 5;
+
+    private final JaxbService jaxbService = new JaxbService.Simple();
+
+    private CommandDto commandDto;
+    private String xml;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        commandDto = new CommandDto();
+        commandDto.setMajorVersion("1");
+        commandDto.setMinorVersion("4");
+        commandDto.setTransactionId(UUID.randomUUID().toString());
+        commandDto.setUser("sven");
+
+        for (int i = 0; i < NUMBER_OF_TARGETS; i++) {
+            final OidDto oidDto = new OidDto();
+            oidDto.setType("benchmarks.BenchmarkEntity");
+            oidDto.setId("" + i);
+            CommandDtoUtils.targetsFor(commandDto).getOid().add(oidDto);
+        }
+
+        final ActionDto actionDto = new ActionDto();
+        actionDto.setLogicalMemberIdentifier("benchmarks.BenchmarkEntity#updateName");
+        actionDto.setMemberIdentifier("org.apache.isis.core.benchmarks.dom.BenchmarkEntity#updateName()");
+        for (int i = 0; i < NUMBER_OF_PARAMETERS; i++) {
+            CommandDtoUtils.parametersFor(actionDto).getParameter().add(
+                    CommonDtoUtils.newParamDto("param" + i, String.class, "Argument #" + i, null));
+        }
+        commandDto.setMember(actionDto);
+
+        CommandDtoUtils.setUserData(commandDto, "someKey", "someValue");
+
+        xml = CommandDtoUtils.toXml(commandDto, false);
+    }
+
+    @Benchmark
+    public String toXml_commandDtoUtils() {
+        return CommandDtoUtils.toXml(commandDto, false);
+    }
+
+    @Benchmark
+    public CommandDto fromXml_commandDtoUtils() {
+        return CommandDtoUtils.fromXml(xml);
+    }
+
+    @Benchmark
+    public String toXml_jaxbService() {
+        return jaxbService.toXml(commandDto);
+    }
+
+    @Benchmark
+    public CommandDto fromXml_jaxbService() {
+        return jaxbService.fromXml(CommandDto.class, xml);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.isis.core.metamodel.adapter.oid.OidMarshaller;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+/**
+ * Oids are marshalled and unmarshalled for every link rendered and every bookmark resolved; this needs no running
+ * system.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OidMarshallerBenchmark {
+
+    private final OidMarshaller oidMarshaller = OidMarshaller.INSTANCE;
+
+    private RootOid rootOid;
+    private String oidStr;
+    private String oidStrWithVersion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rootOid = RootOid.create(ObjectSpecId.of("benchmarks.BenchmarkEntity"), "12345", 3L, "sven");
+        oidStr = oidMarshaller.marshalNoVersion(rootOid);
+        oidStrWithVersion = oidMarshaller.marshal(rootOid);
+    }
+
+    @Benchmark
+    public String marshal() {
+        return oidMarshaller.marshal(rootOid);
+    }
+
+    @Benchmark
+    public String marshalNoVersion() {
+        return oidMarshaller.marshalNoVersion(rootOid);
+    }
+
+    @Benchmark
+    public RootOid unmarshal() {
+        return oidMarshaller.unmarshal(oidStr, RootOid.class);
+    }
+
+    @Benchmark
+    public RootOid unmarshal_withVersion() {
+        return oidMarshaller.unmarshal(oidStrWithVersion, RootOid.class);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Resolving adapters for pojos and oids, both for objects already loaded into the session (the common case within a
+ * request) and - using a new session for each invocation - for objects that must be loaded from the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PersistenceSessionBenchmark {
+
+    private PersistenceSession persistenceSession;
+    private List<RootOid> oids;
+    private RootOid oid;
+    private Object pojo;
+
+    @Setup(Level.Trial)
+    public void setUp(final IsisSessionState sessionState) {
+        persistenceSession = sessionState.getPersistenceSession();
+        oids = sessionState.getBenchmarkSystem().getEntityOids();
+        oid = oids.get(oids.size() / 2);
+        pojo = persistenceSession.loadObjectInTransaction(oid).getObject();
+    }
+
+    @Benchmark
+    public ObjectAdapter adapterFor_pojo() {
+        return persistenceSession.adapterFor(pojo);
+    }
+
+    @Benchmark
+    public ObjectAdapter adapterFor_oid() {
+        return persistenceSession.adapterFor(oid);
+    }
+
+    @Benchmark
+    public ObjectAdapter loadObjectInTransaction_alreadyLoaded() {
+        return persistenceSession.loadObjectInTransaction(oid);
+    }
+
+    @State(Scope.Thread)
+    public static class FreshSession {
+
+        PersistenceSession persistenceSession;
+
+        @Setup(Level.Invocation)
+        public void reopen(final IsisSessionState sessionState) throws Exception {
+            sessionState.reopenSession();
+            persistenceSession = sessionState.getPersistenceSession();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public void loadObjectInTransaction_all_newSession(final FreshSession freshSession, final Blackhole blackhole) {
+        for (final RootOid rootOid : oids) {
+            blackhole.consume(freshSession.persistenceSession.loadObjectInTransaction(rootOid));
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.core.benchmarks.generated.GeneratedDomain;
+import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.facets.object.title.TitleFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+
+/**
+ * Lookups against an already-loaded metamodel (the common case at runtime), and the introspection of a freshly
+ * generated domain of {@link BenchmarkSystem#NUMBER_OF_GENERATED_TYPES} types (the cost paid at bootstrapping).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpecificationLoaderBenchmark {
+
+    private SpecificationLoader specificationLoader;
+    private List<Class<?>> types;
+    private ObjectSpecification specification;
+    private ObjectAssociation association;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(final IsisSessionState sessionState) {
+        specificationLoader = sessionState.getSpecificationLoader();
+        types = sessionState.getBenchmarkSystem().getGeneratedDomain().getTypes();
+        specification = specificationLoader.loadSpecification(types.get(0));
+        association = specification.getAssociation("text3");
+    }
+
+    private Class<?> nextType() {
+        next = (next + 1) % types.size();
+        return types.get(next);
+    }
+
+    @Benchmark
+    public ObjectSpecification loadSpecification() {
+        return specificationLoader.loadSpecification(nextType());
+    }
+
+    @Benchmark
+    public ObjectAssociation getAssociation() {
+        return specification.getAssociation("text3");
+    }
+
+    @Benchmark
+    public TitleFacet getFacet_onSpecification() {
+        return specification.getFacet(TitleFacet.class);
+    }
+
+    @Benchmark
+    public HiddenFacet getFacet_onAssociation() {
+        return association.getFacet(HiddenFacet.class);
+    }
+
+    /**
+     * A new domain for each invocation, so that its types have not been introspected before.
+     */
+    @State(Scope.Thread)
+    public static class FreshDomain {
+
+        GeneratedDomain generatedDomain;
+
+        @Setup(Level.Invocation)
+        public void generate() {
+            generatedDomain = GeneratedDomain.generate(BenchmarkSystem.NUMBER_OF_GENERATED_TYPES);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public boolean loadSpecifications_freshDomain(final FreshDomain freshDomain) {
+        return specificationLoader.loadSpecifications(freshDomain.generatedDomain.getTypes());
+    }
+
+}
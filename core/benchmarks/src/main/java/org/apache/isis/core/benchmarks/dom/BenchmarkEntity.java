@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks.dom;
+
+import java.math.BigDecimal;
+
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.IdentityType;
+import javax.jdo.annotations.VersionStrategy;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Editing;
+import org.apache.isis.applib.annotation.Property;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.annotation.Title;
+
+/**
+ * Has a mix of value and reference properties, and of declarative and imperative (<tt>hideXxx</tt> and
+ * <tt>disableXxx</tt>) business rules, so that rendering and visibility checks do representative work.
+ */
+@javax.jdo.annotations.PersistenceCapable(identityType = IdentityType.DATASTORE)
+@javax.jdo.annotations.DatastoreIdentity(strategy = IdGeneratorStrategy.IDENTITY, column = "id")
+@javax.jdo.annotations.Version(strategy = VersionStrategy.VERSION_NUMBER, column = "version")
+@DomainObject(objectType = "benchmarks.BenchmarkEntity")
+public class BenchmarkEntity implements Comparable<BenchmarkEntity> {
+
+    public BenchmarkEntity(final String name) {
+        this.name = name;
+    }
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = 40)
+    @Property(editing = Editing.DISABLED)
+    @Title
+    private String name;
+    public String getName() { return name; }
+    public void setName(final String name) { this.name = name; }
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = 4000)
+    private String description;
+    public String getDescription() { return description; }
+    public void setDescription(final String description) { this.description = description; }
+    public boolean hideDescription() {
+        return description == null;
+    }
+
+    @javax.jdo.annotations.Column(allowsNull = "false")
+    private int quantity;
+    public int getQuantity() { return quantity; }
+    public void setQuantity(final int quantity) { this.quantity = quantity; }
+    public String disableQuantity() {
+        return quantity < 0 ? "Cannot be changed once negative" : null;
+    }
+
+    @javax.jdo.annotations.Column(allowsNull = "true", scale = 2)
+    private BigDecimal amount;
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(final BigDecimal amount) { this.amount = amount; }
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    private LocalDate date;
+    public LocalDate getDate() { return date; }
+    public void setDate(final LocalDate date) { this.date = date; }
+
+    @javax.jdo.annotations.Column(allowsNull = "true", name = "relatedId")
+    private BenchmarkEntity related;
+    public BenchmarkEntity getRelated() { return related; }
+    public void setRelated(final BenchmarkEntity related) { this.related = related; }
+
+
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    public BenchmarkEntity updateName(final String name) {
+        setName(name);
+        return this;
+    }
+    public String default0UpdateName() {
+        return getName();
+    }
+    public String validate0UpdateName(final String name) {
+        return name.isEmpty() ? "Cannot be empty" : null;
+    }
+
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    public BenchmarkEntity relateTo(final BenchmarkEntity other) {
+        setRelated(other);
+        return this;
+    }
+    public String disableRelateTo() {
+        return related != null ? "Already related" : null;
+    }
+
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public int compareTo(final BenchmarkEntity other) {
+        return getName().compareTo(other.getName());
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks.dom;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.repository.RepositoryService;
+
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        repositoryFor = BenchmarkEntity.class
+)
+public class BenchmarkEntityRepository {
+
+    /**
+     * Creates the specified number of entities, each (other than the first) related to its predecessor.
+     */
+    @Programmatic
+    public List<BenchmarkEntity> seed(final int number) {
+        BenchmarkEntity previous = null;
+        for (int i = 0; i < number; i++) {
+            final BenchmarkEntity entity = new BenchmarkEntity("Entity #" + i);
+            entity.setDescription(i % 2 == 0 ? "Description of entity #" + i : null);
+            entity.setQuantity(i);
+            entity.setAmount(BigDecimal.valueOf(i * 100 + 99, 2));
+            entity.setDate(new LocalDate(2017, 1, 1).plusDays(i));
+            entity.setRelated(previous);
+            previous = repositoryService.persist(entity);
+        }
+        return listAll();
+    }
+
+    @Programmatic
+    public List<BenchmarkEntity> listAll() {
+        return repositoryService.allInstances(BenchmarkEntity.class);
+    }
+
+    @Inject
+    RepositoryService repositoryService;
+
+}
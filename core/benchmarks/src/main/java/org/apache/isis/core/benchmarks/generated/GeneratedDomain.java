@@ -0,0 +1,162 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks.generated;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.Modifier;
+
+/**
+ * A domain of many (non-persistent) types, generated at runtime so that the metamodel can be benchmarked against an
+ * application of realistic size without checking hundreds of classes into the source tree.
+ *
+ * <p>
+ *     Each type has a title, a number of value properties (some with imperative <tt>hideXxx</tt> rules), a reference
+ *     to the next type (so that introspecting one type pulls in others) and a couple of actions.  Each call to
+ *     {@link #generate(int)} uses a new package and a new class loader, so the resultant types are always
+ *     introspected afresh.
+ * </p>
+ */
+public final class GeneratedDomain {
+
+    public static final int STRING_PROPERTIES = 8;
+    public static final int INT_PROPERTIES = 4;
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    public static GeneratedDomain generate(final int numberOfTypes) {
+        final String packageName =
+                GeneratedDomain.class.getPackage().getName() + ".g" + GENERATION.incrementAndGet();
+        return new GeneratedDomain(packageName, numberOfTypes);
+    }
+
+    private final List<Class<?>> types;
+
+    private GeneratedDomain(final String packageName, final int numberOfTypes) {
+        final ClassLoader parent = GeneratedDomain.class.getClassLoader();
+        final ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(parent));
+
+        final List<String> typeNames = Lists.newArrayList();
+        for (int i = 0; i < numberOfTypes; i++) {
+            typeNames.add(packageName + ".Type" + i);
+        }
+
+        try {
+            final List<CtClass> ctClasses = Lists.newArrayList();
+            for (final String typeName : typeNames) {
+                ctClasses.add(pool.makeClass(typeName));
+            }
+            for (int i = 0; i < numberOfTypes; i++) {
+                addMembers(pool, ctClasses.get(i), ctClasses.get((i + 1) % numberOfTypes));
+            }
+            final Map<String, byte[]> bytecodeByName = Maps.newHashMap();
+            for (final CtClass ctClass : ctClasses) {
+                bytecodeByName.put(ctClass.getName(), ctClass.toBytecode());
+            }
+            for (final CtClass ctClass : ctClasses) {
+                ctClass.detach();
+            }
+
+            final GeneratedClassLoader classLoader = new GeneratedClassLoader(parent, bytecodeByName);
+            final List<Class<?>> types = Lists.newArrayList();
+            for (final String typeName : typeNames) {
+                types.add(classLoader.loadClass(typeName));
+            }
+            this.types = Collections.unmodifiableList(types);
+        } catch (final Exception e) {
+            throw new IsisException("Unable to generate domain types in " + packageName, e);
+        }
+    }
+
+    private static void addMembers(final ClassPool pool, final CtClass ctClass, final CtClass nextType) throws Exception {
+        final CtClass stringType = pool.get(String.class.getName());
+
+        addProperty(ctClass, stringType, "name");
+        ctClass.addMethod(CtNewMethod.make("public String title() { return name; }", ctClass));
+
+        for (int i = 0; i < STRING_PROPERTIES; i++) {
+            addProperty(ctClass, stringType, "text" + i);
+            if(i % 2 == 0) {
+                ctClass.addMethod(CtNewMethod.make(
+                        "public boolean hideText" + i + "() { return text" + i + " == null; }", ctClass));
+            }
+        }
+        for (int i = 0; i < INT_PROPERTIES; i++) {
+            addProperty(ctClass, CtClass.intType, "count" + i);
+        }
+        addProperty(ctClass, nextType, "next");
+
+        ctClass.addMethod(CtNewMethod.make(
+                "public " + ctClass.getName() + " rename(String name) { this.name = name; return this; }", ctClass));
+        ctClass.addMethod(CtNewMethod.make(
+                "public String disableRename() { return name == null ? \"No name\" : null; }", ctClass));
+        ctClass.addMethod(CtNewMethod.make(
+                "public " + nextType.getName() + " clearNext() { " + nextType.getName() + " next = this.next; this.next = null; return next; }", ctClass));
+    }
+
+    private static void addProperty(final CtClass ctClass, final CtClass type, final String name) throws Exception {
+        final CtField field = new CtField(type, name, ctClass);
+        field.setModifiers(Modifier.PRIVATE);
+        ctClass.addField(field);
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        ctClass.addMethod(CtNewMethod.getter("get" + capitalized, field));
+        ctClass.addMethod(CtNewMethod.setter("set" + capitalized, field));
+    }
+
+    public List<Class<?>> getTypes() {
+        return types;
+    }
+
+    /**
+     * Defines the generated types lazily, so that they can reference each other in any order.
+     */
+    static class GeneratedClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> bytecodeByName;
+
+        GeneratedClassLoader(final ClassLoader parent, final Map<String, byte[]> bytecodeByName) {
+            super(parent);
+            this.bytecodeByName = bytecodeByName;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            final byte[] bytecode = bytecodeByName.get(name);
+            if(bytecode == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+
+}
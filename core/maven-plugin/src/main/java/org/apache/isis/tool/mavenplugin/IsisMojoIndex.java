@@ -0,0 +1,219 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.tool.mavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import org.apache.isis.applib.services.classdiscovery.ClassDiscoveryIndex;
+
+/**
+ * Generates the {@link ClassDiscoveryIndex} of the project's classes, so that they need not be discovered by scanning
+ * the classpath when the application is bootstrapped.
+ *
+ * <p>
+ *     Unlike the other goals, this does not bootstrap the application (and so does not require an
+ *     <tt>AppManifest</tt>); the project's classes are loaded (but not initialized) only to inspect their annotations
+ *     and supertypes.
+ * </p>
+ */
+@Mojo(
+        name = "index",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresProject = true,
+        requiresDependencyResolution = ResolutionScope.COMPILE,
+        requiresDependencyCollection = ResolutionScope.COMPILE
+)
+public class IsisMojoIndex extends AbstractMojo {
+
+    /**
+     * The annotations searched for by the framework at bootstrap.
+     */
+    static final List<String> ANNOTATIONS = Arrays.asList(
+            "org.apache.isis.applib.annotation.DomainService",
+            "org.apache.isis.applib.annotation.DomainServiceLayout",
+            "org.apache.isis.applib.annotation.DomainObject",
+            "org.apache.isis.applib.annotation.DomainObjectLayout",
+            "org.apache.isis.applib.annotation.Mixin",
+            "org.apache.isis.applib.annotation.ViewModel",
+            "org.apache.isis.applib.annotation.ViewModelLayout",
+            "javax.jdo.annotations.PersistenceCapable",
+            "javax.xml.bind.annotation.XmlElement");
+
+    /**
+     * The supertypes whose subtypes are searched for by the framework at bootstrap.
+     */
+    static final List<String> SUPERTYPES = Arrays.asList(
+            "org.apache.isis.applib.fixturescripts.FixtureScript");
+
+    @Component
+    private MavenProject mavenProject;
+
+    /**
+     * Whether to skip generating the index.
+     */
+    @Parameter(required = false, readonly = false, property = "isis.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if(skip) {
+            getLog().info("Skipping generation of class discovery index");
+            return;
+        }
+
+        final File outputDir = new File(mavenProject.getBuild().getOutputDirectory());
+        if(!outputDir.isDirectory()) {
+            getLog().info("No classes to index");
+            return;
+        }
+
+        final List<String> classNames = Lists.newArrayList();
+        collectClassNames(outputDir, "", classNames);
+
+        final ClassDiscoveryIndex index;
+        try (final URLClassLoader classLoader = newProjectClassLoader()) {
+            index = new ClassDiscoveryIndex(classLoader);
+            for (final String key : ANNOTATIONS) {
+                index.addKey(key);
+            }
+            for (final String key : SUPERTYPES) {
+                index.addKey(key);
+            }
+            for (final String className : classNames) {
+                indexClass(index, classLoader, className);
+            }
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("Failed to index classes", ex);
+        }
+
+        final File indexFile = new File(outputDir, ClassDiscoveryIndex.RESOURCE_NAME);
+        try {
+            Files.createParentDirs(indexFile);
+            try (final Writer writer = Files.newWriter(indexFile, Charsets.UTF_8)) {
+                index.write(writer);
+            }
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("Failed to write " + indexFile, ex);
+        }
+        getLog().info(String.format("Indexed %d classes to %s", classNames.size(), indexFile));
+    }
+
+    private URLClassLoader newProjectClassLoader() throws MojoExecutionException {
+        try {
+            final List<URL> urls = Lists.newArrayList();
+            for (final String element : mavenProject.getCompileClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+            // the parent is the extension classloader, so that only the project's own classpath is visible
+            return new URLClassLoader(urls.toArray(new URL[urls.size()]), ClassLoader.getSystemClassLoader().getParent());
+        } catch (final DependencyResolutionRequiredException | MalformedURLException ex) {
+            throw new MojoExecutionException("Failed to determine compile classpath", ex);
+        }
+    }
+
+    private static void collectClassNames(final File dir, final String packagePrefix, final List<String> classNames) {
+        final File[] files = dir.listFiles();
+        if(files == null) {
+            return;
+        }
+        for (final File file : files) {
+            final String fileName = file.getName();
+            if(file.isDirectory()) {
+                collectClassNames(file, packagePrefix + fileName + ".", classNames);
+            } else if(fileName.endsWith(".class") && !fileName.equals("package-info.class")) {
+                classNames.add(packagePrefix + fileName.substring(0, fileName.length() - ".class".length()));
+            }
+        }
+    }
+
+    private void indexClass(final ClassDiscoveryIndex index, final ClassLoader classLoader, final String className) {
+        final Class<?> cls;
+        try {
+            cls = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            getLog().debug("Unable to load " + className + ", ignoring");
+            return;
+        }
+        final Package pkg = cls.getPackage();
+        if(pkg != null) {
+            index.addPackage(pkg.getName());
+        }
+
+        // as per Reflections, a type is annotated if any of its supertypes are annotated
+        final Set<Class<?>> typeAndSupertypes = Sets.newLinkedHashSet();
+        collectTypeAndSupertypes(cls, typeAndSupertypes);
+        for (final Class<?> type : typeAndSupertypes) {
+            if(type != cls && SUPERTYPES.contains(type.getName())) {
+                index.add(type.getName(), className);
+            }
+            final Annotation[] annotations;
+            try {
+                annotations = type.getDeclaredAnnotations();
+            } catch (final LinkageError ex) {
+                continue;
+            }
+            for (final Annotation annotation : annotations) {
+                final String annotationName = annotation.annotationType().getName();
+                if(ANNOTATIONS.contains(annotationName)) {
+                    index.add(annotationName, className);
+                }
+            }
+        }
+    }
+
+    private static void collectTypeAndSupertypes(final Class<?> cls, final Set<Class<?>> types) {
+        if(cls == null || cls == Object.class || !types.add(cls)) {
+            return;
+        }
+        try {
+            collectTypeAndSupertypes(cls.getSuperclass(), types);
+            for (final Class<?> interfaceType : cls.getInterfaces()) {
+                collectTypeAndSupertypes(interfaceType, types);
+            }
+        } catch (final LinkageError ex) {
+            // ignore any supertypes not on the classpath
+        }
+    }
+
+}
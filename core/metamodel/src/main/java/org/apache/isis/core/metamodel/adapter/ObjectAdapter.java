@@ -146,6 +146,15 @@ public interface ObjectAdapter extends Instance, org.apache.isis.applib.annotati
      */
     String getIconName();
 
+    /**
+     * Returns the CSS class to use if this object is to be displayed, as per
+     * {@link ObjectSpecification#getCssClass(ObjectAdapter)}.
+     *
+     * <p>
+     * May return <code>null</code> if no CSS class is specified.
+     */
+    String getCssClass();
+
     /**
      * Checks the version of this adapter to make sure that it does not differ
      * from the specified version.
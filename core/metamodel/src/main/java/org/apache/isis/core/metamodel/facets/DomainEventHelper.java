@@ -40,9 +40,11 @@
 import org.apache.isis.applib.services.eventbus.CollectionDomainEvent;
 import org.apache.isis.applib.services.eventbus.EventBusService;
 import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facetapi.IdentifiedHolder;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
 
@@ -122,7 +124,7 @@ public ActionDomainEvent<?> postEventForAction(
                 }
             }
 
-            getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -221,7 +223,7 @@ private static List<Object> asList(final Object[] arguments) {
             // just in case the actual new value held by the object is different from that applied
             setEventNewValue(event, newValue);
 
-            this.getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -313,7 +315,7 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             event.setEventPhase(phase);
             event.setPhase(AbstractInteractionEvent.Phase.from(phase));
 
-            getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -422,6 +424,22 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
 
     //region > eventBusService
 
+    private void post(final AbstractDomainEvent<?> event) {
+        final InstrumentationServiceInternal instrumentationServiceInternal =
+                servicesInjector.lookupService(InstrumentationServiceInternal.class);
+        final long startedAt = instrumentationServiceInternal != null
+                ? instrumentationServiceInternal.start()
+                : InstrumentationServiceInternal.NOT_STARTED;
+        try {
+            getEventBusService().post(event);
+        } finally {
+            if(instrumentationServiceInternal != null) {
+                instrumentationServiceInternal.stop(
+                        InstrumentationService.Phase.DOMAIN_EVENT, event.getClass().getName(), startedAt);
+            }
+        }
+    }
+
     private EventBusService getEventBusService() {
         // previously this method used to cache, however it prevents integration tests
         // from switching out the EventBusService with a mock.
@@ -70,7 +70,7 @@ public void refineMetaModelValidator(final MetaModelValidatorComposite metaModel
         if(orphanValidation == OrphanValidation.DONT_VALIDATE) {
             return;
         }
-        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.Visitor() {
+        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.SpecLocalVisitor() {
 
             @Override
             public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures validationFailures) {
@@ -48,6 +48,7 @@
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.metamodel.MetaModelService2;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
 import org.apache.isis.applib.services.repository.RepositoryService;
 import org.apache.isis.applib.services.xactn.TransactionService;
@@ -73,6 +74,7 @@
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
 import org.apache.isis.core.metamodel.facets.object.viewmodel.ViewModelFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.services.ixn.InteractionDtoServiceInternal;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
@@ -308,7 +310,18 @@ eventType, verify(event),
             };
 
             // sets up startedAt and completedAt on the execution, also manages the execution call graph
-            interaction.execute(callable, execution);
+            final InstrumentationServiceInternal instrumentationServiceInternal = getInstrumentationServiceInternal();
+            final long startedAt = instrumentationServiceInternal != null
+                    ? instrumentationServiceInternal.start()
+                    : InstrumentationServiceInternal.NOT_STARTED;
+            try {
+                interaction.execute(callable, execution);
+            } finally {
+                if(instrumentationServiceInternal != null) {
+                    instrumentationServiceInternal.stop(
+                            InstrumentationService.Phase.ACTION_INVOCATION, actionId, startedAt);
+                }
+            }
 
             // handle any exceptions
             final Interaction.Execution<ActionInvocationDto, ?> priorExecution = interaction.getPriorExecution();
@@ -481,6 +494,10 @@ private TransactionService getTransactionService() {
         return servicesInjector.lookupServiceElseFail(TransactionService.class);
     }
 
+    private InstrumentationServiceInternal getInstrumentationServiceInternal() {
+        return servicesInjector.lookupService(InstrumentationServiceInternal.class);
+    }
+
     private BookmarkService getBookmarkService() {
         return servicesInjector.lookupServiceElseFail(BookmarkService.class);
     }
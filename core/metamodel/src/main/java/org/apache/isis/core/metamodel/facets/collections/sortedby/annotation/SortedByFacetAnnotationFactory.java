@@ -83,7 +83,7 @@ public void refineMetaModelValidator(MetaModelValidatorComposite metaModelValida
     }
 
     protected Visitor newValidatorVisitor() {
-        return new MetaModelValidatorVisiting.Visitor() {
+        return new MetaModelValidatorVisiting.SpecLocalVisitor() {
 
             @Override
             public boolean visit(ObjectSpecification objectSpec, ValidationFailures validationFailures) {
@@ -73,7 +73,7 @@ private BookmarkPolicyFacet create(final Bookmarkable annotation, final FacetHol
      */
     @Override
     public void refineMetaModelValidator(MetaModelValidatorComposite metaModelValidator, IsisConfiguration configuration) {
-        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.Visitor() {
+        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.SpecLocalVisitor() {
 
             @Override
             public boolean visit(ObjectSpecification objectSpec, ValidationFailures validationFailures) {
@@ -572,7 +572,7 @@ private void processDomainEventCollection(final DomainObject domainObject, final
     @Override
     public void refineMetaModelValidator(final MetaModelValidatorComposite metaModelValidator, final IsisConfiguration configuration) {
 
-        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.Visitor() {
+        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.SpecLocalVisitor() {
             @Override
             public boolean visit(final ObjectSpecification thisSpec, final ValidationFailures validationFailures) {
 
@@ -67,7 +67,7 @@ public void refineMetaModelValidator(
     }
 
     private MetaModelValidatorVisiting.Visitor newValidatorVisitor() {
-        return new MetaModelValidatorVisiting.Visitor() {
+        return new MetaModelValidatorVisiting.SpecLocalVisitor() {
             @Override
             public boolean visit(
                     final ObjectSpecification objectSpec,
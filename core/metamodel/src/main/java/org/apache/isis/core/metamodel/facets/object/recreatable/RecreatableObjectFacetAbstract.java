@@ -20,9 +20,18 @@
 package org.apache.isis.core.metamodel.facets.object.recreatable;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
 
 import org.apache.isis.applib.ViewModel;
+import org.apache.isis.applib.services.urlencoding.ViewModelMementoStore;
+import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.MethodExtensions;
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
@@ -34,6 +43,28 @@
 
 public abstract class RecreatableObjectFacetAbstract extends MarkerFacetAbstract implements ViewModelFacet {
 
+    /**
+     * Prefix for handles to mementos held by the {@link ViewModelMementoStore}; not part of the base64url alphabet.
+     */
+    static final String HANDLE_PREFIX = ".";
+
+    /**
+     * The prefix followed by 128 bits of a SHA-256 hash of the memento, base64url-encoded without padding.
+     */
+    static final int HANDLE_LENGTH = HANDLE_PREFIX.length() + 22;
+
+    private static final int DECODED_MAX_SIZE = 1000;
+    private static final int DECODED_EXPIRE_AFTER_ACCESS_MINUTES = 10;
+
+    /**
+     * Only populated if a {@link ViewModelMementoStore} is in use, and only for view models that are
+     * {@link ViewModel.Cloneable cloneable}; the cached instances are never handed out, only clones of them.
+     */
+    private final Cache<String, Object> decodedByHandle = CacheBuilder.newBuilder()
+            .maximumSize(DECODED_MAX_SIZE)
+            .expireAfterAccess(DECODED_EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+            .build();
+
     private final PostConstructMethodCache postConstructMethodCache;
     private final ViewModelFacet.RecreationMechanism recreationMechanism;
     protected final ServicesInjector servicesInjector;
@@ -89,12 +120,28 @@ public final Object instantiate(
         if(getRecreationMechanism() == RecreationMechanism.INITIALIZES) {
             throw new IllegalStateException("This view model instantiates rather than initializes");
         }
-        final Object viewModelPojo = doInstantiate(viewModelClass, mementoStr);
+        final Object viewModelPojo = instantiateOrCloneDecoded(viewModelClass, mementoStr);
         servicesInjector.injectInto(viewModelPojo);
         invokePostConstructMethod(viewModelPojo);
         return viewModelPojo;
     }
 
+    private Object instantiateOrCloneDecoded(final Class<?> viewModelClass, final String mementoStr) {
+        if(!isHandle(mementoStr)) {
+            return doInstantiate(viewModelClass, mementoStr);
+        }
+        final Object decoded = decodedByHandle.getIfPresent(mementoStr);
+        if(decoded != null) {
+            return ((ViewModel.Cloneable) decoded).clone();
+        }
+        final Object viewModelPojo = doInstantiate(viewModelClass, mementoFor(mementoStr));
+        if(!(viewModelPojo instanceof ViewModel.Cloneable)) {
+            return viewModelPojo;
+        }
+        decodedByHandle.put(mementoStr, viewModelPojo);
+        return ((ViewModel.Cloneable) viewModelPojo).clone();
+    }
+
     /**
      * Hook for subclass; must be overridden if {@link #getRecreationMechanism()} is {@link RecreationMechanism#INSTANTIATES} (ignored otherwise).
      */
@@ -109,7 +156,7 @@ public final void initialize(
         if(getRecreationMechanism() == RecreationMechanism.INSTANTIATES) {
             throw new IllegalStateException("This view model instantiates rather than initializes");
         }
-        doInitialize(viewModelPojo, mementoStr);
+        doInitialize(viewModelPojo, mementoFor(mementoStr));
         invokePostConstructMethod(viewModelPojo);
     }
 
@@ -122,6 +169,63 @@ protected void doInitialize(
         throw new IllegalStateException("doInitialize() must be overridden if RecreationMechanism is INITIALIZE");
     }
 
+    /**
+     * If a {@link ViewModelMementoStore} is registered, then stores the memento and returns a short handle to it;
+     * otherwise returns the memento itself.
+     */
+    @Override
+    public final String memento(final Object pojo) {
+        return identifierFor(doMemento(pojo));
+    }
+
+    /**
+     * Hook for subclass to return the memento of the pojo.
+     */
+    protected abstract String doMemento(final Object pojo);
+
+    /**
+     * The identifier to use for the memento; either the memento itself or, if a {@link ViewModelMementoStore} is
+     * registered, a handle to it.
+     */
+    protected String identifierFor(final String memento) {
+        final ViewModelMementoStore mementoStore = getMementoStore();
+        if(mementoStore == null) {
+            return memento;
+        }
+        if(memento.length() <= HANDLE_LENGTH && !memento.startsWith(HANDLE_PREFIX)) {
+            // no benefit from storing
+            return memento;
+        }
+        final byte[] hash = Hashing.sha256().hashString(memento, StandardCharsets.UTF_8).asBytes();
+        final String handle = HANDLE_PREFIX + BaseEncoding.base64Url().omitPadding().encode(hash, 0, 16);
+        mementoStore.put(handle, memento);
+        return handle;
+    }
+
+    private String mementoFor(final String mementoStr) {
+        if(!isHandle(mementoStr)) {
+            return mementoStr;
+        }
+        final String memento = getMementoStore().get(mementoStr);
+        if(memento == null) {
+            throw new IsisException(String.format(
+                    "Memento for view model is no longer available, it may have expired (handle: '%s')",
+                    mementoStr));
+        }
+        return memento;
+    }
+
+    private boolean isHandle(final String mementoStr) {
+        return mementoStr != null &&
+               mementoStr.length() == HANDLE_LENGTH &&
+               mementoStr.startsWith(HANDLE_PREFIX) &&
+               getMementoStore() != null;
+    }
+
+    private ViewModelMementoStore getMementoStore() {
+        return servicesInjector.lookupService(ViewModelMementoStore.class);
+    }
+
     private void invokePostConstructMethod(final Object viewModel) {
         final Method postConstructMethod = postConstructMethodCache.postConstructMethodFor(viewModel);
         if(postConstructMethod != null) {
@@ -75,7 +75,7 @@ protected void doInitialize(
         if(viewModelAdapter == null) {
             final ObjectSpecification objectSpecification = specificationLoader.loadSpecification(viewModelPojo.getClass());
             final ObjectSpecId objectSpecId = objectSpecification.getSpecId();
-            viewModelAdapter = adapterManager.mapRecreatedPojo(new RootOid(objectSpecId, mementoStr, Oid.State.VIEWMODEL), viewModelPojo);
+            viewModelAdapter = adapterManager.mapRecreatedPojo(new RootOid(objectSpecId, identifierFor(mementoStr), Oid.State.VIEWMODEL), viewModelPojo);
         }
 
         final ObjectSpecification spec = viewModelAdapter.getSpecification();
@@ -100,7 +100,7 @@ protected void doInitialize(
     }
     
     @Override
-    public String memento(Object viewModelPojo) {
+    protected String doMemento(Object viewModelPojo) {
 
         final MementoService mementoService = servicesInjector.lookupService(MementoService.class);
         final BookmarkService bookmarkService = servicesInjector.lookupService(BookmarkService.class);
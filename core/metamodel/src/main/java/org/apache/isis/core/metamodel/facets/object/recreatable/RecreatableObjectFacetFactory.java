@@ -103,7 +103,7 @@ private ViewModelFacet create(final XmlRootElement annotation, final FacetHolder
 
     @Override
     public void refineMetaModelValidator(final MetaModelValidatorComposite metaModelValidator, final IsisConfiguration configuration) {
-        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.Visitor() {
+        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.SpecLocalVisitor() {
 
             @Override
             public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures validationFailures) {
@@ -40,7 +40,7 @@ protected void doInitialize(final Object pojo, final String memento) {
     }
     
     @Override
-    public String memento(final Object pojo) {
+    protected String doMemento(final Object pojo) {
         final RecreatableDomainObject recreatableDomainObject = (RecreatableDomainObject)pojo;
         return recreatableDomainObject.__isis_memento();
     }
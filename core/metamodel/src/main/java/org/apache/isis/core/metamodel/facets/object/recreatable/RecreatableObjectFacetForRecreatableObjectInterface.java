@@ -40,7 +40,7 @@ protected void doInitialize(Object pojo, String memento) {
     }
 
     @Override
-    public String memento(Object pojo) {
+    protected String doMemento(Object pojo) {
         final ViewModel viewModel = (ViewModel) pojo;
         return viewModel.viewModelMemento();
     }
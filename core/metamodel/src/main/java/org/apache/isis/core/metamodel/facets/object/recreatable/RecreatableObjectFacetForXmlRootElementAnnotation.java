@@ -19,6 +19,11 @@
 
 package org.apache.isis.core.metamodel.facets.object.recreatable;
 
+import java.util.Collections;
+import java.util.Map;
+
+import javax.xml.bind.Marshaller;
+
 import org.apache.isis.applib.services.jaxb.JaxbService;
 import org.apache.isis.applib.services.urlencoding.UrlEncodingService;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
@@ -27,6 +32,12 @@
 
 public class RecreatableObjectFacetForXmlRootElementAnnotation extends RecreatableObjectFacetAbstract {
 
+    /**
+     * The XML is only ever read back by a machine, so there's no need to format it (which would just make the memento,
+     * and hence the URL, longer).
+     */
+    private static final Map<String, Object> UNFORMATTED =
+            Collections.<String, Object>singletonMap(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
 
     public RecreatableObjectFacetForXmlRootElementAnnotation(
             final FacetHolder holder,
@@ -46,9 +57,9 @@ protected Object doInstantiate(final Class<?> viewModelClass, final String memen
     }
 
     @Override
-    public String memento(final Object pojo) {
+    protected String doMemento(final Object pojo) {
 
-        final String xml = getJaxbService().toXml(pojo);
+        final String xml = getJaxbService().toXml(pojo, UNFORMATTED);
         final String encoded = getUrlEncodingService().encode(xml);
 
         return encoded;
@@ -66,7 +77,7 @@ public boolean isImplicitlyImmutable() {
 
     @Override
     public Object clone(Object pojo) {
-        final String xml = getJaxbService().toXml(pojo);
+        final String xml = getJaxbService().toXml(pojo, UNFORMATTED);
         final Object cloned = getJaxbService().fromXml(pojo.getClass(), xml);
         return cloned;
     }
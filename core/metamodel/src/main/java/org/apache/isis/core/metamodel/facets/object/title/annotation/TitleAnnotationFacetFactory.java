@@ -152,7 +152,7 @@ private static List<String> componentsFor(final String sequence) {
      */
     @Override
     public void refineMetaModelValidator(MetaModelValidatorComposite metaModelValidator, IsisConfiguration configuration) {
-        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.Visitor() {
+        metaModelValidator.add(new MetaModelValidatorVisiting(new MetaModelValidatorVisiting.SpecLocalVisitor() {
 
             @Override
             public boolean visit(ObjectSpecification objectSpec, ValidationFailures validationFailures) {
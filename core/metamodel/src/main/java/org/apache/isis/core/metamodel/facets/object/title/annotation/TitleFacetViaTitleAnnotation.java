@@ -124,8 +124,30 @@ public List<TitleComponent> getComponents() {
         return components;
     }
 
-    private static String abbreviated(final String str, final int maxLength) {
-        return str.length() < maxLength ? str : str.substring(0, maxLength - 3) + "...";
+    /**
+     * Appends the string, abbreviated if necessary, without creating any intermediate strings.
+     */
+    private static void appendAbbreviated(final StringBuilder buf, final String str, final int maxLength) {
+        if(str.length() < maxLength) {
+            buf.append(str);
+        } else {
+            buf.append(str, 0, maxLength - 3).append("...");
+        }
+    }
+
+    /**
+     * Equivalent to <tt>buf.toString().trim()</tt>, but creating only the one string.
+     */
+    private static String trimmed(final StringBuilder buf) {
+        int start = 0;
+        int end = buf.length();
+        while (start < end && buf.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && buf.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return buf.substring(start, end);
     }
 
     @Override
@@ -138,12 +160,19 @@ public String title(ObjectAdapter contextAdapter, ObjectAdapter targetAdapter) {
                 if (titlePart == null) {
                     continue;
                 } 
-                // ignore context, if provided
-                final ObjectAdapter titlePartAdapter = adapterManager.adapterFor(titlePart);
-                if(Objects.equal(contextAdapter, titlePartAdapter)) {
-                    continue;
+                String title;
+                if (titlePart instanceof String) {
+                    // the title of a string is itself, so no need to adapt it (a newly created value adapter would
+                    // never be the same as the context adapter, either)
+                    title = (String) titlePart;
+                } else {
+                    // ignore context, if provided
+                    final ObjectAdapter titlePartAdapter = adapterManager.adapterFor(titlePart);
+                    if(Objects.equal(contextAdapter, titlePartAdapter)) {
+                        continue;
+                    }
+                    title = titleOf(titlePartAdapter);
                 }
-                String title = titleOf(titlePartAdapter);
                 if (Strings.isNullOrEmpty(title)) {
                     // ... use the toString() otherwise
                     // (mostly for benefit of testing...)
@@ -153,11 +182,11 @@ public String title(ObjectAdapter contextAdapter, ObjectAdapter targetAdapter) {
                     continue;
                 }
                 stringBuilder.append(component.getPrepend());
-                stringBuilder.append(abbreviated(title, component.abbreviateTo));
+                appendAbbreviated(stringBuilder, title, component.abbreviateTo);
                 stringBuilder.append(component.getAppend());
             }
 
-            return stringBuilder.toString().trim();
+            return trimmed(stringBuilder);
         } catch (final RuntimeException ex) {
             LOG.warn("Title failure", ex);
             return "Failed Title";
@@ -32,6 +32,7 @@
 import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
@@ -45,6 +46,7 @@
 import org.apache.isis.core.metamodel.facets.properties.update.clear.PropertyClearFacet;
 import org.apache.isis.core.metamodel.facets.properties.update.modify.PropertySetterFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.services.ixn.InteractionDtoServiceInternal;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
@@ -293,7 +295,18 @@ public Object execute(final Interaction.PropertyEdit currentExecution) {
                     };
 
             // sets up startedAt and completedAt on the execution, also manages the execution call graph
-            interaction.execute(executor, execution);
+            final InstrumentationServiceInternal instrumentationServiceInternal = getInstrumentationServiceInternal();
+            final long startedAt = instrumentationServiceInternal != null
+                    ? instrumentationServiceInternal.start()
+                    : InstrumentationServiceInternal.NOT_STARTED;
+            try {
+                interaction.execute(executor, execution);
+            } finally {
+                if(instrumentationServiceInternal != null) {
+                    instrumentationServiceInternal.stop(
+                            InstrumentationService.Phase.PROPERTY_EDIT, propertyId, startedAt);
+                }
+            }
 
             // handle any exceptions
             final Interaction.Execution priorExecution = interaction.getPriorExecution();
@@ -330,6 +343,10 @@ public Object execute(final Interaction.PropertyEdit currentExecution) {
     }
 
 
+    private InstrumentationServiceInternal getInstrumentationServiceInternal() {
+        return servicesInjector.lookupService(InstrumentationServiceInternal.class);
+    }
+
     private InteractionDtoServiceInternal getInteractionDtoServiceInternal() {
         return servicesInjector.lookupServiceElseFail(InteractionDtoServiceInternal.class);
     }
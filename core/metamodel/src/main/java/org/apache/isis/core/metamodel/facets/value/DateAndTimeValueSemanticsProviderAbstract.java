@@ -75,12 +75,7 @@ protected Map<String, DateFormat> formats() {
 
     @Override
     protected DateFormat format() {
-        final Locale locale = Locale.getDefault();
-        final TimeZone timeZone = TimeZone.getDefault();
-
-        final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, locale);
-        dateFormat.setTimeZone(timeZone);
-        return dateFormat;
+        return DateFormats.dateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, Locale.getDefault(), TimeZone.getDefault());
     }
 
     @Override
@@ -94,20 +89,16 @@ protected List<DateFormat> formatsToTry() {
         final Locale locale = Locale.getDefault();
         final TimeZone timeZone = TimeZone.getDefault();
 
-        formats.add(DateFormat.getDateTimeInstance(DateFormat.LONG, DateFormat.LONG, locale));
-        formats.add(createDateFormat("yyyy-MM-dd HH:mm:ss.SSS"));
-        formats.add(createDateFormat("yyyyMMdd'T'HHmmssSSS"));
-        formats.add(DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, locale));
-        formats.add(createDateFormat("yyyy-MM-dd HH:mm:ss"));
-        formats.add(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale));
-        formats.add(createDateFormat("yyyyMMdd'T'HHmmss"));
-        formats.add(createDateFormat("yyyy-MM-dd HH:mm"));
-        formats.add(createDateFormat("yyyyMMdd'T'HHmm"));
-        formats.add(createDateFormat("dd-MMM-yyyy HH:mm"));
-
-        for (DateFormat format : formats) {
-            format.setTimeZone(timeZone);
-        }
+        formats.add(DateFormats.dateTimeInstance(DateFormat.LONG, DateFormat.LONG, locale, timeZone));
+        formats.add(DateFormats.forPattern("yyyy-MM-dd HH:mm:ss.SSS", timeZone));
+        formats.add(DateFormats.forPattern("yyyyMMdd'T'HHmmssSSS", timeZone));
+        formats.add(DateFormats.dateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, locale, timeZone));
+        formats.add(DateFormats.forPattern("yyyy-MM-dd HH:mm:ss", timeZone));
+        formats.add(DateFormats.dateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale, timeZone));
+        formats.add(DateFormats.forPattern("yyyyMMdd'T'HHmmss", timeZone));
+        formats.add(DateFormats.forPattern("yyyy-MM-dd HH:mm", timeZone));
+        formats.add(DateFormats.forPattern("yyyyMMdd'T'HHmm", timeZone));
+        formats.add(DateFormats.forPattern("dd-MMM-yyyy HH:mm", timeZone));
 
         return formats;
     }
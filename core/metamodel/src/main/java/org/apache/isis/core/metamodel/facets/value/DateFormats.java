@@ -0,0 +1,146 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.value;
+
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Per-thread cache of {@link DateFormat}s, keyed by their style (or pattern), locale and time zone.
+ *
+ * <p>
+ *     {@link DateFormat}s are expensive to create (the locale's symbols are looked up and the pattern compiled each
+ *     time) but are not thread-safe, so rather than creating new instances for each value to be formatted or parsed
+ *     (or synchronizing on a shared instance), each thread reuses its own.  The formats returned must therefore not
+ *     be modified by the caller.
+ * </p>
+ */
+public final class DateFormats {
+
+    private DateFormats(){}
+
+    private final static ThreadLocal<Map<Object, DateFormat>> FORMATS = new ThreadLocal<Map<Object, DateFormat>>() {
+        @Override
+        protected Map<Object, DateFormat> initialValue() {
+            return Maps.newHashMap();
+        }
+    };
+
+    public static DateFormat dateInstance(final int style, final Locale locale, final TimeZone timeZone) {
+        final String key = "date:" + style + ":" + locale + ":" + timeZone.getID();
+        DateFormat format = FORMATS.get().get(key);
+        if (format == null) {
+            format = DateFormat.getDateInstance(style, locale);
+            cache(key, format, timeZone);
+        }
+        return format;
+    }
+
+    public static DateFormat timeInstance(final int style, final Locale locale, final TimeZone timeZone) {
+        final String key = "time:" + style + ":" + locale + ":" + timeZone.getID();
+        DateFormat format = FORMATS.get().get(key);
+        if (format == null) {
+            format = DateFormat.getTimeInstance(style, locale);
+            cache(key, format, timeZone);
+        }
+        return format;
+    }
+
+    public static DateFormat dateTimeInstance(final int dateStyle, final int timeStyle, final Locale locale, final TimeZone timeZone) {
+        final String key = "datetime:" + dateStyle + ":" + timeStyle + ":" + locale + ":" + timeZone.getID();
+        DateFormat format = FORMATS.get().get(key);
+        if (format == null) {
+            format = DateFormat.getDateTimeInstance(dateStyle, timeStyle, locale);
+            cache(key, format, timeZone);
+        }
+        return format;
+    }
+
+    /**
+     * As per <tt>new SimpleDateFormat(mask)</tt>, for the default locale, in the specified time zone.
+     */
+    public static DateFormat forPattern(final String mask, final TimeZone timeZone) {
+        final String key = "pattern:" + mask + ":" + Locale.getDefault() + ":" + timeZone.getID();
+        DateFormat format = FORMATS.get().get(key);
+        if (format == null) {
+            format = new SimpleDateFormat(mask);
+            cache(key, format, timeZone);
+        }
+        return format;
+    }
+
+    /**
+     * This thread's own copy of the (shared, and otherwise unmodified) prototype.
+     */
+    public static DateFormat copyOf(final DateFormat prototype) {
+        final Map<Object, DateFormat> formats = FORMATS.get();
+        DateFormat format = formats.get(prototype);
+        if (format == null) {
+            format = (DateFormat) prototype.clone();
+            // keyed by a (value-equal) copy, in case the prototype is subsequently modified
+            formats.put(prototype.clone(), format);
+        }
+        return format;
+    }
+
+    private static void cache(final String key, final DateFormat format, final TimeZone timeZone) {
+        format.setTimeZone(timeZone);
+        FORMATS.get().put(key, format);
+    }
+
+    /**
+     * Parses the text using the first of the formats that recognises it (as per {@link DateFormat#parse(String)},
+     * so not necessarily consuming all of the text), without incurring the cost of a {@link java.text.ParseException}
+     * for each of the formats that do not.
+     *
+     * @return the date, or <tt>null</tt> if none of the formats recognised the text.
+     */
+    public static Date parse(final String text, final Iterable<DateFormat> formats) {
+        final ParsePosition position = new ParsePosition(0);
+        for (final DateFormat format : formats) {
+            final Date date = parse(text, format, position);
+            if (date != null) {
+                return date;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the date, or <tt>null</tt> if the format did not recognise the text.
+     */
+    public static Date parse(final String text, final DateFormat format) {
+        return parse(text, format, new ParsePosition(0));
+    }
+
+    private static Date parse(final String text, final DateFormat format, final ParsePosition position) {
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        final Date date = format.parse(text, position);
+        return position.getIndex() != 0 ? date : null;
+    }
+
+}
@@ -23,7 +23,13 @@
 
 import com.google.common.base.Function;
 
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
 import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.DateTimeParser;
+import org.joda.time.format.DateTimeParserBucket;
 
 public final class JodaFunctions  {
 
@@ -41,4 +47,37 @@ public DateTimeFormatter apply(DateTimeFormatter input) {
         };
     }
 
+    /**
+     * As per {@link DateTimeFormatter#parseLocalDateTime(String)}, but returning <tt>null</tt> rather than throwing an
+     * exception if the text is not recognised by the formatter; this avoids the cost of creating (and filling in the
+     * stack trace of) an exception for each of the formatters that are tried in turn when parsing entered text.
+     */
+    public static LocalDateTime parseLocalDateTime(final DateTimeFormatter formatter, final String text) {
+        final DateTimeParser parser = formatter.getParser();
+        if (parser == null) {
+            return null;
+        }
+        Chronology chronology = DateTimeUtils.getChronology(formatter.getChronology()).withUTC();
+        final DateTimeParserBucket bucket = new DateTimeParserBucket(
+                0L, chronology, formatter.getLocale(), formatter.getPivotYear(), formatter.getDefaultYear());
+        final int position = parser.parseInto(bucket, text, 0);
+        if (position != text.length()) {
+            // either failed (negative), or did not consume all of the text
+            return null;
+        }
+        final long millis;
+        try {
+            millis = bucket.computeMillis(true, text);
+        } catch (final IllegalArgumentException ex) {
+            // recognised, but not a valid date (eg 30th February)
+            return null;
+        }
+        if (bucket.getOffsetInteger() != null) {
+            chronology = chronology.withZone(DateTimeZone.forOffsetMillis(bucket.getOffsetInteger()));
+        } else if (bucket.getZone() != null) {
+            chronology = chronology.withZone(bucket.getZone());
+        }
+        return new LocalDateTime(millis, chronology);
+    }
+
 }
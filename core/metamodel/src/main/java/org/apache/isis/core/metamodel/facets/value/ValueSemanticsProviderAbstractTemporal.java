@@ -20,11 +20,9 @@
 package org.apache.isis.core.metamodel.facets.value;
 
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
@@ -175,25 +173,18 @@ protected T doParse(
     }
 
     private T parseDate(final String dateString) {
-        List<DateFormat> elements = formatsToTry();
-        return setDate(parseDate(dateString, elements.iterator()));
+        final Date date = DateFormats.parse(dateString, formatsToTry());
+        if (date == null) {
+            throw new TextEntryParseException("Not recognised as a date: " + dateString);
+        }
+        return setDate(date);
     }
 
+    /**
+     * The formats to try, in order, when parsing entered text; typically obtained from {@link DateFormats}.
+     */
     protected abstract List<DateFormat> formatsToTry();
 
-    private Date parseDate(final String dateString, final Iterator<DateFormat> elements) {
-        final DateFormat format = elements.next();
-        try {
-            return format.parse(dateString);
-        } catch (final ParseException e) {
-            if (elements.hasNext()) {
-                return parseDate(dateString, elements);
-            } else {
-                throw new TextEntryParseException("Not recognised as a date: " + dateString);
-            }
-        }
-    }
-
     private T relativeDate(final Object object, final String str, final boolean add) {
         if (str.equals("")) {
             return now();
@@ -263,13 +254,13 @@ public String titleString(final Object value) {
     }
 
     protected DateFormat format() {
-        return format;
+        return DateFormats.copyOf(format);
     }
 
     @Override
     public String titleStringWithMask(final Object value, final String usingMask) {
         final Date date = dateValue(value);
-        return titleString(new SimpleDateFormat(usingMask), date);
+        return titleString(DateFormats.forPattern(usingMask, TimeZone.getDefault()), date);
     }
 
     private String titleString(final DateFormat formatter, final Date date) {
@@ -286,8 +277,8 @@ protected String doEncode(final Object object) {
         return encode(date);
     }
 
-    private synchronized String encode(final Date date) {
-        return encodingFormat.format(date);
+    private String encode(final Date date) {
+        return DateFormats.copyOf(encodingFormat).format(date);
     }
 
     @Override
@@ -296,24 +287,17 @@ protected T doRestore(final String data) {
         cal.setTimeZone(UTC_TIME_ZONE);
 
         // TODO allow restoring of dates where datetime expected, and datetimes where date expected - to allow for changing of field types. 
-        try {
-            cal.setTime(parse(data));
-            clearFields(cal);
-            return setDate(cal.getTime());
-        } catch (final ParseException e) {
-            if (data.charAt(0) == 'T') {
-                final long millis = Long.parseLong(data.substring(1));
-                cal.setTimeInMillis(millis);
-                clearFields(cal);
-                return setDate(cal.getTime());
-            } else {
-                throw new EncodingException(e);
-            }
+        final Date date = DateFormats.parse(data, DateFormats.copyOf(encodingFormat));
+        if (date != null) {
+            cal.setTime(date);
+        } else if (data.charAt(0) == 'T') {
+            final long millis = Long.parseLong(data.substring(1));
+            cal.setTimeInMillis(millis);
+        } else {
+            throw new EncodingException("Unparseable date: \"" + data + "\"");
         }
-    }
-
-    private synchronized Date parse(final String data) throws ParseException {
-        return encodingFormat.parse(data);
+        clearFields(cal);
+        return setDate(cal.getTime());
     }
 
     // //////////////////////////////////////////////////////////////////
@@ -26,6 +26,7 @@
 import com.google.common.collect.Iterables;
 
 import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
 import org.joda.time.format.DateTimeFormatter;
 
 import org.apache.isis.core.metamodel.facets.object.parseable.TextEntryParseException;
@@ -48,10 +49,9 @@ static LocalDate parseDate(
     
     private static LocalDate parseDate(String dateStr, Iterable<DateTimeFormatter> formatters) {
         for(DateTimeFormatter formatter: formatters) {
-            try {
-                return formatter.parseLocalDate(dateStr);
-            } catch (final IllegalArgumentException e) {
-                // continue to next
+            final LocalDateTime dateTime = JodaFunctions.parseLocalDateTime(formatter, dateStr);
+            if (dateTime != null) {
+                return dateTime.toLocalDate();
             }
         }
         throw new TextEntryParseException("Not recognised as a date: " + dateStr);
@@ -233,7 +233,7 @@ protected String doEncode(final Object object) {
         return encode(date);
     }
 
-    private synchronized String encode(final LocalDate date) {
+    private String encode(final LocalDate date) {
         return encodingFormatter.print(date);
     }
 
@@ -246,7 +246,7 @@ protected LocalDate doRestore(final String data) {
         }
     }
 
-    private synchronized LocalDate parse(final String data) {
+    private LocalDate parse(final String data) {
         return encodingFormatter.parseLocalDate(data);
     }
 
@@ -85,7 +85,7 @@ protected String doEncode(final Object object) {
         return encode(date);
     }
 
-    private synchronized String encode(final DateTime date) {
+    private String encode(final DateTime date) {
         return encodingFormatter.print(date);
     }
 
@@ -98,7 +98,7 @@ protected DateTime doRestore(final String data) {
         }
     }
 
-    private synchronized DateTime parse(final String data) {
+    private DateTime parse(final String data) {
         return encodingFormatter.parseDateTime(data);
     }
 
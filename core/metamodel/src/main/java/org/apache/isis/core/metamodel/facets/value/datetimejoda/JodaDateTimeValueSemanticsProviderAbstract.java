@@ -30,6 +30,7 @@
 
 import org.apache.isis.core.commons.config.ConfigurationConstants;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.value.DateFormats;
 import org.apache.isis.core.metamodel.facets.value.ValueSemanticsProviderAbstractTemporal;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 
@@ -91,11 +92,7 @@ public String toString() {
 
     @Override
     protected DateFormat format() {
-        final Locale locale = Locale.getDefault();
-
-        final DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
-        dateFormat.setTimeZone(UTC_TIME_ZONE);
-        return dateFormat;
+        return DateFormats.dateInstance(DateFormat.MEDIUM, Locale.getDefault(), UTC_TIME_ZONE);
     }
 
     protected List<DateFormat> formatsToTry() {
@@ -104,15 +101,11 @@ protected List<DateFormat> formatsToTry() {
 
         List<DateFormat> formats = new ArrayList<>();
 
-        formats.add(DateFormat.getDateInstance(DateFormat.LONG, locale));
-        formats.add(DateFormat.getDateInstance(DateFormat.MEDIUM, locale));
-        formats.add(DateFormat.getDateInstance(DateFormat.SHORT, locale));
-        formats.add(createDateFormat("yyyy-MM-dd"));
-        formats.add(createDateFormat("yyyyMMdd"));
-
-        for (DateFormat format : formats) {
-            format.setTimeZone(UTC_TIME_ZONE);
-        }
+        formats.add(DateFormats.dateInstance(DateFormat.LONG, locale, UTC_TIME_ZONE));
+        formats.add(DateFormats.dateInstance(DateFormat.MEDIUM, locale, UTC_TIME_ZONE));
+        formats.add(DateFormats.dateInstance(DateFormat.SHORT, locale, UTC_TIME_ZONE));
+        formats.add(DateFormats.forPattern("yyyy-MM-dd", UTC_TIME_ZONE));
+        formats.add(DateFormats.forPattern("yyyyMMdd", UTC_TIME_ZONE));
 
         return formats;
     }
@@ -47,10 +47,9 @@ static LocalDateTime parseDate(
     
     private static LocalDateTime parseDateTime(String dateStr, Iterable<DateTimeFormatter> formatters) {
         for(DateTimeFormatter formatter: formatters) {
-            try {
-                return formatter.parseLocalDateTime(dateStr);
-            } catch (final IllegalArgumentException e) {
-                // continue to next
+            final LocalDateTime dateTime = JodaFunctions.parseLocalDateTime(formatter, dateStr);
+            if (dateTime != null) {
+                return dateTime;
             }
         }
         throw new TextEntryParseException("Not recognised as a date: " + dateStr);
@@ -28,6 +28,7 @@
 
 import org.apache.isis.core.commons.config.ConfigurationConstants;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.value.DateFormats;
 import org.apache.isis.core.metamodel.facets.value.ValueSemanticsProviderAbstractTemporal;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 
@@ -80,11 +81,7 @@ public String toString() {
     
 @Override 
      protected DateFormat format() {
-
-        final Locale locale = Locale.getDefault();
-        final DateFormat dateFormat = DateFormat.getTimeInstance(DateFormat.SHORT, locale);
-         dateFormat.setTimeZone(UTC_TIME_ZONE); 
-         return dateFormat; 
+         return DateFormats.timeInstance(DateFormat.SHORT, Locale.getDefault(), UTC_TIME_ZONE);
      } 
   
      protected List<DateFormat> formatsToTry() {
@@ -92,18 +89,14 @@ protected List<DateFormat> formatsToTry() {
 
          final Locale locale = Locale.getDefault();
 
-         formats.add(DateFormat.getTimeInstance(DateFormat.LONG, locale));
-         formats.add(DateFormat.getTimeInstance(DateFormat.MEDIUM, locale)); 
-         formats.add(DateFormat.getTimeInstance(DateFormat.SHORT, locale)); 
-         formats.add(createDateFormat("HH:mm:ss.SSS")); 
-         formats.add(createDateFormat("HHmmssSSS")); 
-         formats.add(createDateFormat("HH:mm:ss")); 
-         formats.add(createDateFormat("HHmmss")); 
-  
-         for (DateFormat format : formats) { 
-             format.setTimeZone(UTC_TIME_ZONE); 
-         } 
-          
+         formats.add(DateFormats.timeInstance(DateFormat.LONG, locale, UTC_TIME_ZONE));
+         formats.add(DateFormats.timeInstance(DateFormat.MEDIUM, locale, UTC_TIME_ZONE));
+         formats.add(DateFormats.timeInstance(DateFormat.SHORT, locale, UTC_TIME_ZONE));
+         formats.add(DateFormats.forPattern("HH:mm:ss.SSS", UTC_TIME_ZONE));
+         formats.add(DateFormats.forPattern("HHmmssSSS", UTC_TIME_ZONE));
+         formats.add(DateFormats.forPattern("HH:mm:ss", UTC_TIME_ZONE));
+         formats.add(DateFormats.forPattern("HHmmss", UTC_TIME_ZONE));
+
          return formats; 
      } 
 }
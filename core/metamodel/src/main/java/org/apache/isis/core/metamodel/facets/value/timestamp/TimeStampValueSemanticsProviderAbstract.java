@@ -30,6 +30,7 @@
 import org.apache.isis.applib.value.TimeStamp;
 import org.apache.isis.core.commons.config.ConfigurationConstants;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.value.DateFormats;
 import org.apache.isis.core.metamodel.facets.value.ValueSemanticsProviderAbstractTemporal;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 
@@ -76,14 +77,7 @@ public String toString() {
 
     @Override
     protected DateFormat format() {
-
-        final Locale locale = Locale.getDefault();
-        final TimeZone timeZone = TimeZone.getDefault();
-
-        final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.LONG, locale);
-        dateFormat.setTimeZone(timeZone);
-
-        return dateFormat;
+        return DateFormats.dateTimeInstance(DateFormat.SHORT, DateFormat.LONG, Locale.getDefault(), TimeZone.getDefault());
     }
 
     protected List<DateFormat> formatsToTry() {
@@ -92,13 +86,9 @@ protected List<DateFormat> formatsToTry() {
         final Locale locale = Locale.getDefault();
         final TimeZone timeZone = TimeZone.getDefault();
 
-        formats.add(DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale));
-        formats.add(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.LONG, locale));
-        formats.add(createDateFormat("yyyy-MM-dd HH:mm:ss.SSS"));
-
-        for (final DateFormat format : formats) {
-            format.setTimeZone(timeZone);
-        }
+        formats.add(DateFormats.dateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale, timeZone));
+        formats.add(DateFormats.dateTimeInstance(DateFormat.SHORT, DateFormat.LONG, locale, timeZone));
+        formats.add(DateFormats.forPattern("yyyy-MM-dd HH:mm:ss.SSS", timeZone));
 
         return formats;
     }
@@ -21,12 +21,15 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.PostConstruct;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -67,12 +70,52 @@
 public class ApplicationFeatureRepositoryDefault implements ApplicationFeatureRepository {
 
     //region > caches
+
+    /**
+     * The features, populated while {@link #initializeIfRequired() initializing}; thereafter the (immutable)
+     * {@link Indices} are used instead.
+     */
     SortedMap<ApplicationFeatureId, ApplicationFeature> packageFeatures = Maps.newTreeMap();
     private final SortedMap<ApplicationFeatureId, ApplicationFeature> classFeatures = Maps.newTreeMap();
     private final SortedMap<ApplicationFeatureId, ApplicationFeature> memberFeatures = Maps.newTreeMap();
     private final SortedMap<ApplicationFeatureId, ApplicationFeature> propertyFeatures = Maps.newTreeMap();
     private final SortedMap<ApplicationFeatureId, ApplicationFeature> collectionFeatures = Maps.newTreeMap();
     private final SortedMap<ApplicationFeatureId, ApplicationFeature> actionFeatures = Maps.newTreeMap();
+
+    /**
+     * Immutable hash indices of the features (iterating in the same order as the sorted maps they are built from),
+     * safely published once built so that the security checks that consult the repository on every request can
+     * read them without locking.
+     */
+    private static class Indices {
+
+        private final Map<ApplicationFeatureId, ApplicationFeature> packageFeatures;
+        private final Map<ApplicationFeatureId, ApplicationFeature> classFeatures;
+        private final Map<ApplicationFeatureId, ApplicationFeature> memberFeatures;
+        private final Map<ApplicationFeatureId, ApplicationFeature> propertyFeatures;
+        private final Map<ApplicationFeatureId, ApplicationFeature> collectionFeatures;
+        private final Map<ApplicationFeatureId, ApplicationFeature> actionFeatures;
+
+        private final List<String> packageNames;
+        private final ConcurrentMap<ApplicationMemberType, List<String>> packageNamesContainingClassesByMemberType =
+                Maps.newConcurrentMap();
+        private volatile List<String> packageNamesContainingClasses;
+
+        private Indices(final ApplicationFeatureRepositoryDefault builder) {
+            packageFeatures = ImmutableMap.copyOf(builder.packageFeatures);
+            classFeatures = ImmutableMap.copyOf(builder.classFeatures);
+            memberFeatures = ImmutableMap.copyOf(builder.memberFeatures);
+            propertyFeatures = ImmutableMap.copyOf(builder.propertyFeatures);
+            collectionFeatures = ImmutableMap.copyOf(builder.collectionFeatures);
+            actionFeatures = ImmutableMap.copyOf(builder.actionFeatures);
+
+            packageNames = ImmutableList.<String>copyOf(
+                    Iterables.transform(packageFeatures.values(), ApplicationFeature.Functions.GET_FQN));
+        }
+    }
+
+    private volatile Indices indices;
+
     //endregion
 
 
@@ -101,17 +144,45 @@ private boolean isEagerInitialize() {
 
     enum InitializationState {
         NOT_INITIALIZED,
+        INITIALIZING,
         INITIALIZED
     }
     private InitializationState initializationState = InitializationState.NOT_INITIALIZED;
 
-    private synchronized void initializeIfRequired() {
+    /**
+     * Lock-free once initialized.
+     */
+    private Indices indices() {
+        final Indices indices = this.indices;
+        return indices != null ? indices : initializeIfRequired();
+    }
+
+    private synchronized Indices initializeIfRequired() {
         if(initializationState == InitializationState.INITIALIZED) {
-            return;
+            return indices;
         }
-        initializationState = InitializationState.INITIALIZED;
+        if(initializationState == InitializationState.INITIALIZING) {
+            // a reentrant call while priming the metamodel; use the features found so far (but don't publish them)
+            return new Indices(this);
+        }
+        initializationState = InitializationState.INITIALIZING;
         final Collection<ObjectSpecification> specifications = primeMetaModel();
         createApplicationFeaturesFor(specifications);
+
+        final Indices indices = new Indices(this);
+        clearBuildingMaps();
+        this.indices = indices;
+        initializationState = InitializationState.INITIALIZED;
+        return indices;
+    }
+
+    private void clearBuildingMaps() {
+        packageFeatures.clear();
+        classFeatures.clear();
+        memberFeatures.clear();
+        propertyFeatures.clear();
+        collectionFeatures.clear();
+        actionFeatures.clear();
     }
 
     private Collection<ObjectSpecification> primeMetaModel() {
@@ -224,7 +295,7 @@ void addParents(final ApplicationFeatureId classOrPackageId) {
     }
 
     private ApplicationFeature findPackageElseCreate(final ApplicationFeatureId parentPackageId) {
-        ApplicationFeature parentPackage = findPackage(parentPackageId);
+        ApplicationFeature parentPackage = packageFeatures.get(parentPackageId);
         if (parentPackage == null) {
             parentPackage = newPackage(parentPackageId);
         }
@@ -307,7 +378,7 @@ private void newMember(
         // also cache per memberType
         featuresMapFor(memberType).put(featureId, memberFeature);
 
-        final ApplicationFeature classFeature = findClass(classFeatureId);
+        final ApplicationFeature classFeature = classFeatures.get(classFeatureId);
         classFeature.addToMembers(featureId, memberType);
     }
 
@@ -394,7 +465,6 @@ protected boolean isBuiltIn(final ObjectSpecification spec) {
     //region > packageFeatures, classFeatures, memberFeatures
     @Programmatic
     public ApplicationFeature findFeature(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
         switch (featureId.getType()) {
         case PACKAGE:
             return findPackage(featureId);
@@ -408,28 +478,28 @@ public ApplicationFeature findFeature(final ApplicationFeatureId featureId) {
 
     @Programmatic
     public ApplicationFeature findPackage(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return packageFeatures.get(featureId);
+        return indices().packageFeatures.get(featureId);
     }
 
     @Programmatic
     public ApplicationFeature findClass(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return classFeatures.get(featureId);
+        return indices().classFeatures.get(featureId);
     }
 
     @Programmatic
     public ApplicationFeature findMember(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return memberFeatures.get(featureId);
+        return indices().memberFeatures.get(featureId);
     }
 
     //endregion
 
     //region > allFeatures, allPackages, allClasses, allMembers
+
+    /**
+     * The returned collections are immutable (and are not copied per call).
+     */
     @Programmatic
     public Collection<ApplicationFeature> allFeatures(final ApplicationFeatureType featureType) {
-        initializeIfRequired();
         if (featureType == null) {
             return Collections.emptyList();
         }
@@ -446,66 +516,68 @@ public Collection<ApplicationFeature> allFeatures(final ApplicationFeatureType f
 
     @Programmatic
     public Collection<ApplicationFeature> allPackages() {
-        initializeIfRequired();
-        return packageFeatures.values();
+        return indices().packageFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allClasses() {
-        initializeIfRequired();
-        return classFeatures.values();
+        return indices().classFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allMembers() {
-        initializeIfRequired();
-        return memberFeatures.values();
+        return indices().memberFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allProperties() {
-        initializeIfRequired();
-        return propertyFeatures.values();
+        return indices().propertyFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allCollections() {
-        initializeIfRequired();
-        return collectionFeatures.values();
+        return indices().collectionFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allActions() {
-        initializeIfRequired();
-        return actionFeatures.values();
+        return indices().actionFeatures.values();
     }
     //endregion
 
     //region > packageNames, packageNamesContainingClasses, classNamesContainedIn, memberNamesOf
     @Override @Programmatic
     public List<String> packageNames() {
-        initializeIfRequired();
-        return Lists.newArrayList(
-                Iterables.transform(
-                        allFeatures(ApplicationFeatureType.PACKAGE), ApplicationFeature.Functions.GET_FQN));
+        return indices().packageNames;
     }
 
     @Override @Programmatic
     public List<String> packageNamesContainingClasses(final ApplicationMemberType memberType) {
-        initializeIfRequired();
-        final Collection<ApplicationFeature> packages = allFeatures(ApplicationFeatureType.PACKAGE);
-        return Lists.newArrayList(
+        final Indices indices = indices();
+        List<String> packageNames = memberType != null
+                ? indices.packageNamesContainingClassesByMemberType.get(memberType)
+                : indices.packageNamesContainingClasses;
+        if(packageNames != null) {
+            return packageNames;
+        }
+        // computed on first use (rather than while initializing) because the predicate looks up the classes' features
+        packageNames = ImmutableList.<String>copyOf(
                 Iterables.transform(
                         Iterables.filter(
-                                packages,
+                                indices.packageFeatures.values(),
                                 ApplicationFeature.Predicates.packageContainingClasses(memberType, this)
                         ),
                         ApplicationFeature.Functions.GET_FQN));
+        if(memberType != null) {
+            indices.packageNamesContainingClassesByMemberType.put(memberType, packageNames);
+        } else {
+            indices.packageNamesContainingClasses = packageNames;
+        }
+        return packageNames;
     }
 
     @Override @Programmatic
     public List<String> classNamesContainedIn(final String packageFqn, final ApplicationMemberType memberType) {
-        initializeIfRequired();
         final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
         final ApplicationFeature pkg = findPackage(packageId);
         if (pkg == null) {
@@ -522,13 +594,12 @@ public List<String> classNamesContainedIn(final String packageFqn, final Applica
 
     @Override @Programmatic
     public List<String> classNamesRecursivelyContainedIn(final String packageFqn) {
-        initializeIfRequired();
         final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
         final ApplicationFeature pkg = findPackage(packageId);
         if (pkg == null) {
             return Collections.emptyList();
         }
-        final Set<ApplicationFeatureId> classIds = this.classFeatures.keySet();
+        final Collection<ApplicationFeatureId> classIds = indices().classFeatures.keySet();
         return Lists.newArrayList(
                 Iterables.transform(
                         Iterables.filter(
@@ -542,7 +613,6 @@ public List<String> memberNamesOf(
             final String packageFqn,
             final String className,
             final ApplicationMemberType memberType) {
-        initializeIfRequired();
         final ApplicationFeatureId classId = ApplicationFeatureId.newClass(packageFqn + "." + className);
         final ApplicationFeature cls = findClass(classId);
         if (cls == null) {
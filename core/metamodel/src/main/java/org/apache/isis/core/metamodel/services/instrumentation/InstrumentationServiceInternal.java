@@ -0,0 +1,138 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.instrumentation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
+
+/**
+ * Wrapper around {@link InstrumentationService}, called by the framework to time each phase of a request.  Is a
+ * no-op (and does not even read the clock) if there are no enabled services.
+ *
+ * <p>
+ *     Usage:
+ * </p>
+ * <pre>
+ * final long startedAt = instrumentationServiceInternal.start();
+ * try {
+ *     ...
+ * } finally {
+ *     instrumentationServiceInternal.stop(Phase.FLUSH, "flush", startedAt);
+ * }
+ * </pre>
+ *
+ * <p>
+ *     Also accumulates the total time spent in each phase by the current thread, so that these can be attached to
+ *     the {@link org.apache.isis.applib.services.command.Command} of the request.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class InstrumentationServiceInternal {
+
+    /**
+     * Returned by {@link #start()} if not enabled; (nanoTime can legitimately be zero or negative).
+     */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final ThreadLocal<Map<InstrumentationService.Phase, Long>> timings =
+            new ThreadLocal<Map<InstrumentationService.Phase, Long>>() {
+        @Override
+        protected Map<InstrumentationService.Phase, Long> initialValue() {
+            return new EnumMap<>(InstrumentationService.Phase.class);
+        }
+    };
+
+    /**
+     * Not cached, because implementations (typically) only know whether they are enabled once they have been
+     * initialized with the configuration.
+     */
+    @Programmatic
+    public boolean isEnabled() {
+        for (final InstrumentationService instrumentationService : instrumentationServices) {
+            if(instrumentationService.isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the current {@link System#nanoTime()}, or {@link #NOT_STARTED} if there are no enabled services.
+     */
+    @Programmatic
+    public long start() {
+        return isEnabled() ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Records the time since <tt>startedAt</tt> (as returned by {@link #start()}) against the phase, notifying all
+     * enabled {@link InstrumentationService}s.
+     */
+    @Programmatic
+    public void stop(
+            final InstrumentationService.Phase phase,
+            final String identifier,
+            final long startedAt) {
+        if(startedAt == NOT_STARTED) {
+            return;
+        }
+        final long durationNanos = System.nanoTime() - startedAt;
+
+        final Map<InstrumentationService.Phase, Long> timingsForThread = timings.get();
+        final Long total = timingsForThread.get(phase);
+        timingsForThread.put(phase, total != null ? total + durationNanos : durationNanos);
+
+        for (final InstrumentationService instrumentationService : instrumentationServices) {
+            if(instrumentationService.isEnabled()) {
+                instrumentationService.recorded(phase, identifier, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * The total time (in nanoseconds) recorded against each phase by the current thread since it was last
+     * {@link #resetTimings() reset}.
+     */
+    @Programmatic
+    public Map<InstrumentationService.Phase, Long> getTimings() {
+        return Collections.unmodifiableMap(timings.get());
+    }
+
+    /**
+     * Called at the start of each request (ie when the <tt>PersistenceSession</tt> is opened).
+     */
+    @Programmatic
+    public void resetTimings() {
+        timings.get().clear();
+    }
+
+    @javax.inject.Inject
+    List<InstrumentationService> instrumentationServices;
+
+}
@@ -79,7 +79,7 @@ public Class<?> fromObjectType(final String objectType) {
         if(objectType == null) {
             return null;
         }
-        final ObjectSpecId objectSpecId = new ObjectSpecId(objectType);
+        final ObjectSpecId objectSpecId = ObjectSpecId.of(objectType);
         final ObjectSpecification objectSpecification = specificationLookup.lookupBySpecId(objectSpecId);
         return objectSpecification != null? objectSpecification.getCorrespondingClass(): null;
     }
@@ -97,6 +97,13 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     void beginTran(final Command commandIfAny);
 
+    /**
+     * As per {@link #beginTran(Command)}, but if <tt>readOnly</tt> then the transaction will not be committed, and
+     * any attempt to persist, delete or modify an object within it will fail fast.
+     */
+    @Programmatic
+    void beginTran(final Command commandIfAny, final boolean readOnly);
+
     /**
      * Provided by <tt>TransactionManager</tt> when used by framework.
      *
@@ -125,6 +132,12 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     TransactionState getTransactionState();
 
+    /**
+     * Whether there is a current transaction, and it was started {@link #beginTran(Command, boolean) read-only}.
+     */
+    @Programmatic
+    boolean isTransactionReadOnly();
+
     //endregion
 
     //region > makePersistent, remove
@@ -121,6 +121,11 @@ public void beginTran(final Command commandIfAny) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public void beginTran(final Command commandIfAny, final boolean readOnly) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
     @Override
     public boolean flush() {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
@@ -170,4 +175,9 @@ public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
     public TransactionState getTransactionState() {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
+
+    @Override
+    public boolean isTransactionReadOnly() {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
 }
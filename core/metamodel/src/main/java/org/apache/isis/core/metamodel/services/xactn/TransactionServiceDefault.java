@@ -24,6 +24,7 @@
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.xactn.Transaction2;
 import org.apache.isis.applib.services.xactn.TransactionService3;
+import org.apache.isis.applib.services.xactn.TransactionService4;
 import org.apache.isis.applib.services.xactn.TransactionState;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
@@ -32,7 +33,7 @@
         nature = NatureOfService.DOMAIN,
         menuOrder = "" + Integer.MAX_VALUE
 )
-public class TransactionServiceDefault implements TransactionService3 {
+public class TransactionServiceDefault implements TransactionService4 {
 
 
     @Override
@@ -57,6 +58,14 @@ public void nextTransaction(TransactionService3.Policy policy) {
 
     @Override
     public void nextTransaction(TransactionService3.Policy policy, final Command commandIfAny) {
+        nextTransaction(policy, commandIfAny, Mode.READ_WRITE);
+    }
+
+    @Override
+    public void nextTransaction(
+            final TransactionService3.Policy policy,
+            final Command commandIfAny,
+            final TransactionService4.Mode mode) {
         final TransactionState transactionState = getTransactionState();
         switch (transactionState) {
         case NONE:
@@ -80,7 +89,7 @@ public void nextTransaction(TransactionService3.Policy policy, final Command com
             break;
         }
 
-        persistenceSessionServiceInternal.beginTran(commandIfAny);
+        persistenceSessionServiceInternal.beginTran(commandIfAny, mode == Mode.READ_ONLY);
     }
 
     @Override
@@ -93,6 +102,14 @@ public TransactionState getTransactionState() {
         return persistenceSessionServiceInternal.getTransactionState();
     }
 
+    @Override
+    public TransactionService4.Mode getTransactionMode() {
+        if(currentTransaction() == null) {
+            return null;
+        }
+        return persistenceSessionServiceInternal.isTransactionReadOnly() ? Mode.READ_ONLY : Mode.READ_WRITE;
+    }
+
     @javax.inject.Inject
     PersistenceSessionServiceInternal persistenceSessionServiceInternal;
 
@@ -20,6 +20,9 @@
 
 import java.io.Serializable;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
 
 /**
@@ -33,10 +36,19 @@ public final class ObjectSpecId implements Serializable {
 
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Weak, so that Ids that are no longer referenced (eg parsed from an invalid URL) can be garbage collected.
+     */
+    private static final Interner<ObjectSpecId> INTERNER = Interners.newWeakInterner();
+
     private final String specId;
 
+    /**
+     * Returns a canonical instance, so that (for example) a serialized page holding many references to the same
+     * spec Id writes it out only once.
+     */
     public static ObjectSpecId of(String specId) {
-        return new ObjectSpecId(specId);
+        return INTERNER.intern(new ObjectSpecId(specId));
     }
 
     public ObjectSpecId(String specId) {
@@ -77,6 +89,13 @@ public boolean equals(Object obj) {
     public String toString() {
         return asString();
     }
+
+    /**
+     * Canonicalize on deserialization also.
+     */
+    private Object readResolve() {
+        return INTERNER.intern(this);
+    }
     
     
 }
@@ -51,6 +51,7 @@
 import org.apache.isis.core.metamodel.spec.FreeStandingList;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.specloader.classsubstitutor.ClassSubstitutor;
 import org.apache.isis.core.metamodel.specloader.facetprocessor.FacetProcessor;
 import org.apache.isis.core.metamodel.specloader.postprocessor.PostProcessor;
@@ -59,6 +60,7 @@
 import org.apache.isis.core.metamodel.specloader.specimpl.dflt.ObjectSpecificationDefault;
 import org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidatorVisiting;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
 import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
@@ -94,6 +96,12 @@ public class SpecificationLoader implements ApplicationScopedComponent {
     public static final String INTROSPECTOR_PARALLELIZE_KEY = "isis.reflector.introspector.parallelize";
     public static final boolean INTROSPECTOR_PARALLELIZE_DEFAULT = true;
 
+    /**
+     * Whether {@link MetaModelValidatorVisiting.SpecLocalVisitor spec-local} validators visit the specs concurrently.
+     */
+    public static final String VALIDATOR_PARALLELIZE_KEY = "isis.reflector.validator.parallelize";
+    public static final boolean VALIDATOR_PARALLELIZE_DEFAULT = true;
+
     //region > constructor, fields
     private final ClassSubstitutor classSubstitutor = new ClassSubstitutor();
 
@@ -368,6 +376,11 @@ public ValidationFailures validate() {
         return validationFailures;
     }
 
+    @Programmatic
+    public boolean isValidationParallelized() {
+        return configuration.getBoolean(VALIDATOR_PARALLELIZE_KEY, VALIDATOR_PARALLELIZE_DEFAULT);
+    }
+
     //endregion
 
 
@@ -606,6 +619,48 @@ public void postProcess(final ObjectSpecification spec) {
 
     //endregion
 
+    //region > resolveContributeeAndMixedInMembers
+
+    /**
+     * Creates the contributee and mixed-in actions and associations of every loaded spec up-front (in parallel,
+     * unless {@link #INTROSPECTOR_PARALLELIZE_KEY disabled}), rather than lazily when each is first asked for its
+     * members.
+     *
+     * <p>
+     *     Must only be called once the services have been constructed.  Thereafter obtaining the members of these
+     *     specs is just a read of their (immutable) member tables, so the first requests after a deployment are not
+     *     stalled (nor contend with each other) scanning all services and mixins.
+     * </p>
+     */
+    @Programmatic
+    public void resolveContributeeAndMixedInMembers() {
+        final List<Callable<Object>> callables = Lists.newArrayList();
+        for (final ObjectSpecification specification : allSpecifications()) {
+            callables.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    specification.getObjectActions(Contributed.INCLUDED);
+                    specification.getAssociations(Contributed.INCLUDED);
+                    return null;
+                }
+                public String toString() {
+                    return String.format(
+                            "resolveContributeeAndMixedInMembers(\"%s\")",
+                            specification.getFullIdentifier());
+                }
+            });
+        }
+        final ThreadPoolSupport threadPoolSupport = ThreadPoolSupport.getInstance();
+        final boolean parallelize =
+                configuration.getBoolean(INTROSPECTOR_PARALLELIZE_KEY, INTROSPECTOR_PARALLELIZE_DEFAULT);
+        final List<Future<Object>> futures = parallelize
+                ? threadPoolSupport.invokeAll(callables)
+                : threadPoolSupport.invokeAllSequential(callables);
+        threadPoolSupport.joinGatherFailures(futures);
+    }
+
+    //endregion
+
     //region > allSpecifications
     /**
      * Returns (a new list holding a copy of) all the loaded specifications.
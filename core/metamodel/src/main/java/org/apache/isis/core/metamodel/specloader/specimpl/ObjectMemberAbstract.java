@@ -478,7 +478,7 @@ protected void setupCommandDtoAndExecutionContext(final CommandDto dto) {
 
         // memento
 
-        final String mementoXml = CommandDtoUtils.toXml(dto);
+        final String mementoXml = CommandDtoUtils.toXml(dto, false);
         command.setMemento(mementoXml);
 
         // copy over the command execution 'context' (if available)
@@ -30,9 +30,10 @@
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -136,21 +137,29 @@ public List<ObjectSpecification> toList() {
     protected Properties metadataProperties;
 
 
-    private final List<ObjectAssociation> associations = Lists.newArrayList();
-    private final List<ObjectAction> objectActions = Lists.newArrayList();
-    // partitions and caches objectActions by type; updated in sortCacheAndUpdateActions()
-    private final Map<ActionType, List<ObjectAction>> objectActionsByType = createObjectActionsByType();
+    // the member tables are immutable, and are replaced (rather than modified) while holding the corresponding lock,
+    // so can be read without any locking.
+    private volatile ImmutableList<ObjectAssociation> associations = ImmutableList.of();
+    private volatile ImmutableList<ObjectAction> objectActions = ImmutableList.of();
+    // partitions and caches objectActions by type; replaced in sortCacheAndUpdateActions()
+    private volatile ImmutableMap<ActionType, ImmutableList<ObjectAction>> objectActionsByType =
+            partitionByType(ImmutableList.<ObjectAction>of());
 
-    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
-        final Map<ActionType, List<ObjectAction>> map = Maps.newHashMap();
+    private static ImmutableMap<ActionType, ImmutableList<ObjectAction>> partitionByType(
+            final List<ObjectAction> objectActions) {
+        final ImmutableMap.Builder<ActionType, ImmutableList<ObjectAction>> builder = ImmutableMap.builder();
         for (final ActionType type : ActionType.values()) {
-            map.put(type, Lists.<ObjectAction>newArrayList());
+            builder.put(type, ImmutableList.copyOf(
+                    Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type))));
         }
-        return map;
+        return builder.build();
     }
 
-    private boolean contributeeAndMixedInAssociationsAdded;
-    private boolean contributeeAndMixedInActionsAdded;
+    private final Object associationsLock = new Object();
+    private final Object objectActionsLock = new Object();
+
+    private volatile boolean contributeeAndMixedInAssociationsAdded;
+    private volatile boolean contributeeAndMixedInActionsAdded;
 
 
     private final List<ObjectSpecification> interfaces = Lists.newArrayList();
@@ -330,23 +339,16 @@ private void updateSubclasses(final ObjectSpecification subclass) {
 
     protected void sortAndUpdateAssociations(final List<ObjectAssociation> associations) {
         final List<ObjectAssociation> orderedAssociations = sortAssociations(associations);
-        synchronized (this.associations) {
-            this.associations.clear();
-            this.associations.addAll(orderedAssociations);
+        synchronized (associationsLock) {
+            this.associations = ImmutableList.copyOf(orderedAssociations);
         }
     }
 
     protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions) {
         final List<ObjectAction> orderedActions = sortActions(objectActions);
-        synchronized (this.objectActions){
-            this.objectActions.clear();
-            this.objectActions.addAll(orderedActions);
-
-            for (final ActionType type : ActionType.values()) {
-                final List<ObjectAction> objectActionForType = objectActionsByType.get(type);
-                objectActionForType.clear();
-                objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
-            }
+        synchronized (objectActionsLock){
+            this.objectActions = ImmutableList.copyOf(orderedActions);
+            this.objectActionsByType = partitionByType(objectActions);
         }
     }
 
@@ -652,18 +654,32 @@ public final boolean isAbstract() {
     public List<ObjectAssociation> getAssociations(final Contributed contributed) {
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
-        if(contributed.isIncluded() && !contributeeAndMixedInAssociationsAdded) {
-            synchronized (this.associations) {
-                List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-                associations.addAll(createContributeeAssociations());
-                associations.addAll(createMixedInAssociations());
-                sortAndUpdateAssociations(associations);
-                contributeeAndMixedInAssociationsAdded = true;
-            }
+        if(contributed.isIncluded()) {
+            ensureContributeeAndMixedInAssociationsAdded();
         }
-        final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
         return Lists.newArrayList(Iterables.filter(
-                associations, ContributeeMember.Predicates.regularElse(contributed)));
+                this.associations, ContributeeMember.Predicates.regularElse(contributed)));
+    }
+
+    /**
+     * Normally called for every spec while bootstrapping (see
+     * {@link SpecificationLoader#resolveContributeeAndMixedInMembers()}), so that once running this is just a read of
+     * a volatile flag.
+     */
+    private void ensureContributeeAndMixedInAssociationsAdded() {
+        if(contributeeAndMixedInAssociationsAdded) {
+            return;
+        }
+        synchronized (associationsLock) {
+            if(contributeeAndMixedInAssociationsAdded) {
+                return;
+            }
+            final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
+            associations.addAll(createContributeeAssociations());
+            associations.addAll(createMixedInAssociations());
+            sortAndUpdateAssociations(associations);
+            contributeeAndMixedInAssociationsAdded = true;
+        }
     }
 
 
@@ -784,26 +800,11 @@ public List<ObjectAction> getObjectActions(
         // and they have not yet been added
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
-        if(contributed.isIncluded() && !contributeeAndMixedInActionsAdded) {
-            synchronized (this.objectActions) {
-                final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
-                final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
-                final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
-                final boolean isService = isService();
-                if (containsMixin || containsDomainService || isService) {
-                    // don't contribute to mixins themselves!
-                    // don't contribute to services either
-                    // - isService() is sufficient check for internal services registered directly with ServicesInjector
-                    // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
-                } else {
-                    actions.addAll(createContributeeActions());
-                    actions.addAll(createMixedInActions());
-                }
-                sortCacheAndUpdateActions(actions);
-                contributeeAndMixedInActionsAdded = true;
-            }
+        if(contributed.isIncluded()) {
+            ensureContributeeAndMixedInActionsAdded();
         }
 
+        final Map<ActionType, ImmutableList<ObjectAction>> objectActionsByType = this.objectActionsByType;
         final List<ObjectAction> actions = Lists.newArrayList();
         for (final ActionType type : types) {
             final Collection<ObjectAction> filterActions =
@@ -816,6 +817,37 @@ public List<ObjectAction> getObjectActions(
                         ContributeeMember.Predicates.regularElse(contributed)));
     }
 
+    /**
+     * Normally called for every spec while bootstrapping (see
+     * {@link SpecificationLoader#resolveContributeeAndMixedInMembers()}), so that once running this is just a read of
+     * a volatile flag.
+     */
+    private void ensureContributeeAndMixedInActionsAdded() {
+        if(contributeeAndMixedInActionsAdded) {
+            return;
+        }
+        synchronized (objectActionsLock) {
+            if(contributeeAndMixedInActionsAdded) {
+                return;
+            }
+            final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
+            final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
+            final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
+            final boolean isService = isService();
+            if (containsMixin || containsDomainService || isService) {
+                // don't contribute to mixins themselves!
+                // don't contribute to services either
+                // - isService() is sufficient check for internal services registered directly with ServicesInjector
+                // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
+            } else {
+                actions.addAll(createContributeeActions());
+                actions.addAll(createMixedInActions());
+            }
+            sortCacheAndUpdateActions(actions);
+            contributeeAndMixedInActionsAdded = true;
+        }
+    }
+
     @Override
     public List<ObjectAction> getObjectActions(
             final Contributed contributed) {
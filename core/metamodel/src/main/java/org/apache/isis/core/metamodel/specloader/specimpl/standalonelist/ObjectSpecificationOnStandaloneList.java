@@ -51,7 +51,7 @@ public ObjectSpecificationOnStandaloneList(
             final ServicesInjector servicesInjector,
             final FacetProcessor facetProcessor) {
         super(FreeStandingList.class, NAME, servicesInjector, facetProcessor);
-        this.specId = new ObjectSpecId(getCorrespondingClass().getName());
+        this.specId = ObjectSpecId.of(getCorrespondingClass().getName());
     }
 
     //endregion
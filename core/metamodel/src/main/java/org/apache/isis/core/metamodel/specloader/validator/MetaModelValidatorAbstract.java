@@ -33,4 +33,9 @@ public void init(final SpecificationLoader specificationLoader) {
     @Override
     public void shutdown() {
     }
+
+    @Override
+    public String toString() {
+        return getClass().getName();
+    }
 }
@@ -23,10 +23,20 @@
 
 import com.google.common.collect.Lists;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 
 public class MetaModelValidatorComposite extends MetaModelValidatorAbstract {
 
+    private static final Logger LOG = LoggerFactory.getLogger(MetaModelValidatorComposite.class);
+
+    /**
+     * Validators taking at least this long are logged at <tt>INFO</tt> (rather than <tt>DEBUG</tt>) level.
+     */
+    private static final long SLOW_VALIDATOR_MILLIS = 100L;
+
     private final List<MetaModelValidator> validators = Lists.newArrayList();
 
 
@@ -57,7 +67,14 @@ public void init(final SpecificationLoader specificationLoader) {
     @Override
     public void validate(final ValidationFailures validationFailures)  {
         for (final MetaModelValidator validator : validators) {
+            final long startedAt = System.nanoTime();
             validator.validate(validationFailures);
+            final long elapsedMillis = (System.nanoTime() - startedAt) / 1000000L;
+            if(elapsedMillis >= SLOW_VALIDATOR_MILLIS) {
+                LOG.info("validator {} took {} milliseconds", validator, elapsedMillis);
+            } else if(LOG.isDebugEnabled()) {
+                LOG.debug("validator {} took {} milliseconds", validator, elapsedMillis);
+            }
         }
     }
 
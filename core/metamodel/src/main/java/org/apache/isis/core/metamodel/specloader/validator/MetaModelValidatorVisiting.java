@@ -20,11 +20,17 @@
 package org.apache.isis.core.metamodel.specloader.validator;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import com.google.common.collect.Lists;
 
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 
 public class MetaModelValidatorVisiting extends MetaModelValidatorAbstract {
 
@@ -37,6 +43,19 @@ public interface Visitor {
     public interface SummarizingVisitor extends Visitor {
         void summarize(ValidationFailures validationFailures);
     }
+
+    /**
+     * A {@link Visitor} whose visit of a spec depends only on the metamodel, and which reports only through the
+     * provided {@link ValidationFailures} (it holds no state between visits, nor requires a session).
+     *
+     * <p>
+     *     The specs are therefore visited concurrently (unless
+     *     {@link SpecificationLoader#VALIDATOR_PARALLELIZE_KEY disabled}); the failures are nevertheless reported in
+     *     the same order as if they had been visited sequentially.
+     * </p>
+     */
+    public interface SpecLocalVisitor extends Visitor {
+    }
     
     private final Visitor visitor;
     public MetaModelValidatorVisiting(final Visitor visitor) {
@@ -77,10 +96,16 @@ private boolean validateSpecs(
             return false;
         }
 
-        // validate anything new
-        for (final ObjectSpecification objSpec : specsToValidate) {
-            if(!visitor.visit(objSpec, validationFailures)) {
-                break;
+        // validate anything new, in a deterministic order
+        final List<ObjectSpecification> specsInOrder = Lists.newArrayList(specsToValidate);
+        Collections.sort(specsInOrder, BY_FULL_IDENTIFIER);
+        if(visitor instanceof SpecLocalVisitor && specificationLoader.isValidationParallelized()) {
+            visitConcurrently(specsInOrder, validationFailures);
+        } else {
+            for (final ObjectSpecification objSpec : specsInOrder) {
+                if(!visitor.visit(objSpec, validationFailures)) {
+                    break;
+                }
             }
         }
 
@@ -91,6 +116,56 @@ private boolean validateSpecs(
         return true;
     }
 
+    private void visitConcurrently(
+            final List<ObjectSpecification> specs,
+            final ValidationFailures validationFailures) {
+
+        final List<Callable<Object>> callables = Lists.newArrayList();
+        for (final ObjectSpecification objSpec : specs) {
+            callables.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    final ValidationFailures failures = new ValidationFailures();
+                    final boolean carryOn = visitor.visit(objSpec, failures);
+                    return new Visited(failures, carryOn);
+                }
+                public String toString() {
+                    return String.format("visit(\"%s\")", objSpec.getFullIdentifier());
+                }
+            });
+        }
+
+        final ThreadPoolSupport threadPoolSupport = ThreadPoolSupport.getInstance();
+        final List<Future<Object>> futures = threadPoolSupport.invokeAll(callables);
+        final List<Object> results = threadPoolSupport.joinGatherFailures(futures);
+
+        // merge in the order the specs would have been visited sequentially
+        for (final Object result : results) {
+            final Visited visited = (Visited) result;
+            validationFailures.add(visited.failures);
+            if(!visited.carryOn) {
+                break;
+            }
+        }
+    }
+
+    private static class Visited {
+        private final ValidationFailures failures;
+        private final boolean carryOn;
+
+        private Visited(final ValidationFailures failures, final boolean carryOn) {
+            this.failures = failures;
+            this.carryOn = carryOn;
+        }
+    }
+
+    private static final Comparator<ObjectSpecification> BY_FULL_IDENTIFIER = new Comparator<ObjectSpecification>() {
+        @Override
+        public int compare(final ObjectSpecification o1, final ObjectSpecification o2) {
+            return o1.getFullIdentifier().compareTo(o2.getFullIdentifier());
+        }
+    };
+
     private void summarize(final ValidationFailures validationFailures) {
         if(visitor instanceof SummarizingVisitor) {
             SummarizingVisitor summarizingVisitor = (SummarizingVisitor) visitor;
@@ -98,4 +173,9 @@ private void summarize(final ValidationFailures validationFailures) {
         }
     }
 
+    @Override
+    public String toString() {
+        return getClass().getName() + "[" + visitor.getClass().getName() + "]";
+    }
+
 }
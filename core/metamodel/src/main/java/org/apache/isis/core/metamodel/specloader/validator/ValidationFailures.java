@@ -24,16 +24,20 @@
 import java.util.SortedSet;
 import com.google.common.collect.Sets;
 
+/**
+ * Thread-safe, so that (spec-local) validators can be run concurrently; see
+ * {@link MetaModelValidatorVisiting.SpecLocalVisitor}.
+ */
 public final class ValidationFailures implements Iterable<String> {
 
     private final Set<String> messages = Sets.newLinkedHashSet();
     
-    public void add(final String pattern, final Object... arguments) {
+    public synchronized void add(final String pattern, final Object... arguments) {
         final String message = String.format(pattern, arguments);
         messages.add(message);
     }
 
-    public void addAll(final Iterable<String> messages) {
+    public synchronized void addAll(final Iterable<String> messages) {
         for (final String message : messages) {
             this.messages.add(message);
         }
@@ -47,19 +51,22 @@ public void assertNone() {
         if (!occurred()) {
             return;
         }
-        final SortedSet<String> sortedMessages = Sets.newTreeSet(messages);
+        final SortedSet<String> sortedMessages = Sets.newTreeSet(getMessages());
         throw new MetaModelInvalidException(sortedMessages);
     }
 
-    public boolean occurred() {
+    public synchronized boolean occurred() {
         return !messages.isEmpty();
     }
 
-    public Set<String> getMessages() {
-        return Collections.unmodifiableSet(messages);
+    /**
+     * A copy of the messages, in the order that they were added.
+     */
+    public synchronized Set<String> getMessages() {
+        return Collections.unmodifiableSet(Sets.newLinkedHashSet(messages));
     }
 
-    public int getNumberOfMessages() {
+    public synchronized int getNumberOfMessages() {
         return messages.size();
     }
 
@@ -0,0 +1,907 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.UUID;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.ViewModel;
+import org.apache.isis.applib.snapshot.SnapshottableWithInclusions;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
+import org.apache.isis.core.metamodel.facets.object.parseable.ParseableFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+
+/**
+ * Writes the XML (and optionally the XSD) representing the object graph from a specified root, streaming it through
+ * an {@link XMLStreamWriter} rather than first building it in memory.
+ *
+ * <p>
+ * The graph is walked just once, following all of the {@link #include(String) included} paths together.  An object
+ * reached more than once under the same element (eg occurring twice in a collection, or reached by two included
+ * paths sharing a prefix) is written only once, with everything included beneath it.  Only the XSD is held in memory
+ * during the walk; its size depends upon the types and paths in the snapshot, not the number of objects.
+ *
+ * <p>
+ * The output is equivalent to that of {@link XmlSnapshot}, which is a (DOM) adapter over this class.
+ *
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+ * writer.include(&quot;placeOfBirth&quot;);
+ * writer.include(&quot;orders/product&quot;);
+ * writer.write(xmlOutputStream, xsdOutputStream); // or writeXml(...), writeXsd(...)
+ * </pre>
+ */
+public class XmlSnapshotWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(XmlSnapshotWriter.class);
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final ObjectAdapter rootAdapter;
+    private final XmlSchema schema;
+    private final String schemaLocationFileName;
+
+    private final Inclusion rootInclusion = new Inclusion();
+    private final Map<ObjectAdapter, String> viewModelFakeOids = Maps.newHashMap();
+
+    private boolean indent = true;
+
+    /**
+     * Start a snapshot at the root object, using own namespace manager.
+     */
+    public XmlSnapshotWriter(final ObjectAdapter rootAdapter) {
+        this(rootAdapter, new XmlSchema());
+    }
+
+    /**
+     * Start a snapshot at the root object, using supplied namespace manager.
+     */
+    public XmlSnapshotWriter(final ObjectAdapter rootAdapter, final XmlSchema schema) {
+        this.rootAdapter = rootAdapter;
+        this.schema = schema;
+
+        final String fullyQualifiedClassName = rootAdapter.getSpecification().getFullIdentifier();
+        schema.setUri(fullyQualifiedClassName);
+        this.schemaLocationFileName = fullyQualifiedClassName + ".xsd";
+
+        for (final String path : getPathsFor(rootAdapter.getObject())) {
+            include(path);
+        }
+    }
+
+    private static List<String> getPathsFor(final Object object) {
+        if (!(object instanceof SnapshottableWithInclusions)) {
+            return Collections.emptyList();
+        }
+        final List<String> paths = ((SnapshottableWithInclusions) object).snapshotInclusions();
+        if (paths == null) {
+            return Collections.emptyList();
+        }
+        return paths;
+    }
+
+    public ObjectAdapter getObject() {
+        return rootAdapter;
+    }
+
+    public XmlSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * The name of the <code>xsi:schemaLocation</code> in the XML document, derived from the
+     * <code>fullyQualifiedClassName</code> of the root object (which also is used as the basis for the
+     * <code>targetNamespace</code>).
+     */
+    public String getSchemaLocationFileName() {
+        return schemaLocationFileName;
+    }
+
+    /**
+     * Whether to indent the output (the default).
+     */
+    void setIndent(final boolean indent) {
+        this.indent = indent;
+    }
+
+    //region > include
+
+    public void include(final String path) {
+        include(path, null);
+    }
+
+    /**
+     * Includes the objects reached by navigating the path (of field names, separated by &quot;/&quot;) from the
+     * root object; the field element at the end of the path is annotated with the annotation, if any.
+     */
+    public void include(final String path, final String annotation) {
+        Inclusion inclusion = rootInclusion;
+        for (final StringTokenizer tok = new StringTokenizer(path, "/"); tok.hasMoreTokens();) {
+            inclusion = inclusion.childFor(tok.nextToken());
+        }
+        if (inclusion != rootInclusion && annotation != null) {
+            inclusion.annotation = annotation;
+        }
+    }
+
+    /**
+     * A node of the tree of included paths (the root node corresponding to the root object).
+     */
+    private static class Inclusion {
+        private final Map<String, Inclusion> childByFieldName = Maps.newLinkedHashMap();
+        private String annotation;
+
+        Inclusion childFor(final String fieldName) {
+            Inclusion child = childByFieldName.get(fieldName);
+            if (child == null) {
+                child = new Inclusion();
+                childByFieldName.put(fieldName, child);
+            }
+            return child;
+        }
+
+        Inclusion get(final String fieldName) {
+            return childByFieldName.get(fieldName);
+        }
+    }
+
+    //endregion
+
+    //region > write
+
+    public void writeXml(final OutputStream xmlOutputStream) {
+        write(xmlOutputStream, null);
+    }
+
+    public void writeXml(final Writer xmlWriter) {
+        write(xmlWriter, null);
+    }
+
+    public void writeXsd(final OutputStream xsdOutputStream) {
+        write((OutputStream) null, xsdOutputStream);
+    }
+
+    public void writeXsd(final Writer xsdWriter) {
+        write((Writer) null, xsdWriter);
+    }
+
+    /**
+     * Writes the XML and the XSD (either of which may be <tt>null</tt>) in a single walk of the graph, encoded as
+     * UTF-8.
+     */
+    public void write(final OutputStream xmlOutputStream, final OutputStream xsdOutputStream) {
+        try {
+            write(xmlOutputStream != null ? XML_OUTPUT_FACTORY.createXMLStreamWriter(xmlOutputStream, "UTF-8") : null,
+                  xsdOutputStream != null ? XML_OUTPUT_FACTORY.createXMLStreamWriter(xsdOutputStream, "UTF-8") : null);
+        } catch (final XMLStreamException ex) {
+            throw new IsisException(ex);
+        }
+    }
+
+    /**
+     * Writes the XML and the XSD (either of which may be <tt>null</tt>) in a single walk of the graph.
+     */
+    public void write(final Writer xmlWriter, final Writer xsdWriter) {
+        try {
+            write(xmlWriter != null ? XML_OUTPUT_FACTORY.createXMLStreamWriter(xmlWriter) : null,
+                  xsdWriter != null ? XML_OUTPUT_FACTORY.createXMLStreamWriter(xsdWriter) : null);
+        } catch (final XMLStreamException ex) {
+            throw new IsisException(ex);
+        }
+    }
+
+    private void write(final XMLStreamWriter xmlStreamWriter, final XMLStreamWriter xsdStreamWriter)
+            throws XMLStreamException {
+
+        final Output xml = new Output(xmlStreamWriter, indent);
+        final XsElement xsSchema = xsdStreamWriter != null ? createXsSchema() : null;
+
+        xml.startDocument();
+        final XsElement xsRootElement = xsSchema != null
+                ? xsSchema.append(createXsElementForClass(rootAdapter.getSpecification(), false))
+                : null;
+        writeObject(xml, rootAdapter, rootInclusion, xsRootElement, true);
+        xml.endDocument();
+
+        if (xsSchema != null) {
+            final Output xsd = new Output(xsdStreamWriter, indent);
+            xsd.startDocument();
+            writeXs(xsd, xsSchema, true);
+            xsd.endDocument();
+        }
+    }
+
+    //endregion
+
+    //region > XML
+
+    /**
+     * Writes the element for the object, including the objects reached by the included paths beneath it.
+     *
+     * @param xsElement - the <tt>xs:element</tt> for the object, to which the XSD of its fields is added; or
+     *                  <tt>null</tt> if the XSD is not required (or is already described by an earlier object).
+     */
+    private void writeObject(
+            final Output xml,
+            final ObjectAdapter adapter,
+            final Inclusion inclusion,
+            final XsElement xsElement,
+            final boolean root) throws XMLStreamException {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("writeObject({})", adapter);
+        }
+
+        final ObjectSpecification nos = adapter.getSpecification();
+
+        xml.startElement(schema.getPrefix(), nos.getShortIdentifier(), schema.getUri());
+        if (root) {
+            xml.namespace(IsisSchema.NS_PREFIX, IsisSchema.NS_URI);
+            xml.namespace(schema.getPrefix(), schema.getUri());
+            xml.namespace(XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI);
+            xml.attribute(XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI, "schemaLocation",
+                    schema.getUri() + " " + schemaLocationFileName);
+        }
+        xml.isisAttribute("fqn", nos.getFullIdentifier());
+        xml.isisAttribute("singular", nos.getSingularName());
+        xml.isisAttribute("plural", nos.getPluralName());
+        xml.isisAttribute("feature", IsisSchema.FEATURE_CLASS);
+        xml.isisAttribute("oid", oidAsString(adapter));
+        xml.isisElement("title", adapter.titleString());
+
+        final List<ObjectAssociation> fields = nos.getAssociations(Contributed.INCLUDED);
+        for (int i = 0; i < fields.size(); i++) {
+            final ObjectAssociation field = fields.get(i);
+            // as per the (historical) workaround in XmlSnapshot#objectToElement
+            if (i > 0 && field.getId().equals(field.getName())) {
+                continue;
+            }
+            final Inclusion fieldInclusion = inclusion != null ? inclusion.get(field.getId()) : null;
+            writeField(xml, adapter, field, fieldInclusion, xsElement);
+        }
+
+        xml.endElement();
+    }
+
+    private void writeField(
+            final Output xml,
+            final ObjectAdapter adapter,
+            final ObjectAssociation field,
+            final Inclusion inclusion,
+            final XsElement xsElement) throws XMLStreamException {
+
+        final String fieldName = field.getId();
+        final ObjectSpecification fieldNos = field.getSpecification();
+
+        if (fieldNos.containsFacet(ValueFacet.class)) {
+            // skip fields of type XmlValue
+            if (fieldNos.getFullIdentifier() != null && fieldNos.getFullIdentifier().endsWith("XmlValue")) {
+                return;
+            }
+            final OneToOneAssociation valueAssociation = (OneToOneAssociation) field;
+
+            String datatype = null;
+            String valueStr = null;
+            ObjectAdapter value = null;
+            try {
+                value = valueAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+                datatype = IsisSchema.NS_PREFIX + ":" + value.getSpecification().getShortIdentifier();
+
+                // return parsed string, else encoded string, else title.
+                final ParseableFacet parseableFacet = fieldNos.getFacet(ParseableFacet.class);
+                final EncodableFacet encodeableFacet = fieldNos.getFacet(EncodableFacet.class);
+                if (parseableFacet != null) {
+                    valueStr = parseableFacet.parseableTitle(value);
+                } else if (encodeableFacet != null) {
+                    valueStr = encodeableFacet.toEncodedString(value);
+                } else {
+                    valueStr = value.titleString();
+                }
+            } catch (final Exception ex) {
+                LOG.warn("writeField: field '{}': get() threw exception - skipping XML generation", fieldName);
+            }
+
+            xml.startElement(schema.getPrefix(), fieldName, schema.getUri());
+            if (datatype != null) {
+                xml.isisAttribute("feature", IsisSchema.FEATURE_VALUE);
+                xml.isisAttribute("datatype", datatype);
+            }
+            if (valueStr != null && valueStr.isEmpty()) {
+                xml.isisAttribute("isEmpty", "true");
+            }
+            annotate(xml, inclusion);
+            if (valueStr != null && !valueStr.isEmpty()) {
+                xml.characters(valueStr);
+            }
+
+            final XsElement xsFieldElement = xsElement != null
+                    ? createXsElementForValue(xsElement, fieldName, datatype != null ? datatype : "",
+                            FacetUtil.getFacetsByType(valueAssociation))
+                    : null;
+
+            if (inclusion != null && value != null && hasAssociations(fieldNos)) {
+                writeIncludedObject(xml, value, inclusion, xsFieldElement);
+            }
+
+            xml.endElement();
+
+        } else if (field instanceof OneToOneAssociation) {
+
+            final OneToOneAssociation oneToOneAssociation = (OneToOneAssociation) field;
+
+            boolean gotReference = false;
+            ObjectAdapter referencedAdapter = null;
+            try {
+                referencedAdapter = oneToOneAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+                gotReference = true;
+            } catch (final Exception ex) {
+                LOG.warn("writeField: field '{}': get() threw exception - skipping XML generation", fieldName);
+            }
+
+            xml.startElement(schema.getPrefix(), fieldName, schema.getUri());
+            if (gotReference) {
+                xml.isisAttribute("feature", IsisSchema.FEATURE_REFERENCE);
+                // the type of the owning object, as per XmlSnapshot#objectToElement
+                xml.isisAttribute("type", schema.getPrefix() + ":" + adapter.getSpecification().getFullIdentifier());
+                if (referencedAdapter == null) {
+                    xml.isisAttribute("isEmpty", "true");
+                }
+            }
+            annotate(xml, inclusion);
+            if (referencedAdapter != null) {
+                xml.isisElement("title", referencedAdapter.titleString());
+            }
+
+            final XsElement xsFieldElement = xsElement != null
+                    ? createXsElementForReference(xsElement, fieldName, fieldNos.getFullIdentifier(),
+                            FacetUtil.getFacetsByType(oneToOneAssociation))
+                    : null;
+
+            if (inclusion != null && referencedAdapter != null && hasAssociations(fieldNos)) {
+                writeIncludedObject(xml, referencedAdapter, inclusion, xsFieldElement);
+            }
+
+            xml.endElement();
+
+        } else if (field instanceof OneToManyAssociation) {
+
+            final OneToManyAssociation oneToManyAssociation = (OneToManyAssociation) field;
+
+            ObjectAdapter collection = null;
+            CollectionFacet collectionFacet = null;
+            try {
+                collection = oneToManyAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+                collectionFacet = CollectionFacet.Utils.getCollectionFacetFromSpec(collection);
+                final int size = collectionFacet.size(collection);
+
+                xml.startElement(schema.getPrefix(), fieldName, schema.getUri());
+                xml.isisAttribute("feature", IsisSchema.FEATURE_COLLECTION);
+                xml.isisAttribute("type", schema.getPrefix() + ":" + fieldNos.getFullIdentifier());
+                xml.isisAttribute("size", "" + size);
+            } catch (final XMLStreamException ex) {
+                throw ex;
+            } catch (final Exception ex) {
+                LOG.warn("writeField: field '{}': get() threw exception - skipping XML generation", fieldName);
+                collectionFacet = null;
+                xml.startElement(schema.getPrefix(), fieldName, schema.getUri());
+            }
+            annotate(xml, inclusion);
+
+            final XsElement xsFieldElement = xsElement != null
+                    ? createXsElementForCollection(xsElement, fieldName, fieldNos.getFullIdentifier(),
+                            FacetUtil.getFacetsByType(oneToManyAssociation))
+                    : null;
+
+            if (inclusion != null && collectionFacet != null) {
+                // an object occurring more than once in the collection is written only once
+                final Set<String> oids = Sets.newHashSet();
+                for (final ObjectAdapter referencedAdapter : collectionFacet.iterable(collection)) {
+                    if (oids.add(oidAsString(referencedAdapter))) {
+                        writeIncludedObject(xml, referencedAdapter, inclusion, xsFieldElement);
+                    }
+                }
+            }
+
+            xml.endElement();
+
+        } else {
+            if (LOG.isInfoEnabled()) {
+                LOG.info("writeField: field '{}' is unknown type; ignored", fieldName);
+            }
+        }
+    }
+
+    /**
+     * Only references to objects with fields of their own are navigated (not values).
+     */
+    private static boolean hasAssociations(final ObjectSpecification fieldNos) {
+        return !fieldNos.getAssociations(Contributed.INCLUDED).isEmpty();
+    }
+
+    /**
+     * Writes an object reached by an included path, within the element of the field that references it.
+     */
+    private void writeIncludedObject(
+            final Output xml,
+            final ObjectAdapter referencedAdapter,
+            final Inclusion inclusion,
+            final XsElement xsFieldElement) throws XMLStreamException {
+
+        final XsElement xsElement = xsFieldElement != null
+                ? addXsElementIfNotPresent(xsFieldElement, referencedAdapter.getSpecification())
+                : null;
+        writeObject(xml, referencedAdapter, inclusion, xsElement, false);
+    }
+
+    private static void annotate(final Output xml, final Inclusion inclusion) {
+        if (inclusion != null && inclusion.annotation != null) {
+            xml.isisAttribute("annotation", IsisSchema.NS_PREFIX + ":" + inclusion.annotation);
+        }
+    }
+
+    private String oidAsString(final ObjectAdapter adapter) {
+        if (adapter.getObject() instanceof ViewModel) {
+            // return a fake oid for view models;
+            // a snapshot may be being used to create the memento/OID
+            String fakeOid = viewModelFakeOids.get(adapter);
+            if (fakeOid == null) {
+                fakeOid = "viewmodel-fakeoid-" + UUID.randomUUID().toString();
+                viewModelFakeOids.put(adapter, fakeOid);
+            }
+            return fakeOid;
+        } else {
+            return adapter.getOid().enString();
+        }
+    }
+
+    //endregion
+
+    //region > XSD
+
+    /**
+     * An element of the XSD (always in the <tt>xs</tt> namespace).
+     */
+    private static class XsElement {
+        private final String localName;
+        private final Map<String, String> attributes = Maps.newLinkedHashMap();
+        private final List<XsElement> children = Lists.newArrayList();
+
+        XsElement(final String localName) {
+            this.localName = localName;
+        }
+
+        XsElement attribute(final String name, final String value) {
+            attributes.put(name, value);
+            return this;
+        }
+
+        XsElement append(final XsElement child) {
+            children.add(child);
+            return child;
+        }
+
+        XsElement append(final String localName) {
+            return append(new XsElement(localName));
+        }
+
+        /**
+         * As per {@link XsMetaModel#childXsElement(org.w3c.dom.Element, String)}, the first descendant with the
+         * local name, else a new child.
+         */
+        XsElement childFor(final String localName) {
+            final XsElement descendant = firstDescendant(localName);
+            return descendant != null ? descendant : append(localName);
+        }
+
+        XsElement firstDescendant(final String localName) {
+            for (final XsElement child : children) {
+                if (child.localName.equals(localName)) {
+                    return child;
+                }
+                final XsElement descendant = child.firstDescendant(localName);
+                if (descendant != null) {
+                    return descendant;
+                }
+            }
+            return null;
+        }
+
+        boolean hasDescendantElementNamed(final String name) {
+            for (final XsElement child : children) {
+                if (child.localName.equals("element") && name.equals(child.attributes.get("name"))) {
+                    return true;
+                }
+                if (child.hasDescendantElementNamed(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private XsElement createXsSchema() {
+        final XsElement xsSchema = new XsElement("schema");
+        xsSchema.attribute("elementFormDefault", "qualified");
+        xsSchema.attribute("targetNamespace", schema.getUri());
+        xsSchema.append("import")
+                .attribute("namespace", IsisSchema.NS_URI)
+                .attribute("schemaLocation", IsisSchema.DEFAULT_LOCATION);
+        return xsSchema;
+    }
+
+    private static XsElement createXsElementElement(final String name, final boolean includeCardinality) {
+        final XsElement xsElement = new XsElement("element").attribute("name", name);
+        if (includeCardinality) {
+            setXsCardinality(xsElement, 0, Integer.MAX_VALUE);
+        }
+        return xsElement;
+    }
+
+    private static XsElement setXsCardinality(final XsElement xsElement, final int minOccurs, final int maxOccurs) {
+        xsElement.attribute("minOccurs", "" + minOccurs);
+        xsElement.attribute("maxOccurs", maxOccurs == Integer.MAX_VALUE ? "unbounded" : "" + maxOccurs);
+        return xsElement;
+    }
+
+    private static XsElement complexTypeFor(final XsElement xsElement) {
+        return xsElement.childFor("complexType").attribute("mixed", "true");
+    }
+
+    private static void addXsIsisAttribute(
+            final XsElement xsComplexType, final String isisAttributeRef, final String value, final boolean useFixed) {
+        final XsElement xsAttribute =
+                xsComplexType.append("attribute").attribute("ref", IsisSchema.NS_PREFIX + ":" + isisAttributeRef);
+        if (value != null) {
+            xsAttribute.attribute(useFixed ? "fixed" : "default", value);
+        }
+    }
+
+    private static void addXsIsisAttribute(final XsElement xsComplexType, final String isisAttributeRef) {
+        addXsIsisAttribute(xsComplexType, isisAttributeRef, null, true);
+    }
+
+    private static void addXsIsisRefElement(final XsElement xsSequence, final String isisElementRef) {
+        setXsCardinality(xsSequence.append("element").attribute("ref", IsisSchema.NS_PREFIX + ":" + isisElementRef), 0, 1);
+    }
+
+    /**
+     * As per {@link XmlSchema#createXsElementForNofClass(org.w3c.dom.Document, org.w3c.dom.Element, boolean, Hashtable)}.
+     */
+    private static XsElement createXsElementForClass(final ObjectSpecification nos, final boolean addCardinality) {
+        final XsElement xsElement = createXsElementElement(nos.getShortIdentifier(), addCardinality);
+        final XsElement xsComplexType = complexTypeFor(xsElement);
+        final XsElement xsSequence = xsComplexType.childFor("sequence");
+        addXsIsisRefElement(xsSequence, "title");
+        addXsElementForAppExtensions(xsSequence, FacetUtil.getFacetsByType(nos));
+
+        addXsIsisAttribute(xsComplexType, "feature", IsisSchema.FEATURE_CLASS, true);
+        addXsIsisAttribute(xsComplexType, "oid");
+        addXsIsisAttribute(xsComplexType, "fqn");
+        addXsIsisAttribute(xsComplexType, "singular");
+        addXsIsisAttribute(xsComplexType, "plural");
+        addXsIsisAttribute(xsComplexType, "annotation");
+        return xsElement;
+    }
+
+    /**
+     * As per {@link XmlSchema#addXsElementForAppExtensions(org.w3c.dom.Element, Hashtable)}.
+     */
+    private static void addXsElementForAppExtensions(final XsElement xsParent, final Hashtable<?, ?> extensions) {
+        if (extensions.size() == 0) {
+            return;
+        }
+        final XsElement xsExtensionsElement = xsParent.append(createXsElementElement("isis-extensions", true));
+        final XsElement xsExtensionsSequence = complexTypeFor(xsExtensionsElement).childFor("sequence");
+        for (final Enumeration<?> e = extensions.keys(); e.hasMoreElements();) {
+            final Class<?> extensionClass = (Class<?>) e.nextElement();
+            final String className = extensionClass.getName();
+            final String shortName = className.substring(className.lastIndexOf('.') + 1);
+            xsExtensionsSequence.append(createXsElementElement("x-" + shortName, true))
+                                .attribute("default", extensions.get(extensionClass).toString());
+        }
+    }
+
+    /**
+     * Creates the <tt>xs:element</tt> for a field, appending it to the sequence of the owning object's
+     * <tt>xs:element</tt>.
+     */
+    private static XsElement createXsFieldElement(final XsElement xsOwnerElement, final String fieldName) {
+        final XsElement xsOwnerSequence = complexTypeFor(xsOwnerElement).childFor("sequence");
+        return xsOwnerSequence.append(createXsElementElement(fieldName, true));
+    }
+
+    /**
+     * As per {@link XmlSchema#createXsElementForNofValue(org.w3c.dom.Element, org.w3c.dom.Element, Hashtable)}.
+     */
+    private static XsElement createXsElementForValue(
+            final XsElement xsOwnerElement, final String fieldName, final String datatype, final Hashtable<?, ?> extensions) {
+        final XsElement xsFieldElement = createXsFieldElement(xsOwnerElement, fieldName);
+        final XsElement xsFieldComplexType = complexTypeFor(xsFieldElement);
+        final XsElement xsFieldSequence = xsFieldComplexType.childFor("sequence");
+        addXsElementForAppExtensions(xsFieldSequence, extensions);
+
+        addXsIsisAttribute(xsFieldComplexType, "feature", IsisSchema.FEATURE_VALUE, true);
+        addXsIsisAttribute(xsFieldComplexType, "datatype", datatype, true);
+        addXsIsisAttribute(xsFieldComplexType, "isEmpty");
+        addXsIsisAttribute(xsFieldComplexType, "annotation");
+        return xsFieldElement;
+    }
+
+    /**
+     * As per {@link XmlSchema#createXsElementForNofReference(org.w3c.dom.Element, org.w3c.dom.Element, String, Hashtable)}.
+     */
+    private static XsElement createXsElementForReference(
+            final XsElement xsOwnerElement, final String fieldName, final String referencedClassName,
+            final Hashtable<?, ?> extensions) {
+        final XsElement xsFieldElement = createXsFieldElement(xsOwnerElement, fieldName);
+        final XsElement xsFieldComplexType = complexTypeFor(xsFieldElement);
+        final XsElement xsFieldSequence = xsFieldComplexType.childFor("sequence");
+        addXsIsisRefElement(xsFieldSequence, "title");
+        addXsElementForAppExtensions(xsFieldSequence, extensions);
+        setXsCardinality(xsFieldSequence.childFor("sequence"), 0, 1); // placeholder
+
+        addXsIsisAttribute(xsFieldComplexType, "feature", IsisSchema.FEATURE_REFERENCE, true);
+        addXsIsisAttribute(xsFieldComplexType, "type", "app:" + referencedClassName, false);
+        addXsIsisAttribute(xsFieldComplexType, "isEmpty");
+        addXsIsisAttribute(xsFieldComplexType, "annotation");
+        return xsFieldElement;
+    }
+
+    /**
+     * As per {@link XmlSchema#createXsElementForNofCollection(org.w3c.dom.Element, org.w3c.dom.Element, String, Hashtable)}.
+     */
+    private static XsElement createXsElementForCollection(
+            final XsElement xsOwnerElement, final String fieldName, final String referencedClassName,
+            final Hashtable<?, ?> extensions) {
+        final XsElement xsFieldElement = createXsFieldElement(xsOwnerElement, fieldName);
+        final XsElement xsFieldComplexType = complexTypeFor(xsFieldElement);
+        final XsElement xsFieldSequence = xsFieldComplexType.childFor("sequence");
+        addXsIsisRefElement(xsFieldSequence, "oids");
+        addXsElementForAppExtensions(xsFieldSequence, extensions);
+
+        addXsIsisAttribute(xsFieldComplexType, "feature", IsisSchema.FEATURE_COLLECTION, true);
+        addXsIsisAttribute(xsFieldComplexType, "type", "app:" + referencedClassName, false);
+        addXsIsisAttribute(xsFieldComplexType, "size");
+        addXsIsisAttribute(xsFieldComplexType, "annotation");
+        return xsFieldElement;
+    }
+
+    /**
+     * As per {@link XmlSchema#addXsElementIfNotPresent(org.w3c.dom.Element, org.w3c.dom.Element)}, adds an
+     * <tt>xs:element</tt> for the class of an included object under the <tt>xs:element</tt> of the field, unless
+     * one of that name is already present.
+     *
+     * @return the new <tt>xs:element</tt>, or <tt>null</tt> if one was already present.
+     */
+    private static XsElement addXsElementIfNotPresent(final XsElement xsFieldElement, final ObjectSpecification nos) {
+        final XsElement xsFieldComplexType = complexTypeFor(xsFieldElement);
+        XsElement xsChoiceOrSequence = xsFieldComplexType.firstDescendant("choice");
+        if (xsChoiceOrSequence == null) {
+            xsChoiceOrSequence = xsFieldComplexType.firstDescendant("sequence");
+        }
+        if (xsChoiceOrSequence == null) {
+            throw new IllegalArgumentException("Unable to locate complexType/sequence or complexType/choice under supplied parent XSD element");
+        }
+        if (xsChoiceOrSequence.hasDescendantElementNamed(nos.getShortIdentifier())) {
+            return null;
+        }
+        return xsChoiceOrSequence.append(createXsElementForClass(nos, true));
+    }
+
+    private void writeXs(final Output xsd, final XsElement xsElement, final boolean root) throws XMLStreamException {
+        xsd.startElement(XsMetaModel.W3_ORG_XS_PREFIX, xsElement.localName, XsMetaModel.W3_ORG_XS_URI);
+        if (root) {
+            xsd.namespace(XsMetaModel.W3_ORG_XS_PREFIX, XsMetaModel.W3_ORG_XS_URI);
+            xsd.namespace(IsisSchema.NS_PREFIX, IsisSchema.NS_URI);
+            xsd.namespace(schema.getPrefix(), schema.getUri());
+        }
+        for (final Map.Entry<String, String> entry : xsElement.attributes.entrySet()) {
+            xsd.attribute(null, null, entry.getKey(), entry.getValue());
+        }
+        for (final XsElement child : xsElement.children) {
+            writeXs(xsd, child, false);
+        }
+        xsd.endElement();
+    }
+
+    //endregion
+
+    //region > Output
+
+    /**
+     * Wraps an {@link XMLStreamWriter} (or nothing, if the output is not required).
+     *
+     * <p>
+     * The start of each element is deferred until its first child is written, so that elements without children
+     * are written as empty elements; elements (but not text) are optionally indented.
+     */
+    private static class Output {
+
+        private final XMLStreamWriter writer;
+        private final boolean indent;
+
+        /**
+         * For each open element, whether it has any child elements.
+         */
+        private final Deque<Boolean> hasChildElements = new ArrayDeque<>();
+
+        private String[] pendingElement;
+        private final List<String[]> pendingNamespaces = Lists.newArrayList();
+        private final List<String[]> pendingAttributes = Lists.newArrayList();
+
+        Output(final XMLStreamWriter writer, final boolean indent) {
+            this.writer = writer;
+            this.indent = indent;
+        }
+
+        void startDocument() throws XMLStreamException {
+            if (writer == null) {
+                return;
+            }
+            writer.writeStartDocument("UTF-8", "1.0");
+        }
+
+        void endDocument() throws XMLStreamException {
+            if (writer == null) {
+                return;
+            }
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        }
+
+        void startElement(final String prefix, final String localName, final String namespaceUri)
+                throws XMLStreamException {
+            if (writer == null) {
+                return;
+            }
+            writePending();
+            if (!hasChildElements.isEmpty()) {
+                hasChildElements.pop();
+                hasChildElements.push(Boolean.TRUE);
+            }
+            newLine(hasChildElements.size());
+            hasChildElements.push(Boolean.FALSE);
+            pendingElement = new String[] { prefix, localName, namespaceUri };
+        }
+
+        void namespace(final String prefix, final String namespaceUri) {
+            if (writer == null) {
+                return;
+            }
+            pendingNamespaces.add(new String[] { prefix, namespaceUri });
+        }
+
+        void attribute(final String prefix, final String namespaceUri, final String localName, final String value) {
+            if (writer == null || value == null) {
+                return;
+            }
+            pendingAttributes.add(new String[] { prefix, namespaceUri, localName, value });
+        }
+
+        void isisAttribute(final String localName, final String value) {
+            attribute(IsisSchema.NS_PREFIX, IsisSchema.NS_URI, localName, value);
+        }
+
+        /**
+         * Writes an element in the &quot;isis&quot; namespace, containing just the text.
+         */
+        void isisElement(final String localName, final String text) throws XMLStreamException {
+            startElement(IsisSchema.NS_PREFIX, localName, IsisSchema.NS_URI);
+            if (!Strings.isNullOrEmpty(text)) {
+                characters(text);
+            }
+            endElement();
+        }
+
+        void characters(final String text) throws XMLStreamException {
+            if (writer == null) {
+                return;
+            }
+            writePending();
+            writer.writeCharacters(text);
+        }
+
+        void endElement() throws XMLStreamException {
+            if (writer == null) {
+                return;
+            }
+            final boolean hadChildElements = hasChildElements.pop();
+            if (pendingElement != null) {
+                writer.writeEmptyElement(pendingElement[0], pendingElement[1], pendingElement[2]);
+                writeNamespacesAndAttributes();
+                pendingElement = null;
+                return;
+            }
+            if (hadChildElements) {
+                newLine(hasChildElements.size());
+            }
+            writer.writeEndElement();
+        }
+
+        private void writePending() throws XMLStreamException {
+            if (pendingElement == null) {
+                return;
+            }
+            writer.writeStartElement(pendingElement[0], pendingElement[1], pendingElement[2]);
+            writeNamespacesAndAttributes();
+            pendingElement = null;
+        }
+
+        private void writeNamespacesAndAttributes() throws XMLStreamException {
+            for (final String[] namespace : pendingNamespaces) {
+                writer.writeNamespace(namespace[0], namespace[1]);
+            }
+            for (final String[] attribute : pendingAttributes) {
+                if (attribute[0] == null) {
+                    writer.writeAttribute(attribute[2], attribute[3]);
+                } else {
+                    writer.writeAttribute(attribute[0], attribute[1], attribute[2], attribute[3]);
+                }
+            }
+            pendingNamespaces.clear();
+            pendingAttributes.clear();
+        }
+
+        private void newLine(final int depth) throws XMLStreamException {
+            if (indent) {
+                writer.writeCharacters("\n" + Strings.repeat("  ", depth));
+            }
+        }
+    }
+
+    //endregion
+
+}
@@ -20,12 +20,8 @@
 package org.apache.isis.core.webapp.content;
 
 import java.io.IOException;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.Locale;
-import java.util.TimeZone;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -36,6 +32,9 @@
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
 /**
  * Adapted from {@link http
  * ://www.digitalsanctuary.com/tech-blog/java/jboss/setting
@@ -150,6 +149,12 @@ public static boolean isCachedResource(final HttpServletRequest request) {
     /** The Constant LAST_MODIFIED_HEADER. */
     private static final String LAST_MODIFIED_HEADER = "Last-Modified";
 
+    /**
+     * RFC 1123 format for the date headers; immutable and thread-safe, so shared by all requests.
+     */
+    private static final DateTimeFormatter HTTP_DATE_FORMAT =
+            DateTimeFormat.forPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'").withLocale(Locale.US).withZoneUTC();
+
     /** The Constant CACHE_TIME_PARAM_NAME. */
     private static final String CACHE_TIME_PARAM_NAME = "CacheTime";
 
@@ -220,10 +225,8 @@ public void doFilter(final ServletRequest servletRequest, final ServletResponse
         }
         if (this.cacheTime > 0L) {
             final long now = System.currentTimeMillis();
-            final DateFormat httpDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
-            httpDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-            httpResponse.addHeader(LAST_MODIFIED_HEADER, httpDateFormat.format(new Date(now)));
-            httpResponse.addHeader(EXPIRES_HEADER, httpDateFormat.format(new Date(now + (this.cacheTime.longValue() * MILLISECONDS_IN_SECOND))));
+            httpResponse.addHeader(LAST_MODIFIED_HEADER, HTTP_DATE_FORMAT.print(now));
+            httpResponse.addHeader(EXPIRES_HEADER, HTTP_DATE_FORMAT.print(now + (this.cacheTime.longValue() * MILLISECONDS_IN_SECOND)));
         }
         httpRequest.setAttribute(REQUEST_ATTRIBUTE, true);
         chain.doFilter(servletRequest, servletResponse);
@@ -0,0 +1,162 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.metamodel.util;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.metamodel.facets.Annotations;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.collections.collection.defaultview.DefaultViewFacet;
+import org.apache.isis.core.metamodel.facets.object.title.TitleFacet;
+import org.apache.isis.core.metamodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation;
+import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.persistencecapable.JdoPersistenceCapableFacet;
+
+/**
+ * Derives, from the metamodel, the members of an entity that should be fetched along with it (in addition to its
+ * default fetch group) when it is rendered, so that the referenced objects are prefetched rather than lazily loaded
+ * one by one.
+ *
+ * <p>
+ * Only persistent (that is, not {@link ObjectAssociation#isNotPersisted() not-persisted}) members are included.
+ * Because visibility is determined from the (static) {@link org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet}s,
+ * this honours any layout (<tt>Xxx.layout.xml</tt>) as well as annotations.
+ */
+public final class JdoFetchGroupMembers {
+
+    private JdoFetchGroupMembers(){}
+
+    /**
+     * The members to fetch when the entity is rendered as a row of a (parented or standalone) table: the references
+     * to other entities that are visible as a column, along with any properties that contribute to its
+     * {@link org.apache.isis.applib.annotation.Title title} (so that it can be rendered when itself referenced).
+     */
+    public static List<String> forTable(final ObjectSpecification spec) {
+        final Set<String> members = Sets.newLinkedHashSet();
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            if(isPersistentReferenceToEntity(association) &&
+                    (visibleIn(association, Where.PARENTED_TABLES) || visibleIn(association, Where.STANDALONE_TABLES))) {
+                members.add(association.getId());
+            }
+        }
+        members.addAll(titleMembersOf(spec));
+        return Lists.newArrayList(members);
+    }
+
+    /**
+     * The members to fetch when the entity is rendered as an object form: the references to other entities that
+     * are visible, along with the collections (of entities) that are visible and
+     * {@link org.apache.isis.applib.annotation.CollectionLayout#defaultView() rendered as a table} by default.
+     */
+    public static List<String> forObjectForm(final ObjectSpecification spec) {
+        final List<String> members = Lists.newArrayList();
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            if(!visibleIn(association, Where.OBJECT_FORMS)) {
+                continue;
+            }
+            if(isPersistentReferenceToEntity(association) || isPersistentTableCollectionOfEntities(association)) {
+                members.add(association.getId());
+            }
+        }
+        return members;
+    }
+
+    /**
+     * The entities (other than itself) that are referenced by the {@link #forTable(ObjectSpecification) table} or
+     * {@link #forObjectForm(ObjectSpecification) object form} members of the entity.
+     */
+    public static List<ObjectSpecification> referencedEntitiesOf(final ObjectSpecification spec) {
+        final Set<String> members = Sets.newHashSet(forTable(spec));
+        members.addAll(forObjectForm(spec));
+        final Set<ObjectSpecification> referenced = Sets.newLinkedHashSet();
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            final ObjectSpecification typeSpec = association.getSpecification();
+            if(members.contains(association.getId()) && isEntity(typeSpec) && typeSpec != spec) {
+                referenced.add(typeSpec);
+            }
+        }
+        return Lists.newArrayList(referenced);
+    }
+
+    public static boolean isEntity(final ObjectSpecification spec) {
+        return spec != null && spec.containsDoOpFacet(JdoPersistenceCapableFacet.class);
+    }
+
+    private static boolean isPersistentReferenceToEntity(final ObjectAssociation association) {
+        return association.isOneToOneAssociation() &&
+               !association.isNotPersisted() &&
+               isEntity(association.getSpecification());
+    }
+
+    private static boolean isPersistentTableCollectionOfEntities(final ObjectAssociation association) {
+        if(!association.isOneToManyAssociation() || association.isNotPersisted()) {
+            return false;
+        }
+        final DefaultViewFacet defaultViewFacet = association.getFacet(DefaultViewFacet.class);
+        return defaultViewFacet != null &&
+               "table".equals(defaultViewFacet.value()) &&
+               isEntity(association.getSpecification());
+    }
+
+    private static boolean visibleIn(final ObjectAssociation association, final Where where) {
+        return ObjectAssociation.Filters.staticallyVisible(where).accept(association);
+    }
+
+    private static List<String> titleMembersOf(final ObjectSpecification spec) {
+        final List<String> members = Lists.newArrayList();
+        final TitleFacet titleFacet = spec.getFacet(TitleFacet.class);
+        if(!(titleFacet instanceof TitleFacetViaTitleAnnotation)) {
+            return members;
+        }
+        for (final TitleFacetViaTitleAnnotation.TitleComponent component :
+                ((TitleFacetViaTitleAnnotation) titleFacet).getComponents()) {
+            if(!(component.getTitleEvaluator() instanceof Annotations.MethodEvaluator)) {
+                continue;
+            }
+            final Method method = ((Annotations.MethodEvaluator<?>) component.getTitleEvaluator()).getMethod();
+            final ObjectAssociation association = associationWithAccessor(spec, method);
+            if(association != null && association.isOneToOneAssociation() && !association.isNotPersisted()) {
+                members.add(association.getId());
+            }
+        }
+        return members;
+    }
+
+    private static ObjectAssociation associationWithAccessor(final ObjectSpecification spec, final Method method) {
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            final PropertyOrCollectionAccessorFacet accessorFacet =
+                    association.getFacet(PropertyOrCollectionAccessorFacet.class);
+            if(accessorFacet instanceof ImperativeFacet &&
+                    ((ImperativeFacet) accessorFacet).getMethods().contains(method)) {
+                return association;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.object.recreatable;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.ViewModel;
+import org.apache.isis.applib.services.urlencoding.ViewModelMementoStore;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.metamodel.facets.PostConstructMethodCache;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class RecreatableObjectFacetAbstractTest_mementoStore {
+
+    public static class Customer implements ViewModel {
+        private String state;
+        @Override
+        public String viewModelMemento() {
+            return state;
+        }
+        @Override
+        public void viewModelInit(final String memento) {
+            this.state = memento;
+        }
+    }
+
+    static class MementoStoreForTesting implements ViewModelMementoStore {
+        final Map<String, String> mementoByHandle = Maps.newHashMap();
+        @Override
+        public void put(final String handle, final String memento) {
+            mementoByHandle.put(handle, memento);
+        }
+        @Override
+        public String get(final String handle) {
+            return mementoByHandle.get(handle);
+        }
+    }
+
+    private static final PostConstructMethodCache NO_POST_CONSTRUCT = new PostConstructMethodCache() {
+        @Override
+        public Method postConstructMethodFor(final Object pojo) {
+            return null;
+        }
+    };
+
+    private static RecreatableObjectFacetForRecreatableObjectInterface facetWith(final List<Object> services) {
+        final ServicesInjector servicesInjector = new ServicesInjector(services, new IsisConfigurationDefault(), null);
+        return new RecreatableObjectFacetForRecreatableObjectInterface(new FacetHolderImpl(), NO_POST_CONSTRUCT, servicesInjector);
+    }
+
+    @Test
+    public void without_store_the_memento_is_the_identifier() throws Exception {
+        final RecreatableObjectFacetForRecreatableObjectInterface facet = facetWith(Collections.<Object>emptyList());
+        final Customer customer = new Customer();
+        customer.state = Strings.repeat("x", 1000);
+
+        assertThat(facet.memento(customer), is(customer.state));
+    }
+
+    @Test
+    public void with_store_a_short_handle_is_the_identifier() throws Exception {
+        final MementoStoreForTesting store = new MementoStoreForTesting();
+        final RecreatableObjectFacetForRecreatableObjectInterface facet = facetWith(Lists.<Object>newArrayList(store));
+        final Customer customer = new Customer();
+        customer.state = Strings.repeat("x", 1000);
+
+        final String handle = facet.memento(customer);
+
+        assertThat(handle.length(), is(RecreatableObjectFacetAbstract.HANDLE_LENGTH));
+        assertThat(facet.memento(customer), is(handle));
+
+        final Customer recreated = new Customer();
+        facet.initialize(recreated, handle);
+        assertThat(recreated.state, is(customer.state));
+    }
+
+    @Test
+    public void with_store_short_mementos_are_not_stored() throws Exception {
+        final MementoStoreForTesting store = new MementoStoreForTesting();
+        final RecreatableObjectFacetForRecreatableObjectInterface facet = facetWith(Lists.<Object>newArrayList(store));
+        final Customer customer = new Customer();
+        customer.state = "123";
+
+        assertThat(facet.memento(customer), is("123"));
+        assertThat(store.mementoByHandle.isEmpty(), is(true));
+    }
+
+    @Test
+    public void different_mementos_have_different_handles() throws Exception {
+        final RecreatableObjectFacetForRecreatableObjectInterface facet = facetWith(Lists.<Object>newArrayList(new MementoStoreForTesting()));
+        final Customer customer1 = new Customer();
+        customer1.state = Strings.repeat("x", 1000);
+        final Customer customer2 = new Customer();
+        customer2.state = Strings.repeat("y", 1000);
+
+        assertThat(facet.memento(customer1), is(not(facet.memento(customer2))));
+    }
+
+    @Test(expected = IsisException.class)
+    public void when_handle_no_longer_available() throws Exception {
+        final MementoStoreForTesting store = new MementoStoreForTesting();
+        final RecreatableObjectFacetForRecreatableObjectInterface facet = facetWith(Lists.<Object>newArrayList(store));
+        final Customer customer = new Customer();
+        customer.state = Strings.repeat("x", 1000);
+        final String handle = facet.memento(customer);
+
+        store.mementoByHandle.clear();
+
+        facet.initialize(new Customer(), handle);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.value;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class DateFormatsTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    public static class Caching extends DateFormatsTest {
+
+        @Test
+        public void same_instance_for_same_style_locale_and_time_zone() throws Exception {
+            assertThat(DateFormats.dateInstance(DateFormat.LONG, Locale.UK, UTC),
+                    is(sameInstance(DateFormats.dateInstance(DateFormat.LONG, Locale.UK, UTC))));
+            assertThat(DateFormats.dateInstance(DateFormat.LONG, Locale.UK, UTC),
+                    is(not(sameInstance(DateFormats.dateInstance(DateFormat.LONG, Locale.US, UTC)))));
+        }
+
+        @Test
+        public void copy_of_prototype() throws Exception {
+            final DateFormat prototype = new SimpleDateFormat("yyyyMMdd");
+
+            final DateFormat copy = DateFormats.copyOf(prototype);
+
+            assertThat(copy, is(not(sameInstance(prototype))));
+            assertThat(copy, is(sameInstance(DateFormats.copyOf(prototype))));
+        }
+    }
+
+    public static class Parse extends DateFormatsTest {
+
+        private final List<DateFormat> formats = Arrays.asList(
+                DateFormats.forPattern("yyyy-MM-dd", UTC),
+                DateFormats.forPattern("yyyyMMdd", UTC));
+
+        @Test
+        public void first_format_that_recognises_the_text() throws Exception {
+            final Date expected = new SimpleDateFormat("yyyy-MM-dd HH:mm z").parse("2013-03-14 00:00 UTC");
+
+            assertThat(DateFormats.parse("2013-03-14", formats), is(equalTo(expected)));
+            assertThat(DateFormats.parse("20130314", formats), is(equalTo(expected)));
+        }
+
+        @Test
+        public void not_recognised() throws Exception {
+            assertThat(DateFormats.parse("14th March", formats), is(nullValue()));
+        }
+    }
+
+    public static class JodaParse extends DateFormatsTest {
+
+        @Test
+        public void recognised() throws Exception {
+            assertThat(JodaFunctions.parseLocalDateTime(DateTimeFormat.forPattern("yyyy-MM-dd"), "2013-03-14"),
+                    is(equalTo(new LocalDateTime(2013, 3, 14, 0, 0))));
+        }
+
+        @Test
+        public void not_recognised() throws Exception {
+            assertThat(JodaFunctions.parseLocalDateTime(DateTimeFormat.forPattern("yyyy-MM-dd"), "20130314"),
+                    is(nullValue()));
+        }
+
+        @Test
+        public void recognised_but_invalid() throws Exception {
+            assertThat(JodaFunctions.parseLocalDateTime(DateTimeFormat.forPattern("yyyy-MM-dd"), "2013-02-30"),
+                    is(nullValue()));
+        }
+    }
+
+}
@@ -57,6 +57,7 @@
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -324,6 +325,25 @@ public void parentAlreadyEncountered() throws Exception {
             Assert.assertThat(applicationFeatureId, is(equalTo(packageId)));
         }
 
+        @Test
+        public void indicesBuiltOnce() throws Exception {
+
+            // given
+            final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage("com.mycompany");
+            final ApplicationFeature pkg = new ApplicationFeature();
+            pkg.setFeatureId(packageId);
+            applicationFeatureRepository.packageFeatures.put(packageId, pkg);
+
+            // when
+            final ApplicationFeature found = applicationFeatureRepository.findPackage(packageId);
+
+            // then
+            assertThat(found, is(pkg));
+            assertThat(applicationFeatureRepository.allPackages(), is(sameInstance(applicationFeatureRepository.allPackages())));
+            assertThat(applicationFeatureRepository.packageNames(), contains("com.mycompany"));
+            assertThat(applicationFeatureRepository.packageNames(), is(sameInstance(applicationFeatureRepository.packageNames())));
+        }
+
     }
 
 }
\ No newline at end of file
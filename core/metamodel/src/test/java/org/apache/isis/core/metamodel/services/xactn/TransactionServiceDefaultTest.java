@@ -0,0 +1,126 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.xactn;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.xactn.Transaction2;
+import org.apache.isis.applib.services.xactn.TransactionService3;
+import org.apache.isis.applib.services.xactn.TransactionService4;
+import org.apache.isis.applib.services.xactn.TransactionState;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class TransactionServiceDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+
+    @Mock
+    Transaction2 mockTransaction;
+
+    TransactionServiceDefault transactionService;
+
+    @Before
+    public void setUp() throws Exception {
+        transactionService = new TransactionServiceDefault();
+        transactionService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+    }
+
+    public static class NextTransaction extends TransactionServiceDefaultTest {
+
+        @Test
+        public void read_write_by_default() throws Exception {
+            // expect
+            context.checking(new Expectations() {{
+                allowing(mockPersistenceSessionServiceInternal).getTransactionState();
+                will(returnValue(TransactionState.NONE));
+
+                oneOf(mockPersistenceSessionServiceInternal).beginTran(null, false);
+            }});
+
+            // when
+            transactionService.nextTransaction();
+        }
+
+        @Test
+        public void read_only_commits_current_then_begins() throws Exception {
+            final Sequence sequence = context.sequence("nextTransaction");
+
+            // expect
+            context.checking(new Expectations() {{
+                allowing(mockPersistenceSessionServiceInternal).getTransactionState();
+                will(returnValue(TransactionState.IN_PROGRESS));
+
+                oneOf(mockPersistenceSessionServiceInternal).commit();
+                inSequence(sequence);
+                oneOf(mockPersistenceSessionServiceInternal).beginTran(null, true);
+                inSequence(sequence);
+            }});
+
+            // when
+            transactionService.nextTransaction(
+                    TransactionService3.Policy.UNLESS_MARKED_FOR_ABORT, null, TransactionService4.Mode.READ_ONLY);
+        }
+    }
+
+    public static class GetTransactionMode extends TransactionServiceDefaultTest {
+
+        @Test
+        public void when_no_transaction() throws Exception {
+            // expect
+            context.checking(new Expectations() {{
+                allowing(mockPersistenceSessionServiceInternal).currentTransaction();
+                will(returnValue(null));
+            }});
+
+            // then
+            assertThat(transactionService.getTransactionMode(), is(nullValue()));
+        }
+
+        @Test
+        public void when_read_only() throws Exception {
+            // expect
+            context.checking(new Expectations() {{
+                allowing(mockPersistenceSessionServiceInternal).currentTransaction();
+                will(returnValue(mockTransaction));
+
+                allowing(mockPersistenceSessionServiceInternal).isTransactionReadOnly();
+                will(returnValue(true));
+            }});
+
+            // then
+            assertThat(transactionService.getTransactionMode(), is(TransactionService4.Mode.READ_ONLY));
+        }
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader.specimpl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.AppManifest;
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.facets.members.order.MemberOrderFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ActionType;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ObjectSpecificationAbstractTest_contributeeAndMixedInMembers {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private IsisConfiguration mockConfiguration;
+
+    @Mock
+    private ObjectAction mockContributeeAction;
+    @Mock
+    private ObjectAction mockMixedInAction;
+
+    private final AtomicInteger contributeeActionsCreated = new AtomicInteger();
+    private final AtomicInteger mixedInActionsCreated = new AtomicInteger();
+
+    private Set<Class<?>> mixinTypesBefore;
+
+    private ObjectSpecificationAbstract specification;
+
+    @Before
+    public void setUp() throws Exception {
+        // else would introspect whatever mixins some other test has left registered
+        mixinTypesBefore = AppManifest.Registry.instance().getMixinTypes();
+        AppManifest.Registry.instance().setMixinTypes(null);
+
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(null));
+
+            allowing(mockServicesInjector).getDeploymentCategoryProvider();
+            will(returnValue(mockDeploymentCategoryProvider));
+
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            // contributee associations are obtained by spinning over the services; this must happen only the once.
+            oneOf(mockServicesInjector).getRegisteredServices();
+            will(returnValue(Collections.emptyList()));
+
+            allowing(mockConfiguration).getBoolean(
+                    SpecificationLoader.INTROSPECTOR_PARALLELIZE_KEY,
+                    SpecificationLoader.INTROSPECTOR_PARALLELIZE_DEFAULT);
+            will(returnValue(true));
+        }});
+        allowingAsAction(mockContributeeAction, "contributed");
+        allowingAsAction(mockMixedInAction, "mixedIn");
+
+        specification = new ObjectSpecificationOnStandaloneList(mockServicesInjector, null) {
+            @Override
+            protected List<ObjectAction> createContributeeActions() {
+                contributeeActionsCreated.incrementAndGet();
+                // widen the window in which any concurrent callers could race
+                sleep(50);
+                return Collections.singletonList(mockContributeeAction);
+            }
+
+            @Override
+            protected List<ObjectAction> createMixedInActions() {
+                mixedInActionsCreated.incrementAndGet();
+                return Collections.singletonList(mockMixedInAction);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        AppManifest.Registry.instance().setMixinTypes(mixinTypesBefore);
+    }
+
+    private void allowingAsAction(final ObjectAction mockAction, final String actionId) {
+        context.checking(new Expectations() {{
+            allowing(mockAction).getFacet(MemberOrderFacet.class);
+            will(returnValue(null));
+
+            allowing(mockAction).getIdentifier();
+            will(returnValue(Identifier.actionIdentifier("Customer", actionId)));
+
+            allowing(mockAction).getType();
+            will(returnValue(ActionType.USER));
+        }});
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void resolved_eagerly_by_specification_loader() throws Exception {
+
+        // given
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(mockConfiguration, null, null, null, mockServicesInjector) {
+                    @Override
+                    public Collection<ObjectSpecification> allSpecifications() {
+                        return Collections.<ObjectSpecification>singletonList(specification);
+                    }
+                };
+
+        // when
+        specificationLoader.resolveContributeeAndMixedInMembers();
+
+        // then the member tables are populated
+        // (nb: the mock actions are not ContributeeMembers, so are returned even if contributions are excluded;
+        // asking this way does not itself trigger resolution)
+        assertThat(contributeeActionsCreated.get(), is(1));
+        assertThat(mixedInActionsCreated.get(), is(1));
+        assertThat(specification.getObjectActions(Contributed.EXCLUDED).size(), is(2));
+
+        // and when subsequently asked for, are not created again
+        final List<ObjectAction> actions = specification.getObjectActions(Contributed.INCLUDED);
+        specification.getAssociations(Contributed.INCLUDED);
+
+        assertThat(actions.size(), is(2));
+        assertThat(contributeeActionsCreated.get(), is(1));
+        assertThat(mixedInActionsCreated.get(), is(1));
+    }
+
+    @Test
+    public void resolved_lazily_only_once() throws Exception {
+
+        // when
+        specification.getObjectActions(Contributed.INCLUDED);
+        specification.getObjectActions(Contributed.INCLUDED);
+        specification.getAssociations(Contributed.INCLUDED);
+        specification.getAssociations(Contributed.INCLUDED);
+
+        // then
+        assertThat(contributeeActionsCreated.get(), is(1));
+        assertThat(mixedInActionsCreated.get(), is(1));
+    }
+
+    @Test
+    public void not_resolved_if_contributions_excluded() throws Exception {
+
+        // when
+        specification.getObjectActions(Contributed.EXCLUDED);
+
+        // then
+        assertThat(contributeeActionsCreated.get(), is(0));
+        assertThat(mixedInActionsCreated.get(), is(0));
+        assertThat(specification.getObjectActions(Contributed.EXCLUDED).isEmpty(), is(true));
+
+        // satisfy the oneOf expectation set up in setUp
+        specification.getAssociations(Contributed.INCLUDED);
+    }
+
+    @Test
+    public void concurrent_first_access_adds_contributions_only_once() throws Exception {
+
+        // given
+        final int numThreads = 16;
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        final List<Future<List<ObjectAction>>> futures = Lists.newArrayList();
+        for (int i = 0; i < numThreads; i++) {
+            futures.add(executorService.submit(new Callable<List<ObjectAction>>() {
+                @Override
+                public List<ObjectAction> call() throws Exception {
+                    startGate.await();
+                    specification.getAssociations(Contributed.INCLUDED);
+                    return specification.getObjectActions(Contributed.INCLUDED);
+                }
+            }));
+        }
+
+        // when
+        startGate.countDown();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        // then
+        assertThat(contributeeActionsCreated.get(), is(1));
+        assertThat(mixedInActionsCreated.get(), is(1));
+        for (final Future<List<ObjectAction>> future : futures) {
+            final List<ObjectAction> actions = future.get();
+            assertThat(actions.size(), is(2));
+            assertThat(Collections.frequency(actions, mockContributeeAction), is(1));
+            assertThat(Collections.frequency(actions, mockMixedInAction), is(1));
+        }
+        final List<ObjectAssociation> associations = specification.getAssociations(Contributed.INCLUDED);
+        assertThat(associations.isEmpty(), is(true));
+    }
+
+}
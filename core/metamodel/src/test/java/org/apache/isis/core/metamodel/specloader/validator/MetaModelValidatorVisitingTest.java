@@ -0,0 +1,113 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader.validator;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MetaModelValidatorVisitingTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    SpecificationLoader mockSpecificationLoader;
+
+    @Mock
+    ObjectSpecification mockSpecA;
+    @Mock
+    ObjectSpecification mockSpecB;
+    @Mock
+    ObjectSpecification mockSpecC;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecA).getFullIdentifier();
+            will(returnValue("a.A"));
+            allowing(mockSpecB).getFullIdentifier();
+            will(returnValue("b.B"));
+            allowing(mockSpecC).getFullIdentifier();
+            will(returnValue("c.C"));
+
+            // deliberately not in order
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Lists.<ObjectSpecification>newArrayList(mockSpecC, mockSpecA, mockSpecB)));
+        }});
+    }
+
+    private static Collection<String> validateUsing(final MetaModelValidatorVisiting validator) {
+        final ValidationFailures validationFailures = new ValidationFailures();
+        validator.validate(validationFailures);
+        return validationFailures.getMessages();
+    }
+
+    public static class SpecLocal extends MetaModelValidatorVisitingTest {
+
+        final MetaModelValidatorVisiting.SpecLocalVisitor visitor = new MetaModelValidatorVisiting.SpecLocalVisitor() {
+            @Override
+            public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures validationFailures) {
+                validationFailures.add("%s: invalid", objectSpec.getFullIdentifier());
+                return !objectSpec.getFullIdentifier().equals("b.B");
+            }
+        };
+
+        @Test
+        public void failures_in_order_when_parallelized() throws Exception {
+            assertFailuresInOrder(true);
+        }
+
+        @Test
+        public void failures_in_order_when_sequential() throws Exception {
+            assertFailuresInOrder(false);
+        }
+
+        private void assertFailuresInOrder(final boolean parallelized) {
+            context.checking(new Expectations() {{
+                allowing(mockSpecificationLoader).isValidationParallelized();
+                will(returnValue(parallelized));
+            }});
+            final MetaModelValidatorVisiting validator = new MetaModelValidatorVisiting(visitor);
+            validator.init(mockSpecificationLoader);
+
+            final List<String> messages = ImmutableList.copyOf(validateUsing(validator));
+
+            // stops visiting after b.B, as its visit returned false
+            assertThat(messages, is((List<String>) ImmutableList.of("a.A: invalid", "b.B: invalid")));
+        }
+    }
+
+}
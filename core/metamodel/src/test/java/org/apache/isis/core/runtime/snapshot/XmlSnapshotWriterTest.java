@@ -0,0 +1,382 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import com.google.common.io.Resources;
+
+import org.jmock.Expectations;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
+import org.apache.isis.core.metamodel.facets.object.parseable.ParseableFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XmlSnapshotWriterTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    protected ObjectAdapter customer;
+
+    /**
+     * A customer (with a name) having three orders, the first of which occurs twice; both orders are for the same
+     * product.
+     */
+    @Before
+    public void setUp() throws Exception {
+        final ObjectSpecification stringSpec = mockSpec("String", "java.lang.String", true);
+        final ObjectSpecification customerSpec = mockSpec("Customer", "dom.Customer", false);
+        final ObjectSpecification orderSpec = mockSpec("Order", "dom.Order", false);
+        final ObjectSpecification productSpec = mockSpec("Product", "dom.Product", false);
+        final ObjectSpecification listSpec = mockSpec("List", "java.util.List", false);
+
+        final OneToOneAssociation customerName = mockAssociation(OneToOneAssociation.class, "Customer#name", stringSpec);
+        final OneToManyAssociation customerOrders = mockAssociation(OneToManyAssociation.class, "Customer#orders", orderSpec);
+        final OneToOneAssociation orderProduct = mockAssociation(OneToOneAssociation.class, "Order#product", productSpec);
+        final OneToOneAssociation productCode = mockAssociation(OneToOneAssociation.class, "Product#code", stringSpec);
+
+        allowingAssociations(customerSpec, customerName, customerOrders);
+        allowingAssociations(orderSpec, orderProduct);
+        allowingAssociations(productSpec, productCode);
+        allowingAssociations(stringSpec);
+        allowingAssociations(listSpec);
+
+        customer = mockAdapter("customer", customerSpec, "Fred", "CUS:1");
+        final ObjectAdapter order1 = mockAdapter("order1", orderSpec, "Order 1", "ORD:1");
+        final ObjectAdapter order2 = mockAdapter("order2", orderSpec, "Order 2", "ORD:2");
+        final ObjectAdapter product = mockAdapter("product", productSpec, "Widget", "PRD:1");
+        final ObjectAdapter orders = mockAdapter("orders", listSpec, "3 orders", null);
+
+        allowingValue(customerName, customer, stringSpec, "Fred");
+        allowingValue(productCode, product, stringSpec, "");
+        allowingGet(orderProduct, order1, product);
+        allowingGet(orderProduct, order2, product);
+        allowingGet(customerOrders, customer, orders);
+
+        final CollectionFacet collectionFacet = context.mock(CollectionFacet.class);
+        context.checking(new Expectations() {{
+            allowing(listSpec).getFacet(CollectionFacet.class);
+            will(returnValue(collectionFacet));
+
+            allowing(collectionFacet).size(orders);
+            will(returnValue(3));
+
+            allowing(collectionFacet).iterable(orders);
+            will(returnValue(Arrays.asList(order1, order2, order1)));
+        }});
+    }
+
+    public static class WriteXml extends XmlSnapshotWriterTest {
+
+        @Test
+        public void root_only() throws Exception {
+            final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+
+            final Element root = parse(xmlOf(writer)).getDocumentElement();
+
+            assertThat(root.getLocalName(), is("Customer"));
+            assertThat(root.getAttributeNS(IsisSchema.NS_URI, "oid"), is("CUS:1"));
+            assertThat(root.getAttributeNS(XsMetaModel.W3_ORG_XSI_URI, "schemaLocation"),
+                    is(writer.getSchema().getUri() + " dom.Customer.xsd"));
+            assertThat(childElement(root, "title").getTextContent(), is("Fred"));
+
+            final Element name = childElement(root, "name");
+            assertThat(name.getAttributeNS(IsisSchema.NS_URI, "datatype"), is("isis:String"));
+            assertThat(name.getTextContent(), is("Fred"));
+
+            final Element orders = childElement(root, "orders");
+            assertThat(orders.getAttributeNS(IsisSchema.NS_URI, "size"), is("3"));
+            assertThat(orders.getElementsByTagNameNS("*", "Order").getLength(), is(0));
+        }
+
+        @Test
+        public void included_objects_written_once() throws Exception {
+            final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+            writer.include("orders/product");
+            writer.include("orders", "interesting");
+
+            final Element root = parse(xmlOf(writer)).getDocumentElement();
+
+            final Element orders = childElement(root, "orders");
+            assertThat(orders.getAttributeNS(IsisSchema.NS_URI, "annotation"), is("isis:interesting"));
+            final NodeList orderElements = orders.getElementsByTagNameNS("*", "Order");
+            assertThat(orderElements.getLength(), is(2));
+            assertThat(((Element) orderElements.item(0)).getAttributeNS(IsisSchema.NS_URI, "oid"), is("ORD:1"));
+            assertThat(((Element) orderElements.item(1)).getAttributeNS(IsisSchema.NS_URI, "oid"), is("ORD:2"));
+
+            for (int i = 0; i < orderElements.getLength(); i++) {
+                final Element product = childElement((Element) orderElements.item(i), "product");
+                assertThat(product.getElementsByTagNameNS("*", "Product").getLength(), is(1));
+            }
+            final Element code = (Element) root.getElementsByTagNameNS("*", "code").item(0);
+            assertThat(code.getAttributeNS(IsisSchema.NS_URI, "isEmpty"), is("true"));
+        }
+    }
+
+    public static class WriteXsd extends XmlSnapshotWriterTest {
+
+        @Test
+        public void included_classes() throws Exception {
+            final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+            writer.include("orders/product");
+
+            final Element schema = parse(xsdOf(writer)).getDocumentElement();
+
+            assertThat(schema.getLocalName(), is("schema"));
+            assertThat(schema.getAttribute("targetNamespace"), is(writer.getSchema().getUri()));
+            assertThat(xsElementsNamed(schema, "Customer"), is(1));
+            assertThat(xsElementsNamed(schema, "Order"), is(1));
+            assertThat(xsElementsNamed(schema, "Product"), is(1));
+            assertThat(xsElementsNamed(schema, "code"), is(1));
+        }
+    }
+
+    /**
+     * The expected documents were written by the DOM-building {@link XmlSnapshot} that preceded
+     * {@link XmlSnapshotWriter}.
+     */
+    public static class SameAsPreviousImplementation extends XmlSnapshotWriterTest {
+
+        @Test
+        public void root_only() throws Exception {
+            final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+
+            assertEquivalent(parse(expected("customer.xml")), parse(xmlOf(writer)));
+            assertEquivalent(parse(expected("customer.xsd")), parse(xsdOf(writer)));
+        }
+
+        @Test
+        public void included_paths() throws Exception {
+            final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+            writer.include("orders/product", "interesting");
+            writer.include("orders");
+
+            assertEquivalent(parse(expected("customer-orders-product.xml")), parse(xmlOf(writer)));
+            assertEquivalent(parse(expected("customer-orders-product.xsd")), parse(xsdOf(writer)));
+        }
+    }
+
+    public static class DomAdapter extends XmlSnapshotWriterTest {
+
+        @Test
+        public void same_as_previous_implementation() throws Exception {
+            final XmlSnapshot snapshot = new XmlSnapshot(customer);
+            snapshot.include("orders/product", "interesting");
+            snapshot.include("orders");
+
+            assertEquivalent(parse(expected("customer-orders-product.xml")), snapshot.getXmlDocument());
+            assertEquivalent(parse(expected("customer-orders-product.xsd")), snapshot.getXsdDocument());
+            assertEquivalent(
+                    parse(expected("customer-orders-product.xml")),
+                    parse(snapshot.getXmlDocumentAsString().getBytes("UTF-8")));
+        }
+
+        @Test
+        public void include_after_building_dom() throws Exception {
+            final XmlSnapshot snapshot = new XmlSnapshot(customer);
+            assertThat(snapshot.getXmlElement().getElementsByTagNameNS("*", "Order").getLength(), is(0));
+
+            snapshot.include("orders");
+
+            assertThat(snapshot.getXmlElement().getElementsByTagNameNS("*", "Order").getLength(), is(2));
+        }
+    }
+
+    //region > helpers
+
+    private ObjectSpecification mockSpec(final String shortId, final String fullId, final boolean value) {
+        final ObjectSpecification spec = context.mock(ObjectSpecification.class, fullId);
+        context.checking(new Expectations() {{
+            allowing(spec).getShortIdentifier();
+            will(returnValue(shortId));
+            allowing(spec).getFullIdentifier();
+            will(returnValue(fullId));
+            allowing(spec).getSingularName();
+            will(returnValue(shortId));
+            allowing(spec).getPluralName();
+            will(returnValue(shortId + "s"));
+            allowing(spec).getFacetTypes();
+            will(returnValue(new Class[0]));
+            allowing(spec).containsFacet(ValueFacet.class);
+            will(returnValue(value));
+            allowing(spec).getFacet(ParseableFacet.class);
+            will(returnValue(null));
+            allowing(spec).getFacet(EncodableFacet.class);
+            will(returnValue(null));
+        }});
+        return spec;
+    }
+
+    private <T extends ObjectAssociation> T mockAssociation(
+            final Class<T> associationType, final String identifier, final ObjectSpecification spec) {
+        final T association = context.mock(associationType, identifier);
+        final String id = identifier.substring(identifier.indexOf('#') + 1);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+            allowing(association).getName();
+            will(returnValue(id.substring(0, 1).toUpperCase() + id.substring(1)));
+            allowing(association).getSpecification();
+            will(returnValue(spec));
+            allowing(association).getFacetTypes();
+            will(returnValue(new Class[0]));
+        }});
+        return association;
+    }
+
+    private void allowingAssociations(final ObjectSpecification spec, final ObjectAssociation... associations) {
+        context.checking(new Expectations() {{
+            allowing(spec).getAssociations(Contributed.INCLUDED);
+            will(returnValue(associations.length == 0
+                    ? Collections.<ObjectAssociation>emptyList()
+                    : Arrays.asList(associations)));
+            for (final ObjectAssociation association : associations) {
+                allowing(spec).getAssociation(association.getId());
+                will(returnValue(association));
+            }
+        }});
+    }
+
+    private ObjectAdapter mockAdapter(
+            final String name, final ObjectSpecification spec, final String title, final String oidStr) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        final Oid oid = context.mock(Oid.class, name + "Oid");
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+            allowing(adapter).titleString();
+            will(returnValue(title));
+            allowing(adapter).getObject();
+            will(returnValue(new Object()));
+            allowing(adapter).getOid();
+            will(returnValue(oid));
+            allowing(oid).enString();
+            will(returnValue(oidStr));
+        }});
+        return adapter;
+    }
+
+    private void allowingValue(
+            final OneToOneAssociation association, final ObjectAdapter owner, final ObjectSpecification spec,
+            final String title) {
+        allowingGet(association, owner, mockAdapter(owner + "-" + association.getId(), spec, title, null));
+    }
+
+    private void allowingGet(
+            final ObjectAssociation association, final ObjectAdapter owner, final ObjectAdapter referenced) {
+        context.checking(new Expectations() {{
+            allowing(association).get(owner, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(referenced));
+        }});
+    }
+
+    private static byte[] xmlOf(final XmlSnapshotWriter writer) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writer.writeXml(baos);
+        return baos.toByteArray();
+    }
+
+    private static byte[] xsdOf(final XmlSnapshotWriter writer) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writer.writeXsd(baos);
+        return baos.toByteArray();
+    }
+
+    private static byte[] expected(final String resourceName) throws Exception {
+        return Resources.toByteArray(Resources.getResource(XmlSnapshotWriterTest.class, resourceName));
+    }
+
+    private static Document parse(final byte[] bytes) throws Exception {
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+    }
+
+    private static Element childElement(final Element parent, final String localName) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && localName.equals(node.getLocalName())) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static int xsElementsNamed(final Element schema, final String name) {
+        final NodeList elements = schema.getElementsByTagNameNS(XsMetaModel.W3_ORG_XS_URI, "element");
+        int count = 0;
+        for (int i = 0; i < elements.getLength(); i++) {
+            if (name.equals(((Element) elements.item(i)).getAttribute("name"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ignoring indentation.
+     */
+    private static void assertEquivalent(final Document expected, final Document actual) {
+        stripWhitespace(expected.getDocumentElement());
+        stripWhitespace(actual.getDocumentElement());
+        assertThat(actual.getDocumentElement().isEqualNode(expected.getDocumentElement()), is(true));
+    }
+
+    private static void stripWhitespace(final Node node) {
+        Node child = node.getFirstChild();
+        while (child != null) {
+            final Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.TEXT_NODE && child.getNodeValue().trim().isEmpty()) {
+                node.removeChild(child);
+            } else {
+                stripWhitespace(child);
+            }
+            child = next;
+        }
+    }
+
+    //endregion
+
+}
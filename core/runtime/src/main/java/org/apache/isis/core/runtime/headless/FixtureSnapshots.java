@@ -0,0 +1,317 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.headless;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.datastore.JDOConnection;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+import org.apache.isis.core.runtime.persistence.ObjectPersistenceException;
+
+/**
+ * Captures the state of the (HSQLDB) datastore once a named set of fixture scripts has been run, so that subsequent
+ * requests for the same fixture set can restore that state directly (using JDBC) rather than running the fixture
+ * scripts again.
+ *
+ * <p>
+ *     Snapshots are held in memory, for the lifetime of the {@link IsisSystem} bootstrapped on the current thread.
+ *     Each is keyed by name: the name identifies the fixture set, including any child scripts it executes and any
+ *     parameters.  The snapshot also records a {@link #fingerprintOf(FixtureScript...) fingerprint} of the
+ *     top-level fixture scripts, but only so that if the same name is later (mistakenly) used with different
+ *     fixture scripts, the snapshot is considered stale and is replaced.
+ * </p>
+ *
+ * <p>
+ *     All tables are captured and restored other than DataNucleus' <tt>SEQUENCE_TABLE</tt>, which is left as is
+ *     so that any identifiers already allocated are not handed out again.
+ * </p>
+ */
+public class FixtureSnapshots {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FixtureSnapshots.class);
+
+    static final String SEQUENCE_TABLE = "SEQUENCE_TABLE";
+
+    private static final ThreadLocal<Map<String, Snapshot>> snapshotByName = new ThreadLocal<Map<String, Snapshot>>() {
+        @Override
+        protected Map<String, Snapshot> initialValue() {
+            return Maps.newHashMap();
+        }
+    };
+
+    /**
+     * Discards all snapshots, eg because a new {@link IsisSystem} (and therefore a new datastore) has been
+     * bootstrapped.
+     */
+    static void discardAll() {
+        snapshotByName.get().clear();
+    }
+
+    //region > fingerprint
+
+    /**
+     * The names of the classes of the (top-level) fixture scripts, in order.
+     *
+     * <p>
+     *     Neither the child scripts that these execute nor the state of any of the fixture scripts (ie their
+     *     parameters) are included; fixture sets that differ only in these should use different snapshot names.
+     *     Nor is the bytecode of the classes: since snapshots are only held in memory, the classes cannot change
+     *     between the snapshot being captured and restored.
+     * </p>
+     */
+    public static String fingerprintOf(final FixtureScript... fixtureScripts) {
+        final List<String> classNames = Lists.newArrayList();
+        for (final FixtureScript fixtureScript : fixtureScripts) {
+            classNames.add(fixtureScript.getClass().getName());
+        }
+        return Joiner.on(",").join(classNames);
+    }
+
+    //endregion
+
+    //region > capture, restore
+
+    /**
+     * Whether there is a snapshot with this name and fingerprint.
+     */
+    public boolean has(final String name, final String fingerprint) {
+        final Snapshot snapshot = snapshotByName.get().get(name);
+        return snapshot != null && snapshot.fingerprint.equals(fingerprint);
+    }
+
+    /**
+     * Captures the current state of the datastore (as visible to the current transaction, so flush first) under the
+     * specified name, replacing any previous snapshot.
+     *
+     * @return whether the state was captured; it will not be if the datastore is not HSQLDB.
+     */
+    public boolean capture(final String name, final String fingerprint, final PersistenceManager persistenceManager) {
+        final long startedAt = System.currentTimeMillis();
+        final List<Table> tables = withConnection(persistenceManager, new ConnectionCallback<List<Table>>() {
+            @Override
+            public List<Table> call(final Connection connection) throws SQLException {
+                if(!isHsqlDb(connection)) {
+                    return null;
+                }
+                final List<Table> tables = Lists.newArrayList();
+                for (final String tableName : tableNames(connection)) {
+                    tables.add(read(connection, tableName));
+                }
+                return tables;
+            }
+        });
+        if(tables == null) {
+            LOG.warn("Datastore is not HSQLDB; not capturing snapshot '{}'", name);
+            return false;
+        }
+        snapshotByName.get().put(name, new Snapshot(fingerprint, tables));
+        LOG.info("Captured snapshot '{}' ({} tables) in {} millis",
+                name, tables.size(), System.currentTimeMillis() - startedAt);
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the datastore with the snapshot, within the current transaction, and evicts all
+     * objects from the (level 2) datastore cache.
+     *
+     * <p>
+     *     Any pending changes should be flushed first, and the caller is responsible for committing and then
+     *     discarding any other cached state (in particular, using a new session).
+     * </p>
+     */
+    public void restore(final String name, final PersistenceManager persistenceManager) {
+        final Snapshot snapshot = snapshotByName.get().get(name);
+        if(snapshot == null) {
+            throw new IllegalArgumentException("No such snapshot '" + name + "'");
+        }
+        final long startedAt = System.currentTimeMillis();
+        withConnection(persistenceManager, new ConnectionCallback<Void>() {
+            @Override
+            public Void call(final Connection connection) throws SQLException {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET DATABASE REFERENTIAL INTEGRITY FALSE");
+                    try {
+                        for (final String tableName : tableNames(connection)) {
+                            statement.executeUpdate("DELETE FROM " + tableName);
+                        }
+                        for (final Table table : snapshot.tables) {
+                            write(connection, table);
+                        }
+                    } finally {
+                        statement.execute("SET DATABASE REFERENTIAL INTEGRITY TRUE");
+                    }
+                }
+                return null;
+            }
+        });
+        persistenceManager.getPersistenceManagerFactory().getDataStoreCache().evictAll();
+        LOG.info("Restored snapshot '{}' in {} millis", name, System.currentTimeMillis() - startedAt);
+    }
+
+    //endregion
+
+    //region > helpers
+
+    private interface ConnectionCallback<T> {
+        T call(Connection connection) throws SQLException;
+    }
+
+    private static <T> T withConnection(
+            final PersistenceManager persistenceManager,
+            final ConnectionCallback<T> callback) {
+        final JDOConnection dataStoreConnection = persistenceManager.getDataStoreConnection();
+        try {
+            final Object connectionObj = dataStoreConnection.getNativeConnection();
+            if(!(connectionObj instanceof Connection)) {
+                return null;
+            }
+            return callback.call((Connection) connectionObj);
+        } catch (final SQLException ex) {
+            throw new ObjectPersistenceException("Failed to access datastore for fixture snapshot", ex);
+        } finally {
+            dataStoreConnection.close();
+        }
+    }
+
+    private static boolean isHsqlDb(final Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toUpperCase().contains("HSQL");
+    }
+
+    /**
+     * The (quoted, schema-qualified) names of all user tables, other than the {@link #SEQUENCE_TABLE}.
+     */
+    private static List<String> tableNames(final Connection connection) throws SQLException {
+        final List<String> tableNames = Lists.newArrayList();
+        final DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getTables(null, null, "%", new String[] { "TABLE" })) {
+            while (rs.next()) {
+                final String schema = rs.getString("TABLE_SCHEM");
+                final String table = rs.getString("TABLE_NAME");
+                if(SEQUENCE_TABLE.equalsIgnoreCase(table)) {
+                    continue;
+                }
+                tableNames.add(schema != null ? quote(schema) + "." + quote(table) : quote(table));
+            }
+        }
+        return tableNames;
+    }
+
+    private static String quote(final String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static Table read(final Connection connection, final String tableName) throws SQLException {
+        final List<String> columnNames = Lists.newArrayList();
+        final List<Object[]> rows = Lists.newArrayList();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName)) {
+            final ResultSetMetaData rsmd = rs.getMetaData();
+            final int columnCount = rsmd.getColumnCount();
+            for (int i = 1; i <= columnCount; i++) {
+                columnNames.add(quote(rsmd.getColumnName(i)));
+            }
+            while (rs.next()) {
+                final Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = detached(rs.getObject(i + 1));
+                }
+                rows.add(row);
+            }
+        }
+        return new Table(tableName, columnNames, rows);
+    }
+
+    /**
+     * LOBs are only valid while the result set is open, so are copied.
+     */
+    private static Object detached(final Object value) throws SQLException {
+        if(value instanceof Blob) {
+            final Blob blob = (Blob) value;
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if(value instanceof Clob) {
+            final Clob clob = (Clob) value;
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+
+    private static void write(final Connection connection, final Table table) throws SQLException {
+        if(table.rows.isEmpty()) {
+            return;
+        }
+        final String sql = "INSERT INTO " + table.name + " (" + Joiner.on(", ").join(table.columnNames) + ") VALUES ("
+                + Joiner.on(", ").join(Collections.nCopies(table.columnNames.size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (final Object[] row : table.rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static class Snapshot {
+        private final String fingerprint;
+        private final List<Table> tables;
+
+        Snapshot(final String fingerprint, final List<Table> tables) {
+            this.fingerprint = fingerprint;
+            this.tables = ImmutableList.copyOf(tables);
+        }
+    }
+
+    private static class Table {
+        private final String name;
+        private final List<String> columnNames;
+        private final List<Object[]> rows;
+
+        Table(final String name, final List<String> columnNames, final List<Object[]> rows) {
+            this.name = name;
+            this.columnNames = columnNames;
+            this.rows = rows;
+        }
+    }
+
+    //endregion
+
+}
@@ -30,6 +30,7 @@
 
 import org.apache.isis.applib.Module;
 import org.apache.isis.applib.clock.Clock;
+import org.apache.isis.applib.fixturescripts.FixtureScript;
 import org.apache.isis.applib.services.xactn.TransactionService3;
 import org.apache.isis.core.commons.factory.InstanceUtil;
 import org.apache.isis.core.runtime.headless.logging.LogConfig;
@@ -120,6 +121,23 @@ private void beginTransaction() {
         isft.beginTran();
     }
 
+    /**
+     * As {@link #runFixtureScript(FixtureScript...)}, but the first time that the named fixture set is run the
+     * resultant state of the datastore is captured, and thereafter it is restored directly rather than running the
+     * fixture scripts again.
+     *
+     * <p>
+     *     Because the fixture scripts are not run when restoring, their results are not available; tests should
+     *     instead look up the objects they need (eg using repositories).  Note also that the restore begins a new
+     *     session, so any domain objects obtained previously should not be used.
+     * </p>
+     *
+     * @see FixtureSnapshots
+     */
+    protected void runFixtureScriptUsingSnapshot(final String snapshotName, final FixtureScript... fixtureScriptList) {
+        isisSystemBootstrapper.runFixtureScriptUsingSnapshot(snapshotName, fixtureScriptList);
+    }
+
     protected void tearDownAllModules() {
 
         final boolean testHealthy = transactionService != null;
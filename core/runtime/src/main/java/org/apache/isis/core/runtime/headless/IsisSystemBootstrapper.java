@@ -21,6 +21,7 @@
 import java.util.List;
 import java.util.UUID;
 
+import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@
 import org.apache.isis.applib.fixturescripts.FixtureScripts;
 import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
 import org.apache.isis.applib.services.metamodel.MetaModelService4;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCacheApplicationScoped;
 import org.apache.isis.applib.services.registry.ServiceRegistry2;
 import org.apache.isis.core.runtime.headless.logging.LogConfig;
 import org.apache.isis.core.runtime.system.context.IsisContext;
@@ -53,6 +55,7 @@ public class IsisSystemBootstrapper {
 
     private final LogConfig logConfig;
     private final AppManifest2 appManifest2;
+    private final FixtureSnapshots fixtureSnapshots = new FixtureSnapshots();
 
     public IsisSystemBootstrapper(
             final LogConfig logConfig,
@@ -95,6 +98,47 @@ public void setupModuleRefData() {
         runFixtureScript(refDataSetupFixture);
     }
 
+    /**
+     * Runs the fixture scripts and captures the resultant state of the datastore as a {@link FixtureSnapshots snapshot}
+     * with the specified name; or, if such a snapshot has already been captured (for the same fixture script
+     * classes), then instead restores the datastore from that snapshot, without running the fixture scripts.
+     *
+     * <p>
+     *     Expects a transaction to have been started.  If the snapshot is restored then this transaction is
+     *     committed and a new session (and transaction) is started, to discard any cached state.
+     * </p>
+     */
+    public void runFixtureScriptUsingSnapshot(final String snapshotName, final FixtureScript... fixtureScriptList) {
+        final String fingerprint = FixtureSnapshots.fingerprintOf(fixtureScriptList);
+        final IsisJdoSupport isisJdoSupport = lookupService(IsisJdoSupport.class);
+        final IsisSystem isft = getIsisSystem();
+
+        if(fixtureSnapshots.has(snapshotName, fingerprint)) {
+            isft.getContainer().flush();
+            final PersistenceManager persistenceManager = isisJdoSupport.getJdoPersistenceManager();
+            fixtureSnapshots.restore(snapshotName, persistenceManager);
+
+            isft.endTran();
+            try {
+                isft.nextSession();
+            } catch (final Exception ex) {
+                throw new RuntimeException(ex);
+            }
+            isft.beginTran();
+
+            final QueryResultsCacheApplicationScoped queryResultsCache =
+                    lookupService(QueryResultsCacheApplicationScoped.class);
+            if(queryResultsCache != null) {
+                queryResultsCache.invalidateAll();
+            }
+            return;
+        }
+
+        runFixtureScript(fixtureScriptList);
+        isft.getContainer().flush();
+        fixtureSnapshots.capture(snapshotName, fingerprint, isisJdoSupport.getJdoPersistenceManager());
+    }
+
 
     private void bootstrapUsing(AppManifest2 appManifest2) {
 
@@ -160,6 +204,9 @@ private static IsisSystem setupSystem(final AppManifest2 appManifest2) {
         IsisSystem isft = isftBuilder.build();
         isft.setUpSystem();
 
+        // any snapshots are of the previous datastore
+        FixtureSnapshots.discardAll();
+
         // save both the system and the manifest
         // used to bootstrap the system onto thread-loca
         IsisSystem.set(isft);
@@ -71,6 +71,18 @@ public class PojoAdapter extends InstanceAbstract implements ObjectAdapter {
      */
     private ElementSpecificationProvider elementSpecificationProvider;
 
+    /**
+     * The {@link PersistenceSession#getMemoGeneration() generation} for which the title, icon name and CSS class
+     * (if the corresponding flags are set) have been memoized.
+     */
+    private long memoGeneration = -1;
+    private boolean titleMemoized;
+    private String memoizedTitle;
+    private boolean iconNameMemoized;
+    private String memoizedIconName;
+    private boolean cssClassMemoized;
+    private String memoizedCssClass;
+
     public PojoAdapter(
             final Object pojo,
             final Oid oid,
@@ -123,6 +135,7 @@ public Object getObject() {
     @Override
     public void replacePojo(final Object pojo) {
         this.pojo = pojo;
+        this.memoGeneration = -1;
     }
     //endregion
 
@@ -297,7 +310,14 @@ public String titleString(ObjectAdapter contextAdapterIfAny) {
             final CollectionFacet facet = getSpecification().getFacet(CollectionFacet.class);
             return collectionTitleString(facet);
         } else {
-            return objectTitleString(contextAdapterIfAny);
+            if(contextAdapterIfAny != null || !isMemoValid()) {
+                return objectTitleString(contextAdapterIfAny);
+            }
+            if(!titleMemoized) {
+                memoizedTitle = objectTitleString(null);
+                titleMemoized = true;
+            }
+            return memoizedTitle;
         }
     }
 
@@ -401,7 +421,55 @@ private String aggregateResolveStateCode() {
      */
     @Override
     public String getIconName() {
-        return getSpecification().getIconName(this);
+        if(!isMemoValid()) {
+            return getSpecification().getIconName(this);
+        }
+        if(!iconNameMemoized) {
+            memoizedIconName = getSpecification().getIconName(this);
+            iconNameMemoized = true;
+        }
+        return memoizedIconName;
+    }
+
+    //endregion
+
+    //region > cssClass
+
+    @Override
+    public String getCssClass() {
+        if(!isMemoValid()) {
+            return getSpecification().getCssClass(this);
+        }
+        if(!cssClassMemoized) {
+            memoizedCssClass = getSpecification().getCssClass(this);
+            cssClassMemoized = true;
+        }
+        return memoizedCssClass;
+    }
+
+    //endregion
+
+    //region > memoization
+
+    /**
+     * Whether the memoized title, icon name and CSS class (if any) can be used, discarding them if the
+     * {@link PersistenceSession#getMemoGeneration() generation} has moved on since they were memoized.
+     *
+     * <p>
+     * Adapters are scoped to the {@link PersistenceSession} (that is, to the request), so the memoized values are
+     * never shared across requests.
+     */
+    private boolean isMemoValid() {
+        if(persistenceSession == null || !persistenceSession.isMemoizationEnabled()) {
+            return false;
+        }
+        final long generation = persistenceSession.getMemoGeneration();
+        if(generation != memoGeneration) {
+            memoGeneration = generation;
+            titleMemoized = iconNameMemoized = cssClassMemoized = false;
+            memoizedTitle = memoizedIconName = memoizedCssClass = null;
+        }
+        return true;
     }
 
     //endregion
@@ -31,12 +31,14 @@
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.clock.ClockService;
 import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.applib.services.user.UserService;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.applib.services.xactn.TransactionService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.CommandUtil;
 import org.apache.isis.core.metamodel.facets.object.audit.AuditableFacet;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
@@ -82,8 +84,13 @@ public void audit() {
         final String currentUser = userService.getUser().getName();
         final java.sql.Timestamp currentTime = clockService.nowAsJavaSqlTimestamp();
 
-        for (Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry : changedObjectProperties) {
-            auditChangedProperty(currentTime, currentUser, auditEntry);
+        final long startedAt = instrumentationServiceInternal.start();
+        try {
+            for (Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry : changedObjectProperties) {
+                auditChangedProperty(currentTime, currentUser, auditEntry);
+            }
+        } finally {
+            instrumentationServiceInternal.stop(InstrumentationService.Phase.AUDITING, "audit", startedAt);
         }
     }
 
@@ -151,4 +158,7 @@ private void auditChangedProperty(
     @javax.inject.Inject
     TransactionService transactionService;
 
+    @javax.inject.Inject
+    InstrumentationServiceInternal instrumentationServiceInternal;
+
 }
@@ -17,18 +17,32 @@
 package org.apache.isis.core.runtime.services.background;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.command.CommandExecutorService;
 import org.apache.isis.applib.services.command.CommandWithDto;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
 
 /**
  * Intended to be used as a base class for executing queued up {@link Command background action}s.
@@ -36,11 +50,41 @@
  * <p>
  * This implementation uses the {@link #findBackgroundCommandsToExecute() hook method} so that it is
  * independent of the location where the actions have actually been persisted to.
+ *
+ * <p>
+ * By default the commands are executed one after another, on the calling thread.  If the
+ * {@value #KEY_PARALLELISM} configuration property is greater than one, then they are instead partitioned by their
+ * {@link Command#getTarget() target} and each partition is executed on its own worker thread.  Commands for the same
+ * target object are therefore still executed in the order returned by the hook method, but no ordering is guaranteed
+ * between commands for different targets.
+ *
+ * <p>
+ * Each worker executes its commands in a succession of {@link org.apache.isis.core.runtime.system.session.IsisSession
+ * session}s (of at most {@value #KEY_SESSION_BATCH_SIZE} commands each, so that the objects loaded by the
+ * underlying persistence manager do not accumulate), each command in its own transaction.  If a command fails to
+ * commit then this is logged and the worker moves onto the next command in a new session.
  */
 public abstract class BackgroundCommandExecution extends CommandExecutionAbstract {
 
     private final static Logger LOG = LoggerFactory.getLogger(BackgroundCommandExecution.class);
 
+    /**
+     * The number of worker threads to execute commands with; if 1 (the default) then commands are executed
+     * sequentially on the calling thread.
+     */
+    public static final String KEY_PARALLELISM = "isis.services.background.execution.parallelism";
+    public static final int PARALLELISM_DEFAULT = 1;
+
+    /**
+     * The maximum number of commands that a worker executes within a single session.
+     */
+    public static final String KEY_SESSION_BATCH_SIZE = "isis.services.background.execution.sessionBatchSize";
+    public static final int SESSION_BATCH_SIZE_DEFAULT = 100;
+
+    private final AtomicLong numberExecuted = new AtomicLong();
+    private final AtomicLong numberFailed = new AtomicLong();
+    private long elapsedMillis;
+
     /**
      * Defaults to the historical defaults * for running background commands.
      */
@@ -69,8 +113,24 @@ public void execute() {
 
         LOG.debug("Found {} to execute", commands.size());
 
-        for (final Command command : commands) {
-            execute(transactionManager, (CommandWithDto) command);
+        numberExecuted.set(0);
+        numberFailed.set(0);
+        final long startedAt = System.currentTimeMillis();
+
+        final int parallelism = getParallelism();
+        if(parallelism <= 1 || commands.size() <= 1) {
+            for (final Command command : commands) {
+                execute(transactionManager, (CommandWithDto) command);
+                numberExecuted.incrementAndGet();
+            }
+        } else {
+            executeInParallel(commands, parallelism);
+        }
+
+        elapsedMillis = System.currentTimeMillis() - startedAt;
+        if(!commands.isEmpty()) {
+            LOG.info("Executed {} commands ({} failed) in {}ms, {} per second",
+                    numberExecuted.get(), numberFailed.get(), elapsedMillis, getThroughputPerSecond());
         }
     }
 
@@ -79,5 +139,179 @@ public void execute() {
      */
     protected abstract List<? extends Command> findBackgroundCommandsToExecute();
 
+    // //////////////////////////////////////
+
+    /**
+     * Defaults to the {@value #KEY_PARALLELISM} configuration property; can be overridden.
+     */
+    protected int getParallelism() {
+        return getConfiguration().getInteger(KEY_PARALLELISM, PARALLELISM_DEFAULT);
+    }
+
+    /**
+     * Defaults to the {@value #KEY_SESSION_BATCH_SIZE} configuration property; can be overridden.
+     */
+    protected int getSessionBatchSize() {
+        return Math.max(getConfiguration().getInteger(KEY_SESSION_BATCH_SIZE, SESSION_BATCH_SIZE_DEFAULT), 1);
+    }
+
+    private IsisConfiguration getConfiguration() {
+        return getIsisSessionFactory().getConfiguration();
+    }
+
+    // //////////////////////////////////////
+
+    private void executeInParallel(final List<Command> commands, final int parallelism) {
+
+        final AuthenticationSession authenticationSession =
+                getIsisSessionFactory().getCurrentSession().getAuthenticationSession();
+        final int sessionBatchSize = getSessionBatchSize();
+
+        // the commands are attached to the calling thread's persistence session, so each worker instead looks them
+        // up (within its own session) by bookmark.
+        final List<List<Bookmark>> partitions = partition(commands, new Function<Command, Bookmark>() {
+            @Override
+            public Bookmark apply(final Command command) {
+                return bookmarkService.bookmarkFor(command);
+            }
+        }, parallelism);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable,
+                        "isis-background-command-execution-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            final List<Future<Void>> futures = Lists.newArrayList();
+            for (final List<Bookmark> partition : partitions) {
+                if(partition.isEmpty()) {
+                    continue;
+                }
+                futures.add(executorService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        executePartition(authenticationSession, partition, sessionBatchSize);
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException ex) {
+                    LOG.error("Background command execution worker failed", ex.getCause());
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for background commands to execute");
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Partitions the commands by (the hash of) their {@link Command#getTarget() target}, preserving the order of
+     * the commands within each partition.
+     */
+    static <T> List<List<T>> partition(
+            final List<? extends Command> commands,
+            final Function<Command, T> function,
+            final int numberOfPartitions) {
+        final List<List<T>> partitions = Lists.newArrayList();
+        for (int i = 0; i < numberOfPartitions; i++) {
+            partitions.add(Lists.<T>newArrayList());
+        }
+        for (final Command command : commands) {
+            final Bookmark target = command.getTarget();
+            final String key = target != null ? target.toString() : String.valueOf(command.getTransactionId());
+            final int partition = (key.hashCode() & Integer.MAX_VALUE) % numberOfPartitions;
+            partitions.get(partition).add(function.apply(command));
+        }
+        return partitions;
+    }
+
+    private void executePartition(
+            final AuthenticationSession authenticationSession,
+            final List<Bookmark> bookmarks,
+            final int sessionBatchSize) {
+        int next = 0;
+        while (next < bookmarks.size()) {
+            final int from = next;
+            next = getIsisSessionFactory().doInSession(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return executeInSession(bookmarks, from, sessionBatchSize);
+                }
+            }, authenticationSession);
+        }
+    }
+
+    /**
+     * Executes up to <tt>sessionBatchSize</tt> commands in the current session, returning the index of the next
+     * command to execute.  Returns early if a command fails, so that the remainder are executed in a new session.
+     */
+    private int executeInSession(final List<Bookmark> bookmarks, final int from, final int sessionBatchSize) {
+        final IsisTransactionManager transactionManager = getTransactionManager(getPersistenceSession());
+        final int to = Math.min(from + sessionBatchSize, bookmarks.size());
+        for (int i = from; i < to; i++) {
+            final Bookmark bookmark = bookmarks.get(i);
+            try {
+                final CommandWithDto commandWithDto = transactionManager.executeWithinTransaction(
+                        new TransactionalClosureWithReturn<CommandWithDto>() {
+                            @Override
+                            public CommandWithDto execute() {
+                                return (CommandWithDto) bookmarkService.lookup(bookmark);
+                            }
+                        });
+                if(commandWithDto == null) {
+                    LOG.warn("Could not find command {}; skipping", bookmark);
+                    numberFailed.incrementAndGet();
+                    continue;
+                }
+                execute(transactionManager, commandWithDto);
+                numberExecuted.incrementAndGet();
+            } catch (final RuntimeException ex) {
+                LOG.error("Failed to execute command {}; continuing with next command in new session", bookmark, ex);
+                numberFailed.incrementAndGet();
+                return i + 1;
+            }
+        }
+        return to;
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * The number of commands executed by the most recent run (including any that threw an exception that was
+     * handled by the {@link CommandExecutorService}).
+     */
+    public long getNumberExecuted() {
+        return numberExecuted.get();
+    }
+
+    /**
+     * The number of commands that could not be executed by the most recent run (because they could not be found, or
+     * their transaction could not be committed).
+     */
+    public long getNumberFailed() {
+        return numberFailed.get();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getThroughputPerSecond() {
+        return elapsedMillis > 0 ? numberExecuted.get() * 1000 / elapsedMillis : numberExecuted.get();
+    }
+
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
 
 }
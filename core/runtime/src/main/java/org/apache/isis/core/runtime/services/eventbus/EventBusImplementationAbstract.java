@@ -94,6 +94,10 @@ private IsisTransactionManager getTransactionManager() {
         return isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager();
     }
 
+    protected IsisSessionFactory getIsisSessionFactory() {
+        return isisSessionFactory;
+    }
+
     @javax.inject.Inject
     IsisSessionFactory isisSessionFactory;
 
@@ -33,6 +33,7 @@
 import org.apache.isis.core.runtime.services.RequestScopedService;
 import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForAxonSimple;
 import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForGuava;
+import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationNative;
 
 /**
  * Holds common runtime logic for EventBusService implementations.
@@ -42,6 +43,20 @@ public abstract class EventBusServiceDefault extends EventBusService {
     public static final String KEY_ALLOW_LATE_REGISTRATION = "isis.services.eventbus.allowLateRegistration";
     public static final String KEY_EVENT_BUS_IMPLEMENTATION = "isis.services.eventbus.implementation";
 
+    /**
+     * The number of threads used by the <tt>native</tt> implementation to call
+     * {@link org.apache.isis.applib.services.eventbus.AfterCommit after-commit} subscribers.
+     */
+    public static final String KEY_ASYNC_THREADS = "isis.services.eventbus.asyncThreads";
+    public static final int ASYNC_THREADS_DEFAULT = 1;
+
+    /**
+     * The maximum number of after-commit deliveries queued by the <tt>native</tt> implementation; once full, the
+     * committing thread waits.
+     */
+    public static final String KEY_ASYNC_QUEUE_SIZE = "isis.services.eventbus.asyncQueueSize";
+    public static final int ASYNC_QUEUE_SIZE_DEFAULT = 1000;
+
     //region > register
     /**
      * {@inheritDoc}
@@ -81,6 +96,17 @@ public void register(final Object domainService) {
     public void init(final Map<String, String> properties) {
         this.allowLateRegistration = getElseFalse(properties, KEY_ALLOW_LATE_REGISTRATION);
         this.implementation = getNormalized(properties.get(KEY_EVENT_BUS_IMPLEMENTATION));
+        this.asyncThreads = parseInt(properties.get(KEY_ASYNC_THREADS), ASYNC_THREADS_DEFAULT);
+        this.asyncQueueSize = parseInt(properties.get(KEY_ASYNC_QUEUE_SIZE), ASYNC_QUEUE_SIZE_DEFAULT);
+    }
+
+    @Override
+    protected void teardownEventBus() {
+        final EventBusImplementation eventBusImplementation = this.eventBusImplementation;
+        super.teardownEventBus();
+        if(eventBusImplementation instanceof EventBusImplementationNative) {
+            ((EventBusImplementationNative) eventBusImplementation).shutdown();
+        }
     }
 
     private static String getNormalized(final String implementation) {
@@ -92,6 +118,8 @@ private static String getNormalized(final String implementation) {
                 return "guava";
             } else if("axon".equalsIgnoreCase(implementationTrimmed)) {
                 return "axon";
+            } else if("native".equalsIgnoreCase(implementationTrimmed)) {
+                return "native";
             } else {
                 return implementationTrimmed;
             }
@@ -102,6 +130,14 @@ private static boolean getElseFalse(final Map<String, String> properties, final
         final String value = properties.get(key);
         return !Strings.isNullOrEmpty(value) && Boolean.parseBoolean(value);
     }
+
+    private static int parseInt(final String str, final int defaultValue) {
+        try {
+            return str != null ? Integer.parseInt(str.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
     //endregion
 
     private boolean allowLateRegistration;
@@ -109,8 +145,11 @@ boolean isAllowLateRegistration() {
         return allowLateRegistration;
     }
 
+    private int asyncThreads;
+    private int asyncQueueSize;
+
     /**
-     * Either &lt;guava&gt; or &lt;axon&gt;, or else the fully qualified class name of an
+     * Either &lt;guava&gt;, &lt;axon&gt; or &lt;native&gt;, or else the fully qualified class name of an
      * implementation of {@link org.apache.isis.applib.services.eventbus.EventBusImplementation}.
      */
     private String implementation;
@@ -132,6 +171,9 @@ private EventBusImplementation instantiateEventBus() {
         if("axon".equals(implementation)) {
             return new EventBusImplementationForAxonSimple();
         }
+        if("native".equals(implementation)) {
+            return new EventBusImplementationNative(asyncThreads, asyncQueueSize);
+        }
 
         final Class<?> aClass = ClassUtil.forName(implementation);
         if(EventBusImplementation.class.isAssignableFrom(aClass)) {
@@ -0,0 +1,681 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.datanucleus.enhancement.Persistable;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.AfterCommit;
+import org.apache.isis.applib.services.eventbus.CollectionDomainEvent;
+import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.runtime.services.eventbus.EventBusImplementationAbstract;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+
+/**
+ * An event bus that dispatches directly to the subscriber methods (annotated using Guava's {@link Subscribe}) of the
+ * registered domain services, without delegating to any third-party implementation.
+ *
+ * <p>
+ *     The subscriber methods are found once, when each domain service is registered, and are indexed by the event
+ *     type they accept.  The subscribers for each posted event class (ie also accepting any of its supertypes) are
+ *     then resolved on first post and cached, so that subsequent posts do no reflection; in particular, posting an
+ *     event that no subscriber is interested in is just a map lookup.
+ * </p>
+ *
+ * <p>
+ *     Subscriber methods also annotated with {@link AfterCommit} are instead called asynchronously, on a bounded
+ *     thread pool, once the posting transaction has committed.  They are called in a new session, so the entities
+ *     referenced by the event are first re-resolved (see {@link DetachedEvent}).
+ * </p>
+ *
+ * <p>
+ *     As for Axon, any exception thrown by a (synchronous) subscriber is propagated once
+ *     {@link #processException(Throwable, Object) processed}, meaning that any subsequent subscribers are not called.
+ * </p>
+ */
+public class EventBusImplementationNative extends EventBusImplementationAbstract {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventBusImplementationNative.class);
+
+    private final int asyncThreads;
+    private final int asyncQueueSize;
+
+    /**
+     * Registered domain services, by identity; request-scoped services (proxies) register at the start of every
+     * transaction, and these re-registrations are ignored.
+     */
+    private final Set<Object> registeredDomainServices = Sets.newIdentityHashSet();
+    private int numberOfSubscribers;
+
+    /**
+     * Replaced (copy-on-write) on each registration, so is read without locking by {@link #post(Object)}.
+     */
+    volatile Index index = Index.EMPTY;
+
+    /**
+     * Lazily created (when registering), only if there are any {@link AfterCommit} subscribers.  Volatile because it
+     * is read when submitting deliveries (after commit) without locking.
+     */
+    private volatile ThreadPoolExecutor asyncExecutor;
+
+    public EventBusImplementationNative(final int asyncThreads, final int asyncQueueSize) {
+        this.asyncThreads = Math.max(asyncThreads, 1);
+        this.asyncQueueSize = Math.max(asyncQueueSize, 1);
+    }
+
+    //region > register, unregister
+
+    @Override
+    public synchronized void register(final Object domainService) {
+        if(!registeredDomainServices.add(domainService)) {
+            return;
+        }
+        final List<Subscriber> subscribers = subscribersOf(domainService);
+        if(subscribers.isEmpty()) {
+            return;
+        }
+        final Map<Class<?>, List<Subscriber>> subscribersByEventType = Maps.newLinkedHashMap(index.subscribersByEventType);
+        for (final Subscriber subscriber : subscribers) {
+            final List<Subscriber> existing = subscribersByEventType.get(subscriber.eventType);
+            subscribersByEventType.put(subscriber.eventType,
+                    existing != null
+                            ? ImmutableList.<Subscriber>builder().addAll(existing).add(subscriber).build()
+                            : ImmutableList.of(subscriber));
+            if(subscriber.afterCommit && asyncExecutor == null) {
+                asyncExecutor = newAsyncExecutor();
+            }
+        }
+        index = new Index(subscribersByEventType);
+    }
+
+    @Override
+    public void unregister(final Object domainService) {
+        // Intentionally no-op, as for the other implementations (see EventBusService).
+    }
+
+    private List<Subscriber> subscribersOf(final Object domainService) {
+        final List<Subscriber> subscribers = Lists.newArrayList();
+        final Set<String> signatures = Sets.newHashSet();
+        for (final Class<?> type : hierarchyOf(domainService.getClass())) {
+            for (final Method method : type.getDeclaredMethods()) {
+                if(method.isSynthetic() || !method.isAnnotationPresent(Subscribe.class)) {
+                    continue;
+                }
+                final Class<?>[] parameterTypes = method.getParameterTypes();
+                if(parameterTypes.length != 1) {
+                    throw new IllegalArgumentException(String.format(
+                            "Method %s has @Subscribe annotation but has %d parameters; subscriber methods must have exactly 1 parameter",
+                            method, parameterTypes.length));
+                }
+                // the most specific declaration wins; invoking it calls any override anyway.
+                if(!signatures.add(method.getName() + "(" + parameterTypes[0].getName() + ")")) {
+                    continue;
+                }
+                method.setAccessible(true);
+                subscribers.add(new Subscriber(domainService, method, numberOfSubscribers++));
+            }
+        }
+        return subscribers;
+    }
+
+    //endregion
+
+    //region > post
+
+    @Override
+    public void post(final Object event) {
+        final Dispatch dispatch = index.dispatchFor(event.getClass());
+        if(dispatch == Dispatch.NONE) {
+            return;
+        }
+        for (final Subscriber subscriber : dispatch.subscribers) {
+            try {
+                subscriber.invoke(event);
+            } catch (final InvocationTargetException ex) {
+                processException(ex.getCause(), event);
+            }
+        }
+        if(!dispatch.afterCommitSubscribers.isEmpty() && isDeliverableAfterCommit(event)) {
+            postAfterCommit(event, dispatch.afterCommitSubscribers);
+        }
+    }
+
+    private static boolean isDeliverableAfterCommit(final Object event) {
+        return !(event instanceof AbstractDomainEvent) ||
+                ((AbstractDomainEvent<?>) event).getEventPhase() == AbstractDomainEvent.Phase.EXECUTED;
+    }
+
+    private void postAfterCommit(final Object event, final List<Subscriber> subscribers) {
+        final IsisSession isisSession = currentSessionIfAny();
+        final AuthenticationSession authenticationSession =
+                isisSession != null ? isisSession.getAuthenticationSession() : null;
+
+        final Runnable submit = new Runnable() {
+            @Override
+            public void run() {
+                // the posting session's entities cannot be handed to another thread, so are captured as bookmarks;
+                // this is done only now that the transaction has committed, so that any new entities have their
+                // permanent identifiers.
+                final DetachedEvent detachedEvent = new DetachedEvent(event);
+                submitAfterCommit(new AfterCommitDelivery(subscribers, detachedEvent, authenticationSession));
+            }
+        };
+
+        final IsisTransaction transaction = isisSession != null ? isisSession.getCurrentTransaction() : null;
+        if(transaction != null && !transaction.getState().isComplete()) {
+            transaction.afterCommit(submit);
+        } else {
+            submit.run();
+        }
+    }
+
+    private void submitAfterCommit(final AfterCommitDelivery delivery) {
+        final ThreadPoolExecutor executor = asyncExecutor;
+        if(executor == null || executor.isShutdown()) {
+            LOG.warn("Event bus has been shutdown; not delivering {} to after-commit subscribers {}",
+                    delivery.detachedEvent, delivery.subscribers);
+            return;
+        }
+        try {
+            executor.execute(delivery);
+        } catch (final RejectedExecutionException ex) {
+            // shutdown concurrently
+            LOG.warn("Event bus has been shutdown; not delivering {} to after-commit subscribers {}",
+                    delivery.detachedEvent, delivery.subscribers);
+        }
+    }
+
+    /**
+     * Delivers an event to its after-commit subscribers, in the order they were registered, in a single session
+     * (for the posting user) but each in its own transaction.  An exception thrown by one subscriber is logged and
+     * does not prevent delivery to the others.
+     */
+    private class AfterCommitDelivery implements Runnable {
+        private final List<Subscriber> subscribers;
+        private final DetachedEvent detachedEvent;
+        private final AuthenticationSession authenticationSession;
+
+        AfterCommitDelivery(
+                final List<Subscriber> subscribers,
+                final DetachedEvent detachedEvent,
+                final AuthenticationSession authenticationSession) {
+            this.subscribers = subscribers;
+            this.detachedEvent = detachedEvent;
+            this.authenticationSession = authenticationSession;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runInSession(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (final Subscriber subscriber : subscribers) {
+                            deliverTo(subscriber);
+                        }
+                    }
+                }, authenticationSession);
+            } catch (final RuntimeException ex) {
+                LOG.error("Unable to deliver {} to after-commit subscribers {}; ignoring",
+                        detachedEvent, subscribers, ex);
+            }
+        }
+
+        private void deliverTo(final Subscriber subscriber) {
+            try {
+                runInTransaction(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            subscriber.invoke(detachedEvent.reattach());
+                        } catch (final InvocationTargetException ex) {
+                            final Throwable cause = ex.getCause();
+                            throw cause instanceof RuntimeException
+                                    ? (RuntimeException) cause
+                                    : new RuntimeException(cause);
+                        }
+                    }
+                });
+            } catch (final RuntimeException ex) {
+                LOG.error("Exception thrown by after-commit subscriber {} for {}; ignoring",
+                        subscriber, detachedEvent, ex);
+            }
+        }
+    }
+
+    /**
+     * An event whose references to persistent entities (as held by an {@link AbstractDomainEvent}: its source,
+     * mixed-in object, action arguments, return value and command, property old and new values, and collection
+     * value) have been captured as {@link Bookmark}s, in the posting session.
+     *
+     * <p>
+     *     {@link #reattach() Reattaching} (in the delivering session) looks up the entities again, and sets them back
+     *     onto the event; the event passed to after-commit subscribers therefore references entities of the
+     *     delivering session, not the posting one.  Other event types are delivered as posted, so should refer to
+     *     entities only by bookmark (or similar) if their after-commit subscribers need to access them.
+     * </p>
+     */
+    class DetachedEvent {
+
+        private final Object event;
+
+        private Object source;
+        private Object mixedIn;
+        private List<Object> arguments;
+        private Object returnValue;
+        private Object command;
+        private Object oldValue;
+        private Object newValue;
+        private Object value;
+
+        DetachedEvent(final Object event) {
+            this.event = event;
+            if(!(event instanceof AbstractDomainEvent)) {
+                return;
+            }
+            final AbstractDomainEvent<?> domainEvent = (AbstractDomainEvent<?>) event;
+            source = detach(domainEvent.getSource());
+            mixedIn = detach(domainEvent.getMixedIn());
+            if(event instanceof ActionDomainEvent) {
+                final ActionDomainEvent<?> actionDomainEvent = (ActionDomainEvent<?>) event;
+                arguments = detachAll(actionDomainEvent.getArguments());
+                returnValue = actionDomainEvent.getReturnValue() instanceof List
+                        ? detachAll((List<?>) actionDomainEvent.getReturnValue())
+                        : detach(actionDomainEvent.getReturnValue());
+                command = detach(actionDomainEvent.getCommand());
+            } else if(event instanceof PropertyDomainEvent) {
+                final PropertyDomainEvent<?, ?> propertyDomainEvent = (PropertyDomainEvent<?, ?>) event;
+                oldValue = detach(propertyDomainEvent.getOldValue());
+                newValue = detach(propertyDomainEvent.getNewValue());
+            } else if(event instanceof CollectionDomainEvent) {
+                value = detach(((CollectionDomainEvent<?, ?>) event).getValue());
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Object reattach() {
+            if(!(event instanceof AbstractDomainEvent)) {
+                return event;
+            }
+            final AbstractDomainEvent domainEvent = (AbstractDomainEvent) event;
+            domainEvent.setSource(reattach(source));
+            domainEvent.setMixedIn(reattach(mixedIn));
+            if(event instanceof ActionDomainEvent) {
+                final ActionDomainEvent actionDomainEvent = (ActionDomainEvent) event;
+                actionDomainEvent.setArguments(reattachAll(arguments));
+                actionDomainEvent.setReturnValue(returnValue instanceof List
+                        ? reattachAll((List<Object>) returnValue)
+                        : reattach(returnValue));
+                actionDomainEvent.setCommand((Command) reattach(command));
+            } else if(event instanceof PropertyDomainEvent) {
+                final PropertyDomainEvent propertyDomainEvent = (PropertyDomainEvent) event;
+                propertyDomainEvent.setOldValue(reattach(oldValue));
+                propertyDomainEvent.setNewValue(reattach(newValue));
+            } else if(event instanceof CollectionDomainEvent) {
+                ((CollectionDomainEvent) event).setValue(reattach(value));
+            }
+            return event;
+        }
+
+        private Object detach(final Object pojo) {
+            if(pojo == null) {
+                return null;
+            }
+            final Bookmark bookmark = bookmarkIfPersistentEntity(pojo);
+            return bookmark != null ? new EntityBookmark(bookmark) : pojo;
+        }
+
+        private List<Object> detachAll(final List<?> pojos) {
+            if(pojos == null) {
+                return null;
+            }
+            final List<Object> detached = Lists.newArrayList();
+            for (final Object pojo : pojos) {
+                detached.add(detach(pojo));
+            }
+            return detached;
+        }
+
+        private Object reattach(final Object detached) {
+            return detached instanceof EntityBookmark
+                    ? lookup(((EntityBookmark) detached).bookmark)
+                    : detached;
+        }
+
+        private List<Object> reattachAll(final List<Object> detached) {
+            if(detached == null) {
+                return null;
+            }
+            final List<Object> pojos = Lists.newArrayList();
+            for (final Object each : detached) {
+                pojos.add(reattach(each));
+            }
+            return pojos;
+        }
+
+        @Override
+        public String toString() {
+            return "event " + event.getClass().getName();
+        }
+    }
+
+    /**
+     * Distinguishes a bookmarked entity from a {@link Bookmark} that is itself an argument (or similar) of the event.
+     */
+    private static class EntityBookmark {
+        private final Bookmark bookmark;
+
+        EntityBookmark(final Bookmark bookmark) {
+            this.bookmark = bookmark;
+        }
+    }
+
+    //endregion
+
+    //region > session and persistence (overridable for testing)
+
+    IsisSession currentSessionIfAny() {
+        final IsisSessionFactory isisSessionFactory = getIsisSessionFactory();
+        return isisSessionFactory.inSession() ? isisSessionFactory.getCurrentSession() : null;
+    }
+
+    /**
+     * Returns <tt>null</tt> if the object is not a persistent entity (of the current session).
+     */
+    Bookmark bookmarkIfPersistentEntity(final Object pojo) {
+        if(!(pojo instanceof Persistable)) {
+            return null;
+        }
+        final PersistenceSession persistenceSession = getIsisSessionFactory().getCurrentSession().getPersistenceSession();
+        final Oid oid = persistenceSession.adapterFor(pojo).getOid();
+        return oid instanceof RootOid && oid.isPersistent() ? ((RootOid) oid).asBookmark() : null;
+    }
+
+    Object lookup(final Bookmark bookmark) {
+        return getIsisSessionFactory().getCurrentSession().getPersistenceSession()
+                .lookup(bookmark, BookmarkService2.FieldResetPolicy.DONT_RESET);
+    }
+
+    void runInSession(final Runnable runnable, final AuthenticationSession authenticationSession) {
+        if(authenticationSession != null) {
+            getIsisSessionFactory().doInSession(runnable, authenticationSession);
+        } else {
+            getIsisSessionFactory().doInSession(runnable);
+        }
+    }
+
+    void runInTransaction(final Runnable runnable) {
+        getIsisSessionFactory().getCurrentSession().getPersistenceSession().getTransactionManager()
+                .executeWithinTransaction(new TransactionalClosure() {
+                    @Override
+                    public void execute() {
+                        runnable.run();
+                    }
+                });
+    }
+
+    //endregion
+
+    //region > asyncExecutor, shutdown
+
+    private ThreadPoolExecutor newAsyncExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                asyncThreads, asyncThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(asyncQueueSize),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable,
+                                "isis-eventbus-after-commit-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+                        // queue is full; block the (committing) poster rather than drop the event.
+                        if(executor.isShutdown()) {
+                            throw new RejectedExecutionException("Event bus has been shutdown");
+                        }
+                        try {
+                            executor.getQueue().put(runnable);
+                        } catch (final InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(ex);
+                        }
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Stops accepting any further after-commit deliveries, waiting briefly for those already queued.
+     */
+    public synchronized void shutdown() {
+        final ThreadPoolExecutor executor = asyncExecutor;
+        if(executor == null || executor.isShutdown()) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Timed out waiting for after-commit subscribers to complete");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //endregion
+
+    //region > processException
+
+    @Override
+    protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
+        return event instanceof AbstractDomainEvent
+                ? (AbstractDomainEvent<?>) event
+                : null;
+    }
+
+    //endregion
+
+    //region > Index, Dispatch, Subscriber
+
+    /**
+     * An immutable index of subscribers by the (declared) event type of their subscriber method, along with a cache of
+     * the {@link Dispatch} for each (concrete) event class posted.
+     */
+    static class Index {
+
+        static final Index EMPTY = new Index(Collections.<Class<?>, List<Subscriber>>emptyMap());
+
+        private final Map<Class<?>, List<Subscriber>> subscribersByEventType;
+        private final ConcurrentMap<Class<?>, Dispatch> dispatchByEventClass = Maps.newConcurrentMap();
+
+        Index(final Map<Class<?>, List<Subscriber>> subscribersByEventType) {
+            this.subscribersByEventType = ImmutableMap.copyOf(subscribersByEventType);
+        }
+
+        Dispatch dispatchFor(final Class<?> eventClass) {
+            Dispatch dispatch = dispatchByEventClass.get(eventClass);
+            if(dispatch == null) {
+                dispatchByEventClass.putIfAbsent(eventClass, newDispatch(eventClass));
+                dispatch = dispatchByEventClass.get(eventClass);
+            }
+            return dispatch;
+        }
+
+        private Dispatch newDispatch(final Class<?> eventClass) {
+            final List<Subscriber> subscribers = Lists.newArrayList();
+            for (final Class<?> type : hierarchyOf(eventClass)) {
+                final List<Subscriber> subscribersForType = subscribersByEventType.get(type);
+                if(subscribersForType != null) {
+                    subscribers.addAll(subscribersForType);
+                }
+            }
+            if(subscribers.isEmpty()) {
+                return Dispatch.NONE;
+            }
+            // call in the order registered, irrespective of the event type subscribed to.
+            Collections.sort(subscribers, Subscriber.BY_SEQUENCE);
+            return new Dispatch(subscribers);
+        }
+    }
+
+    /**
+     * The subscribers to call for a particular event class.
+     */
+    static class Dispatch {
+
+        static final Dispatch NONE = new Dispatch(Collections.<Subscriber>emptyList());
+
+        final List<Subscriber> subscribers;
+        final List<Subscriber> afterCommitSubscribers;
+
+        Dispatch(final List<Subscriber> allSubscribers) {
+            final ImmutableList.Builder<Subscriber> subscribers = ImmutableList.builder();
+            final ImmutableList.Builder<Subscriber> afterCommitSubscribers = ImmutableList.builder();
+            for (final Subscriber subscriber : allSubscribers) {
+                (subscriber.afterCommit ? afterCommitSubscribers : subscribers).add(subscriber);
+            }
+            this.subscribers = subscribers.build();
+            this.afterCommitSubscribers = afterCommitSubscribers.build();
+        }
+    }
+
+    /**
+     * A single subscriber method of a registered domain service.
+     */
+    static class Subscriber {
+
+        static final Comparator<Subscriber> BY_SEQUENCE = new Comparator<Subscriber>() {
+            @Override
+            public int compare(final Subscriber o1, final Subscriber o2) {
+                return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+            }
+        };
+
+        final Object target;
+        final Method method;
+        final Class<?> eventType;
+        final int sequence;
+        final boolean afterCommit;
+        /**
+         * As per Guava, calls are serialized unless the method is annotated with {@link AllowConcurrentEvents}.
+         */
+        final boolean threadSafe;
+
+        Subscriber(final Object target, final Method method, final int sequence) {
+            this.target = target;
+            this.method = method;
+            this.eventType = method.getParameterTypes()[0];
+            this.sequence = sequence;
+            this.afterCommit = method.isAnnotationPresent(AfterCommit.class);
+            this.threadSafe = method.isAnnotationPresent(AllowConcurrentEvents.class);
+        }
+
+        void invoke(final Object event) throws InvocationTargetException {
+            if(threadSafe) {
+                doInvoke(event);
+            } else {
+                synchronized (this) {
+                    doInvoke(event);
+                }
+            }
+        }
+
+        private void doInvoke(final Object event) throws InvocationTargetException {
+            try {
+                method.invoke(target, event);
+            } catch (final IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        }
+    }
+
+    /**
+     * The class, its superclasses and all the interfaces that any of these implement.
+     */
+    static Set<Class<?>> hierarchyOf(final Class<?> cls) {
+        final Set<Class<?>> hierarchy = Sets.newLinkedHashSet();
+        for (Class<?> type = cls; type != null; type = type.getSuperclass()) {
+            hierarchy.add(type);
+        }
+        for (final Class<?> type : Lists.newArrayList(hierarchy)) {
+            addInterfaces(type, hierarchy);
+        }
+        return hierarchy;
+    }
+
+    private static void addInterfaces(final Class<?> type, final Set<Class<?>> hierarchy) {
+        for (final Class<?> anInterface : type.getInterfaces()) {
+            if(hierarchy.add(anInterface)) {
+                addInterfaces(anInterface, hierarchy);
+            }
+        }
+    }
+
+    //endregion
+
+}
@@ -21,8 +21,8 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -42,8 +42,8 @@ class PoReader extends PoAbstract {
     public static final String UNDERSCORE = "_";
     public static Logger LOG = LoggerFactory.getLogger(PoReader.class);
 
-    private final Map<Locale, Map<ContextAndMsgId, String>> translationByKeyByLocale = Maps.newHashMap();
-    private final Map<Locale, Boolean> usesFallbackByLocale = Maps.newHashMap();
+    private final ConcurrentMap<Locale, Translations> translationsByLocale = Maps.newConcurrentMap();
+    private final ConcurrentMap<Locale, Boolean> usesFallbackByLocale = Maps.newConcurrentMap();
 
     /**
      * The basename of the translations file, hard-coded to <tt>translations</tt>.
@@ -63,7 +63,7 @@ class PoReader extends PoAbstract {
     private final TranslationsResolver translationsResolver;
     private final LocaleProvider localeProvider;
 
-    private List<String> fallback;
+    private volatile List<String> fallback;
 
     public PoReader(final TranslationServicePo translationServicePo) {
         super(translationServicePo, TranslationService.Mode.READ);
@@ -85,6 +85,22 @@ void init() {
             LOG.info("No fallback translations found; i18n is in effect disabled for this application");
             fallback = Collections.emptyList();
         }
+        preload(translationServicePo.getPreloadLocales());
+    }
+
+    /**
+     * Eagerly reads the translations for the specified locales, so that the first requests for each do not incur
+     * the cost of reading and parsing the <i>.po</i> file.
+     */
+    private void preload(final List<Locale> locales) {
+        if(translationsResolver == null || locales == null) {
+            return;
+        }
+        for (final Locale locale : locales) {
+            final Translations translations = readAndCacheTranslationsIfRequired(locale);
+            LOG.info("Preloaded {} translations for locale: {}{}",
+                    translations.size(), locale, translations.usesFallback() ? " (using fallback)" : "");
+        }
     }
 
     @Override
@@ -117,7 +133,7 @@ String translate(final String context, final String msgId, final String msgIdPlu
     }
 
     void clearCache() {
-        translationByKeyByLocale.clear();
+        translationsByLocale.clear();
         usesFallbackByLocale.clear();
         init();
     }
@@ -138,67 +154,47 @@ private String translate(
         }
 
 
-        final Map<ContextAndMsgId, String> translationsByKey = readAndCacheTranslationsIfRequired(targetLocale);
+        final Translations translations = readAndCacheTranslationsIfRequired(targetLocale);
 
-        // search for translation with a context
-        final ContextAndMsgId key = new ContextAndMsgId(context, msgId, type);
-        final String translation = lookupTranslation(translationsByKey, key);
-        if (!Strings.isNullOrEmpty(translation)) {
+        // search for translation with a context, else without a context
+        final String translation = translations.translate(context, msgId);
+        if (translation != null) {
             return translation;
         }
 
-        // else search for translation without a context
-        final ContextAndMsgId keyNoContext = new ContextAndMsgId("", msgId, type);
-        final String translationNoContext = lookupTranslation(translationsByKey, keyNoContext);
-        if (!Strings.isNullOrEmpty(translationNoContext)) {
-            return translationNoContext;
-        }
-
         // to avoid chattiness in the log, we only log if there are ANY translations at all for the target locale.
         // the algorithm for searching for translations looks for:
         // 1. language_country
         // 2. language
         // 3. fallback
         // so this message is only ever displayed if the locale isn't using fallback (ie a translation is genuinely missing)
-        final Boolean usesFallback = usesFallbackByLocale.get(targetLocale);
-        if(usesFallback == null || !usesFallback) {
-            logInfoIfNotPreviously("No translation found for: " + key);
+        if(!translations.usesFallback()) {
+            logInfoIfNotPreviously("No translation found for: " + new ContextAndMsgId(context, msgId, type));
         }
 
         return msgId;
     }
 
-
-    private String lookupTranslation(final Map<ContextAndMsgId, String> translationsByKey, final ContextAndMsgId key) {
-        final String s = translationsByKey.get(key);
-        return s != null? s.trim(): null;
-    }
-
-    private Map<ContextAndMsgId, String> readAndCacheTranslationsIfRequired(final Locale locale) {
-        Map<ContextAndMsgId, String> translationsByKey = translationByKeyByLocale.get(locale);
-        if(translationsByKey != null) {
-            return translationsByKey;
+    private Translations readAndCacheTranslationsIfRequired(final Locale locale) {
+        final Translations translations = translationsByLocale.get(locale);
+        if(translations != null) {
+            return translations;
         }
 
-        translationsByKey = Maps.newHashMap();
-        read(locale, translationsByKey);
-        translationByKeyByLocale.put(locale, translationsByKey);
-
-        return translationsByKey;
+        // if several requests for a new locale arrive concurrently then each may read the .po file, but only the
+        // first to complete is retained.
+        final Translations read = read(locale);
+        final Translations previous = translationsByLocale.putIfAbsent(locale, read);
+        return previous != null ? previous : read;
     }
 
-
     /**
      * @param locale - the .po file to load
-     * @param translationsByKey - the translations to be populated
      */
-    private void read(final Locale locale, final Map<ContextAndMsgId, String> translationsByKey) {
+    private Translations read(final Locale locale) {
         final List<String> contents = readPo(locale);
-
-        Block block = new Block();
-        for (final String line : contents) {
-            block = block.parseLine(line, translationsByKey);
-        }
+        final Boolean usesFallback = usesFallbackByLocale.get(locale);
+        return Translations.parse(contents, usesFallback != null && usesFallback);
     }
 
     protected List<String> readPo(final Locale locale) {
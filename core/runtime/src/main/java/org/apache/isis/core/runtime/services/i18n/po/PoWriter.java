@@ -18,11 +18,11 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.SortedSet;
-
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.joda.time.LocalDateTime;
 import org.slf4j.Logger;
@@ -35,14 +35,18 @@ class PoWriter extends PoAbstract {
 
     public static Logger LOG = LoggerFactory.getLogger(PoWriter.class);
 
+    /**
+     * Every translatable text is passed through the writer while in prototype mode, so (rather than synchronize)
+     * the blocks are held in concurrent, but still sorted, collections.
+     */
     private static class Block {
-        private final SortedSet<String> contexts = Sets.newTreeSet();
-        private String msgIdPlural;
+        private final SortedSet<String> contexts = new ConcurrentSkipListSet<>();
+        private volatile String msgIdPlural;
 
         private Block() { }
     }
 
-    private final SortedMap<String, Block> blocksByMsgId = Maps.newTreeMap();
+    private final ConcurrentNavigableMap<String, Block> blocksByMsgId = new ConcurrentSkipListMap<>();
 
     public PoWriter(final TranslationServicePo translationServicePo) {
         super(translationServicePo, TranslationService.Mode.WRITE);
@@ -119,9 +123,7 @@ public String translate(final String context, final String msgId) {
             return null;
         }
         final Block block = blockFor(msgId);
-        synchronized(block) {
-            block.contexts.add(context);
-        }
+        block.contexts.add(context);
 
         return msgId;
     }
@@ -133,27 +135,27 @@ String translate(final String context, final String msgId, final String msgIdPlu
             return null;
         }
         final Block block = blockFor(msgId);
-        synchronized(block) {
-            block.contexts.add(context);
-            block.msgIdPlural = msgIdPlural;    
-        }
+        block.contexts.add(context);
+        block.msgIdPlural = msgIdPlural;
 
         return null;
     }
 
-    private synchronized Block blockFor(final String msgId) {
-        Block block = blocksByMsgId.get(msgId);
-        if(block == null) {
-            block = new Block(/*msgId*/);
-            blocksByMsgId.put(msgId, block);
+    private Block blockFor(final String msgId) {
+        final Block block = blocksByMsgId.get(msgId);
+        if(block != null) {
+            return block;
         }
-        return block;
+        final Block newBlock = new Block(/*msgId*/);
+        final Block previous = blocksByMsgId.putIfAbsent(msgId, newBlock);
+        return previous != null ? previous : newBlock;
     }
 
     void toPot(final StringBuilder buf) {
         header(buf);
-        for (final String msgId : blocksByMsgId.keySet()) {
-            final Block block = blocksByMsgId.get(msgId);
+        for (final Map.Entry<String, Block> entry : blocksByMsgId.entrySet()) {
+            final String msgId = entry.getKey();
+            final Block block = entry.getValue();
             for (final String context : block.contexts) {
                 buf.append("#: ").append(context).append("\n");
             }
@@ -18,11 +18,17 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +50,7 @@ public class TranslationServicePo implements TranslationService {
     public static Logger LOG = LoggerFactory.getLogger(TranslationServicePo.class);
 
     public static final String KEY_PO_MODE = "isis.services.translation.po.mode";
+    public static final String KEY_PO_LOCALES = "isis.services.translation.po.locales";
 
     private PoAbstract po;
 
@@ -61,6 +68,8 @@ public TranslationServicePo() {
     @PostConstruct
     public void init(final Map<String,String> config) {
 
+        preloadLocales = parseLocales(config.get(KEY_PO_LOCALES));
+
         if(getLocaleProvider() == null || getTranslationsResolver() == null) {
             // remain in write mode
             return;
@@ -85,6 +94,21 @@ public void init(final Map<String,String> config) {
         po = poReader;
     }
 
+    /**
+     * @param localesStr - comma separated, eg <tt>en,fr_FR,de-DE</tt>
+     */
+    static List<Locale> parseLocales(final String localesStr) {
+        if(localesStr == null) {
+            return Collections.emptyList();
+        }
+        final List<Locale> locales = Lists.newArrayList();
+        for (final String localeStr : Splitter.on(',').trimResults().omitEmptyStrings().split(localesStr)) {
+            final List<String> parts = Splitter.onPattern("[_-]").limit(2).splitToList(localeStr);
+            locales.add(parts.size() == 1 ? new Locale(parts.get(0)) : new Locale(parts.get(0), parts.get(1)));
+        }
+        return Collections.unmodifiableList(locales);
+    }
+
     protected boolean isPrototypeOrTest() {
         return !getDeploymentCategory().isProduction();
     }
@@ -168,6 +192,18 @@ public void toggleMode() {
 
     // //////////////////////////////////////
 
+    private List<Locale> preloadLocales = Collections.emptyList();
+
+    /**
+     * The locales (if any) whose translations should be read eagerly, as per {@link #KEY_PO_LOCALES}.
+     */
+    @Programmatic
+    List<Locale> getPreloadLocales() {
+        return preloadLocales;
+    }
+
+    // //////////////////////////////////////
+
     DeploymentCategory getDeploymentCategory() {
         return deploymentCategoryProvider.getDeploymentCategory();
     }
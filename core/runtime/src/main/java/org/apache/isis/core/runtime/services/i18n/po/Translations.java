@@ -0,0 +1,109 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.i18n.po;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * The (immutable, and so safely shared between concurrent requests) translations read from a single <i>.po</i> file.
+ *
+ * <p>
+ *     Indexed by <tt>msgId</tt> (or <tt>msgid_plural</tt>, for the plural form), then by context, so that a lookup
+ *     requires no allocation.  As for {@link ContextAndMsgId}'s <tt>equals</tt>, the singular and plural forms are
+ *     held in the same table, distinguished only by their text.
+ * </p>
+ */
+final class Translations {
+
+    private static final String NO_CONTEXT = "";
+
+    private final Map<String, Map<String, String>> translationByContextByMsgId;
+    private final boolean usesFallback;
+
+    private Translations(
+            final Map<String, Map<String, String>> translationByContextByMsgId,
+            final boolean usesFallback) {
+        this.translationByContextByMsgId = translationByContextByMsgId;
+        this.usesFallback = usesFallback;
+    }
+
+    /**
+     * @param lines - the contents of the <i>.po</i> file
+     * @param usesFallback - whether the file is the fallback (rather than specific to the locale)
+     */
+    static Translations parse(final List<String> lines, final boolean usesFallback) {
+        final Map<ContextAndMsgId, String> translationsByKey = Maps.newHashMap();
+        Block block = new Block();
+        for (final String line : lines) {
+            block = block.parseLine(line, translationsByKey);
+        }
+
+        final Map<String, Map<String, String>> builders = Maps.newHashMap();
+        for (final Map.Entry<ContextAndMsgId, String> entry : translationsByKey.entrySet()) {
+            final String translation = entry.getValue().trim();
+            if(translation.isEmpty()) {
+                continue;
+            }
+            final ContextAndMsgId key = entry.getKey();
+            Map<String, String> translationByContext = builders.get(key.getMsgId());
+            if(translationByContext == null) {
+                translationByContext = Maps.newHashMap();
+                builders.put(key.getMsgId(), translationByContext);
+            }
+            translationByContext.put(key.getContext(), translation);
+        }
+
+        final ImmutableMap.Builder<String, Map<String, String>> builder = ImmutableMap.builder();
+        for (final Map.Entry<String, Map<String, String>> entry : builders.entrySet()) {
+            builder.put(entry.getKey(), ImmutableMap.copyOf(entry.getValue()));
+        }
+        return new Translations(builder.build(), usesFallback);
+    }
+
+    /**
+     * The translation of the <tt>msgId</tt> for the context, else for no context, else <tt>null</tt>.
+     */
+    String translate(final String context, final String msgId) {
+        final Map<String, String> translationByContext = translationByContextByMsgId.get(msgId);
+        if(translationByContext == null) {
+            return null;
+        }
+        if(!Strings.isNullOrEmpty(context)) {
+            final String translation = translationByContext.get(context);
+            if(translation != null) {
+                return translation;
+            }
+        }
+        return translationByContext.get(NO_CONTEXT);
+    }
+
+    boolean usesFallback() {
+        return usesFallback;
+    }
+
+    int size() {
+        return translationByContextByMsgId.size();
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.instrumentation;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link InstrumentationServiceDefault}, registered with the platform MBean server as
+ * {@value InstrumentationServiceDefault#OBJECT_NAME}.
+ *
+ * <p>
+ *     All timings are in microseconds, keyed by phase.
+ * </p>
+ */
+public interface InstrumentationMXBean {
+
+    Map<String, Long> getCountByPhase();
+
+    Map<String, Long> getMeanMicrosByPhase();
+
+    Map<String, Long> getP99MicrosByPhase();
+
+    Map<String, Long> getMaxMicrosByPhase();
+
+    /**
+     * The statistics of every phase and of every member (or other identifier) within each phase, as JSON.
+     */
+    String getStatisticsAsJson();
+
+    void reset();
+
+}
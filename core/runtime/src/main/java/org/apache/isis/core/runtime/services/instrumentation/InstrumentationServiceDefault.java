@@ -0,0 +1,303 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
+
+/**
+ * Default implementation of {@link InstrumentationService}, recording a {@link LatencyHistogram} for each phase and
+ * for each member (or other identifier) within each phase.
+ *
+ * <p>
+ *     Disabled unless the {@value #KEY_ENABLED} configuration property is set.  When enabled, the statistics are
+ *     also exposed over JMX (as {@value #OBJECT_NAME}), and through the {@link InstrumentationServiceMenu}.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class InstrumentationServiceDefault implements InstrumentationService, InstrumentationMXBean {
+
+    private final static Logger LOG = LoggerFactory.getLogger(InstrumentationServiceDefault.class);
+
+    public static final String KEY_ENABLED = "isis.services.instrumentation.enabled";
+    public static final String OBJECT_NAME = "org.apache.isis:type=Instrumentation";
+
+    /**
+     * To prevent unbounded growth if identifiers are unexpectedly numerous (eg ad-hoc queries); recordings for any
+     * further identifiers are still included in the statistics for the phase.
+     */
+    static final int MAX_IDENTIFIERS_PER_PHASE = 1000;
+
+    private final ConcurrentMap<Phase, LatencyHistogram> histogramByPhase = Maps.newConcurrentMap();
+    private final ConcurrentMap<Phase, ConcurrentMap<String, LatencyHistogram>> histogramByIdentifierByPhase =
+            Maps.newConcurrentMap();
+
+    private boolean enabled;
+    private ObjectName objectName;
+
+    //region > init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final String value = properties.get(KEY_ENABLED);
+        this.enabled = !Strings.isNullOrEmpty(value) && Boolean.parseBoolean(value);
+        if(enabled) {
+            registerMBean();
+        }
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        unregisterMBean();
+    }
+
+    private void registerMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if(mBeanServer.isRegistered(objectName)) {
+                // eg a previous application (or integration test) within the same JVM
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(new StandardMBean(this, InstrumentationMXBean.class, true), objectName);
+            this.objectName = objectName;
+        } catch (final JMException ex) {
+            LOG.warn("Unable to register instrumentation MBean; continuing", ex);
+        }
+    }
+
+    private void unregisterMBean() {
+        if(objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final JMException ex) {
+            // ignore
+        }
+        objectName = null;
+    }
+
+    //endregion
+
+    //region > InstrumentationService impl
+
+    @Programmatic
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Programmatic
+    @Override
+    public void recorded(final Phase phase, final String identifier, final long durationNanos) {
+        histogramFor(phase).record(durationNanos);
+        final LatencyHistogram histogram = identifier != null ? histogramFor(phase, identifier) : null;
+        if(histogram != null) {
+            histogram.record(durationNanos);
+        }
+    }
+
+    private LatencyHistogram histogramFor(final Phase phase) {
+        LatencyHistogram histogram = histogramByPhase.get(phase);
+        if(histogram == null) {
+            histogramByPhase.putIfAbsent(phase, new LatencyHistogram());
+            histogram = histogramByPhase.get(phase);
+        }
+        return histogram;
+    }
+
+    private LatencyHistogram histogramFor(final Phase phase, final String identifier) {
+        ConcurrentMap<String, LatencyHistogram> histogramByIdentifier = histogramByIdentifierByPhase.get(phase);
+        if(histogramByIdentifier == null) {
+            histogramByIdentifierByPhase.putIfAbsent(phase, Maps.<String, LatencyHistogram>newConcurrentMap());
+            histogramByIdentifier = histogramByIdentifierByPhase.get(phase);
+        }
+        LatencyHistogram histogram = histogramByIdentifier.get(identifier);
+        if(histogram == null) {
+            if(histogramByIdentifier.size() >= MAX_IDENTIFIERS_PER_PHASE) {
+                return null;
+            }
+            histogramByIdentifier.putIfAbsent(identifier, new LatencyHistogram());
+            histogram = histogramByIdentifier.get(identifier);
+        }
+        return histogram;
+    }
+
+    //endregion
+
+    //region > statistics
+
+    /**
+     * The histogram of all recordings for the phase, or <tt>null</tt> if there are none.
+     */
+    @Programmatic
+    public LatencyHistogram getHistogram(final Phase phase) {
+        return histogramByPhase.get(phase);
+    }
+
+    /**
+     * The histogram of the recordings for the member (or other identifier) within the phase, or <tt>null</tt> if
+     * there are none.
+     */
+    @Programmatic
+    public LatencyHistogram getHistogram(final Phase phase, final String identifier) {
+        final Map<String, LatencyHistogram> histogramByIdentifier = histogramByIdentifierByPhase.get(phase);
+        return histogramByIdentifier != null ? histogramByIdentifier.get(identifier) : null;
+    }
+
+    @Programmatic
+    @Override
+    public Map<String, Long> getCountByPhase() {
+        final Map<String, Long> map = Maps.newLinkedHashMap();
+        for (final Map.Entry<Phase, LatencyHistogram> entry : sortedHistogramByPhase().entrySet()) {
+            map.put(entry.getKey().name(), entry.getValue().getCount());
+        }
+        return map;
+    }
+
+    @Programmatic
+    @Override
+    public Map<String, Long> getMeanMicrosByPhase() {
+        final Map<String, Long> map = Maps.newLinkedHashMap();
+        for (final Map.Entry<Phase, LatencyHistogram> entry : sortedHistogramByPhase().entrySet()) {
+            map.put(entry.getKey().name(), entry.getValue().getMeanMicros());
+        }
+        return map;
+    }
+
+    @Programmatic
+    @Override
+    public Map<String, Long> getP99MicrosByPhase() {
+        final Map<String, Long> map = Maps.newLinkedHashMap();
+        for (final Map.Entry<Phase, LatencyHistogram> entry : sortedHistogramByPhase().entrySet()) {
+            map.put(entry.getKey().name(), entry.getValue().getPercentileMicros(99));
+        }
+        return map;
+    }
+
+    @Programmatic
+    @Override
+    public Map<String, Long> getMaxMicrosByPhase() {
+        final Map<String, Long> map = Maps.newLinkedHashMap();
+        for (final Map.Entry<Phase, LatencyHistogram> entry : sortedHistogramByPhase().entrySet()) {
+            map.put(entry.getKey().name(), entry.getValue().getMaxMicros());
+        }
+        return map;
+    }
+
+    @Programmatic
+    @Override
+    public String getStatisticsAsJson() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("{");
+        boolean firstPhase = true;
+        for (final Map.Entry<Phase, LatencyHistogram> entry : sortedHistogramByPhase().entrySet()) {
+            final Phase phase = entry.getKey();
+            buf.append(firstPhase ? "\n" : ",\n");
+            firstPhase = false;
+            buf.append("  \"").append(phase.name()).append("\": {\n");
+            buf.append("    \"all\": ");
+            appendJson(buf, entry.getValue());
+            buf.append(",\n    \"members\": {");
+
+            final Map<String, LatencyHistogram> histogramByIdentifier = histogramByIdentifierByPhase.get(phase);
+            if(histogramByIdentifier != null) {
+                boolean firstIdentifier = true;
+                for (final Map.Entry<String, LatencyHistogram> identifierEntry :
+                        new TreeMap<>(histogramByIdentifier).entrySet()) {
+                    buf.append(firstIdentifier ? "\n" : ",\n");
+                    firstIdentifier = false;
+                    buf.append("      \"").append(escape(identifierEntry.getKey())).append("\": ");
+                    appendJson(buf, identifierEntry.getValue());
+                }
+                if(!firstIdentifier) {
+                    buf.append("\n    ");
+                }
+            }
+            buf.append("}\n  }");
+        }
+        buf.append(firstPhase ? "}" : "\n}");
+        return buf.toString();
+    }
+
+    private static void appendJson(final StringBuilder buf, final LatencyHistogram histogram) {
+        buf.append("{ \"count\": ").append(histogram.getCount())
+           .append(", \"meanMicros\": ").append(histogram.getMeanMicros())
+           .append(", \"p50Micros\": ").append(histogram.getPercentileMicros(50))
+           .append(", \"p90Micros\": ").append(histogram.getPercentileMicros(90))
+           .append(", \"p99Micros\": ").append(histogram.getPercentileMicros(99))
+           .append(", \"maxMicros\": ").append(histogram.getMaxMicros())
+           .append(" }");
+    }
+
+    private static String escape(final String str) {
+        final StringBuilder buf = new StringBuilder(str.length());
+        for (final char c : str.toCharArray()) {
+            if(c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            } else if(c < 0x20) {
+                buf.append(String.format("\\u%04x", (int) c));
+            } else {
+                buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+
+    private SortedMap<Phase, LatencyHistogram> sortedHistogramByPhase() {
+        return new TreeMap<>(histogramByPhase);
+    }
+
+    @Programmatic
+    @Override
+    public void reset() {
+        histogramByPhase.clear();
+        histogramByIdentifierByPhase.clear();
+    }
+
+    //endregion
+
+}
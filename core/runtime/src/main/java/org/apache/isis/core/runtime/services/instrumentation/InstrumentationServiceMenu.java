@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.instrumentation;
+
+import org.apache.isis.applib.IsisApplibModule;
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.value.Clob;
+
+/**
+ * Exposes the statistics recorded by {@link InstrumentationServiceDefault} (if enabled), in the UI and as a
+ * Restful Objects resource.
+ */
+@DomainService(
+        nature = NatureOfService.VIEW_MENU_ONLY,
+        objectType = "isisApplib.InstrumentationServiceMenu"
+)
+@DomainServiceLayout(
+        menuBar = DomainServiceLayout.MenuBar.TERTIARY,
+        menuOrder = "500.910"
+)
+public class InstrumentationServiceMenu {
+
+    public static abstract class ActionDomainEvent
+            extends IsisApplibModule.ActionDomainEvent<InstrumentationServiceMenu> { }
+
+    // //////////////////////////////////////
+
+    public static class DownloadInstrumentationDomainEvent extends ActionDomainEvent { }
+
+    @Action(
+            domainEvent = DownloadInstrumentationDomainEvent.class,
+            semantics = SemanticsOf.SAFE
+    )
+    @ActionLayout(
+            cssClassFa = "fa-tachometer"
+    )
+    @MemberOrder(sequence = "500.910.1")
+    public Clob downloadInstrumentation() {
+        return new Clob("instrumentation.json", "application/json", instrumentationServiceDefault.getStatisticsAsJson());
+    }
+
+    public boolean hideDownloadInstrumentation() {
+        return !instrumentationServiceDefault.isEnabled();
+    }
+
+    // //////////////////////////////////////
+
+    public static class ResetInstrumentationDomainEvent extends ActionDomainEvent { }
+
+    @Action(
+            domainEvent = ResetInstrumentationDomainEvent.class,
+            semantics = SemanticsOf.IDEMPOTENT
+    )
+    @ActionLayout(
+            cssClassFa = "fa-undo"
+    )
+    @MemberOrder(sequence = "500.910.2")
+    public void resetInstrumentation() {
+        instrumentationServiceDefault.reset();
+    }
+
+    public boolean hideResetInstrumentation() {
+        return !instrumentationServiceDefault.isEnabled();
+    }
+
+    @javax.inject.Inject
+    private InstrumentationServiceDefault instrumentationServiceDefault;
+
+}
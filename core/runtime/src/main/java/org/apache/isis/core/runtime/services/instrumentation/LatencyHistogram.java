@@ -0,0 +1,105 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies, with buckets whose upper bounds are successive powers of two microseconds
+ * (1us, 2us, 4us, ... up to about 9 days).
+ *
+ * <p>
+ *     Percentiles are therefore approximate, being reported as the upper bound of the bucket in which they fall (so
+ *     are accurate to within a factor of two); the count, mean and maximum are exact.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    static final int NUMBER_OF_BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(final long durationNanos) {
+        final long nanos = Math.max(durationNanos, 0L);
+        buckets.incrementAndGet(bucketFor(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max;
+        while(nanos > (max = maxNanos.get())) {
+            if(maxNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * The index of the smallest bucket whose upper bound (of <tt>2^index</tt> microseconds) is at least the duration.
+     */
+    static int bucketFor(final long durationNanos) {
+        final long micros = durationNanos / 1000 + (durationNanos % 1000 != 0 ? 1 : 0);
+        if(micros <= 1) {
+            return 0;
+        }
+        final int bucket = 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, NUMBER_OF_BUCKETS - 1);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalMicros() {
+        return totalNanos.get() / 1000;
+    }
+
+    public long getMeanMicros() {
+        final long count = getCount();
+        return count != 0 ? totalNanos.get() / count / 1000 : 0L;
+    }
+
+    public long getMaxMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    /**
+     * @param percentile - between 0 and 100
+     * @return the (upper bound of the) latency, in microseconds, at or below which the specified percentage of
+     *          recordings fall.
+     */
+    public long getPercentileMicros(final double percentile) {
+        final long count = getCount();
+        if(count == 0) {
+            return 0L;
+        }
+        final long threshold = (long) Math.ceil(count * percentile / 100.0);
+        long cumulative = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            cumulative += buckets.get(i);
+            if(cumulative >= threshold) {
+                return Math.min(1L << i, Math.max(getMaxMicros(), 1L));
+            }
+        }
+        return getMaxMicros();
+    }
+
+}
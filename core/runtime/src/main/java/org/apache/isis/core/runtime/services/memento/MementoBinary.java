@@ -0,0 +1,524 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Primitives;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.memento.MementoService.Memento;
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * A compact, tagged binary alternative to the dom4j-based {@link MementoServiceDefault.MementoDefault}.
+ *
+ * <p>
+ * The encoded form consists of a version byte, a flags byte (indicating whether the remainder is deflated) and
+ * then the entries, each as a name followed by a single-byte type tag and the value in its binary form.  The
+ * result is base64url-encoded.
+ * </p>
+ *
+ * <p>
+ * The version byte can never be the first byte of an XML memento (which always starts with <tt>&lt;</tt>), so
+ * {@link #isBinary(String)} can be used to distinguish between the two formats when parsing.
+ * </p>
+ */
+class MementoBinary implements Memento {
+
+    static final byte VERSION_1 = 0x01;
+
+    private static final byte FLAG_DEFLATED = 0x01;
+
+    /**
+     * Payloads smaller than this are not worth deflating.
+     */
+    private static final int DEFLATE_THRESHOLD = 128;
+
+    /**
+     * Mementos are supplied by the client (eg in a URL), so the inflated payload is bounded to guard against
+     * a crafted memento exhausting the heap.
+     */
+    static final int MAX_INFLATED_SIZE = 1024 * 1024;
+
+    private static final BaseEncoding BASE_ENCODING = BaseEncoding.base64Url();
+
+    private final Map<String, Object> valueByName;
+    private final boolean compress;
+
+    MementoBinary(final boolean compress) {
+        this(new LinkedHashMap<String, Object>(), compress);
+    }
+
+    private MementoBinary(final Map<String, Object> valueByName, final boolean compress) {
+        this.valueByName = valueByName;
+        this.compress = compress;
+    }
+
+    @Override
+    public Memento set(final String name, final Object value) {
+        if(value != null) {
+            Tag.assertSupported(value.getClass());
+        }
+        valueByName.put(name, value);
+        return this;
+    }
+
+    @Override
+    public <T> T get(final String name, final Class<T> cls) {
+        Dom4jUtil.Parseable.assertSupported(cls);
+        final Object value = valueByName.get(name);
+        if(value == null) {
+            return null;
+        }
+        return Tag.convert(value, cls);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return valueByName.keySet();
+    }
+
+    @Override
+    public String asString() {
+        return BASE_ENCODING.encode(encode(valueByName, compress));
+    }
+
+    @Override
+    public String toString() {
+        return valueByName.toString();
+    }
+
+
+    // //////////////////////////////////////
+
+    static boolean isBinary(final String str) {
+        if(str == null || str.isEmpty()) {
+            return false;
+        }
+        // only need to decode the first byte (each 4 chars of base64 encode 3 bytes)
+        final String prefix = str.length() > 4 ? str.substring(0, 4) : str;
+        final byte[] bytes;
+        try {
+            bytes = BASE_ENCODING.decode(prefix);
+        } catch(IllegalArgumentException ex) {
+            return false;
+        }
+        return bytes.length > 0 && bytes[0] == VERSION_1;
+    }
+
+    static MementoBinary parse(final String str, final boolean compress) {
+        final byte[] bytes = BASE_ENCODING.decode(str);
+        return new MementoBinary(decode(bytes), compress);
+    }
+
+    static byte[] encode(final Map<String, Object> valueByName, final boolean compress) {
+        try {
+            final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+            final DataOutputStream payload = new DataOutputStream(payloadBytes);
+            writeVarInt(payload, valueByName.size());
+            for (final Map.Entry<String, Object> entry : valueByName.entrySet()) {
+                writeString(payload, entry.getKey());
+                Tag.write(payload, entry.getValue());
+            }
+            payload.flush();
+
+            final byte[] raw = payloadBytes.toByteArray();
+            final boolean deflate = compress && raw.length >= DEFLATE_THRESHOLD;
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length + 2);
+            out.write(VERSION_1);
+            out.write(deflate ? FLAG_DEFLATED : 0);
+            if(deflate) {
+                final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    final OutputStream deflaterOut = new DeflaterOutputStream(out, deflater);
+                    deflaterOut.write(raw);
+                    deflaterOut.close();
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                out.write(raw);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IsisException(e);
+        }
+    }
+
+    static Map<String, Object> decode(final byte[] bytes) {
+        if(bytes.length < 2 || bytes[0] != VERSION_1) {
+            throw new IsisException("Unrecognized memento format");
+        }
+        final boolean deflated = (bytes[1] & FLAG_DEFLATED) != 0;
+        try {
+            final ByteArrayInputStream in = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+            // always reading from a byte array, so available() is exactly the number of bytes remaining
+            final DataInputStream payload = new DataInputStream(deflated ? new ByteArrayInputStream(inflate(in)) : in);
+            // each entry takes at least two bytes (the length of its name and its type tag)
+            final int size = readLength(payload);
+            final Map<String, Object> valueByName = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                final String name = readString(payload);
+                valueByName.put(name, Tag.read(payload));
+            }
+            return valueByName;
+        } catch (IOException e) {
+            throw new IsisException(e);
+        }
+    }
+
+    private static byte[] inflate(final InputStream in) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            final InputStream inflaterIn = new InflaterInputStream(in, inflater);
+            final byte[] raw = ByteStreams.toByteArray(ByteStreams.limit(inflaterIn, MAX_INFLATED_SIZE + 1L));
+            if(raw.length > MAX_INFLATED_SIZE) {
+                throw new IOException("Memento exceeds " + MAX_INFLATED_SIZE + " bytes when inflated");
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+
+    // //////////////////////////////////////
+
+    private static void writeVarInt(final DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if(shift > 28) {
+                throw new IOException("Malformed varint");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a length, rejecting any that could not possibly be satisfied by the bytes remaining.
+     */
+    private static int readLength(final DataInputStream in) throws IOException {
+        final int length = readVarInt(in);
+        if(length < 0 || length > in.available()) {
+            throw new IOException("Malformed memento; invalid length: " + length);
+        }
+        return length;
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+
+    // //////////////////////////////////////
+
+    /**
+     * The supported types; the same as those supported by {@link Dom4jUtil.Parseable}.
+     *
+     * <p>
+     * The ordinal of each tag is written out, so new tags must only be appended.
+     * </p>
+     */
+    enum Tag {
+        NULL(Void.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) {
+            }
+            @Override
+            Object readValue(final DataInputStream in) {
+                return null;
+            }
+        },
+        STRING(String.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                writeString(out, (String) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return readString(in);
+            }
+        },
+        BOOLEAN(Boolean.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeBoolean((Boolean) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readBoolean();
+            }
+        },
+        BYTE(Byte.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeByte((Byte) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readByte();
+            }
+        },
+        SHORT(Short.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeShort((Short) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readShort();
+            }
+        },
+        INTEGER(Integer.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeInt((Integer) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readInt();
+            }
+        },
+        LONG(Long.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeLong((Long) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readLong();
+            }
+        },
+        FLOAT(Float.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeFloat((Float) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readFloat();
+            }
+        },
+        DOUBLE(Double.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeDouble((Double) value);
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return in.readDouble();
+            }
+        },
+        BIG_DECIMAL(BigDecimal.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                final BigDecimal bigDecimal = (BigDecimal) value;
+                writeVarInt(out, bigDecimal.scale());
+                writeBytes(out, bigDecimal.unscaledValue().toByteArray());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                final int scale = readVarInt(in);
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            }
+        },
+        BIG_INTEGER(BigInteger.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                writeBytes(out, ((BigInteger) value).toByteArray());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return new BigInteger(readBytes(in));
+            }
+        },
+        LOCAL_DATE(LocalDate.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                final LocalDate localDate = (LocalDate) value;
+                out.writeShort(localDate.getYear());
+                out.writeByte(localDate.getMonthOfYear());
+                out.writeByte(localDate.getDayOfMonth());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                final int year = in.readShort();
+                final int monthOfYear = in.readByte();
+                final int dayOfMonth = in.readByte();
+                return new LocalDate(year, monthOfYear, dayOfMonth);
+            }
+        },
+        JAVA_UTIL_DATE(Date.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                out.writeLong(((Date) value).getTime());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return new Date(in.readLong());
+            }
+        },
+        /**
+         * Stored as the name of the enum constant; the enum class is provided by the caller of {@link MementoBinary#get(String, Class)}.
+         */
+        ENUM(Enum.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                writeString(out, ((Enum<?>) value).name());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return new EnumName(readString(in));
+            }
+        },
+        BOOKMARK(Bookmark.class) {
+            @Override
+            void writeValue(final DataOutputStream out, final Object value) throws IOException {
+                writeString(out, value.toString());
+            }
+            @Override
+            Object readValue(final DataInputStream in) throws IOException {
+                return new Bookmark(readString(in));
+            }
+        };
+
+        private static final Tag[] TAGS = values();
+
+        private final Class<?> cls;
+
+        Tag(final Class<?> cls) {
+            this.cls = cls;
+        }
+
+        abstract void writeValue(final DataOutputStream out, final Object value) throws IOException;
+        abstract Object readValue(final DataInputStream in) throws IOException;
+
+        static void write(final DataOutputStream out, final Object value) throws IOException {
+            final Tag tag = tagFor(value);
+            out.writeByte(tag.ordinal());
+            tag.writeValue(out, value);
+        }
+
+        static Object read(final DataInputStream in) throws IOException {
+            final int ordinal = in.readUnsignedByte();
+            if(ordinal >= TAGS.length) {
+                throw new IOException("Unrecognized type tag: " + ordinal);
+            }
+            return TAGS[ordinal].readValue(in);
+        }
+
+        static void assertSupported(final Class<?> cls) {
+            Dom4jUtil.Parseable.assertSupported(cls);
+        }
+
+        private static Tag tagFor(final Object value) {
+            if(value == null) {
+                return NULL;
+            }
+            final Class<?> valueClass = value.getClass();
+            for (final Tag tag : TAGS) {
+                if(tag.cls.isAssignableFrom(valueClass)) {
+                    return tag;
+                }
+            }
+            throw new IllegalArgumentException("Type " + valueClass.getName() + " is not supported");
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        static <T> T convert(final Object value, final Class<T> cls) {
+            if(value instanceof EnumName) {
+                final Class rawCls = cls;
+                return (T) Enum.valueOf(rawCls, ((EnumName) value).name);
+            }
+            return Primitives.wrap(cls).cast(value);
+        }
+    }
+
+    /**
+     * Holds the name of an enum constant until the enum class is known.
+     */
+    private static class EnumName {
+        private final String name;
+
+        private EnumName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+}
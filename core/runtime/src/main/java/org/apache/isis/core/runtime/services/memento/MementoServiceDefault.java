@@ -17,8 +17,11 @@
 package org.apache.isis.core.runtime.services.memento;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.PostConstruct;
+
 import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -118,12 +121,36 @@ public String toString() {
 
     // //////////////////////////////////////
 
+    /**
+     * Either <tt>xml</tt> (the default) or <tt>binary</tt>.
+     *
+     * <p>
+     * Mementos in either format can always be parsed, irrespective of this setting.
+     * </p>
+     */
+    public static final String KEY_ENCODING = "isis.services.memento.encoding";
+    public static final String ENCODING_BINARY = "binary";
+
+    /**
+     * Whether larger <tt>binary</tt> mementos are deflated before being encoded.
+     */
+    public static final String KEY_COMPRESS = "isis.services.memento.compress";
+
     private boolean noEncoding;
-    
+    private boolean binary;
+    private boolean compress;
+
     public MementoServiceDefault() {
         this.noEncoding = false;
     }
 
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        this.binary = ENCODING_BINARY.equalsIgnoreCase(properties.get(KEY_ENCODING));
+        this.compress = "true".equalsIgnoreCase(properties.get(KEY_COMPRESS));
+    }
+
     /**
      * Not public API.
      */
@@ -138,6 +165,9 @@ public MementoServiceDefault withNoEncoding() {
     @Programmatic
     @Override
     public Memento create() {
+        if (binary && !noEncoding) {
+            return new MementoBinary(compress);
+        }
         return new MementoDefault(noEncoding, urlEncodingService);
     }
 
@@ -145,6 +175,9 @@ public Memento create() {
     @Programmatic
     @Override
     public Memento parse(String str) {
+        if (!noEncoding && MementoBinary.isBinary(str)) {
+            return MementoBinary.parse(str, compress);
+        }
         String xmlStr;
         if (noEncoding) {
             xmlStr = str;
@@ -157,6 +157,11 @@ public void beginTran(final Command commandIfAny) {
         getTransactionManager().startTransaction(commandIfAny);
     }
 
+    @Override
+    public void beginTran(final Command commandIfAny, final boolean readOnly) {
+        getTransactionManager().startTransaction(commandIfAny, readOnly);
+    }
+
     @Override
     public boolean flush() {
         return getTransactionManager().flushTransaction();
@@ -189,7 +194,14 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
 
     @Override
     public void executeWithinTransaction(TransactionalClosure transactionalClosure) {
-        getTransactionManager().executeWithinTransaction(transactionalClosure);
+        // this is how action invocations and property edits are executed, so any memoized titles may now be stale
+        final PersistenceSession persistenceSession = getPersistenceSession();
+        persistenceSession.invalidateMemos();
+        try {
+            getTransactionManager().executeWithinTransaction(transactionalClosure);
+        } finally {
+            persistenceSession.invalidateMemos();
+        }
     }
 
     @Override
@@ -202,6 +214,12 @@ public TransactionState getTransactionState() {
         return state.getTransactionState();
     }
 
+    @Override
+    public boolean isTransactionReadOnly() {
+        final IsisTransaction transaction = getTransactionManager().getCurrentTransaction();
+        return transaction != null && transaction.isReadOnly();
+    }
+
     protected PersistenceSession getPersistenceSession() {
         return getIsisSessionFactory().getCurrentSession().getPersistenceSession();
     }
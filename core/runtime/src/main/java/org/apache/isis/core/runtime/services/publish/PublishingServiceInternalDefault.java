@@ -45,6 +45,7 @@
 import org.apache.isis.applib.services.command.CommandContext;
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.applib.services.metrics.MetricsService;
 import org.apache.isis.applib.services.publish.EventMetadata;
 import org.apache.isis.applib.services.publish.EventPayload;
@@ -65,6 +66,7 @@
 import org.apache.isis.core.metamodel.facets.actions.publish.PublishedActionFacet;
 import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
 import org.apache.isis.core.metamodel.facets.object.publishedobject.PublishedObjectFacet;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.services.ixn.InteractionDtoServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
@@ -120,8 +122,13 @@ public void publishObjects() {
         final Map<ObjectAdapter, ChangeKind> changeKindByEnlistedAdapter = Maps.newHashMap();
         changeKindByEnlistedAdapter.putAll(changedObjectsServiceInternal.getChangeKindByEnlistedAdapter());
 
-        publishObjectsToPublishingService(changeKindByEnlistedAdapter);
-        publishObjectsToPublisherServices(changeKindByEnlistedAdapter);
+        final long startedAt = instrumentationServiceInternal.start();
+        try {
+            publishObjectsToPublishingService(changeKindByEnlistedAdapter);
+            publishObjectsToPublisherServices(changeKindByEnlistedAdapter);
+        } finally {
+            instrumentationServiceInternal.stop(InstrumentationService.Phase.PUBLISHING, "objects", startedAt);
+        }
     }
 
     private void publishObjectsToPublishingService(final Map<ObjectAdapter, ChangeKind> changeKindByEnlistedAdapter) {
@@ -228,11 +235,17 @@ public void publishAction(
         if(suppress) {
             return;
         }
-        publishActionToPublishingService(
-                objectAction, identifiedHolder, targetAdapter, parameterAdapters, resultAdapter
-        );
+        final long startedAt = instrumentationServiceInternal.start();
+        try {
+            publishActionToPublishingService(
+                    objectAction, identifiedHolder, targetAdapter, parameterAdapters, resultAdapter
+            );
 
-        publishToPublisherServices(execution);
+            publishToPublisherServices(execution);
+        } finally {
+            instrumentationServiceInternal.stop(
+                    InstrumentationService.Phase.PUBLISHING, execution.getMemberIdentifier(), startedAt);
+        }
     }
 
     private void publishActionToPublishingService(
@@ -382,7 +395,13 @@ public void publishProperty(
             return;
         }
 
-        publishToPublisherServices(execution);
+        final long startedAt = instrumentationServiceInternal.start();
+        try {
+            publishToPublisherServices(execution);
+        } finally {
+            instrumentationServiceInternal.stop(
+                    InstrumentationService.Phase.PUBLISHING, execution.getMemberIdentifier(), startedAt);
+        }
     }
 
 
@@ -449,6 +468,9 @@ public <T> T withPublishingSuppressed(final Block<T> block) {
     @javax.inject.Inject
     private MetricsService metricsService;
 
+    @javax.inject.Inject
+    private InstrumentationServiceInternal instrumentationServiceInternal;
+
     @javax.inject.Inject
     private IsisSessionFactory isisSessionFactory;
 
@@ -19,19 +19,61 @@
 
 package org.apache.isis.core.runtime.services.sessmgmt;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
-import org.apache.isis.applib.services.sessmgmt.SessionManagementService;
+import org.apache.isis.applib.services.sessmgmt.SessionManagementService2;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
 
 @DomainService(
         nature = NatureOfService.DOMAIN,
         menuOrder = "" + Integer.MAX_VALUE
 )
-public class SessionManagementServiceDefault implements SessionManagementService {
+public class SessionManagementServiceDefault implements SessionManagementService2 {
+
+    /**
+     * The maximum number of sessions used concurrently by {@link #callInParallelSessions(List)}; defaults to the
+     * number of available processors.
+     */
+    public static final String KEY_PARALLELISM = "isis.services.sessmgmt.parallelism";
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        this.parallelism = parseInt(properties.get(KEY_PARALLELISM), Runtime.getRuntime().availableProcessors());
+    }
+
+    private static int parseInt(final String value, final int defaultValue) {
+        if(Strings.isNullOrEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(Integer.parseInt(value.trim()), 1);
+        } catch (final NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
 
     @Programmatic
     @Override
@@ -47,6 +89,118 @@ public void nextSession() {
         persistenceSessionServiceInternal.beginTran();
     }
 
+    @Programmatic
+    @Override
+    public <T> List<T> callInParallelSessions(final List<? extends Callable<T>> callables) {
+        if(callables.isEmpty()) {
+            return Lists.newArrayList();
+        }
+
+        final AuthenticationSession authenticationSession = currentAuthenticationSession();
+
+        persistenceSessionServiceInternal.commit();
+
+        final ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(parallelism, callables.size()), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "isis-parallel-session-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            final List<Future<T>> futures = Lists.newArrayList();
+            for (final Callable<T> callable : callables) {
+                futures.add(executorService.submit(new Callable<T>() {
+                    @Override
+                    public T call() {
+                        return callInSession(callable, authenticationSession);
+                    }
+                }));
+            }
+            return join(futures);
+        } finally {
+            executorService.shutdownNow();
+            persistenceSessionServiceInternal.beginTran();
+        }
+    }
+
+    AuthenticationSession currentAuthenticationSession() {
+        return isisSessionFactory.getCurrentSession().getAuthenticationSession();
+    }
+
+    /**
+     * Calls the callable in a new session (on the current thread) and within a transaction; any exception is wrapped
+     * by {@link IsisSessionFactory#doInSession(Callable, AuthenticationSession)}.
+     */
+    <T> T callInSession(final Callable<T> callable, final AuthenticationSession authenticationSession) {
+        return isisSessionFactory.doInSession(new Callable<T>() {
+            @Override
+            public T call() {
+                return callInTransaction(callable);
+            }
+        }, authenticationSession);
+    }
+
+    private <T> T callInTransaction(final Callable<T> callable) {
+        final IsisTransactionManager transactionManager =
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager();
+        return transactionManager.executeWithinTransaction(new TransactionalClosureWithReturn<T>() {
+            @Override
+            public T execute() {
+                try {
+                    return callable.call();
+                } catch (final RuntimeException ex) {
+                    throw ex;
+                } catch (final Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for all of the futures (even if one fails, so that no session is left running once this returns), then
+     * rethrows the first failure, if any.
+     */
+    private static <T> List<T> join(final List<Future<T>> futures) {
+        final List<T> results = Lists.newArrayList();
+        RuntimeException failure = null;
+        for (final Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (final ExecutionException ex) {
+                if(failure == null) {
+                    failure = asRuntimeException(unwrap(ex.getCause()));
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for parallel sessions to complete", ex);
+            }
+        }
+        if(failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Strips off the wrapping exception added by {@link IsisSessionFactory#doInSession(Callable, AuthenticationSession)}.
+     */
+    private static Throwable unwrap(final Throwable throwable) {
+        return throwable.getClass() == RuntimeException.class && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    private static RuntimeException asRuntimeException(final Throwable throwable) {
+        return throwable instanceof RuntimeException
+                ? (RuntimeException) throwable
+                : new RuntimeException(throwable);
+    }
+
 
     @javax.inject.Inject
     IsisSessionFactory isisSessionFactory;
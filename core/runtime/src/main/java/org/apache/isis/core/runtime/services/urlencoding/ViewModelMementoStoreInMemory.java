@@ -0,0 +1,83 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.urlencoding;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.urlencoding.ViewModelMementoStore;
+
+/**
+ * Holds view model mementos in a bounded, in-memory LRU cache; entries expire if not accessed within a configurable
+ * period.
+ *
+ * <p>
+ * Not registered by default (and therefore not annotated with {@link org.apache.isis.applib.annotation.DomainService});
+ * register explicitly to enable short handles for view model identifiers.  Only suitable for single-node deployments
+ * (or those using sticky sessions).
+ * </p>
+ */
+public class ViewModelMementoStoreInMemory implements ViewModelMementoStore {
+
+    public static final String KEY_MAX_SIZE = "isis.services.ViewModelMementoStoreInMemory.maxSize";
+    public static final int MAX_SIZE_DEFAULT = 10000;
+
+    public static final String KEY_EXPIRE_AFTER_ACCESS_MINUTES = "isis.services.ViewModelMementoStoreInMemory.expireAfterAccessMinutes";
+    public static final int EXPIRE_AFTER_ACCESS_MINUTES_DEFAULT = 60;
+
+    private Cache<String, String> mementoByHandle;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        final int maxSize = parseInt(properties.get(KEY_MAX_SIZE), MAX_SIZE_DEFAULT);
+        final int expireAfterAccessMinutes = parseInt(properties.get(KEY_EXPIRE_AFTER_ACCESS_MINUTES), EXPIRE_AFTER_ACCESS_MINUTES_DEFAULT);
+        mementoByHandle = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    private static int parseInt(final String str, final int defaultValue) {
+        try {
+            return str != null ? Integer.parseInt(str.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void put(final String handle, final String memento) {
+        mementoByHandle.put(handle, memento);
+    }
+
+    @Programmatic
+    @Override
+    public String get(final String handle) {
+        return mementoByHandle.getIfPresent(handle);
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.jdo.FetchGroup;
+import javax.jdo.FetchPlan;
+import javax.jdo.JDOUserException;
+import javax.jdo.PersistenceManagerFactory;
+
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.objectstore.jdo.metamodel.util.JdoFetchGroupMembers;
+
+/**
+ * Registers, with the {@link PersistenceManagerFactory}, the fetch groups derived (by {@link JdoFetchGroupMembers})
+ * from the metamodel.
+ *
+ * <p>
+ * Each entity (that has any such members) has a {@link #TABLE} and an {@link #OBJECT_FORM} fetch group; these are
+ * registered lazily, the first time that the entity is loaded (so that any layouts have been applied to the
+ * metamodel), along with those of the entities that it references.  The groups are added to the fetch plan only for
+ * the duration of a particular load, after which its previous {@link FetchPlanState state} is restored; otherwise
+ * every subsequent query in the session would fetch these graphs too.  Since JDO fetch groups are per-class, adding
+ * either group name to the {@link javax.jdo.FetchPlan} of a persistence manager has no effect on entities without
+ * such a group.
+ * </p>
+ *
+ * <p>
+ * One instance is shared by all {@link PersistenceSession}s, created by the {@link PersistenceSessionFactory}.
+ * </p>
+ */
+class DerivedFetchGroups {
+
+    private final static Logger LOG = LoggerFactory.getLogger(DerivedFetchGroups.class);
+
+    static final String TABLE = "isis.table";
+    static final String OBJECT_FORM = "isis.objectForm";
+
+    /**
+     * The maximum fetch depth when an object form (with its collections) is fetched, so that the table columns of
+     * the collections' elements are also fetched.
+     */
+    static final int MAX_FETCH_DEPTH = 2;
+
+    private final ConcurrentMap<Class<?>, Boolean> registeredByClass = Maps.newConcurrentMap();
+
+    /**
+     * Adds the {@link #TABLE} group to the fetch plan.
+     *
+     * @return the state of the fetch plan beforehand, to be {@link FetchPlanState#restoreTo(FetchPlan) restored}
+     *     once done.
+     */
+    static FetchPlanState addForTable(final FetchPlan fetchPlan) {
+        final FetchPlanState fetchPlanState = FetchPlanState.of(fetchPlan);
+        fetchPlan.addGroup(TABLE);
+        return fetchPlanState;
+    }
+
+    /**
+     * Adds the {@link #OBJECT_FORM} and {@link #TABLE} groups to the fetch plan, increasing its max fetch depth to
+     * {@link #MAX_FETCH_DEPTH} if required.
+     *
+     * @return the state of the fetch plan beforehand, to be {@link FetchPlanState#restoreTo(FetchPlan) restored}
+     *     once done.
+     */
+    static FetchPlanState addForObjectForm(final FetchPlan fetchPlan) {
+        final FetchPlanState fetchPlanState = FetchPlanState.of(fetchPlan);
+        fetchPlan.addGroup(OBJECT_FORM);
+        fetchPlan.addGroup(TABLE);
+        final int maxFetchDepth = fetchPlan.getMaxFetchDepth();
+        if(maxFetchDepth > 0 && maxFetchDepth < MAX_FETCH_DEPTH) {
+            fetchPlan.setMaxFetchDepth(MAX_FETCH_DEPTH);
+        }
+        return fetchPlanState;
+    }
+
+    /**
+     * Registers the fetch groups for the entity and for the entities it references, if not already registered.
+     */
+    void ensureRegistered(
+            final PersistenceManagerFactory persistenceManagerFactory,
+            final ObjectSpecification spec) {
+        if(!register(persistenceManagerFactory, spec)) {
+            return;
+        }
+        for (final ObjectSpecification referencedSpec : JdoFetchGroupMembers.referencedEntitiesOf(spec)) {
+            register(persistenceManagerFactory, referencedSpec);
+        }
+    }
+
+    /**
+     * @return whether the fetch groups were registered by this call (ie were not previously registered).
+     */
+    private boolean register(
+            final PersistenceManagerFactory persistenceManagerFactory,
+            final ObjectSpecification spec) {
+        final Class<?> cls = spec.getCorrespondingClass();
+        if(registeredByClass.putIfAbsent(cls, Boolean.TRUE) != null) {
+            return false;
+        }
+        if(!JdoFetchGroupMembers.isEntity(spec)) {
+            return true;
+        }
+        register(persistenceManagerFactory, cls, TABLE, JdoFetchGroupMembers.forTable(spec));
+        register(persistenceManagerFactory, cls, OBJECT_FORM, JdoFetchGroupMembers.forObjectForm(spec));
+        return true;
+    }
+
+    private static void register(
+            final PersistenceManagerFactory persistenceManagerFactory,
+            final Class<?> cls,
+            final String groupName,
+            final List<String> members) {
+        if(members.isEmpty()) {
+            return;
+        }
+        final FetchGroup fetchGroup = persistenceManagerFactory.getFetchGroup(cls, groupName);
+        for (final String member : members) {
+            try {
+                fetchGroup.addMember(member);
+            } catch(final JDOUserException ex) {
+                // eg a property without a corresponding (persistent) field
+                LOG.debug("Unable to add '{}' to fetch group '{}' of {}; ignoring", member, groupName, cls.getName());
+            }
+        }
+        if(fetchGroup.getMembers().isEmpty()) {
+            return;
+        }
+        persistenceManagerFactory.addFetchGroups(fetchGroup);
+        LOG.debug("Registered fetch group '{}' of {}: {}", groupName, cls.getName(), fetchGroup.getMembers());
+    }
+
+}
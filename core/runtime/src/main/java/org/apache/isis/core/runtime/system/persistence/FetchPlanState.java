@@ -0,0 +1,60 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Set;
+
+import javax.jdo.FetchPlan;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The groups and max fetch depth of a {@link FetchPlan}, captured before the {@link DerivedFetchGroups derived fetch
+ * groups} are added so that the plan can be restored once the load that they were added for is complete.
+ *
+ * <p>
+ * Obtained from (and passed back to) {@link PersistenceSession#restoreFetchPlan(FetchPlanState)}.
+ * </p>
+ */
+public final class FetchPlanState {
+
+    private final Set<String> groups;
+    private final int maxFetchDepth;
+
+    private FetchPlanState(final Set<String> groups, final int maxFetchDepth) {
+        this.groups = groups;
+        this.maxFetchDepth = maxFetchDepth;
+    }
+
+    @SuppressWarnings("unchecked")
+    static FetchPlanState of(final FetchPlan fetchPlan) {
+        return new FetchPlanState(ImmutableSet.copyOf((Set<String>) fetchPlan.getGroups()), fetchPlan.getMaxFetchDepth());
+    }
+
+    void restoreTo(final FetchPlan fetchPlan) {
+        fetchPlan.setGroups(groups);
+        fetchPlan.setMaxFetchDepth(maxFetchDepth);
+    }
+
+    @Override
+    public String toString() {
+        return "FetchPlanState{groups=" + groups + ", maxFetchDepth=" + maxFetchDepth + "}";
+    }
+
+}
@@ -26,6 +26,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.jdo.FetchGroup;
@@ -37,6 +38,7 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
 import org.datanucleus.exceptions.NucleusObjectNotFoundException;
@@ -46,6 +48,7 @@
 
 import org.apache.isis.applib.annotation.Bulk;
 import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
 import org.apache.isis.applib.services.clock.ClockService;
@@ -61,6 +64,7 @@
 import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.applib.services.metrics.MetricsService;
 import org.apache.isis.applib.services.user.UserService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
@@ -103,6 +107,7 @@
 import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.spec.FreeStandingList;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -139,6 +144,9 @@
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindUsingApplibQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
+import org.apache.isis.objectstore.jdo.metamodel.util.JdoFetchGroupMembers;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.utils.CommandDtoUtils;
 
 import static org.apache.isis.core.commons.ensure.Ensure.ensureThatArg;
 import static org.hamcrest.CoreMatchers.is;
@@ -173,6 +181,25 @@ public class PersistenceSession implements
 
     public static final String SERVICE_IDENTIFIER = "1";
 
+    /**
+     * Prefix of the user data added to the {@link CommandDto command memento} with the time spent in each phase of
+     * the request, if {@link InstrumentationServiceInternal instrumented}.
+     */
+    public static final String USER_DATA_KEY_TIMINGS_PREFIX = "isis.timings.";
+
+    /**
+     * Whether {@link ObjectAdapter adapter}s may memoize their title, icon name and CSS class for the duration of
+     * the session (until {@link #invalidateMemos() invalidated}); defaults to <tt>true</tt>.
+     */
+    public static final String KEY_MEMOIZE_TITLES = "isis.persistor.memoizeTitles";
+
+    /**
+     * Whether the viewers may automatically use {@link IsisTransaction#isReadOnly() read-only} transactions for
+     * requests that only read objects (eg rendering a page, or a <tt>GET</tt> in the Restful Objects viewer);
+     * defaults to <tt>true</tt>.
+     */
+    public static final String KEY_READ_ONLY_TRANSACTIONS = "isis.persistor.readOnlyTransactions";
+
     //endregion
 
     //region > constructor, fields, finalize()
@@ -197,6 +224,7 @@ public class PersistenceSession implements
     private final ClockService clockService;
     private final UserService userService;
     private final Bulk.InteractionContext bulkInteractionContext;
+    private final InstrumentationServiceInternal instrumentationServiceInternal;
 
 
     /**
@@ -204,6 +232,11 @@ public class PersistenceSession implements
      */
     private final PersistenceManagerFactory jdoPersistenceManagerFactory;
 
+    /**
+     * Populated only if {@link PersistenceSessionFactory#KEY_DERIVE_FETCH_GROUPS enabled}.
+     */
+    private final DerivedFetchGroups derivedFetchGroups;
+
     // not final only for testing purposes
     private IsisTransactionManager transactionManager;
 
@@ -221,6 +254,10 @@ public class PersistenceSession implements
 
     private final boolean concurrencyCheckingGloballyEnabled;
 
+    private final boolean memoizationEnabled;
+    private final boolean readOnlyTransactionsEnabled;
+    private long memoGeneration;
+
 
     /**
      * Initialize the object store so that calls to this object store access
@@ -230,6 +267,7 @@ public PersistenceSession(
             final ServicesInjector servicesInjector,
             final AuthenticationSession authenticationSession,
             final PersistenceManagerFactory jdoPersistenceManagerFactory,
+            final DerivedFetchGroups derivedFetchGroups,
             final FixturesInstalledFlag fixturesInstalledFlag) {
 
         if (LOG.isDebugEnabled()) {
@@ -238,6 +276,7 @@ public PersistenceSession(
 
         this.servicesInjector = servicesInjector;
         this.jdoPersistenceManagerFactory = jdoPersistenceManagerFactory;
+        this.derivedFetchGroups = derivedFetchGroups;
         this.fixturesInstalledFlag = fixturesInstalledFlag;
 
         // injected
@@ -255,6 +294,7 @@ public PersistenceSession(
         this.clockService = lookupService(ClockService.class);
         this.userService = lookupService(UserService.class);
         this.bulkInteractionContext = lookupService(Bulk.InteractionContext.class);
+        this.instrumentationServiceInternal = lookupServiceIfAny(InstrumentationServiceInternal.class);
 
         // sub-components
         final AdapterManager adapterManager = this;
@@ -267,6 +307,8 @@ public PersistenceSession(
                 this.configuration.getBoolean("isis.persistor.disableConcurrencyChecking", false);
         this.concurrencyCheckingGloballyEnabled = !concurrencyCheckingGloballyDisabled;
 
+        this.memoizationEnabled = this.configuration.getBoolean(KEY_MEMOIZE_TITLES, true);
+        this.readOnlyTransactionsEnabled = this.configuration.getBoolean(KEY_READ_ONLY_TRANSACTIONS, true);
     }
 
     @Override
@@ -298,6 +340,10 @@ public void open() {
             LOG.debug("opening {}", this);
         }
 
+        if(instrumentationServiceInternal != null) {
+            instrumentationServiceInternal.resetTimings();
+        }
+
         oidAdapterMap.open();
         pojoAdapterMap.open();
 
@@ -514,6 +560,7 @@ private void completeCommandFromInteractionAndClearDomainEvents() {
             }
         }
 
+        attachTimingsIfInstrumented(command);
 
         commandService.complete(command);
 
@@ -529,6 +576,36 @@ private void completeCommandFromInteractionAndClearDomainEvents() {
         interaction.clear();
     }
 
+    /**
+     * Adds the time spent so far in each phase of this request to the user data of the command's memento (if it is
+     * a {@link CommandDto}), as <tt>isis.timings.xxx</tt> (in microseconds).
+     */
+    private void attachTimingsIfInstrumented(final Command command) {
+        if(instrumentationServiceInternal == null || !instrumentationServiceInternal.isEnabled()) {
+            return;
+        }
+        final String memento = command.getMemento();
+        if(memento == null) {
+            return;
+        }
+        final Map<InstrumentationService.Phase, Long> timings = instrumentationServiceInternal.getTimings();
+        if(timings.isEmpty()) {
+            return;
+        }
+        try {
+            final CommandDto commandDto = CommandDtoUtils.fromXml(memento);
+            for (final Map.Entry<InstrumentationService.Phase, Long> entry : timings.entrySet()) {
+                CommandDtoUtils.setUserData(commandDto,
+                        USER_DATA_KEY_TIMINGS_PREFIX + entry.getKey().name().toLowerCase(),
+                        String.valueOf(entry.getValue() / 1000));
+            }
+            command.setMemento(CommandDtoUtils.toXml(commandDto));
+        } catch(final RuntimeException ex) {
+            // memento is not a CommandDto (eg a legacy command)
+            LOG.debug("unable to attach timings to command memento; ignoring", ex);
+        }
+    }
+
 
     //endregion
 
@@ -568,18 +645,40 @@ private <T> ObjectAdapter findInstancesInTransaction(final Query<T> query, final
 
         final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
 
-        final List<ObjectAdapter> instances = transactionManager.executeWithinTransaction(
-                new TransactionalClosureWithReturn<List<ObjectAdapter>>() {
-                    @Override
-                    public List<ObjectAdapter> execute() {
-                        return processPersistenceQuery(processor, persistenceQuery);
-                    }
-                });
+        final long startedAt = instrumentationServiceInternal != null
+                ? instrumentationServiceInternal.start()
+                : InstrumentationServiceInternal.NOT_STARTED;
+        final List<ObjectAdapter> instances;
+        try {
+            instances = transactionManager.executeWithinTransaction(
+                    new TransactionalClosureWithReturn<List<ObjectAdapter>>() {
+                        @Override
+                        public List<ObjectAdapter> execute() {
+                            return processPersistenceQuery(processor, persistenceQuery);
+                        }
+                    });
+        } finally {
+            if(instrumentationServiceInternal != null) {
+                instrumentationServiceInternal.stop(
+                        InstrumentationService.Phase.QUERY, queryIdentifierFor(query), startedAt);
+            }
+        }
         final ObjectSpecification specification = persistenceQuery.getSpecification();
         final FreeStandingList results = new FreeStandingList(specification, instances);
         return adapterFor(results);
     }
 
+    /**
+     * Identifies the query (but not its arguments), for instrumentation.
+     */
+    private static String queryIdentifierFor(final Query<?> query) {
+        if(query instanceof QueryDefault) {
+            final QueryDefault<?> queryDefault = (QueryDefault<?>) query;
+            return queryDefault.getResultTypeName() + "#" + queryDefault.getQueryName();
+        }
+        return query.getDescription();
+    }
+
     /**
      * Converts the {@link Query applib representation of a query} into the
      * {@link PersistenceQuery NOF-internal representation}.
@@ -957,7 +1056,12 @@ private Object loadPersistentPojo(final RootOid rootOid) {
             final Object jdoObjectId = JdoObjectIdSerializer.toJdoObjectId(rootOid);
             FetchPlan fetchPlan = persistenceManager.getFetchPlan();
             fetchPlan.addGroup(FetchGroup.DEFAULT);
-            result = persistenceManager.getObjectById(cls, jdoObjectId);
+            final FetchPlanState fetchPlanState = addFetchGroupsForObjectForm(specOf(rootOid));
+            try {
+                result = persistenceManager.getObjectById(cls, jdoObjectId);
+            } finally {
+                restoreFetchPlan(fetchPlanState);
+            }
         } catch (final RuntimeException e) {
 
             Class<ExceptionRecognizer> serviceClass = ExceptionRecognizer.class;
@@ -990,7 +1094,9 @@ private Map<RootOid,Object> loadPersistentPojos(final List<RootOid> rootOids) {
         }
 
         final List<Object> dnOids = Lists.newArrayList();
+        final Set<ObjectSpecification> specs = Sets.newLinkedHashSet();
         for (final RootOid rootOid : rootOids) {
+            specs.add(specOf(rootOid));
             final Object id = JdoObjectIdSerializer.toJdoObjectId(rootOid);
             if(id instanceof SingleFieldIdentity) {
                 dnOids.add(id);
@@ -1005,6 +1111,13 @@ private Map<RootOid,Object> loadPersistentPojos(final List<RootOid> rootOids) {
         }
         FetchPlan fetchPlan = persistenceManager.getFetchPlan();
         fetchPlan.addGroup(FetchGroup.DEFAULT);
+        FetchPlanState fetchPlanState = null;
+        for (final ObjectSpecification spec : specs) {
+            final FetchPlanState stateBeforeAdding = addFetchGroupForTable(spec);
+            if(fetchPlanState == null) {
+                fetchPlanState = stateBeforeAdding;
+            }
+        }
         final List<Object> persistentPojos = Lists.newArrayList();
         try {
             final Collection<Object> pojos = persistenceManager.getObjectsById(dnOids, true);
@@ -1025,6 +1138,8 @@ private Map<RootOid,Object> loadPersistentPojos(final List<RootOid> rootOids) {
                     persistentPojos.add(null);
                 }
             }
+        } finally {
+            restoreFetchPlan(fetchPlanState);
         }
         Map<RootOid, Object> pojoByOid = zip(rootOids, persistentPojos);
         return pojoByOid;
@@ -1041,8 +1156,74 @@ private static Map<RootOid, Object> zip(final List<RootOid> rootOids, final Coll
     }
 
     private Class<?> clsOf(final RootOid oid) {
-        final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(oid.getObjectSpecId());
-        return objectSpec.getCorrespondingClass();
+        return specOf(oid).getCorrespondingClass();
+    }
+
+    private ObjectSpecification specOf(final RootOid oid) {
+        return getSpecificationLoader().lookupBySpecId(oid.getObjectSpecId());
+    }
+
+    //endregion
+
+    //region > fetch groups
+
+    /**
+     * If {@link PersistenceSessionFactory#KEY_DERIVE_FETCH_GROUPS enabled}, adds the fetch group derived from the
+     * metamodel for rendering the specified entity type in a table to the fetch plan, so that the objects referenced
+     * by its visible columns (and their titles) are fetched along with it.
+     *
+     * <p>
+     *     Called when loading objects in bulk, and by viewers before rendering a collection.  The returned state
+     *     must be passed to {@link #restoreFetchPlan(FetchPlanState)} once the objects have been loaded (typically
+     *     in a <tt>finally</tt> block), so that the group does not apply to every subsequent load in this session.
+     * </p>
+     *
+     * @return the state of the fetch plan beforehand, or <tt>null</tt> if it was not changed.
+     */
+    public FetchPlanState addFetchGroupForTable(final ObjectSpecification elementSpec) {
+        if(!ensureFetchGroupsRegistered(elementSpec)) {
+            return null;
+        }
+        return DerivedFetchGroups.addForTable(persistenceManager.getFetchPlan());
+    }
+
+    /**
+     * If {@link PersistenceSessionFactory#KEY_DERIVE_FETCH_GROUPS enabled}, adds the fetch groups derived from the
+     * metamodel for rendering the specified entity type as an object form to the fetch plan, so that its visible
+     * references, and its collections rendered as tables (along with their columns), are fetched along with it.
+     *
+     * <p>
+     *     Called when loading a single object, and by viewers before rendering an object.  As for
+     *     {@link #addFetchGroupForTable(ObjectSpecification)}, the returned state must be passed to
+     *     {@link #restoreFetchPlan(FetchPlanState)} once done.
+     * </p>
+     *
+     * @return the state of the fetch plan beforehand, or <tt>null</tt> if it was not changed.
+     */
+    public FetchPlanState addFetchGroupsForObjectForm(final ObjectSpecification spec) {
+        if(!ensureFetchGroupsRegistered(spec)) {
+            return null;
+        }
+        return DerivedFetchGroups.addForObjectForm(persistenceManager.getFetchPlan());
+    }
+
+    /**
+     * Restores the fetch plan to its state prior to {@link #addFetchGroupForTable(ObjectSpecification)} or
+     * {@link #addFetchGroupsForObjectForm(ObjectSpecification)}; does nothing if passed <tt>null</tt>.
+     */
+    public void restoreFetchPlan(final FetchPlanState fetchPlanState) {
+        if(fetchPlanState == null || persistenceManager == null) {
+            return;
+        }
+        fetchPlanState.restoreTo(persistenceManager.getFetchPlan());
+    }
+
+    private boolean ensureFetchGroupsRegistered(final ObjectSpecification spec) {
+        if(derivedFetchGroups == null || persistenceManager == null || !JdoFetchGroupMembers.isEntity(spec)) {
+            return false;
+        }
+        derivedFetchGroups.ensureRegistered(jdoPersistenceManagerFactory, spec);
+        return true;
     }
 
     //endregion
@@ -1109,6 +1290,7 @@ public void refreshRoot(final ObjectAdapter adapter) {
         } catch (final RuntimeException e) {
             throw new PojoRefreshException(adapter.getOid(), e);
         }
+        invalidateMemos();
 
         // possibly redundant because also called in the post-load event
         // listener, but (with JPA impl) found it was required if we were ever to
@@ -1152,6 +1334,7 @@ public void makePersistentInTransaction(final ObjectAdapter adapter) {
         if (specification.isService()) {
             throw new NotPersistableException("Cannot persist services: " + adapter);
         }
+        ensureTransactionNotReadOnly("persist", adapter);
 
         getTransactionManager().executeWithinTransaction(new TransactionalClosure() {
 
@@ -1230,6 +1413,7 @@ public void destroyObjectInTransaction(final ObjectAdapter adapter) {
             return;
         }
         LOG.debug("destroyObject {}", adapter);
+        ensureTransactionNotReadOnly("delete", adapter);
         transactionManager.executeWithinTransaction(new TransactionalClosure() {
             @Override
             public void execute() {
@@ -1290,16 +1474,48 @@ public void execute(final List<PersistenceCommand> commands) {
         // we no longer do that; it could be (is quite likely) that DataNucleus has some dirty objects anyway that
         // don't have commands wrapped around them...
 
-        executeCommands(commands);
+        executeCommands(commands, persistenceManager);
     }
 
-    private void executeCommands(final List<PersistenceCommand> commands) {
+    /**
+     * Consecutive {@link CreateObjectCommand}s are combined into a single call to
+     * {@link PersistenceManager#makePersistentAll(Collection)}, so that DataNucleus can batch the resultant inserts
+     * (eg for fixture scripts that create many objects before flushing).
+     */
+    static void executeCommands(
+            final List<PersistenceCommand> commands,
+            final PersistenceManager persistenceManager) {
 
+        final List<Object> toPersist = Lists.newArrayList();
         for (final PersistenceCommand command : commands) {
+            if (command instanceof CreateObjectCommand) {
+                final ObjectAdapter adapter = command.onAdapter();
+                // as per DataNucleusCreateObjectCommand, may already have been persisted by reachability
+                if (adapter.isTransient()) {
+                    toPersist.add(adapter.getObject());
+                }
+                continue;
+            }
+            makePersistentAll(toPersist, persistenceManager);
             command.execute(null);
         }
+        makePersistentAll(toPersist, persistenceManager);
         persistenceManager.flush();
     }
+
+    private static void makePersistentAll(
+            final List<Object> domainObjects,
+            final PersistenceManager persistenceManager) {
+        if (domainObjects.isEmpty()) {
+            return;
+        }
+        if (domainObjects.size() == 1) {
+            persistenceManager.makePersistent(domainObjects.get(0));
+        } else {
+            persistenceManager.makePersistentAll(domainObjects);
+        }
+        domainObjects.clear();
+    }
     //endregion
 
     //region > getAggregateRoot, remappedFrom
@@ -1329,25 +1545,86 @@ private Oid remappedFrom(final Oid transientOid) {
 
     //region > transactions
     public void startTransaction() {
-        final javax.jdo.Transaction transaction = persistenceManager.currentTransaction();
+        final javax.jdo.Transaction transaction = getPersistenceManager().currentTransaction();
         if (transaction.isActive()) {
             throw new IllegalStateException("Transaction already active");
         }
         transaction.begin();
+        invalidateMemos();
     }
 
+    /**
+     * Commits the JDO transaction, unless the current {@link IsisTransaction} is
+     * {@link IsisTransaction#isReadOnly() read-only}, in which case (since nothing can have been changed) it is
+     * simply rolled back.
+     */
     public void endTransaction() {
-        final javax.jdo.Transaction transaction = persistenceManager.currentTransaction();
+        final javax.jdo.Transaction transaction = getPersistenceManager().currentTransaction();
         if (transaction.isActive()) {
-            transaction.commit();
+            if(isTransactionReadOnly()) {
+                transaction.rollback();
+            } else {
+                transaction.commit();
+            }
         }
+        invalidateMemos();
     }
 
     public void abortTransaction() {
-        final javax.jdo.Transaction transaction = persistenceManager.currentTransaction();
+        final javax.jdo.Transaction transaction = getPersistenceManager().currentTransaction();
         if (transaction.isActive()) {
             transaction.rollback();
         }
+        invalidateMemos();
+    }
+
+    /**
+     * Whether the viewers may automatically use read-only transactions; see {@link #KEY_READ_ONLY_TRANSACTIONS}.
+     */
+    public boolean isReadOnlyTransactionsEnabled() {
+        return readOnlyTransactionsEnabled;
+    }
+
+    private boolean isTransactionReadOnly() {
+        final IsisTransaction transaction = transactionManager.getCurrentTransaction();
+        return transaction != null && !transaction.getState().isComplete() && transaction.isReadOnly();
+    }
+
+    /**
+     * Fails fast if the current transaction is {@link IsisTransaction#isReadOnly() read-only}.
+     */
+    private void ensureTransactionNotReadOnly(final String action, final ObjectAdapter adapter) {
+        if(isTransactionReadOnly()) {
+            transactionManager.getCurrentTransaction().ensureNotReadOnly(action, adapter);
+        }
+    }
+
+    //endregion
+
+    //region > memoization
+
+    public boolean isMemoizationEnabled() {
+        return memoizationEnabled;
+    }
+
+    /**
+     * Used by {@link ObjectAdapter adapter}s to determine whether the title, icon name and CSS class that they have
+     * memoized are still valid.
+     */
+    public long getMemoGeneration() {
+        return memoGeneration;
+    }
+
+    /**
+     * Discards the titles, icon names and CSS classes memoized by all adapters.
+     *
+     * <p>
+     * Called whenever an object is created, updated, deleted or refreshed, at transaction boundaries, and around
+     * every action invocation and property edit (since any of these may change the state from which titles are
+     * derived).
+     */
+    public void invalidateMemos() {
+        memoGeneration++;
     }
 
     //endregion
@@ -2143,7 +2420,9 @@ protected IsisTransaction getCurrentTransaction() {
     //region > FrameworkSynchronizer delegate methods
 
     public void enlistDeletingAndInvokeIsisRemovingCallbackFacet(final Persistable pojo) {
+        invalidateMemos();
         ObjectAdapter adapter = adapterFor(pojo);
+        ensureTransactionNotReadOnly("delete", adapter);
 
         changedObjectsServiceInternal.enlistDeleting(adapter);
 
@@ -2320,6 +2599,7 @@ public void invokeIsisPersistingCallback(final Persistable pojo) {
      * to determine which callback to fire.
      */
     public void enlistCreatedAndRemapIfRequiredThenInvokeIsisInvokePersistingOrUpdatedCallback(final Persistable pojo) {
+        invalidateMemos();
         final ObjectAdapter adapter = adapterFor(pojo);
 
         final RootOid rootOid = (RootOid) adapter.getOid(); // ok since this is for a Persistable
@@ -2348,6 +2628,7 @@ public void enlistCreatedAndRemapIfRequiredThenInvokeIsisInvokePersistingOrUpdat
     }
 
     public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo) {
+        invalidateMemos();
         ObjectAdapter adapter = getAdapterFor(pojo);
         if (adapter == null) {
             // seen this happen in the case when a parent entity (LeaseItem) has a collection of children
@@ -2374,6 +2655,8 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
             return;
         }
 
+        ensureTransactionNotReadOnly("modify", adapter);
+
         final boolean wasAlreadyEnlisted = changedObjectsServiceInternal.isEnlisted(adapter);
 
         // we call this come what may;
@@ -68,8 +68,15 @@ public PersistenceSessionFactory(final IsisConfigurationDefault isisConfiguratio
     public static final String JDO_OBJECTSTORE_CONFIG_PREFIX = "isis.persistor.datanucleus";  // specific to the JDO objectstore
     public static final String DATANUCLEUS_CONFIG_PREFIX = "isis.persistor.datanucleus.impl"; // reserved for datanucleus' own config props
 
+    /**
+     * Whether to derive JDO fetch groups from the metamodel (see {@link DerivedFetchGroups}), so that the objects
+     * referenced by an entity are prefetched when it is rendered.
+     */
+    public static final String KEY_DERIVE_FETCH_GROUPS = "isis.persistor.datanucleus.deriveFetchGroups";
+
 
     private DataNucleusApplicationComponents applicationComponents;
+    private DerivedFetchGroups derivedFetchGroups;
 
     @Programmatic
     public void init(final IsisConfigurationDefault configuration) {
@@ -88,6 +95,9 @@ public void init(final IsisConfigurationDefault configuration) {
                     datanucleusProps, classesToBePersisted);
 
             this.applicationComponents = applicationComponents1;
+            this.derivedFetchGroups = configuration.getBoolean(KEY_DERIVE_FETCH_GROUPS, false)
+                    ? new DerivedFetchGroups()
+                    : null;
 
         }
     }
@@ -192,7 +202,7 @@ public PersistenceSession createPersistenceSession(
         return new PersistenceSession(
                 servicesInjector,
                 authenticationSession, persistenceManagerFactory,
-                fixturesInstalledFlag);
+                derivedFetchGroups, fixturesInstalledFlag);
     }
 
 
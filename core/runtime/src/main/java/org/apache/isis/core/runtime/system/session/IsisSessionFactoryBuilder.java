@@ -266,6 +266,10 @@ public String toString() {
 
             isisSessionFactory.constructServices();
 
+            // now that the services exist, resolve all contributed and mixed-in members up-front,
+            // rather than on first access (by the first requests, or by metamodel validation).
+            specificationLoader.resolveContributeeAndMixedInMembers();
+
             isisSessionFactory.doInSession(
                     new Runnable() {
                         @Override
@@ -19,10 +19,13 @@
 
 package org.apache.isis.core.runtime.system.transaction;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +33,8 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCacheApplicationScoped;
 import org.apache.isis.applib.services.xactn.Transaction2;
 import org.apache.isis.applib.services.xactn.TransactionState;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
@@ -39,11 +44,13 @@
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
 
 /**
@@ -173,8 +180,24 @@ public TransactionState getTransactionState() {
 
     private final List<WithTransactionScope> withTransactionScopes;
 
+    private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    private final QueryResultsCacheApplicationScoped queryResultsCacheApplicationScoped;
+    private final InstrumentationServiceInternal instrumentationServiceInternal;
+
+    /**
+     * The types of the objects changed by this transaction, captured in {@link #preCommit()} so that the
+     * {@link QueryResultsCacheApplicationScoped application-scoped query results cache} can be invalidated once
+     * committed.
+     */
+    private Set<Class<?>> changedTypes = Collections.emptySet();
+
     private IsisException abortCause;
 
+    /**
+     * Callbacks registered using {@link #afterCommit(Runnable)}.
+     */
+    private final List<Runnable> afterCommitCallbacks = Lists.newArrayList();
+
     public IsisTransaction(
             final UUID interactionId,
             final int sequence,
@@ -195,6 +218,10 @@ public IsisTransaction(
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
+        this.changedObjectsServiceInternal = servicesInjector.lookupService(ChangedObjectsServiceInternal.class);
+        this.queryResultsCacheApplicationScoped = servicesInjector.lookupService(QueryResultsCacheApplicationScoped.class);
+        this.instrumentationServiceInternal = servicesInjector.lookupService(InstrumentationServiceInternal.class);
+
         this.state = State.IN_PROGRESS;
 
         LOG.debug("new transaction {}", this);
@@ -252,6 +279,54 @@ public TransactionState getTransactionState() {
     }
 
 
+    //endregion
+
+    //region > readOnly
+
+    private boolean readOnly;
+
+    /**
+     * Whether this transaction is read-only, in which case it will not be committed, and any attempt to persist,
+     * delete or modify an object within it will throw an {@link IsisTransactionReadOnlyException}.
+     */
+    @Programmatic
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Marks this transaction as read-only, but only if it is still in progress and nothing has yet been persisted,
+     * deleted or modified within it.
+     *
+     * @return whether the transaction is (now) read-only.
+     */
+    boolean markAsReadOnlyIfPristine() {
+        if(readOnly) {
+            return true;
+        }
+        if(getState() != State.IN_PROGRESS || !isPristine()) {
+            return false;
+        }
+        readOnly = true;
+        return true;
+    }
+
+    private boolean isPristine() {
+        return persistenceCommands.isEmpty() &&
+               (changedObjectsServiceInternal == null || changedObjectsServiceInternal.numberObjectsDirtied() == 0);
+    }
+
+    /**
+     * @throws IsisTransactionReadOnlyException if this transaction is {@link #isReadOnly() read-only}.
+     */
+    @Programmatic
+    public void ensureNotReadOnly(final String action, final Object onObject) {
+        if(readOnly) {
+            throw new IsisTransactionReadOnlyException(
+                    String.format("Cannot %s %s within a read-only transaction", action, onObject));
+        }
+    }
+
     //endregion
 
     //region > commands
@@ -267,6 +342,7 @@ public void addCommand(final PersistenceCommand command) {
         }
 
         final ObjectAdapter onObject = command.onAdapter();
+        ensureNotReadOnly(command instanceof DestroyObjectCommand ? "delete" : "persist", onObject);
 
         // Destroys are ignored when preceded by a create, or another destroy
         if (command instanceof DestroyObjectCommand) {
@@ -365,6 +441,19 @@ public final void flush() {
      * </table>
      */
     private void doFlush() {
+        final long startedAt = instrumentationServiceInternal != null
+                ? instrumentationServiceInternal.start()
+                : InstrumentationServiceInternal.NOT_STARTED;
+        try {
+            doFlushCommands();
+        } finally {
+            if(instrumentationServiceInternal != null) {
+                instrumentationServiceInternal.stop(InstrumentationService.Phase.FLUSH, "flush", startedAt);
+            }
+        }
+    }
+
+    private void doFlushCommands() {
         
         //
         // it's possible that in executing these commands that more will be created.
@@ -416,11 +505,18 @@ void preCommit() {
         }
 
         try {
+            if(readOnly) {
+                // nothing can have been changed, so nothing to audit, publish or flush.
+                return;
+            }
+
             auditingServiceInternal.audit();
 
             publishingServiceInternal.publishObjects();
             doFlush();
 
+            changedTypes = changedTypes();
+
         } catch (final RuntimeException ex) {
             setAbortCause(new IsisTransactionManagerException(ex));
             throw ex;
@@ -444,6 +540,54 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        if(queryResultsCacheApplicationScoped != null) {
+            queryResultsCacheApplicationScoped.invalidate(changedTypes);
+        }
+
+        runAfterCommitCallbacks();
+    }
+
+    /**
+     * Registers a callback to be run once this transaction has committed, for example to hand off work that must only
+     * happen if the transaction's changes are made durable.
+     *
+     * <p>
+     *     The callbacks are run (in the order registered) on the thread that commits the transaction; any exceptions
+     *     are logged and ignored.  If the transaction is instead aborted then the callbacks are discarded.  If this
+     *     transaction has already completed then the callback is ignored.
+     * </p>
+     */
+    @Programmatic
+    public void afterCommit(final Runnable callback) {
+        if(getState().isComplete()) {
+            LOG.warn("transaction {} already complete; ignoring afterCommit callback", this);
+            return;
+        }
+        afterCommitCallbacks.add(callback);
+    }
+
+    private void runAfterCommitCallbacks() {
+        final List<Runnable> callbacks = Lists.newArrayList(afterCommitCallbacks);
+        afterCommitCallbacks.clear();
+        for (final Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (final RuntimeException ex) {
+                LOG.error("afterCommit callback failed for transaction {}; continuing", this, ex);
+            }
+        }
+    }
+
+    private Set<Class<?>> changedTypes() {
+        if(queryResultsCacheApplicationScoped == null || changedObjectsServiceInternal == null) {
+            return Collections.emptySet();
+        }
+        final Set<Class<?>> changedTypes = Sets.newHashSet();
+        for (final ObjectAdapter adapter : changedObjectsServiceInternal.getChangeKindByEnlistedAdapter().keySet()) {
+            changedTypes.add(adapter.getSpecification().getCorrespondingClass());
+        }
+        return changedTypes;
     }
 
 
@@ -459,6 +603,7 @@ final void markAsAborted() {
 
         LOG.info("abort transaction {}", this);
         setState(State.ABORTED);
+        afterCommitCallbacks.clear();
     }
 
 
@@ -508,6 +653,9 @@ public String toString() {
 
     private ToString appendTo(final ToString str) {
         str.append("state", state);
+        if(readOnly) {
+            str.append("readOnly", readOnly);
+        }
         str.append("commands", persistenceCommands.size());
         return str;
     }
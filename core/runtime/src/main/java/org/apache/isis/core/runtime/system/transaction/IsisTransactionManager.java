@@ -28,10 +28,12 @@
 import org.apache.isis.applib.services.command.CommandContext;
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.SessionScopedComponent;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSession;
@@ -57,6 +59,7 @@ public class IsisTransactionManager implements SessionScopedComponent {
 
     private final CommandContext commandContext;
     private final InteractionContext interactionContext;
+    private final InstrumentationServiceInternal instrumentationServiceInternal;
 
     public IsisTransactionManager(
             final PersistenceSession persistenceSession,
@@ -69,6 +72,7 @@ public IsisTransactionManager(
 
         this.commandContext = this.servicesInjector.lookupServiceElseFail(CommandContext.class);
         this.interactionContext = this.servicesInjector.lookupServiceElseFail(InteractionContext.class);
+        this.instrumentationServiceInternal = this.servicesInjector.lookupService(InstrumentationServiceInternal.class);
     }
 
     public PersistenceSession getPersistenceSession() {
@@ -217,6 +221,15 @@ public void startTransaction() {
      * @param existingCommandIfAny - specifically, a previously persisted background {@link Command}, now being executed by a background execution service.
      */
     public void startTransaction(final Command existingCommandIfAny) {
+        startTransaction(existingCommandIfAny, false);
+    }
+
+    /**
+     * As per {@link #startTransaction(Command)}, but if <tt>readOnly</tt> and a new transaction is created, then it is
+     * {@link IsisTransaction#isReadOnly() read-only}.  If a transaction is already in progress then it is simply used,
+     * whatever its mode.
+     */
+    public void startTransaction(final Command existingCommandIfAny, final boolean readOnly) {
         boolean noneInProgress = false;
         if (getCurrentTransaction() == null || getCurrentTransaction().getState().isComplete()) {
             noneInProgress = true;
@@ -240,6 +253,9 @@ public void startTransaction(final Command existingCommandIfAny) {
 
             this.currentTransaction = new IsisTransaction(transactionId,
                     interaction.next(Interaction.Sequence.TRANSACTION.id()), authenticationSession, servicesInjector);
+            if(readOnly) {
+                this.currentTransaction.markAsReadOnlyIfPristine();
+            }
             transactionLevel = 0;
 
             persistenceSession.startTransaction();
@@ -252,6 +268,22 @@ public void startTransaction(final Command existingCommandIfAny) {
         }
     }
 
+    /**
+     * Marks the current transaction as {@link IsisTransaction#isReadOnly() read-only}, provided that it is in progress
+     * and nothing has yet been persisted, deleted or modified within it.
+     *
+     * <p>
+     *     Used by the viewers once they know that the remainder of the request (eg rendering a page) will only read
+     *     objects.
+     * </p>
+     *
+     * @return whether the current transaction is (now) read-only.
+     */
+    public boolean markTransactionReadOnlyIfPristine() {
+        final IsisTransaction transaction = getCurrentTransaction();
+        return transaction != null && transaction.markAsReadOnlyIfPristine();
+    }
+
     //endregion
 
     //region > flushTransaction
@@ -402,6 +434,9 @@ private void endTransactionInternal() {
             }
 
             if(abortCause == null) {
+                final long startedAt = instrumentationServiceInternal != null
+                        ? instrumentationServiceInternal.start()
+                        : InstrumentationServiceInternal.NOT_STARTED;
                 try {
                     persistenceSession.endTransaction();
                 } catch(Exception ex) {
@@ -410,6 +445,10 @@ private void endTransactionInternal() {
 
                     // hacky... moving the transaction back to something other than COMMITTED
                     getCurrentTransaction().setAbortCause(new IsisTransactionManagerException(ex));
+                } finally {
+                    if(instrumentationServiceInternal != null) {
+                        instrumentationServiceInternal.stop(InstrumentationService.Phase.COMMIT, "commit", startedAt);
+                    }
                 }
             }
 
@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Thrown if an object is persisted, deleted or modified within a {@link IsisTransaction#isReadOnly() read-only}
+ * transaction.
+ */
+public class IsisTransactionReadOnlyException extends IsisException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IsisTransactionReadOnlyException() {
+    }
+
+    public IsisTransactionReadOnlyException(final String message) {
+        super(message);
+    }
+
+    public IsisTransactionReadOnlyException(final Throwable cause) {
+        super(cause);
+    }
+
+    public IsisTransactionReadOnlyException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
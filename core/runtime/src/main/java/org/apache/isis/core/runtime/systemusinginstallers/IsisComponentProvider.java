@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.runtime.systemusinginstallers;
 
+import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,8 @@
 
 import org.reflections.Reflections;
 import org.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.apache.isis.applib.AppManifest;
 import org.apache.isis.applib.annotation.DomainObject;
@@ -51,6 +54,7 @@
 import org.apache.isis.applib.annotation.ViewModelLayout;
 import org.apache.isis.applib.fixturescripts.DiscoverableFixtureScript;
 import org.apache.isis.applib.fixturescripts.FixtureScript;
+import org.apache.isis.applib.services.classdiscovery.ClassDiscoveryIndex;
 import org.apache.isis.applib.services.classdiscovery.ClassDiscoveryServiceUsingReflections;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
@@ -81,6 +85,8 @@
  */
 public abstract class IsisComponentProvider {
 
+    private final static Logger LOG = LoggerFactory.getLogger(IsisComponentProvider.class);
+
     //region > constructor, fields
 
     private final AppManifest appManifest;
@@ -146,23 +152,21 @@ private void findAndRegisterTypes(final AppManifest appManifest) {
         moduleAndFrameworkPackages.addAll(AppManifest.Registry.FRAMEWORK_PROVIDED_SERVICES);
         Iterables.addAll(moduleAndFrameworkPackages, modulePackages);
 
-        Vfs.setDefaultURLTypes(ClassDiscoveryServiceUsingReflections.getUrlTypes());
-
-        final Reflections reflections = new Reflections(moduleAndFrameworkPackages);
+        final TypeDiscovery typeDiscovery = new TypeDiscovery(moduleAndFrameworkPackages);
 
         final Set<Class<?>> domainServiceTypes = Sets.newLinkedHashSet();
-        domainServiceTypes.addAll(reflections.getTypesAnnotatedWith(DomainService.class));
-        domainServiceTypes.addAll(reflections.getTypesAnnotatedWith(DomainServiceLayout.class));
+        domainServiceTypes.addAll(typeDiscovery.getTypesAnnotatedWith(DomainService.class));
+        domainServiceTypes.addAll(typeDiscovery.getTypesAnnotatedWith(DomainServiceLayout.class));
 
         final Set<Class<?>> persistenceCapableTypes = Sets.newLinkedHashSet();
-        persistenceCapableTypes.addAll(reflections.getTypesAnnotatedWith(PersistenceCapable.class));
+        persistenceCapableTypes.addAll(typeDiscovery.getTypesAnnotatedWith(PersistenceCapable.class));
 
         // the fixtureScript types are introspected just to provide a drop-down when running fixture scripts
         // in prototyping mode (though they may be introspected lazily if actually run).
         // we therefore try to limit the set of fixture types eagerly introspected at startup
         final Set<Class<? extends FixtureScript>> fixtureScriptTypes = Sets.newLinkedHashSet();
         fixtureScriptTypes.addAll(
-            FluentIterable.from(reflections.getSubTypesOf(FixtureScript.class)).
+            FluentIterable.from(typeDiscovery.getSubTypesOf(FixtureScript.class)).
                 filter(new Predicate<Class<?>>(){
                     @Override
                     public boolean apply(@Nullable final Class<?> aClass) {
@@ -175,11 +179,11 @@ public boolean apply(@Nullable final Class<?> aClass) {
                 .toList());
 
         final Set<Class<?>> domainObjectTypes = Sets.newLinkedHashSet();
-        domainObjectTypes.addAll(reflections.getTypesAnnotatedWith(DomainObject.class));
-        domainObjectTypes.addAll(reflections.getTypesAnnotatedWith(DomainObjectLayout.class));
+        domainObjectTypes.addAll(typeDiscovery.getTypesAnnotatedWith(DomainObject.class));
+        domainObjectTypes.addAll(typeDiscovery.getTypesAnnotatedWith(DomainObjectLayout.class));
 
         final Set<Class<?>> mixinTypes = Sets.newHashSet();
-        mixinTypes.addAll(reflections.getTypesAnnotatedWith(Mixin.class));
+        mixinTypes.addAll(typeDiscovery.getTypesAnnotatedWith(Mixin.class));
         mixinTypes.addAll(
                 Lists.newArrayList(Iterables.filter(domainObjectTypes, new Predicate<Class<?>>() {
                     @Override
@@ -192,11 +196,11 @@ public boolean apply(@Nullable final Class<?> input) {
         );
 
         final Set<Class<?>> viewModelTypes = Sets.newLinkedHashSet();
-        viewModelTypes.addAll(reflections.getTypesAnnotatedWith(ViewModel.class));
-        viewModelTypes.addAll(reflections.getTypesAnnotatedWith(ViewModelLayout.class));
+        viewModelTypes.addAll(typeDiscovery.getTypesAnnotatedWith(ViewModel.class));
+        viewModelTypes.addAll(typeDiscovery.getTypesAnnotatedWith(ViewModelLayout.class));
 
         final Set<Class<?>> xmlElementTypes = Sets.newLinkedHashSet();
-        xmlElementTypes.addAll(reflections.getTypesAnnotatedWith(XmlElement.class));
+        xmlElementTypes.addAll(typeDiscovery.getTypesAnnotatedWith(XmlElement.class));
 
         // add in any explicitly registered services...
         domainServiceTypes.addAll(appManifest.getAdditionalServices());
@@ -224,6 +228,52 @@ public String apply(@Nullable final String s) {
         registry.setXmlElementTypes(withinPackageAndNotAnonymous(packagesWithDotSuffix, xmlElementTypes));
     }
 
+    /**
+     * Looks up types from the {@link ClassDiscoveryIndex} (if any) for those packages that it covers, and scans the
+     * classpath (using {@link Reflections}) for the remainder.
+     */
+    static class TypeDiscovery {
+
+        private final ClassDiscoveryIndex index;
+        private final Reflections reflections;
+
+        TypeDiscovery(final List<String> packagePrefixes) {
+            index = ClassDiscoveryIndex.load(Thread.currentThread().getContextClassLoader());
+            final List<String> packagesToScan = index != null ? index.notCovered(packagePrefixes) : packagePrefixes;
+            if(index != null) {
+                LOG.info("using class discovery index; scanning only {}", packagesToScan);
+            }
+            if(!packagesToScan.isEmpty()) {
+                Vfs.setDefaultURLTypes(ClassDiscoveryServiceUsingReflections.getUrlTypes());
+                reflections = new Reflections(packagesToScan);
+            } else {
+                reflections = null;
+            }
+        }
+
+        Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotationType) {
+            final Set<Class<?>> types = Sets.newLinkedHashSet();
+            if(index != null) {
+                types.addAll(index.getTypesAnnotatedWith(annotationType));
+            }
+            if(reflections != null) {
+                types.addAll(reflections.getTypesAnnotatedWith(annotationType));
+            }
+            return types;
+        }
+
+        <T> Set<Class<? extends T>> getSubTypesOf(final Class<T> type) {
+            final Set<Class<? extends T>> types = Sets.newLinkedHashSet();
+            if(index != null) {
+                types.addAll(index.getSubTypesOf(type));
+            }
+            if(reflections != null) {
+                types.addAll(reflections.getSubTypesOf(type));
+            }
+            return types;
+        }
+    }
+
     static <T> Set<Class<? extends T>> withinPackageAndNotAnonymous(
             final List<String> packagesWithDotSuffix,
             final Set<Class<? extends T>> classes) {
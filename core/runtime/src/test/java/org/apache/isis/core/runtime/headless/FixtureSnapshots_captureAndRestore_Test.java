@@ -0,0 +1,302 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.headless;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.datastore.DataStoreCache;
+import javax.jdo.datastore.JDOConnection;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Round-trips an in-memory HSQLDB database through {@link FixtureSnapshots#capture(String, String, PersistenceManager)}
+ * and {@link FixtureSnapshots#restore(String, PersistenceManager)}; only the JDO {@link PersistenceManager} (that
+ * provides the JDBC connection) is mocked.
+ */
+public class FixtureSnapshots_captureAndRestore_Test {
+
+    private static final AtomicInteger databaseCounter = new AtomicInteger();
+
+    private static final String CUSTOMERS = "SELECT \"id\", \"name\", \"notes\" FROM \"crm\".\"Customer\" ORDER BY \"id\"";
+    private static final String ORDERS = "SELECT \"id\", \"customer_id\", \"photo\" FROM \"crm\".\"Order\" ORDER BY \"id\"";
+    private static final String ORDERS_WITH_CUSTOMER =
+            "SELECT o.\"id\", c.\"name\" FROM \"crm\".\"Order\" o "
+                    + "JOIN \"crm\".\"Customer\" c ON c.\"id\" = o.\"customer_id\" ORDER BY o.\"id\"";
+    private static final String SEQUENCES = "SELECT SEQUENCE_NAME, NEXT_VAL FROM SEQUENCE_TABLE ORDER BY SEQUENCE_NAME";
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private JDOConnection mockJdoConnection;
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    private DataStoreCache mockDataStoreCache;
+
+    private String url;
+    private Connection connection;
+
+    private FixtureSnapshots fixtureSnapshots;
+
+    @Before
+    public void setUp() throws Exception {
+        url = "jdbc:hsqldb:mem:fixtureSnapshots" + databaseCounter.incrementAndGet();
+        connection = DriverManager.getConnection(url, "SA", "");
+        connection.setAutoCommit(false);
+
+        execute(connection,
+                "CREATE SCHEMA \"crm\"",
+                "CREATE TABLE \"crm\".\"Customer\" ("
+                        + "\"id\" BIGINT PRIMARY KEY, \"name\" VARCHAR(50) NOT NULL, \"notes\" CLOB)",
+                // "Order" is a reserved word, so checks that identifiers are quoted
+                "CREATE TABLE \"crm\".\"Order\" ("
+                        + "\"id\" BIGINT PRIMARY KEY, \"customer_id\" BIGINT NOT NULL, \"photo\" BLOB, "
+                        + "FOREIGN KEY (\"customer_id\") REFERENCES \"crm\".\"Customer\" (\"id\"))",
+                "CREATE TABLE SEQUENCE_TABLE (SEQUENCE_NAME VARCHAR(255) PRIMARY KEY, NEXT_VAL BIGINT)",
+
+                "INSERT INTO \"crm\".\"Customer\" VALUES (1, 'Fred', 'prefers email')",
+                "INSERT INTO \"crm\".\"Customer\" VALUES (2, 'Mary', NULL)",
+                "INSERT INTO \"crm\".\"Order\" VALUES (10, 1, X'CAFEBABE')",
+                "INSERT INTO \"crm\".\"Order\" VALUES (11, 1, NULL)",
+                "INSERT INTO \"crm\".\"Order\" VALUES (12, 2, X'00')",
+                "INSERT INTO SEQUENCE_TABLE VALUES ('Customer', 3)");
+        connection.commit();
+
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceManager).getDataStoreConnection();
+            will(returnValue(mockJdoConnection));
+            allowing(mockJdoConnection).getNativeConnection();
+            will(returnValue(connection));
+            allowing(mockJdoConnection).close();
+
+            allowing(mockPersistenceManager).getPersistenceManagerFactory();
+            will(returnValue(mockPersistenceManagerFactory));
+            allowing(mockPersistenceManagerFactory).getDataStoreCache();
+            will(returnValue(mockDataStoreCache));
+        }});
+
+        FixtureSnapshots.discardAll();
+        fixtureSnapshots = new FixtureSnapshots();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FixtureSnapshots.discardAll();
+        execute(connection, "SHUTDOWN");
+    }
+
+    @Test
+    public void has_once_captured() throws Exception {
+        assertThat(fixtureSnapshots.has("customers", "fingerprint"), is(false));
+
+        assertThat(fixtureSnapshots.capture("customers", "fingerprint", mockPersistenceManager), is(true));
+
+        assertThat(fixtureSnapshots.has("customers", "fingerprint"), is(true));
+        assertThat(fixtureSnapshots.has("customers", "other-fingerprint"), is(false));
+        assertThat(fixtureSnapshots.has("other", "fingerprint"), is(false));
+    }
+
+    @Test
+    public void restore_reverts_all_changes_made_since_capture() throws Exception {
+        final List<List<Object>> customersBefore = query(connection, CUSTOMERS);
+        final List<List<Object>> ordersBefore = query(connection, ORDERS);
+        final List<List<Object>> ordersWithCustomerBefore = query(connection, ORDERS_WITH_CUSTOMER);
+
+        fixtureSnapshots.capture("customers", "fingerprint", mockPersistenceManager);
+
+        execute(connection,
+                "UPDATE \"crm\".\"Customer\" SET \"name\" = 'Frederick', \"notes\" = NULL WHERE \"id\" = 1",
+                "UPDATE \"crm\".\"Order\" SET \"photo\" = X'FF' WHERE \"id\" = 12",
+                "DELETE FROM \"crm\".\"Order\" WHERE \"id\" = 11",
+                "INSERT INTO \"crm\".\"Customer\" VALUES (3, 'Joe', NULL)",
+                "INSERT INTO \"crm\".\"Order\" VALUES (13, 3, NULL)",
+                "UPDATE \"crm\".\"Order\" SET \"customer_id\" = 3 WHERE \"id\" = 10");
+        connection.commit();
+        assertThat(query(connection, CUSTOMERS), is(not(customersBefore)));
+        assertThat(query(connection, ORDERS), is(not(ordersBefore)));
+
+        context.checking(new Expectations() {{
+            oneOf(mockDataStoreCache).evictAll();
+        }});
+
+        fixtureSnapshots.restore("customers", mockPersistenceManager);
+        connection.commit();
+
+        // a new session (ie connection) sees the restored state
+        try (Connection newConnection = DriverManager.getConnection(url, "SA", "")) {
+            assertThat(query(newConnection, CUSTOMERS), is(customersBefore));
+            assertThat(query(newConnection, ORDERS), is(ordersBefore));
+            assertThat(query(newConnection, ORDERS_WITH_CUSTOMER), is(ordersWithCustomerBefore));
+        }
+    }
+
+    @Test
+    public void referential_integrity_is_enforced_again_once_restored() throws Exception {
+        fixtureSnapshots.capture("customers", "fingerprint", mockPersistenceManager);
+
+        context.checking(new Expectations() {{
+            oneOf(mockDataStoreCache).evictAll();
+        }});
+
+        fixtureSnapshots.restore("customers", mockPersistenceManager);
+        connection.commit();
+
+        try {
+            execute(connection, "INSERT INTO \"crm\".\"Order\" VALUES (99, 99, NULL)");
+            fail();
+        } catch (final SQLException ex) {
+            // expected; no such customer
+        }
+        try {
+            execute(connection, "DELETE FROM \"crm\".\"Customer\" WHERE \"id\" = 1");
+            fail();
+        } catch (final SQLException ex) {
+            // expected; still has orders
+        }
+    }
+
+    @Test
+    public void sequence_table_is_left_as_is() throws Exception {
+        fixtureSnapshots.capture("customers", "fingerprint", mockPersistenceManager);
+
+        execute(connection,
+                "UPDATE SEQUENCE_TABLE SET NEXT_VAL = 4 WHERE SEQUENCE_NAME = 'Customer'",
+                "INSERT INTO SEQUENCE_TABLE VALUES ('Order', 14)");
+        connection.commit();
+        final List<List<Object>> sequencesBefore = query(connection, SEQUENCES);
+
+        context.checking(new Expectations() {{
+            oneOf(mockDataStoreCache).evictAll();
+        }});
+
+        fixtureSnapshots.restore("customers", mockPersistenceManager);
+        connection.commit();
+
+        assertThat(query(connection, SEQUENCES), is(sequencesBefore));
+    }
+
+    @Test
+    public void restore_can_be_repeated() throws Exception {
+        final List<List<Object>> customersBefore = query(connection, CUSTOMERS);
+        fixtureSnapshots.capture("customers", "fingerprint", mockPersistenceManager);
+
+        context.checking(new Expectations() {{
+            exactly(2).of(mockDataStoreCache).evictAll();
+        }});
+
+        for (int i = 0; i < 2; i++) {
+            execute(connection, "DELETE FROM \"crm\".\"Order\"", "DELETE FROM \"crm\".\"Customer\"");
+            connection.commit();
+
+            fixtureSnapshots.restore("customers", mockPersistenceManager);
+            connection.commit();
+
+            assertThat(query(connection, CUSTOMERS), is(customersBefore));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_when_no_such_snapshot() throws Exception {
+        fixtureSnapshots.restore("customers", mockPersistenceManager);
+    }
+
+    @Test
+    public void not_captured_if_not_a_jdbc_datastore() throws Exception {
+        final PersistenceManager otherPersistenceManager = context.mock(PersistenceManager.class, "other");
+        final JDOConnection otherJdoConnection = context.mock(JDOConnection.class, "otherJdoConnection");
+        context.checking(new Expectations() {{
+            allowing(otherPersistenceManager).getDataStoreConnection();
+            will(returnValue(otherJdoConnection));
+            allowing(otherJdoConnection).getNativeConnection();
+            will(returnValue(new Object()));
+            oneOf(otherJdoConnection).close();
+        }});
+
+        assertThat(fixtureSnapshots.capture("customers", "fingerprint", otherPersistenceManager), is(false));
+        assertThat(fixtureSnapshots.has("customers", "fingerprint"), is(false));
+    }
+
+    private static void execute(final Connection connection, final String... sqls) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (final String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Each row as a list of column values, with LOBs read into a comparable form.
+     */
+    private static List<List<Object>> query(final Connection connection, final String sql) throws SQLException {
+        final List<List<Object>> rows = Lists.newArrayList();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            final ResultSetMetaData rsmd = rs.getMetaData();
+            while (rs.next()) {
+                final List<Object> row = Lists.newArrayList();
+                for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+                    final Object value = rs.getObject(i);
+                    if(value instanceof Blob) {
+                        final Blob blob = (Blob) value;
+                        row.add(Arrays.toString(blob.getBytes(1, (int) blob.length())));
+                    } else if(value instanceof Clob) {
+                        final Clob clob = (Clob) value;
+                        row.add(clob.getSubString(1, (int) clob.length()));
+                    } else {
+                        row.add(value);
+                    }
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.headless;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class FixtureSnapshots_fingerprintOf_Test {
+
+    public static class SomeFixture extends FixtureScript {
+        @Override
+        protected void execute(final ExecutionContext executionContext) {
+        }
+    }
+
+    public static class OtherFixture extends FixtureScript {
+        @Override
+        protected void execute(final ExecutionContext executionContext) {
+        }
+    }
+
+    public static class SubclassOfSomeFixture extends SomeFixture {
+    }
+
+    @Test
+    public void same_for_same_classes() throws Exception {
+        assertThat(FixtureSnapshots.fingerprintOf(new SomeFixture(), new OtherFixture()),
+                is(FixtureSnapshots.fingerprintOf(new SomeFixture(), new OtherFixture())));
+    }
+
+    @Test
+    public void different_for_different_classes() throws Exception {
+        assertThat(FixtureSnapshots.fingerprintOf(new SomeFixture()),
+                is(not(FixtureSnapshots.fingerprintOf(new OtherFixture()))));
+        assertThat(FixtureSnapshots.fingerprintOf(new SomeFixture()),
+                is(not(FixtureSnapshots.fingerprintOf(new SubclassOfSomeFixture()))));
+    }
+
+    @Test
+    public void different_for_different_order() throws Exception {
+        assertThat(FixtureSnapshots.fingerprintOf(new SomeFixture(), new OtherFixture()),
+                is(not(FixtureSnapshots.fingerprintOf(new OtherFixture(), new SomeFixture()))));
+    }
+
+    @Test
+    public void no_snapshot_initially() throws Exception {
+        FixtureSnapshots.discardAll();
+        assertThat(new FixtureSnapshots().has("any", FixtureSnapshots.fingerprintOf(new SomeFixture())), is(false));
+    }
+}
@@ -33,6 +33,7 @@
 import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
 import org.apache.isis.core.metamodel.adapter.version.Version;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.core.runtime.persistence.adapter.PojoAdapter;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PojoAdapterBuilder;
@@ -61,6 +62,8 @@ public class PojoAdapterTest {
     private AuthenticationSession mockAuthenticationSession;
     @Mock
     private PersistenceSession mockPersistenceSession;
+    @Mock
+    private ObjectSpecification mockSpecification;
 
     @Before
     public void setUp() throws Exception {
@@ -134,4 +137,54 @@ public void checkLock_whenVersionsDifferent() throws Exception {
         adapter.checkLock(mockVersion2);
     }
 
+    @Test
+    public void titleString_isMemoized_untilInvalidated() throws Exception {
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockSpecificationLoader).loadSpecification(RuntimeTestPojo.class);
+                will(returnValue(mockSpecification));
+
+                allowing(mockSpecification).isParentedOrFreeCollection();
+                will(returnValue(false));
+
+                allowing(mockPersistenceSession).isMemoizationEnabled();
+                will(returnValue(true));
+
+                allowing(mockPersistenceSession).getMemoGeneration();
+                will(onConsecutiveCalls(returnValue(1L), returnValue(1L), returnValue(2L)));
+
+                exactly(2).of(mockSpecification).getTitle(null, adapter);
+                will(onConsecutiveCalls(returnValue("Fred"), returnValue("Freddie")));
+            }
+        });
+
+        assertEquals("Fred", adapter.titleString(null));
+        assertEquals("Fred", adapter.titleString(null));
+        assertEquals("Freddie", adapter.titleString(null));
+    }
+
+    @Test
+    public void titleString_isNotMemoized_whenDisabled() throws Exception {
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockSpecificationLoader).loadSpecification(RuntimeTestPojo.class);
+                will(returnValue(mockSpecification));
+
+                allowing(mockSpecification).isParentedOrFreeCollection();
+                will(returnValue(false));
+
+                allowing(mockPersistenceSession).isMemoizationEnabled();
+                will(returnValue(false));
+
+                exactly(2).of(mockSpecification).getTitle(null, adapter);
+                will(returnValue("Fred"));
+            }
+        });
+
+        assertEquals("Fred", adapter.titleString(null));
+        assertEquals("Fred", adapter.titleString(null));
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandDefault;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BackgroundCommandExecutionTest {
+
+    private static final Function<Command, String> TARGET_ACTION = new Function<Command, String>() {
+        @Override
+        public String apply(final Command command) {
+            return command.getTargetAction();
+        }
+    };
+
+    public static class Partition extends BackgroundCommandExecutionTest {
+
+        @Test
+        public void commands_for_same_target_are_in_same_partition_in_order() throws Exception {
+            final List<Command> commands = Lists.newArrayList();
+            for (int i = 0; i < 20; i++) {
+                commands.add(newCommand(new Bookmark("CUS", "" + (i % 5)), "action" + i));
+            }
+
+            final List<List<String>> partitions = BackgroundCommandExecution.partition(commands, TARGET_ACTION, 3);
+
+            assertThat(partitions.size(), is(3));
+            int total = 0;
+            for (final List<String> partition : partitions) {
+                total += partition.size();
+            }
+            assertThat(total, is(20));
+
+            for (int target = 0; target < 5; target++) {
+                final List<String> partition = partitionContaining(partitions, "action" + target);
+                int previous = -1;
+                for (int i = target; i < 20; i += 5) {
+                    final int index = partition.indexOf("action" + i);
+                    assertThat(index > previous, is(true));
+                    previous = index;
+                }
+            }
+        }
+
+        @Test
+        public void commands_without_target_are_partitioned_by_transactionId() throws Exception {
+            final List<Command> commands = Lists.newArrayList();
+            commands.add(newCommand(null, "a"));
+            commands.add(newCommand(null, "b"));
+
+            final List<List<String>> partitions = BackgroundCommandExecution.partition(commands, TARGET_ACTION, 1);
+
+            assertThat(partitions.get(0), is((List<String>) Lists.newArrayList("a", "b")));
+        }
+
+        private static List<String> partitionContaining(final List<List<String>> partitions, final String element) {
+            for (final List<String> partition : partitions) {
+                if(partition.contains(element)) {
+                    return partition;
+                }
+            }
+            throw new AssertionError("no partition contains " + element);
+        }
+    }
+
+    static Command newCommand(final Bookmark target, final String targetAction) {
+        final CommandDefault command = new CommandDefault();
+        command.setTarget(target);
+        command.setTargetAction(targetAction);
+        command.setTransactionId(UUID.randomUUID());
+        return command;
+    }
+
+}
@@ -104,6 +104,12 @@ public void implementation_setToAxonMixedCaseRequiringTrimming() throws Exceptio
             assertThat(eventBusService.getImplementation(), is("axon"));
         }
 
+        @Test
+        public void implementation_setToNativeMixedCaseRequiringTrimming() throws Exception {
+            eventBusService.init(ImmutableMap.of(EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, " NaTiVe "));
+            assertThat(eventBusService.getImplementation(), is("native"));
+        }
+
         @Test
         public void implementation_setToEmptyString() throws Exception {
             eventBusService.init(ImmutableMap.of(EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, ""));
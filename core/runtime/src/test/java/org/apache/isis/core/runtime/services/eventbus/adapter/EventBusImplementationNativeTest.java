@@ -0,0 +1,346 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.AfterCommit;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class EventBusImplementationNativeTest {
+
+    public static class SomeEvent implements Serializable { }
+    public static class SomeSubEvent extends SomeEvent { }
+
+    public static class Subscriber {
+        final List<String> received = Lists.newArrayList();
+        @Subscribe
+        public void onObject(final Object ev) {
+            received.add("object:" + ev.getClass().getSimpleName());
+        }
+        @Subscribe
+        public void onSomeEvent(final SomeEvent ev) {
+            received.add("someEvent:" + ev.getClass().getSimpleName());
+        }
+        public void notASubscriber(final SomeEvent ev) {
+            received.add("notASubscriber");
+        }
+    }
+
+    public static class SubclassedSubscriber extends Subscriber {
+        @Override
+        public void onSomeEvent(final SomeEvent ev) {
+            received.add("overridden:" + ev.getClass().getSimpleName());
+        }
+    }
+
+    public static class ThrowingSubscriber {
+        @Subscribe
+        public void on(final SomeEvent ev) {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    public static class AfterCommitSubscriber {
+        @AfterCommit
+        @Subscribe
+        public void on(final SomeEvent ev) {
+        }
+    }
+
+    EventBusImplementationNative eventBus;
+
+    @Before
+    public void setUp() throws Exception {
+        eventBus = new EventBusImplementationNative(1, 10);
+    }
+
+    public static class Post extends EventBusImplementationNativeTest {
+
+        @Test
+        public void dispatches_to_subscribers_for_event_class_and_its_supertypes() throws Exception {
+            final Subscriber subscriber = new Subscriber();
+            eventBus.register(subscriber);
+
+            eventBus.post(new SomeSubEvent());
+            eventBus.post("a string");
+
+            assertThat(subscriber.received.subList(0, 2),
+                    containsInAnyOrder("object:SomeSubEvent", "someEvent:SomeSubEvent"));
+            assertThat(subscriber.received.subList(2, 3), contains("object:String"));
+        }
+
+        @Test
+        public void dispatches_to_overridden_subscriber_methods_once() throws Exception {
+            final SubclassedSubscriber subscriber = new SubclassedSubscriber();
+            eventBus.register(subscriber);
+
+            eventBus.post(new SomeEvent());
+
+            assertThat(subscriber.received, containsInAnyOrder("object:SomeEvent", "overridden:SomeEvent"));
+        }
+
+        @Test
+        public void registering_more_than_once_is_ignored() throws Exception {
+            final Subscriber subscriber = new Subscriber();
+            eventBus.register(subscriber);
+            eventBus.register(subscriber);
+
+            eventBus.post(new SomeEvent());
+
+            assertThat(subscriber.received, containsInAnyOrder("object:SomeEvent", "someEvent:SomeEvent"));
+        }
+
+        @Test
+        public void exceptions_for_events_other_than_domain_events_are_ignored() throws Exception {
+            eventBus.register(new ThrowingSubscriber());
+            final Subscriber subscriber = new Subscriber();
+            eventBus.register(subscriber);
+
+            eventBus.post(new SomeEvent());
+
+            assertThat(subscriber.received, containsInAnyOrder("object:SomeEvent", "someEvent:SomeEvent"));
+        }
+    }
+
+    public static class Index extends EventBusImplementationNativeTest {
+
+        @Test
+        public void no_subscribers() throws Exception {
+            eventBus.register(new ThrowingSubscriber());
+
+            assertThat(eventBusIndex().dispatchFor(String.class),
+                    is(sameInstance(EventBusImplementationNative.Dispatch.NONE)));
+        }
+
+        @Test
+        public void dispatch_is_cached_per_event_class() throws Exception {
+            eventBus.register(new Subscriber());
+
+            final EventBusImplementationNative.Dispatch dispatch = eventBusIndex().dispatchFor(SomeSubEvent.class);
+
+            assertThat(dispatch.subscribers.size(), is(2));
+            assertThat(eventBusIndex().dispatchFor(SomeSubEvent.class), is(sameInstance(dispatch)));
+        }
+
+        @Test
+        public void rebuilt_on_registration() throws Exception {
+            eventBus.register(new ThrowingSubscriber());
+            final EventBusImplementationNative.Dispatch before = eventBusIndex().dispatchFor(SomeEvent.class);
+
+            eventBus.register(new Subscriber());
+
+            assertThat(before.subscribers.size(), is(1));
+            assertThat(eventBusIndex().dispatchFor(SomeEvent.class).subscribers.size(), is(3));
+        }
+
+        @Test
+        public void after_commit_subscribers_are_not_called_synchronously() throws Exception {
+            eventBus.register(new AfterCommitSubscriber());
+
+            final EventBusImplementationNative.Dispatch dispatch = eventBusIndex().dispatchFor(SomeEvent.class);
+
+            assertThat(dispatch.subscribers, is(empty()));
+            assertThat(dispatch.afterCommitSubscribers.size(), is(1));
+            eventBus.shutdown();
+        }
+
+        @Test
+        public void hierarchyOf() throws Exception {
+            assertThat(EventBusImplementationNative.hierarchyOf(SomeSubEvent.class),
+                    contains(SomeSubEvent.class, SomeEvent.class, Object.class, Serializable.class));
+        }
+
+        private EventBusImplementationNative.Index eventBusIndex() {
+            return eventBus.index;
+        }
+    }
+
+    public static class AfterCommitDelivery extends EventBusImplementationNativeTest {
+
+        public static class Customer {
+            final String name;
+            Customer(final String name) {
+                this.name = name;
+            }
+        }
+
+        public static class CustomerActionEvent extends ActionDomainEvent<Customer> { }
+
+        public static class CustomerSubscriber {
+            final List<String> received = Collections.synchronizedList(Lists.<String>newArrayList());
+            final CountDownLatch latch = new CountDownLatch(1);
+            volatile CustomerActionEvent event;
+            volatile Thread thread;
+
+            @AfterCommit
+            @Subscribe
+            public void on(final CustomerActionEvent ev) {
+                received.add("customer");
+                event = ev;
+                thread = Thread.currentThread();
+                latch.countDown();
+            }
+        }
+
+        public static class ThrowingAfterCommitSubscriber {
+            @AfterCommit
+            @Subscribe
+            public void on(final CustomerActionEvent ev) {
+                throw new IllegalStateException("boom");
+            }
+        }
+
+        /**
+         * The entities as looked up in the delivering session.
+         */
+        private final Map<String, Customer> customersInOtherSession = Maps.newHashMap();
+
+        private final Customer fred = new Customer("fred");
+        private final Customer mary = new Customer("mary");
+
+        @Before
+        public void setUp() throws Exception {
+            customersInOtherSession.put("fred", new Customer("fred"));
+            customersInOtherSession.put("mary", new Customer("mary"));
+
+            eventBus = new EventBusImplementationNative(1, 10) {
+                @Override
+                IsisSession currentSessionIfAny() {
+                    return null;
+                }
+
+                @Override
+                Bookmark bookmarkIfPersistentEntity(final Object pojo) {
+                    return pojo instanceof Customer ? new Bookmark("CUS", ((Customer) pojo).name) : null;
+                }
+
+                @Override
+                Object lookup(final Bookmark bookmark) {
+                    return customersInOtherSession.get(bookmark.getIdentifier());
+                }
+
+                @Override
+                void runInSession(final Runnable runnable, final AuthenticationSession authenticationSession) {
+                    runnable.run();
+                }
+
+                @Override
+                void runInTransaction(final Runnable runnable) {
+                    runnable.run();
+                }
+            };
+        }
+
+        @After
+        public void tearDown() throws Exception {
+            eventBus.shutdown();
+        }
+
+        @Test
+        public void entities_are_reresolved_on_another_thread() throws Exception {
+            final CustomerSubscriber subscriber = new CustomerSubscriber();
+            eventBus.register(subscriber);
+
+            final Bookmark bookmarkArg = new Bookmark("CUS", "mary");
+            eventBus.post(executed(fred, Arrays.<Object>asList(mary, "a string", bookmarkArg), mary));
+
+            assertThat(subscriber.latch.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(subscriber.thread, is(not(sameInstance(Thread.currentThread()))));
+
+            final CustomerActionEvent ev = subscriber.event;
+            assertThat(ev.getSource(), is(sameInstance(customersInOtherSession.get("fred"))));
+            assertThat(ev.getArguments().get(0), is(sameInstance((Object) customersInOtherSession.get("mary"))));
+            assertThat(ev.getArguments().get(1), is((Object) "a string"));
+            // a bookmark that is itself an argument is left as is
+            assertThat(ev.getArguments().get(2), is(sameInstance((Object) bookmarkArg)));
+            assertThat(ev.getReturnValue(), is(sameInstance((Object) customersInOtherSession.get("mary"))));
+        }
+
+        @Test
+        public void exception_thrown_by_one_subscriber_does_not_prevent_delivery_to_others() throws Exception {
+            eventBus.register(new ThrowingAfterCommitSubscriber());
+            final CustomerSubscriber subscriber = new CustomerSubscriber();
+            eventBus.register(subscriber);
+
+            eventBus.post(executed(fred, Collections.emptyList(), null));
+
+            assertThat(subscriber.latch.await(5, TimeUnit.SECONDS), is(true));
+        }
+
+        @Test
+        public void phases_other_than_executed_are_not_delivered() throws Exception {
+            final CustomerSubscriber subscriber = new CustomerSubscriber();
+            eventBus.register(subscriber);
+
+            final CustomerActionEvent ev = executed(fred, Collections.emptyList(), null);
+            ev.setEventPhase(AbstractDomainEvent.Phase.EXECUTING);
+            eventBus.post(ev);
+
+            assertThat(subscriber.latch.await(200, TimeUnit.MILLISECONDS), is(false));
+        }
+
+        @Test
+        public void not_delivered_once_shutdown() throws Exception {
+            final CustomerSubscriber subscriber = new CustomerSubscriber();
+            eventBus.register(subscriber);
+            eventBus.shutdown();
+
+            eventBus.post(executed(fred, Collections.emptyList(), null));
+
+            assertThat(subscriber.latch.await(200, TimeUnit.MILLISECONDS), is(false));
+            assertThat(subscriber.received, is(empty()));
+        }
+
+        private static CustomerActionEvent executed(
+                final Customer source, final List<Object> arguments, final Object returnValue) {
+            final CustomerActionEvent ev = new CustomerActionEvent();
+            ev.setSource(source);
+            ev.setArguments(arguments);
+            ev.setReturnValue(returnValue);
+            ev.setEventPhase(AbstractDomainEvent.Phase.EXECUTED);
+            return ev;
+        }
+    }
+
+}
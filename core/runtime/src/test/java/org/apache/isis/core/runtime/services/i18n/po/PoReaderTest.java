@@ -230,6 +230,47 @@ protected List<String> readPo(final Locale locale) {
             // then
             assertThat(translated, is(equalTo("Something to translate")));
        }
+
+        @Test
+        public void readOncePerLocale() throws Exception {
+
+            // given
+            final int[] reads = {0};
+            poReader = new PoReader(mockTranslationServicePo) {
+                @Override
+                protected List<String> readPo(final Locale locale) {
+                    reads[0]++;
+                    final List<String> lines = Lists.newArrayList();
+                    lines.add("#: someContext");
+                    lines.add("msgid \"Parameters\"");
+                    lines.add("msgstr \"Paramètres\"");
+                    return lines;
+                }
+            };
+
+            // when
+            final String translated1 = poReader.translate("someContext", "Parameters");
+            final String translated2 = poReader.translate("someOtherContext", "Parameters");
+
+            // then
+            assertThat(translated1, is(equalTo("Paramètres")));
+            assertThat(translated2, is(equalTo("Parameters")));
+            assertThat(reads[0], is(1));
+        }
+    }
+
+    public static class ParseLocales extends PoReaderTest {
+
+        @Test
+        public void happyCase() throws Exception {
+            assertThat(TranslationServicePo.parseLocales("en, fr_FR,de-DE"),
+                    is(equalTo((List<Locale>) Lists.newArrayList(Locale.ENGLISH, Locale.FRANCE, Locale.GERMANY))));
+        }
+
+        @Test
+        public void whenNull() throws Exception {
+            assertThat(TranslationServicePo.parseLocales(null).isEmpty(), is(true));
+        }
     }
 
 }
\ No newline at end of file
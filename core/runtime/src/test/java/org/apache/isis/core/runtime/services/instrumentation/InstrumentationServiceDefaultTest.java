@@ -0,0 +1,136 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.instrumentation;
+
+import java.util.Collections;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.metrics.InstrumentationService.Phase;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class InstrumentationServiceDefaultTest {
+
+    InstrumentationServiceDefault instrumentationService;
+
+    @Before
+    public void setUp() throws Exception {
+        instrumentationService = new InstrumentationServiceDefault();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        instrumentationService.shutdown();
+    }
+
+    public static class Init extends InstrumentationServiceDefaultTest {
+
+        @Test
+        public void disabled_by_default() throws Exception {
+            instrumentationService.init(Collections.<String, String>emptyMap());
+
+            assertThat(instrumentationService.isEnabled(), is(false));
+        }
+
+        @Test
+        public void enabled() throws Exception {
+            instrumentationService.init(ImmutableMap.of(InstrumentationServiceDefault.KEY_ENABLED, "true"));
+
+            assertThat(instrumentationService.isEnabled(), is(true));
+        }
+    }
+
+    public static class Recorded extends InstrumentationServiceDefaultTest {
+
+        @Test
+        public void per_phase_and_per_member() throws Exception {
+            instrumentationService.recorded(Phase.ACTION_INVOCATION, "Customer#placeOrder()", 3000000L);
+            instrumentationService.recorded(Phase.ACTION_INVOCATION, "Customer#placeOrder()", 5000000L);
+            instrumentationService.recorded(Phase.ACTION_INVOCATION, "Customer#cancel()", 1000000L);
+            instrumentationService.recorded(Phase.FLUSH, "flush", 200000L);
+
+            assertThat(instrumentationService.getHistogram(Phase.ACTION_INVOCATION).getCount(), is(3L));
+            assertThat(instrumentationService.getHistogram(Phase.ACTION_INVOCATION, "Customer#placeOrder()").getCount(), is(2L));
+            assertThat(instrumentationService.getHistogram(Phase.ACTION_INVOCATION, "Customer#placeOrder()").getMeanMicros(), is(4000L));
+            assertThat(instrumentationService.getHistogram(Phase.ACTION_INVOCATION, "Customer#placeOrder()").getMaxMicros(), is(5000L));
+            assertThat(instrumentationService.getHistogram(Phase.FLUSH).getCount(), is(1L));
+            assertThat(instrumentationService.getHistogram(Phase.QUERY), is(nullValue()));
+
+            assertThat(instrumentationService.getCountByPhase().get("ACTION_INVOCATION"), is(3L));
+        }
+
+        @Test
+        public void as_json() throws Exception {
+            instrumentationService.recorded(Phase.QUERY, "Customer#\"findByName\"", 1500L);
+
+            final String json = instrumentationService.getStatisticsAsJson();
+
+            assertThat(json, containsString("\"QUERY\""));
+            assertThat(json, containsString("\"Customer#\\\"findByName\\\"\": { \"count\": 1"));
+        }
+
+        @Test
+        public void reset() throws Exception {
+            instrumentationService.recorded(Phase.COMMIT, "commit", 1500L);
+
+            instrumentationService.reset();
+
+            assertThat(instrumentationService.getHistogram(Phase.COMMIT), is(nullValue()));
+            assertThat(instrumentationService.getStatisticsAsJson(), is("{}"));
+        }
+    }
+
+    public static class Histogram extends InstrumentationServiceDefaultTest {
+
+        @Test
+        public void bucketFor() throws Exception {
+            assertThat(LatencyHistogram.bucketFor(0L), is(0));
+            assertThat(LatencyHistogram.bucketFor(1000L), is(0));
+            assertThat(LatencyHistogram.bucketFor(1001L), is(1));
+            assertThat(LatencyHistogram.bucketFor(2000L), is(1));
+            assertThat(LatencyHistogram.bucketFor(3000L), is(2));
+            assertThat(LatencyHistogram.bucketFor(4000L), is(2));
+            assertThat(LatencyHistogram.bucketFor(4001L), is(3));
+            assertThat(LatencyHistogram.bucketFor(Long.MAX_VALUE), is(LatencyHistogram.NUMBER_OF_BUCKETS - 1));
+        }
+
+        @Test
+        public void percentiles() throws Exception {
+            final LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 99; i++) {
+                histogram.record(100000L);     // 100us, so in the 128us bucket
+            }
+            histogram.record(50000000L);       // 50ms
+
+            assertThat(histogram.getPercentileMicros(50), is(128L));
+            assertThat(histogram.getPercentileMicros(99), is(128L));
+            assertThat(histogram.getPercentileMicros(100), is(50000L));
+            assertThat(histogram.getMaxMicros(), is(50000L));
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.zip.DeflaterOutputStream;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.memento.MementoService.Memento;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+public class MementoServiceDefaultTest_binary {
+
+    private MementoServiceDefault xmlMementoService;
+    private MementoServiceDefault binaryMementoService;
+
+    @Before
+    public void setUp() throws Exception {
+        xmlMementoService = new MementoServiceDefault();
+        xmlMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+        xmlMementoService.init(ImmutableMap.<String,String>of());
+
+        binaryMementoService = new MementoServiceDefault();
+        binaryMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+        binaryMementoService.init(ImmutableMap.of(
+                MementoServiceDefault.KEY_ENCODING, MementoServiceDefault.ENCODING_BINARY,
+                MementoServiceDefault.KEY_COMPRESS, "true"));
+    }
+
+    static enum DOW {
+        Mon,Tue,Wed,Thu,Fri
+    }
+
+    @Test
+    public void roundtrip() {
+        final Memento memento = binaryMementoService.create();
+
+        memento.set("someString", "a string");
+        memento.set("someByte", (byte)123);
+        memento.set("someShort", (short)12345);
+        memento.set("someInt", 123456789);
+        memento.set("someLong", 1234567890123456789L);
+        memento.set("someFloat", 123.45F);
+        memento.set("someDouble", 1234567890.123456);
+        memento.set("someBooleanTrue", Boolean.TRUE);
+        memento.set("someBigInteger", new BigInteger("-123456789012345678901234567890"));
+        memento.set("someBigDecimal", new BigDecimal("123456789012345678901234567890.123456789"));
+        memento.set("someLocalDate", new LocalDate(2013,9,3));
+        memento.set("someJavaUtilDate", new Date(300000000));
+        memento.set("someBookmark", new Bookmark("CUS", "12345"));
+        memento.set("someNullValue", null);
+        memento.set("someEnum", DOW.Wed);
+
+        final Memento memento2 = binaryMementoService.parse(memento.asString());
+
+        assertThat(memento2.keySet(), is(memento.keySet()));
+        assertThat(memento2.get("someString", String.class), is("a string"));
+        assertThat(memento2.get("someByte", Byte.class), is((byte)123));
+        assertThat(memento2.get("someShort", Short.class), is((short)12345));
+        assertThat(memento2.get("someInt", int.class), is(123456789));
+        assertThat(memento2.get("someLong", Long.class), is(1234567890123456789L));
+        assertThat(memento2.get("someFloat", Float.class), is(123.45F));
+        assertThat(memento2.get("someDouble", Double.class), is(1234567890.123456));
+        assertThat(memento2.get("someBooleanTrue", Boolean.class), is(Boolean.TRUE));
+        assertThat(memento2.get("someBigInteger", BigInteger.class), is(new BigInteger("-123456789012345678901234567890")));
+        assertThat(memento2.get("someBigDecimal", BigDecimal.class), is(new BigDecimal("123456789012345678901234567890.123456789")));
+        assertThat(memento2.get("someLocalDate", LocalDate.class), is(new LocalDate(2013,9,3)));
+        assertThat(memento2.get("someJavaUtilDate", Date.class), is(new Date(300000000)));
+        assertThat(memento2.get("someBookmark", Bookmark.class), is(new Bookmark("CUS", "12345")));
+        assertThat(memento2.get("someNullValue", Bookmark.class), is(nullValue()));
+        assertThat(memento2.get("someEnum", DOW.class), is(DOW.Wed));
+    }
+
+    @Test
+    public void compressed_and_shorter_than_xml() {
+        final String longString = Strings.repeat("lorem ipsum ", 100);
+
+        final String xml = xmlMementoService.create().set("someString", longString).asString();
+        final String binary = binaryMementoService.create().set("someString", longString).asString();
+
+        assertThat(binary.length() < xml.length() / 4, is(true));
+        assertThat(binaryMementoService.parse(binary).get("someString", String.class), is(longString));
+    }
+
+    @Test
+    public void can_parse_xml_memento() {
+        final String xml = xmlMementoService.create().set("someInt", 123).set("someEnum", DOW.Fri).asString();
+
+        final Memento memento = binaryMementoService.parse(xml);
+
+        assertThat(memento.get("someInt", Integer.class), is(123));
+        assertThat(memento.get("someEnum", DOW.class), is(DOW.Fri));
+    }
+
+    @Test
+    public void xml_service_can_parse_binary_memento() {
+        final String binary = binaryMementoService.create().set("someInt", 123).asString();
+
+        final Memento memento = xmlMementoService.parse(binary);
+
+        assertThat(memento.get("someInt", Integer.class), is(123));
+    }
+
+    @Test(expected = IsisException.class)
+    public void rejects_entry_count_exceeding_payload() {
+        MementoBinary.decode(bytes(MementoBinary.VERSION_1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+    }
+
+    @Test(expected = IsisException.class)
+    public void rejects_string_length_exceeding_payload() {
+        MementoBinary.decode(bytes(MementoBinary.VERSION_1, 0, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 'a', 'b'));
+    }
+
+    @Test(expected = IsisException.class)
+    public void rejects_negative_length() {
+        MementoBinary.decode(bytes(MementoBinary.VERSION_1, 0, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 'a', 'b'));
+    }
+
+    @Test(expected = IsisException.class)
+    public void rejects_payload_exceeding_max_inflated_size() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(MementoBinary.VERSION_1);
+        out.write(0x01); // deflated
+        try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out)) {
+            deflaterOut.write(new byte[MementoBinary.MAX_INFLATED_SIZE + 1]);
+        }
+
+        MementoBinary.decode(out.toByteArray());
+    }
+
+    @Test
+    public void is_binary_tolerates_strings_that_are_not_base64() {
+        assertThat(MementoBinary.isBinary("<me"), is(false));
+        assertThat(MementoBinary.isBinary("%%%%%%"), is(false));
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.sessmgmt;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SessionManagementServiceDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    protected PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+
+    protected SessionManagementServiceDefault service;
+
+    /**
+     * Runs each callable directly (rather than in a new Isis session), but wrapping any exception just as
+     * {@link org.apache.isis.core.runtime.system.session.IsisSessionFactory#doInSession(Callable, AuthenticationSession)}
+     * does.
+     */
+    @Before
+    public void setUp() throws Exception {
+        service = new SessionManagementServiceDefault() {
+            @Override
+            AuthenticationSession currentAuthenticationSession() {
+                return null;
+            }
+
+            @Override
+            <T> T callInSession(final Callable<T> callable, final AuthenticationSession authenticationSession) {
+                try {
+                    return callable.call();
+                } catch (Exception ex) {
+                    throw new RuntimeException("An error occurred while executing code in a temporary session", ex);
+                }
+            }
+        };
+        service.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+        service.init(ImmutableMap.of(SessionManagementServiceDefault.KEY_PARALLELISM, "3"));
+    }
+
+    public static class CallInParallelSessions extends SessionManagementServiceDefaultTest {
+
+        private final Sequence sequence = context.sequence("transactions");
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+            context.checking(new Expectations() {{
+                oneOf(mockPersistenceSessionServiceInternal).commit();
+                inSequence(sequence);
+                oneOf(mockPersistenceSessionServiceInternal).beginTran();
+                inSequence(sequence);
+            }});
+        }
+
+        @Test
+        public void results_in_order_of_callables_rather_than_of_completion() throws Exception {
+            final List<String> results = service.callInParallelSessions(Lists.newArrayList(
+                    sleepThenReturn(300, "a"),
+                    sleepThenReturn(150, "b"),
+                    sleepThenReturn(0, "c")));
+
+            assertThat(results, is((List<String>) Lists.newArrayList("a", "b", "c")));
+        }
+
+        @Test
+        public void callables_run_concurrently() throws Exception {
+            final CyclicBarrier barrier = new CyclicBarrier(3);
+            final List<Callable<Integer>> callables = Lists.newArrayList();
+            for (int i = 0; i < 3; i++) {
+                callables.add(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        // would time out unless all three are running at the same time
+                        return barrier.await(5, TimeUnit.SECONDS);
+                    }
+                });
+            }
+
+            assertThat(service.callInParallelSessions(callables).size(), is(3));
+        }
+
+        @Test
+        public void first_failure_rethrown_once_all_have_completed() throws Exception {
+            final AtomicBoolean slowestCompleted = new AtomicBoolean();
+            final List<Callable<String>> callables = Lists.newArrayList();
+            callables.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    Thread.sleep(100);
+                    throw new IllegalStateException("first");
+                }
+            });
+            callables.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    throw new IllegalArgumentException("second, but fails sooner");
+                }
+            });
+            callables.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    Thread.sleep(300);
+                    slowestCompleted.set(true);
+                    return "slowest";
+                }
+            });
+
+            try {
+                service.callInParallelSessions(callables);
+                fail();
+            } catch (final IllegalStateException ex) {
+                assertThat(ex.getMessage(), is("first"));
+            }
+            assertThat(slowestCompleted.get(), is(true));
+        }
+
+        @Test
+        public void checked_exception_rethrown_wrapped() throws Exception {
+            final List<Callable<String>> callables = Lists.newArrayList();
+            callables.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    throw new IOException("checked");
+                }
+            });
+            callables.add(sleepThenReturn(0, "ok"));
+
+            try {
+                service.callInParallelSessions(callables);
+                fail();
+            } catch (final RuntimeException ex) {
+                assertThat(ex.getCause(), is(instanceOf(IOException.class)));
+            }
+        }
+    }
+
+    public static class CallInParallelSessions_none extends SessionManagementServiceDefaultTest {
+
+        @Test
+        public void does_not_commit() throws Exception {
+            context.checking(new Expectations() {{
+                never(mockPersistenceSessionServiceInternal);
+            }});
+
+            final List<String> results =
+                    service.callInParallelSessions(Collections.<Callable<String>>emptyList());
+
+            assertThat(results, is(empty()));
+        }
+    }
+
+    private static Callable<String> sleepThenReturn(final long millis, final String result) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                Thread.sleep(millis);
+                return result;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Collection;
+import java.util.Set;
+
+import javax.jdo.FetchGroup;
+import javax.jdo.FetchPlan;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class DerivedFetchGroupsTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private FetchPlan mockFetchPlan;
+
+    private final Set<String> groups = Sets.newHashSet(FetchGroup.DEFAULT);
+    private final Collection<String> originalGroups = ImmutableSet.of(FetchGroup.DEFAULT);
+
+    @Test
+    public void addForTable_then_restore() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockFetchPlan).getGroups();
+            will(returnValue(groups));
+            allowing(mockFetchPlan).getMaxFetchDepth();
+            will(returnValue(1));
+
+            oneOf(mockFetchPlan).addGroup(DerivedFetchGroups.TABLE);
+        }});
+
+        final FetchPlanState fetchPlanState = DerivedFetchGroups.addForTable(mockFetchPlan);
+        context.assertIsSatisfied();
+
+        // the fetch plan's groups (as returned by getGroups) are not captured by reference
+        groups.add(DerivedFetchGroups.TABLE);
+
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).setGroups(originalGroups);
+            oneOf(mockFetchPlan).setMaxFetchDepth(1);
+        }});
+
+        fetchPlanState.restoreTo(mockFetchPlan);
+    }
+
+    @Test
+    public void addForObjectForm_then_restore() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockFetchPlan).getGroups();
+            will(returnValue(groups));
+            allowing(mockFetchPlan).getMaxFetchDepth();
+            will(returnValue(1));
+
+            oneOf(mockFetchPlan).addGroup(DerivedFetchGroups.OBJECT_FORM);
+            oneOf(mockFetchPlan).addGroup(DerivedFetchGroups.TABLE);
+            oneOf(mockFetchPlan).setMaxFetchDepth(DerivedFetchGroups.MAX_FETCH_DEPTH);
+        }});
+
+        final FetchPlanState fetchPlanState = DerivedFetchGroups.addForObjectForm(mockFetchPlan);
+        context.assertIsSatisfied();
+
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).setGroups(originalGroups);
+            oneOf(mockFetchPlan).setMaxFetchDepth(1);
+        }});
+
+        fetchPlanState.restoreTo(mockFetchPlan);
+    }
+
+    @Test
+    public void addForObjectForm_does_not_limit_unlimited_fetch_depth() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockFetchPlan).getGroups();
+            will(returnValue(groups));
+            allowing(mockFetchPlan).getMaxFetchDepth();
+            will(returnValue(-1)); // ie unlimited
+
+            oneOf(mockFetchPlan).addGroup(DerivedFetchGroups.OBJECT_FORM);
+            oneOf(mockFetchPlan).addGroup(DerivedFetchGroups.TABLE);
+            never(mockFetchPlan).setMaxFetchDepth(with(any(Integer.class)));
+        }});
+
+        DerivedFetchGroups.addForObjectForm(mockFetchPlan);
+    }
+
+}
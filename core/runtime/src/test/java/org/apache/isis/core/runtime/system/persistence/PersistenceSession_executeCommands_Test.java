@@ -0,0 +1,154 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommandContext;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class PersistenceSession_executeCommands_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+
+    private final Sequence sequence = context.sequence("commands");
+
+    @Test
+    public void consecutive_creates_are_batched_between_deletes() throws Exception {
+        final Object a = new Object();
+        final Object b = new Object();
+        final Object c = new Object();
+        final Object d = new Object();
+        final Object e = new Object();
+
+        final DestroyObjectCommand delete1 = mockDelete("delete1");
+        final DestroyObjectCommand delete2 = mockDelete("delete2");
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).makePersistentAll(Arrays.asList(a, b));
+            inSequence(sequence);
+            oneOf(delete1).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).makePersistent(c);
+            inSequence(sequence);
+            oneOf(delete2).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).makePersistentAll(Arrays.asList(d, e));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).flush();
+            inSequence(sequence);
+        }});
+
+        PersistenceSession.executeCommands(Arrays.<PersistenceCommand>asList(
+                mockCreate("a", a, true),
+                mockCreate("b", b, true),
+                delete1,
+                mockCreate("c", c, true),
+                delete2,
+                mockCreate("d", d, true),
+                mockCreate("e", e, true)
+        ), mockPersistenceManager);
+    }
+
+    @Test
+    public void creates_already_persisted_by_reachability_are_skipped() throws Exception {
+        final Object a = new Object();
+        final Object b = new Object();
+        final Object c = new Object();
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).makePersistentAll(Arrays.asList(a, c));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).flush();
+            inSequence(sequence);
+        }});
+
+        PersistenceSession.executeCommands(Arrays.<PersistenceCommand>asList(
+                mockCreate("a", a, true),
+                mockCreate("b", b, false),
+                mockCreate("c", c, true)
+        ), mockPersistenceManager);
+    }
+
+    @Test
+    public void deletes_only() throws Exception {
+        final DestroyObjectCommand delete1 = mockDelete("delete1");
+        final DestroyObjectCommand delete2 = mockDelete("delete2");
+
+        context.checking(new Expectations() {{
+            oneOf(delete1).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(delete2).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(mockPersistenceManager).flush();
+            inSequence(sequence);
+        }});
+
+        PersistenceSession.executeCommands(Arrays.<PersistenceCommand>asList(delete1, delete2), mockPersistenceManager);
+    }
+
+    @Test
+    public void no_commands_still_flushes() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).flush();
+        }});
+
+        PersistenceSession.executeCommands(Collections.<PersistenceCommand>emptyList(), mockPersistenceManager);
+    }
+
+    private CreateObjectCommand mockCreate(final String name, final Object domainObject, final boolean isTransient) {
+        final CreateObjectCommand command = context.mock(CreateObjectCommand.class, "create-" + name);
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "adapter-" + name);
+        context.checking(new Expectations() {{
+            allowing(command).onAdapter();
+            will(returnValue(adapter));
+            allowing(adapter).isTransient();
+            will(returnValue(isTransient));
+            allowing(adapter).getObject();
+            will(returnValue(domainObject));
+
+            never(command).execute(with(any(PersistenceCommandContext.class)));
+        }});
+        return command;
+    }
+
+    private DestroyObjectCommand mockDelete(final String name) {
+        return context.mock(DestroyObjectCommand.class, name);
+    }
+
+}
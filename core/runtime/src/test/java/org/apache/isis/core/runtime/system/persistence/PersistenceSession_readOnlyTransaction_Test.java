@@ -0,0 +1,381 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Transaction;
+
+import com.google.common.collect.Maps;
+
+import org.datanucleus.enhancement.Persistable;
+import org.jmock.Expectations;
+import org.jmock.States;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Bulk;
+import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.command.spi.CommandService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.factory.FactoryService;
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.MessageBroker;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.configinternal.ConfigurationServiceInternal;
+import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.Persistability;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionReadOnlyException;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Exercises a real {@link PersistenceSession} and {@link IsisTransactionManager} (and therefore real
+ * {@link IsisTransaction}s); only the services, the JDO {@link PersistenceManager} and the adapters are mocked.
+ */
+public class PersistenceSession_readOnlyTransaction_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private ConfigurationServiceInternal mockConfiguration;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private MessageBroker mockMessageBroker;
+    @Mock
+    private Command mockCommand;
+    @Mock
+    private PersistenceSessionServiceInternalDefault mockPersistenceSessionServiceInternal;
+    @Mock
+    private PublishingServiceInternal mockPublishingServiceInternal;
+    @Mock
+    private AuditingServiceInternal mockAuditingServiceInternal;
+    @Mock
+    private ChangedObjectsServiceInternal mockChangedObjectsServiceInternal;
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private Transaction mockJdoTransaction;
+
+    @Mock
+    private ObjectAdapter mockAdapter;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private Persistable mockPojo;
+
+    private final States jdoTransaction = context.states("jdoTransaction").startsAs("inactive");
+
+    private PersistenceSession persistenceSession;
+    private IsisTransactionManager transactionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        final CommandContext commandContext = new CommandContext();
+        commandContext.setCommand(mockCommand);
+        final InteractionContext interactionContext = new InteractionContext();
+        interactionContext.setInteraction(new Interaction());
+
+        final Map<Class<?>, Object> services = Maps.newHashMap();
+        services.put(CommandContext.class, commandContext);
+        services.put(InteractionContext.class, interactionContext);
+        services.put(PersistenceSessionServiceInternalDefault.class, mockPersistenceSessionServiceInternal);
+        services.put(PublishingServiceInternal.class, mockPublishingServiceInternal);
+        services.put(AuditingServiceInternal.class, mockAuditingServiceInternal);
+        services.put(ChangedObjectsServiceInternal.class, mockChangedObjectsServiceInternal);
+        for (final Class<?> serviceClass : new Class<?>[] {
+                CommandService.class, EventBusService.class, MetricsService.class, FactoryService.class,
+                ClockService.class, UserService.class, Bulk.InteractionContext.class }) {
+            services.put(serviceClass, context.mock(serviceClass));
+        }
+
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(mockConfiguration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+            allowing(mockServicesInjector).lookupService(with(any(Class.class)));
+            will(lookupIn(services));
+            allowing(mockServicesInjector).lookupServiceElseFail(with(any(Class.class)));
+            will(lookupIn(services));
+            allowing(mockServicesInjector).lookupServices(WithTransactionScope.class);
+            will(returnValue(Collections.emptyList()));
+            ignoring(mockConfiguration);
+
+            allowing(mockAuthenticationSession).getMessageBroker();
+            will(returnValue(mockMessageBroker));
+            allowing(mockCommand).getTransactionId();
+            will(returnValue(UUID.randomUUID()));
+
+            allowing(mockPersistenceManager).currentTransaction();
+            will(returnValue(mockJdoTransaction));
+            allowing(mockJdoTransaction).isActive();
+            when(jdoTransaction.is("active"));
+            will(returnValue(true));
+            allowing(mockJdoTransaction).isActive();
+            when(jdoTransaction.is("inactive"));
+            will(returnValue(false));
+            allowing(mockJdoTransaction).begin();
+            then(jdoTransaction.is("active"));
+
+            allowing(mockAdapter).getSpecification();
+            will(returnValue(mockSpecification));
+            allowing(mockAdapter).representsPersistent();
+            will(returnValue(false));
+            allowing(mockAdapter).isTransient();
+            will(returnValue(false));
+            allowing(mockSpecification).persistability();
+            will(returnValue(Persistability.USER_PERSISTABLE));
+            allowing(mockSpecification).isService();
+            will(returnValue(false));
+            allowing(mockSpecification).isParented();
+            will(returnValue(false));
+        }});
+
+        persistenceSession = new PersistenceSession(mockServicesInjector, mockAuthenticationSession, null, null, null) {
+            @Override
+            public PersistenceManager getPersistenceManager() {
+                return mockPersistenceManager;
+            }
+
+            @Override
+            public ObjectAdapter getAdapterFor(final Object pojo) {
+                return mockAdapter;
+            }
+
+            @Override
+            public ObjectAdapter adapterFor(final Object pojo) {
+                return mockAdapter;
+            }
+        };
+        transactionManager = persistenceSession.getTransactionManager();
+
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSessionServiceInternal).getTransactionManager();
+            will(returnValue(transactionManager));
+        }});
+    }
+
+    private static CustomAction lookupIn(final Map<Class<?>, Object> services) {
+        return new CustomAction("lookup service") {
+            @Override
+            public Object invoke(final Invocation invocation) throws Throwable {
+                return services.get(invocation.getParameter(0));
+            }
+        };
+    }
+
+    private void givenNothingDirtied() {
+        context.checking(new Expectations() {{
+            allowing(mockChangedObjectsServiceInternal).numberObjectsDirtied();
+            will(returnValue(0));
+        }});
+    }
+
+    private void startReadOnlyTransaction() {
+        givenNothingDirtied();
+        transactionManager.startTransaction(null, true);
+        assertThat(transactionManager.getCurrentTransaction().isReadOnly(), is(true));
+    }
+
+    @Test
+    public void persist_within_read_only_transaction_throws() throws Exception {
+        startReadOnlyTransaction();
+
+        try {
+            persistenceSession.makePersistentInTransaction(mockAdapter);
+            fail();
+        } catch (final IsisTransactionReadOnlyException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void delete_within_read_only_transaction_throws() throws Exception {
+        startReadOnlyTransaction();
+
+        try {
+            persistenceSession.destroyObjectInTransaction(mockAdapter);
+            fail();
+        } catch (final IsisTransactionReadOnlyException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void deleted_by_datastore_within_read_only_transaction_throws() throws Exception {
+        startReadOnlyTransaction();
+        context.checking(new Expectations() {{
+            never(mockChangedObjectsServiceInternal).enlistDeleting(with(any(ObjectAdapter.class)));
+        }});
+
+        try {
+            persistenceSession.enlistDeletingAndInvokeIsisRemovingCallbackFacet(mockPojo);
+            fail();
+        } catch (final IsisTransactionReadOnlyException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void dirtied_within_read_only_transaction_throws() throws Exception {
+        startReadOnlyTransaction();
+        context.checking(new Expectations() {{
+            never(mockChangedObjectsServiceInternal).enlistUpdating(with(any(ObjectAdapter.class)));
+        }});
+
+        try {
+            persistenceSession.enlistUpdatingAndInvokeIsisUpdatingCallback(mockPojo);
+            fail();
+        } catch (final IsisTransactionReadOnlyException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void read_only_transaction_is_rolled_back_rather_than_committed() throws Exception {
+        startReadOnlyTransaction();
+        final IsisTransaction transaction = transactionManager.getCurrentTransaction();
+
+        context.checking(new Expectations() {{
+            oneOf(mockJdoTransaction).rollback();
+            then(jdoTransaction.is("inactive"));
+            never(mockJdoTransaction).commit();
+
+            never(mockAuditingServiceInternal).audit();
+            never(mockPublishingServiceInternal).publishObjects();
+        }});
+
+        transactionManager.endTransaction();
+
+        assertThat(transaction.getState(), is(IsisTransaction.State.COMMITTED));
+    }
+
+    @Test
+    public void read_write_transaction_is_committed() throws Exception {
+        givenNothingDirtied();
+        transactionManager.startTransaction(null, false);
+        final IsisTransaction transaction = transactionManager.getCurrentTransaction();
+        assertThat(transaction.isReadOnly(), is(false));
+
+        context.checking(new Expectations() {{
+            oneOf(mockAuditingServiceInternal).audit();
+            oneOf(mockPublishingServiceInternal).publishObjects();
+
+            oneOf(mockJdoTransaction).commit();
+            then(jdoTransaction.is("inactive"));
+            never(mockJdoTransaction).rollback();
+        }});
+
+        transactionManager.endTransaction();
+
+        assertThat(transaction.getState(), is(IsisTransaction.State.COMMITTED));
+    }
+
+    @Test
+    public void mark_read_only_when_pristine() throws Exception {
+        givenNothingDirtied();
+        transactionManager.startTransaction();
+
+        assertThat(transactionManager.markTransactionReadOnlyIfPristine(), is(true));
+        assertThat(transactionManager.getCurrentTransaction().isReadOnly(), is(true));
+    }
+
+    @Test
+    public void mark_read_only_refused_once_command_queued() throws Exception {
+        givenNothingDirtied();
+        transactionManager.startTransaction();
+        final CreateObjectCommand mockCreateCommand = context.mock(CreateObjectCommand.class);
+        context.checking(new Expectations() {{
+            allowing(mockCreateCommand).onAdapter();
+            will(returnValue(mockAdapter));
+        }});
+        transactionManager.getCurrentTransaction().addCommand(mockCreateCommand);
+
+        assertThat(transactionManager.markTransactionReadOnlyIfPristine(), is(false));
+        assertThat(transactionManager.getCurrentTransaction().isReadOnly(), is(false));
+    }
+
+    @Test
+    public void mark_read_only_refused_once_object_dirtied() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockChangedObjectsServiceInternal).numberObjectsDirtied();
+            will(returnValue(1));
+        }});
+        transactionManager.startTransaction();
+
+        assertThat(transactionManager.markTransactionReadOnlyIfPristine(), is(false));
+        assertThat(transactionManager.getCurrentTransaction().isReadOnly(), is(false));
+    }
+
+    @Test
+    public void mark_read_only_refused_once_must_abort() throws Exception {
+        givenNothingDirtied();
+        transactionManager.startTransaction();
+        transactionManager.getCurrentTransaction().setAbortCause(
+                new IsisException("failed"));
+
+        assertThat(transactionManager.markTransactionReadOnlyIfPristine(), is(false));
+    }
+
+    @Test
+    public void start_read_only_within_read_write_transaction_is_not_read_only() throws Exception {
+        givenNothingDirtied();
+        transactionManager.startTransaction(null, false);
+        transactionManager.startTransaction(null, true);
+
+        assertThat(transactionManager.getCurrentTransaction().isReadOnly(), is(false));
+    }
+
+}
@@ -33,12 +33,17 @@
 import javax.naming.directory.SearchResult;
 import javax.naming.ldap.LdapContext;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.Permission;
 import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.authz.permission.PermissionResolver;
+import org.apache.shiro.authz.permission.RolePermissionResolver;
 import org.apache.shiro.config.Ini;
 import org.apache.shiro.realm.ldap.JndiLdapRealm;
 import org.apache.shiro.realm.ldap.LdapContextFactory;
@@ -46,6 +51,7 @@
 import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.util.StringUtils;
 
+import org.apache.isis.security.shiro.authorization.IsisPermissionIndex;
 import org.apache.isis.security.shiro.permrolemapper.PermissionToRoleMapper;
 import org.apache.isis.security.shiro.permrolemapper.PermissionToRoleMapperFromIni;
 import org.apache.isis.security.shiro.permrolemapper.PermissionToRoleMapperFromString;
@@ -221,6 +227,53 @@ protected AuthorizationInfo queryForAuthorizationInfo(final PrincipalCollection
         return simpleAuthorizationInfo;
     }
 
+    /**
+     * The permissions of each {@link AuthorizationInfo} (as loaded, and possibly cached, by this realm) are compiled
+     * once into an {@link IsisPermissionIndex}, rather than being scanned for every check.  Weakly keyed (by identity)
+     * so that the index is discarded along with the info.
+     */
+    private final Cache<AuthorizationInfo, IsisPermissionIndex> permissionIndexByInfo =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    @Override
+    protected boolean isPermitted(final Permission permission, final AuthorizationInfo info) {
+        if(info == null) {
+            return false;
+        }
+        IsisPermissionIndex permissionIndex = permissionIndexByInfo.getIfPresent(info);
+        if(permissionIndex == null) {
+            permissionIndex = new IsisPermissionIndex(permissionsOf(info));
+            permissionIndexByInfo.put(info, permissionIndex);
+        }
+        return permissionIndex.implies(permission);
+    }
+
+    /**
+     * As per the (private) <tt>AuthorizingRealm#getPermissions(AuthorizationInfo)</tt>.
+     */
+    private Collection<Permission> permissionsOf(final AuthorizationInfo info) {
+        final List<Permission> permissions = Lists.newArrayList();
+        if(info.getObjectPermissions() != null) {
+            permissions.addAll(info.getObjectPermissions());
+        }
+        final PermissionResolver permissionResolver = getPermissionResolver();
+        if(info.getStringPermissions() != null && permissionResolver != null) {
+            for (final String stringPermission : info.getStringPermissions()) {
+                permissions.add(permissionResolver.resolvePermission(stringPermission));
+            }
+        }
+        final RolePermissionResolver rolePermissionResolver = getRolePermissionResolver();
+        if(info.getRoles() != null && rolePermissionResolver != null) {
+            for (final String role : info.getRoles()) {
+                final Collection<Permission> rolePermissions = rolePermissionResolver.resolvePermissionsInRole(role);
+                if(rolePermissions != null) {
+                    permissions.addAll(rolePermissions);
+                }
+            }
+        }
+        return permissions;
+    }
+
     private Set<String>
     getPermissionForRole(String username, LdapContext ldapContext)
             throws NamingException {
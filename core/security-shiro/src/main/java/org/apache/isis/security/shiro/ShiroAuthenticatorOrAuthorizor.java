@@ -56,6 +56,7 @@
 import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
 import org.apache.isis.core.runtime.authorization.AuthorizationManagerInstaller;
 import org.apache.isis.core.runtime.authorization.standard.Authorizor;
+import org.apache.isis.security.shiro.authorization.AuthorizationDecisionCache;
 import org.apache.isis.security.shiro.authorization.IsisPermission;
 
 /**
@@ -77,6 +78,10 @@ public class ShiroAuthenticatorOrAuthorizor implements Authenticator, Authorizor
     //region > constructor and fields
     private final IsisConfiguration configuration;
     private final boolean autoLogout;
+    /**
+     * <tt>null</tt> if not enabled.
+     */
+    private final AuthorizationDecisionCache decisionCache;
 
     private DeploymentCategory deploymentCategory;
 
@@ -85,6 +90,7 @@ public ShiroAuthenticatorOrAuthorizor(final IsisConfiguration configuration) {
         autoLogout = configuration.getBoolean(
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_KEY,
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_DEFAULT);
+        decisionCache = AuthorizationDecisionCache.instanceFor(configuration);
     }
 
     public IsisConfiguration getConfiguration() {
@@ -103,6 +109,9 @@ public void init(final DeploymentCategory deploymentCategory) {
 
     @Override
     public void shutdown() {
+        if(decisionCache != null) {
+            LOG.info("Authorization decision cache: {}", decisionCache.getStats());
+        }
     }
 
     @Override
@@ -149,6 +158,7 @@ public AuthenticationSession authenticate(final AuthenticationRequest request, f
         }
         try {
             currentSubject.login(token);
+            invalidateDecisionCache(currentSubject);
         } catch ( UnknownAccountException uae ) { 
             LOG.info("Unknown account: {}", request.getName());
             return null;
@@ -176,10 +186,17 @@ public AuthenticationSession authenticate(final AuthenticationRequest request, f
     public void logout(final AuthenticationSession session) {
         Subject currentSubject = SecurityUtils.getSubject();
         if(currentSubject.isAuthenticated()) {
+            invalidateDecisionCache(currentSubject);
             currentSubject.logout();
         }
     }
 
+    private void invalidateDecisionCache(final Subject subject) {
+        if(decisionCache != null) {
+            decisionCache.invalidate(subject.getPrincipals());
+        }
+    }
+
     AuthenticationSession authenticationSessionFor(AuthenticationRequest request, String code, AuthenticationToken token, Subject currentSubject) {
         List<String> roles = getRoles(currentSubject, token);
         // copy over any roles passed in
@@ -258,7 +275,25 @@ private boolean isPermitted(Identifier identifier, String qualifier) {
         String permission = asPermissionsString(identifier) + ":" + qualifier;
 
         Subject subject = SecurityUtils.getSubject();
-        
+
+        final PrincipalCollection principals = subject.getPrincipals();
+        if(decisionCache == null || principals == null || principals.isEmpty()) {
+            return isPermitted(subject, permission);
+        }
+
+        final Collection<Realm> realms = securityManager.getRealms();
+        final Boolean cached = decisionCache.get(
+                principals, AuthorizationDecisionCache.fingerprintOf(realms, principals), permission);
+        if(cached != null) {
+            return cached;
+        }
+        final boolean permitted = isPermitted(subject, permission);
+        decisionCache.put(
+                principals, AuthorizationDecisionCache.fingerprintOf(realms, principals), permission, permitted);
+        return permitted;
+    }
+
+    private static boolean isPermitted(final Subject subject, final String permission) {
         try {
             return subject.isPermitted(permission);
         } finally {
@@ -0,0 +1,265 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.realm.AuthorizingRealm;
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.subject.PrincipalCollection;
+
+import org.apache.isis.core.commons.config.IsisConfiguration;
+
+/**
+ * Caches the outcome of {@link org.apache.shiro.subject.Subject#isPermitted(String)}, keyed by the subject's
+ * {@link PrincipalCollection} (which identifies both the principal and the realms that authenticated it), a
+ * {@link Fingerprint} of those realms' current authorization info for the subject, and the permission string (which
+ * encodes the feature identifier and whether visibility or usability is being checked).
+ *
+ * <p>
+ *     The fingerprint consists of the realms themselves and, for any {@link AuthorizingRealm} that caches its
+ *     {@link AuthorizationInfo}, the cached info (compared by identity).  When such a realm's roles or permissions
+ *     for a subject change, its cached info is cleared or replaced, and so previously cached decisions no longer
+ *     match.  Realms that do not cache their authorization info cannot be fingerprinted in this way; changes to their
+ *     data take effect once the subject's entries are invalidated (on login and logout), or once they expire, or
+ *     when {@link #invalidateAll()} is called.
+ * </p>
+ *
+ * <p>
+ *     There is one cache per {@link IsisConfiguration}, shared by the authenticator and authorizor.
+ * </p>
+ *
+ * <p>
+ *     Disabled by default, because it trades immediate visibility of permission changes for speed.
+ * </p>
+ */
+public class AuthorizationDecisionCache {
+
+    public static final String KEY_ENABLED = "isis.authorization.shiro.decisionCache.enabled";
+    public static final boolean ENABLED_DEFAULT = false;
+
+    public static final String KEY_MAX_SIZE = "isis.authorization.shiro.decisionCache.maxSize";
+    public static final int MAX_SIZE_DEFAULT = 10000;
+
+    public static final String KEY_EXPIRE_AFTER_WRITE_SECONDS = "isis.authorization.shiro.decisionCache.expireAfterWriteSeconds";
+    public static final int EXPIRE_AFTER_WRITE_SECONDS_DEFAULT = 300;
+
+    private static final Map<IsisConfiguration, AuthorizationDecisionCache> cacheByConfiguration =
+            new WeakHashMap<>();
+
+    /**
+     * Returns <tt>null</tt> if not {@link #KEY_ENABLED enabled}.
+     *
+     * <p>
+     *     Intended to be called only once by each of the authenticator and authorizor (when constructed), rather
+     *     than for every check.
+     * </p>
+     */
+    public static synchronized AuthorizationDecisionCache instanceFor(final IsisConfiguration configuration) {
+        if(!configuration.getBoolean(KEY_ENABLED, ENABLED_DEFAULT)) {
+            return null;
+        }
+        AuthorizationDecisionCache cache = cacheByConfiguration.get(configuration);
+        if(cache == null) {
+            cache = new AuthorizationDecisionCache(
+                    configuration.getInteger(KEY_MAX_SIZE, MAX_SIZE_DEFAULT),
+                    configuration.getInteger(KEY_EXPIRE_AFTER_WRITE_SECONDS, EXPIRE_AFTER_WRITE_SECONDS_DEFAULT));
+            cacheByConfiguration.put(configuration, cache);
+        }
+        return cache;
+    }
+
+    private final Cache<Key, Boolean> decisionByKey;
+
+    AuthorizationDecisionCache(final int maxSize, final int expireAfterWriteSeconds) {
+        decisionByKey = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached decision, or <tt>null</tt> if there is none.
+     */
+    public Boolean get(final PrincipalCollection principals, final Fingerprint fingerprint, final String permission) {
+        return decisionByKey.getIfPresent(new Key(principals, fingerprint, permission));
+    }
+
+    /**
+     * The fingerprint should be obtained <i>after</i> the decision was made, because making the decision may have
+     * caused the realm(s) to load (and cache) the authorization info.
+     */
+    public void put(
+            final PrincipalCollection principals, final Fingerprint fingerprint, final String permission,
+            final boolean permitted) {
+        decisionByKey.put(new Key(principals, fingerprint, permission), permitted);
+    }
+
+    /**
+     * Called on login and logout.
+     */
+    public void invalidate(final PrincipalCollection principals) {
+        if(principals == null) {
+            return;
+        }
+        final Iterator<Key> iterator = decisionByKey.asMap().keySet().iterator();
+        while (iterator.hasNext()) {
+            if(principals.equals(iterator.next().principals)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Should be called if the roles or permissions held by a realm that does not cache its authorization info are
+     * changed.
+     */
+    public void invalidateAll() {
+        decisionByKey.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return decisionByKey.stats();
+    }
+
+    /**
+     * Captures the realms that authenticated the subject, along with the authorization info (if any) that each has
+     * currently cached for it.
+     *
+     * <p>
+     *     Assumes that any {@link AuthorizingRealm} keys its authorization cache by the {@link PrincipalCollection}
+     *     (the default implementation of <tt>AuthorizingRealm#getAuthorizationCacheKey(PrincipalCollection)</tt>).
+     * </p>
+     */
+    public static Fingerprint fingerprintOf(final Collection<Realm> realms, final PrincipalCollection principals) {
+        final Set<String> realmNames = principals.getRealmNames();
+        final List<Object> parts = Lists.newArrayList();
+        for (final Realm realm : realms) {
+            if(!realmNames.contains(realm.getName())) {
+                continue;
+            }
+            parts.add(realm);
+            if(realm instanceof AuthorizingRealm) {
+                final org.apache.shiro.cache.Cache<Object, AuthorizationInfo> authorizationCache =
+                        ((AuthorizingRealm) realm).getAuthorizationCache();
+                if(authorizationCache != null) {
+                    parts.add(authorizationCache.get(principals));
+                }
+            }
+        }
+        return new Fingerprint(parts.toArray());
+    }
+
+    /**
+     * Compares its parts by identity, so that (for example) an authorization info that has been replaced by an equal
+     * one is still detected.
+     */
+    public static final class Fingerprint {
+        private final Object[] parts;
+        private final int hashCode;
+
+        Fingerprint(final Object[] parts) {
+            this.parts = parts;
+            int hashCode = 1;
+            for (final Object part : parts) {
+                hashCode = 31 * hashCode + System.identityHashCode(part);
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Fingerprint other = (Fingerprint) o;
+            if(parts.length != other.parts.length) {
+                return false;
+            }
+            for (int i = 0; i < parts.length; i++) {
+                if(parts[i] != other.parts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(parts);
+        }
+    }
+
+    static class Key {
+        private final PrincipalCollection principals;
+        private final Fingerprint fingerprint;
+        private final String permission;
+        private final int hashCode;
+
+        Key(final PrincipalCollection principals, final Fingerprint fingerprint, final String permission) {
+            this.principals = principals;
+            this.fingerprint = fingerprint;
+            this.permission = permission;
+            this.hashCode = 31 * (31 * principals.hashCode() + fingerprint.hashCode()) + permission.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return Objects.equals(permission, other.permission)
+                    && Objects.equals(principals, other.principals)
+                    && Objects.equals(fingerprint, other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
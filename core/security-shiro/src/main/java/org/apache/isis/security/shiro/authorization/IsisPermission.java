@@ -20,6 +20,7 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import com.google.common.collect.Lists;
@@ -110,6 +111,17 @@ String getPermissionGroup() {
         return permissionGroup;
     }
 
+    boolean isVeto() {
+        return veto;
+    }
+
+    /**
+     * Exposes the parsed parts (each a set of sub-parts) for {@link IsisPermissionIndex}.
+     */
+    List<Set<String>> parts() {
+        return getParts();
+    }
+
 
     @Override
     public boolean equals(Object other) {
@@ -0,0 +1,220 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.WildcardPermission;
+
+/**
+ * A compiled form of a set of {@link Permission}s (typically all of those granted to a subject across all its roles),
+ * such that checking whether they imply a given permission costs a handful of map lookups rather than a scan of every
+ * permission.
+ *
+ * <p>
+ *     The {@link IsisPermission}s are indexed in a trie keyed by each part (package, class, member and action) of the
+ *     permission, one trie for the grants and one for the vetoes of each permission group.  A permission is implied if
+ *     it is implied by a grant that is not vetoed by any veto in the same permission group.  This is the semantics
+ *     that {@link IsisPermission#implies(Permission)} provides when vetoes are evaluated before the grants (the
+ *     <tt>ThreadLocal</tt>-based implementation depends on the order in which the realm presents its permissions),
+ *     and without the need to {@link IsisPermission#resetVetoedPermissions() reset} any thread-local state.
+ * </p>
+ *
+ * <p>
+ *     Any other types of {@link Permission}, or any permission to be checked that is not an {@link IsisPermission}
+ *     or that has multiple sub-parts, is evaluated in the same way but by a linear scan.
+ * </p>
+ */
+public class IsisPermissionIndex {
+
+    private final Map<String, Node> grantsByGroup = Maps.newHashMap();
+    private final Map<String, Node> vetoesByGroup = Maps.newHashMap();
+
+    private final List<IsisPermission> grants = Lists.newArrayList();
+    private final List<IsisPermission> vetoes = Lists.newArrayList();
+    private final List<Permission> others = Lists.newArrayList();
+
+    public IsisPermissionIndex(final Collection<? extends Permission> permissions) {
+        for (final Permission permission : permissions) {
+            if(!(permission instanceof IsisPermission) || ((IsisPermission) permission).parts() == null) {
+                others.add(permission);
+                continue;
+            }
+            final IsisPermission isisPermission = (IsisPermission) permission;
+            final Map<String, Node> trieByGroup = isisPermission.isVeto() ? vetoesByGroup : grantsByGroup;
+            final String group = isisPermission.getPermissionGroup();
+            Node root = trieByGroup.get(group);
+            if(root == null) {
+                root = new Node();
+                trieByGroup.put(group, root);
+            }
+            root.add(isisPermission.parts(), 0);
+            (isisPermission.isVeto() ? vetoes : grants).add(isisPermission);
+        }
+    }
+
+    public boolean implies(final Permission permission) {
+        if(impliesByOthers(permission)) {
+            return true;
+        }
+        final String[] tokens = tokensOf(permission);
+        if(tokens == null) {
+            return impliesByScan(permission);
+        }
+        for (final Map.Entry<String, Node> entry : grantsByGroup.entrySet()) {
+            if(!entry.getValue().implies(tokens, 0)) {
+                continue;
+            }
+            final String group = entry.getKey();
+            final Node vetoes = group != null ? vetoesByGroup.get(group) : null;
+            if(vetoes == null || !vetoes.implies(tokens, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean impliesByOthers(final Permission permission) {
+        for (final Permission other : others) {
+            if(other.implies(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean impliesByScan(final Permission permission) {
+        for (final IsisPermission grant : grants) {
+            if(!grant.impliesWithoutVeto(permission)) {
+                continue;
+            }
+            if(!isVetoed(grant.getPermissionGroup(), permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isVetoed(final String group, final Permission permission) {
+        if(group == null) {
+            return false;
+        }
+        for (final IsisPermission veto : vetoes) {
+            if(group.equals(veto.getPermissionGroup()) && veto.impliesWithoutVeto(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns <tt>null</tt> if the permission cannot be looked up in the trie.
+     */
+    private static String[] tokensOf(final Permission permission) {
+        if(!(permission instanceof IsisPermission)) {
+            return null;
+        }
+        final List<Set<String>> parts = ((IsisPermission) permission).parts();
+        if(parts == null) {
+            return null;
+        }
+        final String[] tokens = new String[parts.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            final Set<String> part = parts.get(i);
+            if(part.size() != 1) {
+                return null;
+            }
+            tokens[i] = part.iterator().next();
+        }
+        return tokens;
+    }
+
+    /**
+     * A node of the trie, corresponding to some prefix of the parts of one or more permissions.
+     *
+     * <p>
+     *     Mirrors the matching rules of {@link WildcardPermission#implies(Permission)}: a permission with fewer parts
+     *     implies all permissions that match it so far, and a permission with more parts than the permission being
+     *     checked implies it only if its remaining parts are all wildcards.
+     * </p>
+     */
+    static class Node {
+
+        /**
+         * Same as {@link WildcardPermission}'s (protected) <tt>WILDCARD_TOKEN</tt>.
+         */
+        private static final String WILDCARD = "*";
+
+        private final Map<String, Node> childrenByToken = Maps.newHashMap();
+        private Node wildcardChild;
+        /**
+         * Whether a permission ends at this node.
+         */
+        private boolean terminal;
+
+        void add(final List<Set<String>> parts, final int i) {
+            if(i == parts.size()) {
+                terminal = true;
+                return;
+            }
+            final Set<String> part = parts.get(i);
+            if(part.contains(WILDCARD)) {
+                if(wildcardChild == null) {
+                    wildcardChild = new Node();
+                }
+                wildcardChild.add(parts, i + 1);
+                return;
+            }
+            for (final String token : part) {
+                Node child = childrenByToken.get(token);
+                if(child == null) {
+                    child = new Node();
+                    childrenByToken.put(token, child);
+                }
+                child.add(parts, i + 1);
+            }
+        }
+
+        boolean implies(final String[] tokens, final int i) {
+            if(terminal) {
+                return true;
+            }
+            if(i == tokens.length) {
+                return impliedByWildcardsOnly();
+            }
+            final Node child = childrenByToken.get(tokens[i]);
+            if(child != null && child.implies(tokens, i + 1)) {
+                return true;
+            }
+            return wildcardChild != null && wildcardChild.implies(tokens, i + 1);
+        }
+
+        private boolean impliedByWildcardsOnly() {
+            return wildcardChild != null && (wildcardChild.terminal || wildcardChild.impliedByWildcardsOnly());
+        }
+    }
+
+}
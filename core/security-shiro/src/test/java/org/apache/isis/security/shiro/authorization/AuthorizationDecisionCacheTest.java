@@ -0,0 +1,131 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.cache.MapCache;
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.realm.SimpleAccountRealm;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.security.shiro.authorization.AuthorizationDecisionCache.Fingerprint;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+public class AuthorizationDecisionCacheTest {
+
+    private AuthorizationDecisionCache cache;
+    private SimplePrincipalCollection sven;
+    private SimplePrincipalCollection dick;
+    private Fingerprint fingerprint;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new AuthorizationDecisionCache(100, 60);
+        sven = new SimplePrincipalCollection("sven", "iniRealm");
+        dick = new SimplePrincipalCollection("dick", "iniRealm");
+        fingerprint = AuthorizationDecisionCache.fingerprintOf(Collections.<Realm>emptyList(), sven);
+    }
+
+    @Test
+    public void hitAndMiss() throws Exception {
+        Assert.assertThat(cache.get(sven, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+
+        cache.put(sven, fingerprint, "com.mycompany:Customer:changeAddress:w", true);
+
+        Assert.assertThat(cache.get(sven, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(true));
+        Assert.assertThat(cache.get(sven, fingerprint, "com.mycompany:Customer:changeAddress:r"), is(nullValue()));
+        Assert.assertThat(cache.get(dick, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+        Assert.assertThat(cache.get(new SimplePrincipalCollection("sven", "ldapRealm"), fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+
+        Assert.assertThat(cache.getStats().hitCount(), is(1L));
+        Assert.assertThat(cache.getStats().missCount(), is(4L));
+    }
+
+    @Test
+    public void miss_when_realms_authorization_info_changed() throws Exception {
+        final SimpleAccountRealm realm = new SimpleAccountRealm("iniRealm");
+        final MapCache<Object, AuthorizationInfo> authorizationCache =
+                new MapCache<>("authorization", new HashMap<Object, AuthorizationInfo>());
+        realm.setAuthorizationCache(authorizationCache);
+        final Collection<Realm> realms = Collections.<Realm>singletonList(realm);
+
+        authorizationCache.put(sven, new SimpleAuthorizationInfo(Collections.singleton("clerk")));
+        cache.put(sven, AuthorizationDecisionCache.fingerprintOf(realms, sven), "com.mycompany:Customer:changeAddress:w", false);
+        Assert.assertThat(cache.get(sven, AuthorizationDecisionCache.fingerprintOf(realms, sven), "com.mycompany:Customer:changeAddress:w"), is(false));
+
+        // eg the realm's data was changed, and the realm cleared the subject's cached info
+        authorizationCache.remove(sven);
+        Assert.assertThat(cache.get(sven, AuthorizationDecisionCache.fingerprintOf(realms, sven), "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+
+        // ... and then reloaded it (an equal but different instance)
+        authorizationCache.put(sven, new SimpleAuthorizationInfo(Collections.singleton("clerk")));
+        Assert.assertThat(cache.get(sven, AuthorizationDecisionCache.fingerprintOf(realms, sven), "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+    }
+
+    @Test
+    public void fingerprint_ignores_realms_that_did_not_authenticate_the_subject() throws Exception {
+        final SimpleAccountRealm iniRealm = new SimpleAccountRealm("iniRealm");
+        final SimpleAccountRealm ldapRealm = new SimpleAccountRealm("ldapRealm");
+        final MapCache<Object, AuthorizationInfo> ldapCache =
+                new MapCache<>("authorization", new HashMap<Object, AuthorizationInfo>());
+        ldapRealm.setAuthorizationCache(ldapCache);
+        final Collection<Realm> realms = Arrays.<Realm>asList(iniRealm, ldapRealm);
+
+        final Fingerprint before = AuthorizationDecisionCache.fingerprintOf(realms, sven);
+        ldapCache.put(sven, new SimpleAuthorizationInfo());
+
+        Assert.assertThat(AuthorizationDecisionCache.fingerprintOf(realms, sven), is(before));
+        Assert.assertThat(AuthorizationDecisionCache.fingerprintOf(Collections.<Realm>singletonList(new SimpleAccountRealm("iniRealm")), sven), is(not(before)));
+    }
+
+    @Test
+    public void invalidate_onlyForPrincipal() throws Exception {
+        cache.put(sven, fingerprint, "com.mycompany:Customer:changeAddress:w", true);
+        cache.put(dick, fingerprint, "com.mycompany:Customer:changeAddress:w", false);
+
+        cache.invalidate(new SimplePrincipalCollection("sven", "iniRealm"));
+
+        Assert.assertThat(cache.get(sven, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+        Assert.assertThat(cache.get(dick, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(false));
+    }
+
+    @Test
+    public void invalidateAll() throws Exception {
+        cache.put(sven, fingerprint, "com.mycompany:Customer:changeAddress:w", true);
+        cache.put(dick, fingerprint, "com.mycompany:Customer:changeAddress:w", false);
+
+        cache.invalidateAll();
+
+        Assert.assertThat(cache.get(sven, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+        Assert.assertThat(cache.get(dick, fingerprint, "com.mycompany:Customer:changeAddress:w"), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.WildcardPermission;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class IsisPermissionIndexTest {
+
+    private static final List<String> PACKAGES = Arrays.asList("com.mycompany.myapp", "com.mycompany", "", "*", "com.mycompany.myapp,com.mycompany");
+    private static final List<String> CLASSES = Arrays.asList("Customer", "Order", "*", "Customer,Order");
+    private static final List<String> MEMBERS = Arrays.asList("changeAddress", "remove", "*");
+    private static final List<String> ACTIONS = Arrays.asList("r", "w", "*", "r,w");
+    private static final List<String> GROUPS = Arrays.asList(null, "foo", "bar");
+
+    @Before
+    public void setUp() throws Exception {
+        IsisPermission.resetVetoedPermissions();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisPermission.resetVetoedPermissions();
+    }
+
+    @Test
+    public void vetoWithinSameGroup() throws Exception {
+        final IsisPermissionIndex index = indexOf(
+                "schwartz/com.mycompany.myapp:Customer:*",
+                "!schwartz/com.mycompany.myapp:Customer:remove:*");
+
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:changeAddress:r")), is(true));
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:remove:r")), is(false));
+    }
+
+    @Test
+    public void vetoDoesNotApplyToOtherGroups() throws Exception {
+        final IsisPermissionIndex index = indexOf(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:r",
+                "foo/com.mycompany.myapp:Customer:*",
+                "bar/com.mycompany.myapp:Customer:*");
+
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:changeAddress:r")), is(true));
+    }
+
+    @Test
+    public void vetoIsNotAGrant() throws Exception {
+        final IsisPermissionIndex index = indexOf(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:r");
+
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:changeAddress:w")), is(false));
+    }
+
+    @Test
+    public void trailingWildcards() throws Exception {
+        final IsisPermissionIndex index = indexOf("com.mycompany.myapp:Customer:*:*:*");
+
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer")), is(true));
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:changeAddress:r")), is(true));
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Order:changeAddress:r")), is(false));
+    }
+
+    @Test
+    public void nonIsisPermissions() throws Exception {
+        final IsisPermissionIndex index = new IsisPermissionIndex(Collections.<Permission>singletonList(
+                new WildcardPermission("com.mycompany.myapp:Customer")));
+
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Customer:changeAddress:r")), is(true));
+        Assert.assertThat(index.implies(new WildcardPermission("com.mycompany.myapp:Customer:changeAddress:r")), is(true));
+        Assert.assertThat(index.implies(target("com.mycompany.myapp:Order:changeAddress:r")), is(false));
+    }
+
+    /**
+     * Compares against {@link IsisPermission#implies(Permission)}, evaluating the vetoes first.
+     */
+    @Test
+    public void equivalentToIsisPermission() throws Exception {
+        final Random random = new Random(1L);
+        for (int i = 0; i < 500; i++) {
+            final List<IsisPermission> permissions = Lists.newArrayList();
+            final int numPermissions = 1 + random.nextInt(8);
+            for (int j = 0; j < numPermissions; j++) {
+                permissions.add(new IsisPermission(randomPermission(random)));
+            }
+            final IsisPermissionIndex index = new IsisPermissionIndex(permissions);
+
+            for (final String pkg : Arrays.asList("com.mycompany.myapp", "com.mycompany", "", "org.other")) {
+                for (final String cls : Arrays.asList("Customer", "Order")) {
+                    for (final String member : Arrays.asList("changeAddress", "remove", "other")) {
+                        for (final String action : Arrays.asList("r", "w")) {
+                            for (final Permission target : Arrays.<Permission>asList(
+                                    target(pkg + ":" + cls + ":" + member + ":" + action),
+                                    new WildcardPermission(pkg + ":" + cls + ":" + member + ":" + action))) {
+                                Assert.assertThat(
+                                        permissions + " implies " + target,
+                                        index.implies(target), is(impliesVetoesFirst(permissions, target)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean impliesVetoesFirst(final List<IsisPermission> permissions, final Permission target) {
+        try {
+            for (final IsisPermission permission : permissions) {
+                if(permission.isVeto()) {
+                    permission.implies(target);
+                }
+            }
+            for (final IsisPermission permission : permissions) {
+                if(!permission.isVeto() && permission.implies(target)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            IsisPermission.resetVetoedPermissions();
+        }
+    }
+
+    private static String randomPermission(final Random random) {
+        final String group = GROUPS.get(random.nextInt(GROUPS.size()));
+        final boolean veto = group != null && random.nextInt(3) == 0;
+        final List<String> parts = Lists.newArrayList(
+                PACKAGES.get(random.nextInt(PACKAGES.size())),
+                CLASSES.get(random.nextInt(CLASSES.size())),
+                MEMBERS.get(random.nextInt(MEMBERS.size())),
+                ACTIONS.get(random.nextInt(ACTIONS.size())));
+        final int numParts = 1 + random.nextInt(4);
+        final StringBuilder buf = new StringBuilder();
+        if(group != null) {
+            buf.append(veto ? "!" : "").append(group).append("/");
+        }
+        for (int i = 0; i < numParts; i++) {
+            buf.append(i > 0 ? ":" : "").append(parts.get(i));
+        }
+        if(random.nextInt(5) == 0) {
+            buf.append(":*");
+        }
+        final String permission = buf.toString();
+        // an empty first part would only be valid if followed by other parts
+        return permission.isEmpty() || permission.endsWith("/") ? permission + "*" : permission;
+    }
+
+    private static IsisPermissionIndex indexOf(final String... permissionStrings) {
+        final List<Permission> permissions = Lists.newArrayList();
+        for (final String permissionString : permissionStrings) {
+            permissions.add(new IsisPermission(permissionString));
+        }
+        return new IsisPermissionIndex(permissions);
+    }
+
+    private static IsisPermission target(final String permissionString) {
+        return new IsisPermission(permissionString);
+    }
+
+}
@@ -16,16 +16,16 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
-import java.util.TimeZone;
 
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
 
 import org.apache.isis.applib.services.clock.ClockService;
@@ -87,20 +87,48 @@ public static Response.ResponseBuilder ofOk(
 
         final MediaType mediaType = renderer.getMediaType();
 
-        final Date now = IsisContext.getSessionFactory().getServicesInjector()
-                .lookupService(ClockService.class).nowAsDateTime().toDate();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-
         final Response.ResponseBuilder response =
                 of(RestfulResponse.HttpStatusCode.OK)
-                    .header("Date", dateFormat.format(now))
+                    .header("Date", httpDateNow())
                     .type(mediaType)
                     .cacheControl(caching.getCacheControl())
                     .entity(JsonWriterUtil.jsonFor(entityRepresentation));
         return addLastModifiedAndETagIfAvailable(response, version);
     }
 
+    /**
+     * For representations that have already been rendered and serialized (eg held in a cache), so that
+     * only a copy of the bytes is required.
+     *
+     * @param entityTag - if specified, is used as the (strong) ETag of the response.
+     */
+    public static Response.ResponseBuilder ofOk(
+            final byte[] entity,
+            final MediaType mediaType,
+            final Caching caching,
+            final EntityTag entityTag) {
+
+        final Response.ResponseBuilder response =
+                of(RestfulResponse.HttpStatusCode.OK)
+                    .header("Date", httpDateNow())
+                    .type(mediaType)
+                    .cacheControl(caching.getCacheControl())
+                    .entity(entity.clone());
+        if(entityTag != null) {
+            response.tag(entityTag);
+        }
+        return response;
+    }
+
+    private static final DateTimeFormatter HTTP_DATE_FORMAT =
+            DateTimeFormat.forPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'").withLocale(Locale.US).withZoneUTC();
+
+    private static String httpDateNow() {
+        final DateTime now = IsisContext.getSessionFactory().getServicesInjector()
+                .lookupService(ClockService.class).nowAsDateTime();
+        return HTTP_DATE_FORMAT.print(now);
+    }
+
     protected static Response.ResponseBuilder of(final RestfulResponse.HttpStatusCode httpStatusCode) {
         return Response.status(httpStatusCode.getJaxrsStatusType()).type(MediaType.APPLICATION_JSON_TYPE);
     }
@@ -31,6 +31,7 @@
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.runtime.system.persistence.FetchPlanState;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
 import org.apache.isis.viewer.restfulobjects.applib.Rel;
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
@@ -275,13 +276,24 @@ private DomainObjectReprRenderer withMembers(final ObjectAdapter objectAdapter)
                 mode.isUpdatePropertiesLinkArgs() ? representation : JsonRepresentation.newMap();
         final List<ObjectAssociation> associations = objectAdapter.getSpecification().getAssociations(Contributed.INCLUDED);
 
-        addProperties(objectAdapter, appendTo, associations);
+        final boolean includeCollections = !rendererContext.objectPropertyValuesOnly() && !mode.isArgs();
 
-        if(!rendererContext.objectPropertyValuesOnly()) {
-            if (!mode.isArgs() ) {
+        // so that referenced objects, and the elements of collections, are fetched in bulk rather than lazily
+        final FetchPlanState fetchPlanState = includeCollections
+                ? rendererContext.getPersistenceSession().addFetchGroupsForObjectForm(objectAdapter.getSpecification())
+                : null;
+        try {
+            addProperties(objectAdapter, appendTo, associations);
+            if (includeCollections) {
                 addCollections(objectAdapter, appendTo, associations);
             }
+        } finally {
+            if(fetchPlanState != null) {
+                rendererContext.getPersistenceSession().restoreFetchPlan(fetchPlanState);
+            }
+        }
 
+        if(!rendererContext.objectPropertyValuesOnly()) {
             if (mode.isRegular()) {
                 final List<ObjectAction> actions = objectAdapter.getSpecification().getObjectActions(Contributed.INCLUDED);
                 addActions(objectAdapter, actions, appendTo);
@@ -72,7 +72,7 @@ public JsonValueConverter(String format, String xIsisFormat, Class<?>... classes
         public List<ObjectSpecId> getSpecIds() {
             return Lists.newArrayList(Iterables.transform(Arrays.asList(classes), new Function<Class<?>, ObjectSpecId>() {
                 public ObjectSpecId apply(Class<?> cls) {
-                    return new ObjectSpecId(cls.getName());
+                    return ObjectSpecId.of(cls.getName());
                 }
             }));
         }
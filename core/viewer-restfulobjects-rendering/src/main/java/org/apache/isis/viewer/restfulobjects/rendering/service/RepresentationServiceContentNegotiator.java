@@ -28,7 +28,9 @@
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.metrics.InstrumentationService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.instrumentation.InstrumentationServiceInternal;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ActionResultReprRenderer.SelfLink;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.MemberReprMode;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ObjectAndAction;
@@ -57,7 +59,7 @@ public Response objectRepresentation(
             final ObjectAdapter objectAdapter) {
 
         final Context2 renderContext2 = asContext2(rendererContext);
-        final ResponseBuilder responseBuilder = buildResponse(new Function<ContentNegotiationService, ResponseBuilder>() {
+        final ResponseBuilder responseBuilder = buildResponse("objectRepresentation", new Function<ContentNegotiationService, ResponseBuilder>() {
             @Override
             public ResponseBuilder apply(final ContentNegotiationService connegService) {
                 return connegService.buildResponse(renderContext2, objectAdapter);
@@ -90,7 +92,7 @@ public Response propertyDetails(
             final MemberReprMode memberReprMode) {
 
         final Context2 renderContext2 = asContext2(rendererContext);
-        final ResponseBuilder responseBuilder = buildResponse(new Function<ContentNegotiationService, ResponseBuilder>() {
+        final ResponseBuilder responseBuilder = buildResponse("propertyDetails", new Function<ContentNegotiationService, ResponseBuilder>() {
             @Override
             public ResponseBuilder apply(final ContentNegotiationService connegService) {
                 return connegService.buildResponse(renderContext2, objectAndProperty);
@@ -110,7 +112,7 @@ public Response collectionDetails(
             final MemberReprMode memberReprMode) {
 
         final Context2 renderContext2 = asContext2(rendererContext);
-        final ResponseBuilder responseBuilder = buildResponse(new Function<ContentNegotiationService, ResponseBuilder>() {
+        final ResponseBuilder responseBuilder = buildResponse("collectionDetails", new Function<ContentNegotiationService, ResponseBuilder>() {
             @Override
             public ResponseBuilder apply(final ContentNegotiationService connegService) {
                 return connegService.buildResponse(renderContext2, objectAndCollection);
@@ -131,7 +133,7 @@ public Response actionPrompt(
             final ObjectAndAction objectAndAction) {
 
         final Context2 renderContext2 = asContext2(rendererContext);
-        final ResponseBuilder responseBuilder = buildResponse(new Function<ContentNegotiationService, ResponseBuilder>() {
+        final ResponseBuilder responseBuilder = buildResponse("actionPrompt", new Function<ContentNegotiationService, ResponseBuilder>() {
             @Override
             public ResponseBuilder apply(final ContentNegotiationService connegService) {
                 return connegService.buildResponse(renderContext2, objectAndAction);
@@ -151,7 +153,7 @@ public Response actionResult(
             final SelfLink selfLink) {
 
         final Context2 renderContext2 = asContext2(rendererContext);
-        final ResponseBuilder responseBuilder = buildResponse(new Function<ContentNegotiationService, ResponseBuilder>() {
+        final ResponseBuilder responseBuilder = buildResponse("actionResult", new Function<ContentNegotiationService, ResponseBuilder>() {
             @Override
             public ResponseBuilder apply(final ContentNegotiationService connegService) {
                 return connegService.buildResponse(renderContext2, objectAndActionInvocation);
@@ -187,17 +189,25 @@ void assertContentNegotiationServiceHandled(final ResponseBuilder responseBuilde
      *     {@link ContentNegotiationServiceForRestfulObjectsV1_0}.
      * </p>
      *
+     * @param representationType - the type of representation being rendered, for instrumentation.
      * @param connegServiceBuildResponse - the function to ask of the {@link ContentNegotiationService}.
      */
     ResponseBuilder buildResponse(
+            final String representationType,
             final Function<ContentNegotiationService, ResponseBuilder> connegServiceBuildResponse) {
-        for (final ContentNegotiationService contentNegotiationService : contentNegotiationServices) {
-            final ResponseBuilder responseBuilder = connegServiceBuildResponse.apply(contentNegotiationService);
-            if(responseBuilder != null) {
-                return responseBuilder;
+        final long startedAt = instrumentationServiceInternal.start();
+        try {
+            for (final ContentNegotiationService contentNegotiationService : contentNegotiationServices) {
+                final ResponseBuilder responseBuilder = connegServiceBuildResponse.apply(contentNegotiationService);
+                if(responseBuilder != null) {
+                    return responseBuilder;
+                }
             }
+            return null;
+        } finally {
+            instrumentationServiceInternal.stop(
+                    InstrumentationService.Phase.RENDERING, representationType, startedAt);
         }
-        return null;
     }
 
     /**
@@ -210,4 +220,7 @@ protected Response buildResponse(final ResponseBuilder responseBuilder) {
 
     @javax.inject.Inject
     List<ContentNegotiationService> contentNegotiationServices;
+
+    @javax.inject.Inject
+    InstrumentationServiceInternal instrumentationServiceInternal;
 }
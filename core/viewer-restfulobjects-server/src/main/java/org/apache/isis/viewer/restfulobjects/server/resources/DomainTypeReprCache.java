@@ -0,0 +1,230 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
+import org.apache.isis.viewer.restfulobjects.rendering.Responses;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
+import org.apache.isis.viewer.restfulobjects.server.ResourceContext;
+
+/**
+ * Holds the serialized form of the type-level representations (domain types and their properties, collections,
+ * actions and action parameters), as rendered by {@link DomainTypeResourceServerside}.
+ *
+ * <p>
+ *     These representations depend only on the metamodel (immutable once bootstrapped) and on the locale used to
+ *     translate names and descriptions.  The links they contain are also derived from the request's base URI and
+ *     any <tt>x-ro-follow-links</tt> query string, so these form part of the key too.
+ * </p>
+ *
+ * <p>
+ *     Each entry holds the UTF-8 bytes of the JSON along with a strong {@link EntityTag} computed from those
+ *     bytes, allowing clients to issue conditional requests.
+ * </p>
+ */
+class DomainTypeReprCache {
+
+    public static final String KEY_ENABLED = "isis.viewer.restfulobjects.domainTypeCache.enabled";
+    public static final boolean ENABLED_DEFAULT = true;
+
+    public static final String KEY_MAX_SIZE = "isis.viewer.restfulobjects.domainTypeCache.maxSize";
+    public static final int MAX_SIZE_DEFAULT = 10000;
+
+    private static DomainTypeReprCache instance;
+
+    /**
+     * There is a single cache per {@link IsisSessionFactory}, ie per metamodel; if the metamodel is rebuilt (with a
+     * new session factory), then the previous cache is discarded.
+     */
+    static synchronized DomainTypeReprCache instanceFor(final IsisSessionFactory isisSessionFactory) {
+        if(instance == null || instance.isisSessionFactory != isisSessionFactory) {
+            instance = new DomainTypeReprCache(isisSessionFactory);
+        }
+        return instance;
+    }
+
+    private final IsisSessionFactory isisSessionFactory;
+    private final boolean enabled;
+    private final Cache<Key, Entry> entryByKey;
+
+    private DomainTypeReprCache(final IsisSessionFactory isisSessionFactory) {
+        this.isisSessionFactory = isisSessionFactory;
+        final IsisConfiguration configuration = isisSessionFactory.getConfiguration();
+        this.enabled = configuration.getBoolean(KEY_ENABLED, ENABLED_DEFAULT);
+        this.entryByKey = CacheBuilder.newBuilder()
+                .maximumSize(configuration.getInteger(KEY_MAX_SIZE, MAX_SIZE_DEFAULT))
+                .build();
+    }
+
+    /**
+     * Returns a response for the representation, rendering it using the provided renderer only if it has not
+     * previously been rendered for this key.
+     *
+     * <p>
+     *     If the client's <tt>If-None-Match</tt> header matches the cached ETag, then a <tt>304</tt> is returned
+     *     instead.
+     * </p>
+     */
+    Response.ResponseBuilder responseFor(
+            final ResourceContext resourceContext,
+            final RepresentationType representationType,
+            final String domainType,
+            final String memberId,
+            final String paramName,
+            final Callable<ReprRenderer<?, ?>> rendererFactory) {
+
+        if(!enabled) {
+            return Responses.ofOk(render(rendererFactory), Caching.ONE_DAY);
+        }
+
+        final Key key = new Key(
+                representationType, domainType, memberId, paramName,
+                localeFor(resourceContext),
+                String.valueOf(resourceContext.getUriInfo().getBaseUri()),
+                resourceContext.getUrlUnencodedQueryString());
+
+        final Entry entry;
+        try {
+            entry = entryByKey.get(key, new Callable<Entry>() {
+                @Override
+                public Entry call() throws Exception {
+                    return Entry.of(render(rendererFactory));
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+
+        final Response.ResponseBuilder notModified =
+                resourceContext.getRequest().evaluatePreconditions(entry.entityTag);
+        if(notModified != null) {
+            return notModified.cacheControl(Caching.ONE_DAY.getCacheControl());
+        }
+        return Responses.ofOk(entry.bytes, entry.mediaType, Caching.ONE_DAY, entry.entityTag);
+    }
+
+    private static ReprRenderer<?, ?> render(final Callable<ReprRenderer<?, ?>> rendererFactory) {
+        try {
+            return rendererFactory.call();
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    private static Locale localeFor(final ResourceContext resourceContext) {
+        final LocaleProvider localeProvider = resourceContext.getServicesInjector().lookupService(LocaleProvider.class);
+        final Locale locale = localeProvider != null ? localeProvider.getLocale() : null;
+        return locale != null ? locale : resourceContext.getHttpServletRequest().getLocale();
+    }
+
+    static class Key {
+        private final RepresentationType representationType;
+        private final String domainType;
+        private final String memberId;
+        private final String paramName;
+        private final Locale locale;
+        private final String baseUri;
+        private final String queryString;
+        private final int hashCode;
+
+        Key(
+                final RepresentationType representationType,
+                final String domainType,
+                final String memberId,
+                final String paramName,
+                final Locale locale,
+                final String baseUri,
+                final String queryString) {
+            this.representationType = representationType;
+            this.domainType = domainType;
+            this.memberId = memberId;
+            this.paramName = paramName;
+            this.locale = locale;
+            this.baseUri = baseUri;
+            this.queryString = queryString;
+            this.hashCode = Arrays.hashCode(new Object[] {
+                    representationType, domainType, memberId, paramName, locale, baseUri, queryString });
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return representationType == other.representationType &&
+                    Objects.equal(domainType, other.domainType) &&
+                    Objects.equal(memberId, other.memberId) &&
+                    Objects.equal(paramName, other.paramName) &&
+                    Objects.equal(locale, other.locale) &&
+                    Objects.equal(baseUri, other.baseUri) &&
+                    Objects.equal(queryString, other.queryString);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static class Entry {
+
+        static Entry of(final ReprRenderer<?, ?> renderer) {
+            final byte[] bytes = JsonWriterUtil.jsonFor(renderer.render()).getBytes(StandardCharsets.UTF_8);
+            final EntityTag entityTag = new EntityTag(Hashing.sha1().hashBytes(bytes).toString());
+            return new Entry(bytes, renderer.getMediaType(), entityTag);
+        }
+
+        private final byte[] bytes;
+        private final MediaType mediaType;
+        private final EntityTag entityTag;
+
+        private Entry(final byte[] bytes, final MediaType mediaType, final EntityTag entityTag) {
+            this.bytes = bytes;
+            this.mediaType = mediaType;
+            this.entityTag = entityTag;
+        }
+    }
+
+}
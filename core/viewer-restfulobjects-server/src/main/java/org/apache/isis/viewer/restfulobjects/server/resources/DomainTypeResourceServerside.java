@@ -19,6 +19,7 @@
 package org.apache.isis.viewer.restfulobjects.server.resources;
 
 import java.util.Collection;
+import java.util.concurrent.Callable;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -49,6 +50,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
 import org.apache.isis.viewer.restfulobjects.rendering.Caching;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.ActionDescriptionReprRenderer;
@@ -101,10 +103,16 @@ public Response domainType(@PathParam("domainType") final String domainType) {
 
         final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
 
-        final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(objectSpec).includesSelf();
-
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return getDomainTypeReprCache().responseFor(
+                getResourceContext(), RepresentationType.DOMAIN_TYPE, domainType, null, null,
+                new Callable<ReprRenderer<?, ?>>() {
+                    @Override
+                    public ReprRenderer<?, ?> call() {
+                        final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+                        renderer.with(objectSpec).includesSelf();
+                        return renderer;
+                    }
+                }).build();
     }
 
     @Override
@@ -154,10 +162,16 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         }
         final OneToOneAssociation property = (OneToOneAssociation) objectMember;
 
-        final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
-
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return getDomainTypeReprCache().responseFor(
+                getResourceContext(), representationType, domainType, propertyId, null,
+                new Callable<ReprRenderer<?, ?>>() {
+                    @Override
+                    public ReprRenderer<?, ?> call() {
+                        final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+                        renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
+                        return renderer;
+                    }
+                }).build();
     }
 
     @Override
@@ -179,10 +193,16 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         }
         final OneToManyAssociation collection = (OneToManyAssociation) objectMember;
 
-        final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
-
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return getDomainTypeReprCache().responseFor(
+                getResourceContext(), representationType, domainType, collectionId, null,
+                new Callable<ReprRenderer<?, ?>>() {
+                    @Override
+                    public ReprRenderer<?, ?> call() {
+                        final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+                        renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
+                        return renderer;
+                    }
+                }).build();
     }
 
     @Override
@@ -204,10 +224,16 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         }
         final ObjectAction action = (ObjectAction) objectMember;
 
-        final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
-
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return getDomainTypeReprCache().responseFor(
+                getResourceContext(), representationType, domainType, actionId, null,
+                new Callable<ReprRenderer<?, ?>>() {
+                    @Override
+                    public ReprRenderer<?, ?> call() {
+                        final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+                        renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
+                        return renderer;
+                    }
+                }).build();
     }
 
     @Override
@@ -231,10 +257,16 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
 
         final ObjectActionParameter actionParam = parentAction.getParameterByName(paramName);
 
-        final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
-        renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
-
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return getDomainTypeReprCache().responseFor(
+                getResourceContext(), representationType, domainType, actionId, paramName,
+                new Callable<ReprRenderer<?, ?>>() {
+                    @Override
+                    public ReprRenderer<?, ?> call() {
+                        final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
+                        renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
+                        return renderer;
+                    }
+                }).build();
     }
 
     // //////////////////////////////////////////////////////////
@@ -301,6 +333,10 @@ public Response domainTypeIsSupertypeOf(
         return Responses.ofOk(renderer, Caching.ONE_DAY).build();
     }
 
+    private DomainTypeReprCache getDomainTypeReprCache() {
+        return DomainTypeReprCache.instanceFor(getIsisSessionFactory());
+    }
+
     private static String domainTypeFor(
             final String domainTypeStr,
             final String argsAsUrlEncodedQueryString,
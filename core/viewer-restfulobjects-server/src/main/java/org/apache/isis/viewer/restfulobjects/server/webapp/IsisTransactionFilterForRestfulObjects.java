@@ -24,8 +24,10 @@
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 
@@ -45,7 +47,7 @@ public void doFilter(ServletRequest request, ServletResponse response, FilterCha
         }
 
         final IsisTransactionManager isisTransactionManager = transactionManagerFrom(isisSessionFactory);
-        isisTransactionManager.startTransaction();
+        isisTransactionManager.startTransaction(null, isReadOnly(request, isisTransactionManager));
         try {
             chain.doFilter(request, response);
         } finally {
@@ -61,6 +63,20 @@ public void doFilter(ServletRequest request, ServletResponse response, FilterCha
         }
     }
 
+    /**
+     * <tt>GET</tt>s (and <tt>HEAD</tt>s) - including the invocation of safe actions - cannot modify any objects, so
+     * are executed in a read-only transaction (unless disabled using
+     * {@link PersistenceSession#KEY_READ_ONLY_TRANSACTIONS}).
+     */
+    protected boolean isReadOnly(final ServletRequest request, final IsisTransactionManager isisTransactionManager) {
+        if(!(request instanceof HttpServletRequest)) {
+            return false;
+        }
+        final String method = ((HttpServletRequest) request).getMethod();
+        return ("GET".equals(method) || "HEAD".equals(method)) &&
+               isisTransactionManager.getPersistenceSession().isReadOnlyTransactionsEnabled();
+    }
+
     @Override
     public void destroy() {
     }
@@ -0,0 +1,395 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import com.google.common.hash.Hashing;
+
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.specimpl.RequestImpl;
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
+import org.apache.isis.viewer.restfulobjects.server.ResourceContext;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class DomainTypeReprCacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    protected IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    protected IsisConfiguration mockConfiguration;
+    @Mock
+    protected ServicesInjector mockServicesInjector;
+    @Mock
+    protected ClockService mockClockService;
+    @Mock
+    protected ResourceContext mockResourceContext;
+    @Mock
+    protected UriInfo mockUriInfo;
+    @Mock
+    protected HttpServletRequest mockHttpServletRequest;
+
+    protected DomainTypeReprCache cache;
+
+    protected String queryString;
+    protected Locale locale;
+    protected String ifNoneMatch;
+
+    @Before
+    public void setUp() throws Exception {
+        queryString = null;
+        locale = Locale.UK;
+        ifNoneMatch = null;
+
+        context.checking(new Expectations() {{
+            allowing(mockIsisSessionFactory).getConfiguration();
+            will(returnValue(mockConfiguration));
+            allowing(mockIsisSessionFactory).getServicesInjector();
+            will(returnValue(mockServicesInjector));
+            allowing(mockIsisSessionFactory).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            allowing(mockConfiguration).getInteger(DomainTypeReprCache.KEY_MAX_SIZE, DomainTypeReprCache.MAX_SIZE_DEFAULT);
+            will(returnValue(DomainTypeReprCache.MAX_SIZE_DEFAULT));
+
+            allowing(mockServicesInjector).lookupService(ClockService.class);
+            will(returnValue(mockClockService));
+            allowing(mockServicesInjector).lookupService(LocaleProvider.class);
+            will(returnValue(null));
+            allowing(mockClockService).nowAsDateTime();
+            will(returnValue(new DateTime(2016, 1, 1, 12, 0)));
+
+            allowing(mockResourceContext).getServicesInjector();
+            will(returnValue(mockServicesInjector));
+            allowing(mockResourceContext).getUriInfo();
+            will(returnValue(mockUriInfo));
+            allowing(mockUriInfo).getBaseUri();
+            will(returnValue(URI.create("http://localhost:8080/restful/")));
+            allowing(mockResourceContext).getHttpServletRequest();
+            will(returnValue(mockHttpServletRequest));
+            allowing(mockHttpServletRequest).getLocale();
+            will(new CustomAction("locale") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return locale;
+                }
+            });
+            allowing(mockResourceContext).getUrlUnencodedQueryString();
+            will(new CustomAction("queryString") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return queryString;
+                }
+            });
+            allowing(mockResourceContext).getRequest();
+            will(new CustomAction("request") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final MockHttpRequest request = MockHttpRequest.get("/restful/domain-types/customer");
+                    if(ifNoneMatch != null) {
+                        request.header("If-None-Match", ifNoneMatch);
+                    }
+                    return new RequestImpl(request, new MockHttpResponse());
+                }
+            });
+        }});
+
+        // Responses and JsonWriterUtil obtain the clock and deployment category from the (singleton) session factory
+        IsisContext.testReset();
+        IsisContext.setSessionFactory(mockIsisSessionFactory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisContext.testReset();
+    }
+
+    protected void givenEnabled(final boolean enabled) {
+        context.checking(new Expectations() {{
+            allowing(mockConfiguration).getBoolean(DomainTypeReprCache.KEY_ENABLED, DomainTypeReprCache.ENABLED_DEFAULT);
+            will(returnValue(enabled));
+        }});
+        cache = DomainTypeReprCache.instanceFor(mockIsisSessionFactory);
+    }
+
+    protected Response responseFor(final String domainType, final Callable<ReprRenderer<?, ?>> rendererFactory) {
+        return cache.responseFor(
+                mockResourceContext, RepresentationType.DOMAIN_TYPE, domainType, null, null, rendererFactory).build();
+    }
+
+    public static class WhenEnabled extends DomainTypeReprCacheTest {
+
+        private CountingRendererFactory customerRendererFactory;
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+            givenEnabled(true);
+            customerRendererFactory = new CountingRendererFactory("customer");
+        }
+
+        @Test
+        public void renders_only_once_for_same_key() throws Exception {
+            final Response response1 = responseFor("customer", customerRendererFactory);
+            final Response response2 = responseFor("customer", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(1));
+            assertThat(response1.getStatus(), is(200));
+            assertThat(response2.getStatus(), is(200));
+            assertThat(asString(response1), is(asString(response2)));
+            assertThat(response1.getEntityTag(), is(response2.getEntityTag()));
+        }
+
+        @Test
+        public void renders_again_for_different_domain_type() throws Exception {
+            responseFor("customer", customerRendererFactory);
+            responseFor("order", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(2));
+        }
+
+        @Test
+        public void renders_again_for_different_locale() throws Exception {
+            responseFor("customer", customerRendererFactory);
+            locale = Locale.FRANCE;
+            responseFor("customer", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(2));
+        }
+
+        @Test
+        public void renders_again_for_different_query_string() throws Exception {
+            responseFor("customer", customerRendererFactory);
+            queryString = "x-ro-follow-links=members";
+            responseFor("customer", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(2));
+        }
+
+        @Test
+        public void renders_again_for_new_session_factory() throws Exception {
+            responseFor("customer", customerRendererFactory);
+
+            final IsisSessionFactory otherIsisSessionFactory = context.mock(IsisSessionFactory.class, "other");
+            context.checking(new Expectations() {{
+                allowing(otherIsisSessionFactory).getConfiguration();
+                will(returnValue(mockConfiguration));
+            }});
+            cache = DomainTypeReprCache.instanceFor(otherIsisSessionFactory);
+            responseFor("customer", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(2));
+        }
+
+        @Test
+        public void same_cache_for_same_session_factory() throws Exception {
+            assertThat(DomainTypeReprCache.instanceFor(mockIsisSessionFactory), is(sameInstance(cache)));
+        }
+
+        @Test
+        public void entity_is_a_copy_of_the_cached_bytes() throws Exception {
+            final Response response1 = responseFor("customer", customerRendererFactory);
+            final byte[] bytes1 = (byte[]) response1.getEntity();
+            bytes1[0] = 'X';
+
+            final Response response2 = responseFor("customer", customerRendererFactory);
+
+            assertThat(asString(response2), is(JsonWriterUtil.jsonFor(customerRendererFactory.representation())));
+        }
+
+        @Test
+        public void etag_is_strong_and_derived_from_the_content() throws Exception {
+            final Response response = responseFor("customer", customerRendererFactory);
+
+            final EntityTag entityTag = response.getEntityTag();
+            final byte[] expectedBytes =
+                    JsonWriterUtil.jsonFor(customerRendererFactory.representation()).getBytes(StandardCharsets.UTF_8);
+            assertThat(entityTag.isWeak(), is(false));
+            assertThat(entityTag.getValue(), is(Hashing.sha1().hashBytes(expectedBytes).toString()));
+            assertThat(response.getMediaType(), is(MediaType.APPLICATION_JSON_TYPE));
+            assertThat(response.getHeaderString("Cache-Control"), is(Caching.ONE_DAY.getCacheControl().toString()));
+        }
+
+        @Test
+        public void etag_differs_for_different_content() throws Exception {
+            final Response customerResponse = responseFor("customer", customerRendererFactory);
+            final Response orderResponse = responseFor("order", new CountingRendererFactory("order"));
+
+            assertThat(customerResponse.getEntityTag(), is(not(orderResponse.getEntityTag())));
+        }
+
+        @Test
+        public void etag_same_for_same_content_under_different_key() throws Exception {
+            final Response response1 = responseFor("customer", customerRendererFactory);
+            locale = Locale.FRANCE;
+            final Response response2 = responseFor("customer", customerRendererFactory);
+
+            assertThat(customerRendererFactory.count.get(), is(2));
+            assertThat(response1.getEntityTag(), is(response2.getEntityTag()));
+        }
+
+        @Test
+        public void if_none_match_with_matching_etag_is_not_modified() throws Exception {
+            final EntityTag entityTag = responseFor("customer", customerRendererFactory).getEntityTag();
+
+            ifNoneMatch = entityTag.toString();
+            final Response response = responseFor("customer", customerRendererFactory);
+
+            assertThat(response.getStatus(), is(304));
+            assertThat(response.getEntity(), is(nullValue()));
+            assertThat(response.getEntityTag(), is(entityTag));
+            assertThat(response.getHeaderString("Cache-Control"), is(Caching.ONE_DAY.getCacheControl().toString()));
+            assertThat(customerRendererFactory.count.get(), is(1));
+        }
+
+        @Test
+        public void if_none_match_with_other_etag_is_ok() throws Exception {
+            final EntityTag entityTag = responseFor("customer", customerRendererFactory).getEntityTag();
+
+            ifNoneMatch = new EntityTag("some-other-etag").toString();
+            final Response response = responseFor("customer", customerRendererFactory);
+
+            assertThat(response.getStatus(), is(200));
+            assertThat(response.getEntityTag(), is(entityTag));
+            assertThat(asString(response), is(JsonWriterUtil.jsonFor(customerRendererFactory.representation())));
+        }
+
+        @Test
+        public void if_none_match_with_wildcard_is_not_modified() throws Exception {
+            ifNoneMatch = "*";
+            final Response response = responseFor("customer", customerRendererFactory);
+
+            assertThat(response.getStatus(), is(304));
+        }
+    }
+
+    public static class WhenDisabled extends DomainTypeReprCacheTest {
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+            givenEnabled(false);
+        }
+
+        @Test
+        public void renders_every_time_without_etag() throws Exception {
+            final CountingRendererFactory rendererFactory = new CountingRendererFactory("customer");
+
+            final Response response1 = responseFor("customer", rendererFactory);
+            final Response response2 = responseFor("customer", rendererFactory);
+
+            assertThat(rendererFactory.count.get(), is(2));
+            assertThat(response1.getStatus(), is(200));
+            assertThat(response2.getStatus(), is(200));
+            assertThat(response1.getEntityTag(), is(nullValue()));
+            assertThat((String) response1.getEntity(), is(JsonWriterUtil.jsonFor(rendererFactory.representation())));
+        }
+    }
+
+    private static String asString(final Response response) {
+        return new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
+    }
+
+    static class CountingRendererFactory implements Callable<ReprRenderer<?, ?>> {
+
+        private final String domainType;
+        final AtomicInteger count = new AtomicInteger();
+
+        CountingRendererFactory(final String domainType) {
+            this.domainType = domainType;
+        }
+
+        JsonRepresentation representation() {
+            return JsonRepresentation.newMap("domainType", domainType);
+        }
+
+        @Override
+        public ReprRenderer<?, ?> call() throws Exception {
+            count.incrementAndGet();
+            return new StubRenderer(representation());
+        }
+    }
+
+    static class StubRenderer implements ReprRenderer<StubRenderer, Void> {
+
+        private final JsonRepresentation representation;
+
+        StubRenderer(final JsonRepresentation representation) {
+            this.representation = representation;
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            return MediaType.APPLICATION_JSON_TYPE;
+        }
+
+        @Override
+        public StubRenderer with(final Void aVoid) {
+            return this;
+        }
+
+        @Override
+        public JsonRepresentation render() {
+            return representation;
+        }
+    }
+
+}
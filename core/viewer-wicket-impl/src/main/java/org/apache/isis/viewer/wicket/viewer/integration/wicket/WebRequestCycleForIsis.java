@@ -62,6 +62,7 @@
 import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
@@ -108,6 +109,12 @@ public void onRequestHandlerResolved(final RequestCycle cycle, final IRequestHan
         if(handler instanceof RenderPageRequestHandler) {
             AdapterManager.ConcurrencyChecking.disable();
 
+            // rendering a page only reads objects, so (unless something has already been changed in this
+            // request) there is no need to audit, publish or commit anything.
+            if(inIsisSession() && getPersistenceSession().isReadOnlyTransactionsEnabled()) {
+                getTransactionManager().markTransactionReadOnlyIfPristine();
+            }
+
             final MetaModelInvalidException mmie = IsisContext.getMetaModelInvalidExceptionIfAny();
 
             if(mmie != null) {
@@ -357,8 +364,12 @@ protected ServicesInjector getServicesInjector() {
         return getIsisSessionFactory().getServicesInjector();
     }
     
+    protected PersistenceSession getPersistenceSession() {
+        return getIsisSessionFactory().getCurrentSession().getPersistenceSession();
+    }
+
     protected IsisTransactionManager getTransactionManager() {
-        return getIsisSessionFactory().getCurrentSession().getPersistenceSession().getTransactionManager();
+        return getPersistenceSession().getTransactionManager();
     }
 
     protected boolean inIsisSession() {
@@ -19,7 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -51,10 +54,16 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
-public class ObjectAdapterMemento implements Serializable {
+/**
+ * Serialized (into the Wicket page store) using a compact hand-written encoding, see
+ * {@link #writeExternal(ObjectOutput)}.
+ */
+public class ObjectAdapterMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
+    private static final byte ENCODING_VERSION = 1;
+
     public static final OidMarshaller OID_MARSHALLER = OidMarshaller.INSTANCE;
     /**
      * Factory method
@@ -343,19 +352,14 @@ public abstract void resetVersion(
 
 
 
-    private final Sort sort;
-    private final ObjectSpecId objectSpecId;
+    private Sort sort;
+    private ObjectSpecId objectSpecId;
 
     /**
      * Populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
      */
     private Type type;
 
-    /**
-     * Populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
-     */
-    private String titleHint;
-
     /**
      * The current value, if {@link Type#ENCODEABLE}; will be <tt>null</tt> otherwise.
      *
@@ -377,6 +381,9 @@ public abstract void resetVersion(
      *
      * <p>
      * Also, populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
+     *
+     * <p>
+     * Not serialized, instead derived from {@link #persistentOidStr} when read back.
      */
     private Bookmark bookmark;
 
@@ -398,6 +405,12 @@ public abstract void resetVersion(
      */
     private ArrayList<ObjectAdapterMemento> list;
 
+    /**
+     * For {@link Externalizable} deserialization only.
+     */
+    public ObjectAdapterMemento() {
+    }
+
     public ObjectAdapterMemento(final ArrayList<ObjectAdapterMemento> list, final ObjectSpecId objectSpecId) {
         this.sort = Sort.VECTOR;
         this.list = list;
@@ -564,6 +577,78 @@ public String asString() {
     }
 
 
+    //////////////////////////////////////////////////
+    // Externalizable
+    //////////////////////////////////////////////////
+
+    /**
+     * Only the state needed to recreate the memento is written; the {@link #bookmark} is derived.
+     *
+     * <p>
+     * The {@link ObjectSpecId} is written as an object; because these are canonicalized (see {@link ObjectSpecId#of(String)}),
+     * every memento of the same type within a page is written as a back-reference to the first, in effect a per-page
+     * table of spec Ids.
+     */
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        out.writeByte(sort.ordinal());
+        out.writeObject(objectSpecId);
+        if(sort == Sort.VECTOR) {
+            out.writeInt(list.size());
+            for (final ObjectAdapterMemento each : list) {
+                out.writeObject(each);
+            }
+            return;
+        }
+        out.writeByte(type.ordinal());
+        switch (type) {
+        case ENCODEABLE:
+            out.writeObject(encodableValue);
+            break;
+        case PERSISTENT:
+            out.writeObject(persistentOidStr);
+            out.writeObject(hintId);
+            break;
+        case TRANSIENT:
+            out.writeObject(transientMemento);
+            break;
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final byte version = in.readByte();
+        if(version != ENCODING_VERSION) {
+            throw new IOException("Unrecognized ObjectAdapterMemento encoding version: " + version);
+        }
+        sort = Sort.values()[in.readByte()];
+        objectSpecId = (ObjectSpecId) in.readObject();
+        if(sort == Sort.VECTOR) {
+            final int size = in.readInt();
+            list = Lists.newArrayListWithCapacity(size);
+            for (int i = 0; i < size; i++) {
+                list.add((ObjectAdapterMemento) in.readObject());
+            }
+            return;
+        }
+        type = Type.values()[in.readByte()];
+        switch (type) {
+        case ENCODEABLE:
+            encodableValue = (String) in.readObject();
+            break;
+        case PERSISTENT:
+            persistentOidStr = (String) in.readObject();
+            hintId = (String) in.readObject();
+            bookmark = OID_MARSHALLER.unmarshal(persistentOidStr, RootOid.class).asBookmark();
+            break;
+        case TRANSIENT:
+            transientMemento = (Memento) in.readObject();
+            break;
+        }
+    }
+
+
     //////////////////////////////////////////////////
     // Functions
     //////////////////////////////////////////////////
@@ -50,6 +50,7 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.runtime.system.persistence.FetchPlanState;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.hints.UiHintContainer;
@@ -112,13 +113,23 @@ private Iterable<ObjectAdapter> loadInBulk(final EntityCollectionModel model) {
 
             private Iterable<ObjectAdapter> loadOneByOne(final EntityCollectionModel model) {
                 final List<ObjectAdapterMemento> mementoList = model.mementoList;
-                return FluentIterable.from(mementoList)
-                            .transform(
-                                ObjectAdapterMemento.Functions.fromMemento(
-                                        ConcurrencyChecking.NO_CHECK,
-                                        model.getPersistenceSession(),
-                                        model.getSpecificationLoader()))
-                            .filter(Predicates.notNull());
+                // (if bulk loading, then done by the persistence session itself)
+                final PersistenceSession persistenceSession = model.getPersistenceSession();
+                final FetchPlanState fetchPlanState =
+                        persistenceSession.addFetchGroupForTable(model.getTypeOfSpecification());
+                try {
+                    // eagerly, so that the objects are loaded while the fetch group applies
+                    return FluentIterable.from(mementoList)
+                                .transform(
+                                    ObjectAdapterMemento.Functions.fromMemento(
+                                            ConcurrencyChecking.NO_CHECK,
+                                            persistenceSession,
+                                            model.getSpecificationLoader()))
+                                .filter(Predicates.notNull())
+                                .toList();
+                } finally {
+                    persistenceSession.restoreFetchPlan(fetchPlanState);
+                }
             }
 
             @Override
@@ -162,9 +173,17 @@ List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
                         entityCollectionModel.getSpecificationLoader());
                 final OneToManyAssociation collection = entityCollectionModel.collectionMemento.getCollection(
                         entityCollectionModel.getSpecificationLoader());
-                final ObjectAdapter collectionAsAdapter = collection.get(adapter, InteractionInitiatedBy.USER);
-
-                final List<Object> objectList = asIterable(collectionAsAdapter);
+                // so that the columns of the elements are fetched (if not already) along with the collection
+                final PersistenceSession persistenceSession = entityCollectionModel.getPersistenceSession();
+                final FetchPlanState fetchPlanState =
+                        persistenceSession.addFetchGroupForTable(entityCollectionModel.getTypeOfSpecification());
+                final List<Object> objectList;
+                try {
+                    final ObjectAdapter collectionAsAdapter = collection.get(adapter, InteractionInitiatedBy.USER);
+                    objectList = asIterable(collectionAsAdapter);
+                } finally {
+                    persistenceSession.restoreFetchPlan(fetchPlanState);
+                }
 
                 final Class<? extends Comparator<?>> sortedBy = entityCollectionModel.sortedBy;
                 if(sortedBy != null) {
@@ -0,0 +1,79 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.model.mementos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ObjectAdapterMementoTest_serialization {
+
+    @Test
+    public void persistent_roundtrips() throws Exception {
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createPersistent(
+                RootOid.create(ObjectSpecId.of("CUS"), "123", 4L, "sven"));
+
+        final ObjectAdapterMemento roundtripped = roundtrip(oam);
+
+        assertThat(roundtripped, is(oam));
+        assertThat(roundtripped.asString(), is(oam.asString()));
+        assertThat(roundtripped.asBookmark(), is(oam.asBookmark()));
+        assertThat(roundtripped.getObjectSpecId(), is(sameInstance(ObjectSpecId.of("CUS"))));
+    }
+
+    @Test
+    public void vector_roundtrips() throws Exception {
+        final ArrayList<ObjectAdapterMemento> list = Lists.newArrayList(
+                ObjectAdapterMemento.createPersistent(RootOid.create(ObjectSpecId.of("CUS"), "1")),
+                null,
+                ObjectAdapterMemento.createPersistent(RootOid.create(ObjectSpecId.of("CUS"), "2")));
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createForList(list, ObjectSpecId.of("CUS"));
+
+        final ObjectAdapterMemento roundtripped = roundtrip(oam);
+
+        assertThat(roundtripped, is(oam));
+        assertThat(roundtripped.getList().get(1), is((ObjectAdapterMemento) null));
+        assertThat(roundtripped.getList().get(2).asBookmark(), is(list.get(2).asBookmark()));
+    }
+
+    private static ObjectAdapterMemento roundtrip(final ObjectAdapterMemento oam) throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(oam);
+        }
+        try (final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            return (ObjectAdapterMemento) ois.readObject();
+        }
+    }
+
+}
@@ -103,7 +103,10 @@ protected void onComponentTag(ComponentTag tag) {
                     EntityModel entityModel = (EntityModel) model;
                     final ObjectAdapter objectAdapter = entityModel.getObject();
                     final ObjectSpecification typeOfSpecification = entityModel.getTypeOfSpecification();
-                    String cssClass = typeOfSpecification.getCssClass(objectAdapter);
+                    // (the adapter memoizes its CSS class, if it is of the collection's type)
+                    final String cssClass = objectAdapter != null && objectAdapter.getSpecification() == typeOfSpecification
+                            ? objectAdapter.getCssClass()
+                            : typeOfSpecification.getCssClass(objectAdapter);
                     CssClassAppender.appendCssClassTo(tag, cssClass);
                 }
             }